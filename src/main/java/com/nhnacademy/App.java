@@ -13,6 +13,10 @@
 package com.nhnacademy;
 
 import com.nhnacademy.http.SimpleHttpServer;
+import com.nhnacademy.http.compress.CompressionHandler;
+import com.nhnacademy.http.handler.HelloHandler;
+import com.nhnacademy.http.metrics.MetricsHandler;
+import com.nhnacademy.http.router.Router;
 import lombok.extern.slf4j.Slf4j;
 
 
@@ -24,6 +28,11 @@ public class App
 
     public static void main( String[] args ){
         SimpleHttpServer simpleHttpServer = new SimpleHttpServer();
+        // /metrics 이외의 요청은 hello page로 응답 합니다. 응답은 Accept-Encoding에 따라 압축 합니다.
+        simpleHttpServer.setHttpHandler(new CompressionHandler(new Router(new HelloHandler())
+                .get("/metrics", new MetricsHandler())));
+        // SIGTERM을 받으면 처리중인 요청을 마친 뒤 종료 합니다.
+        Runtime.getRuntime().addShutdownHook(new Thread(simpleHttpServer::stop));
         simpleHttpServer.start();
     }
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.nhnacademy.exceptions;
+
+import java.io.IOException;
+
+/* HTTP/2 protocol 오류 입니다. error code는 RST_STREAM, GOAWAY frame으로 전송 합니다. (RFC 9113 7. Error Codes)
+ * streamId가 0이라면 연결 오류(connection error)로 연결을 종료하고, 그렇지 않다면 해당 stream만 종료 합니다.
+ */
+public class Http2Exception extends IOException {
+    public static final int NO_ERROR = 0x0;
+    public static final int PROTOCOL_ERROR = 0x1;
+    public static final int INTERNAL_ERROR = 0x2;
+    public static final int FLOW_CONTROL_ERROR = 0x3;
+    public static final int STREAM_CLOSED = 0x5;
+    public static final int FRAME_SIZE_ERROR = 0x6;
+    public static final int REFUSED_STREAM = 0x7;
+    public static final int CANCEL = 0x8;
+    public static final int COMPRESSION_ERROR = 0x9;
+
+    private final int errorCode;
+    private final int streamId;
+
+    public Http2Exception(int errorCode, int streamId, String message) {
+        super(message);
+        this.errorCode = errorCode;
+        this.streamId = streamId;
+    }
+
+    public static Http2Exception connectionError(int errorCode, String message) {
+        return new Http2Exception(errorCode, 0, message);
+    }
+
+    public static Http2Exception streamError(int errorCode, int streamId, String message) {
+        return new Http2Exception(errorCode, streamId, message);
+    }
+
+    public int getErrorCode() {
+        return errorCode;
+    }
+
+    public int getStreamId() {
+        return streamId;
+    }
+
+    public boolean isConnectionError() {
+        return streamId == 0;
+    }
+}
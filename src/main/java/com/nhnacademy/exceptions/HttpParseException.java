@@ -0,0 +1,28 @@
+package com.nhnacademy.exceptions;
+
+import java.io.IOException;
+
+/* HTTP 요청을 해석할 수 없을 때 발생 합니다. client에게 응답할 status code를 함께 전달 합니다.
+ */
+public class HttpParseException extends IOException {
+    private final int statusCode;
+    private final String reasonPhrase;
+
+    public HttpParseException(int statusCode, String reasonPhrase, String message) {
+        super(message);
+        this.statusCode = statusCode;
+        this.reasonPhrase = reasonPhrase;
+    }
+
+    public static HttpParseException badRequest(String message) {
+        return new HttpParseException(400, "Bad Request", message);
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public String getReasonPhrase() {
+        return reasonPhrase;
+    }
+}
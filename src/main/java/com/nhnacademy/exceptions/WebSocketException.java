@@ -0,0 +1,18 @@
+package com.nhnacademy.exceptions;
+
+import java.io.IOException;
+
+/* WebSocket protocol 오류 입니다. status code는 Close frame으로 전송한 뒤 연결을 종료 합니다. (RFC 6455 7.4.1)
+ */
+public class WebSocketException extends IOException {
+    private final int statusCode;
+
+    public WebSocketException(int statusCode, String message) {
+        super(message);
+        this.statusCode = statusCode;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http;
+
+import com.nhnacademy.http.channel.HttpJob;
+import com.nhnacademy.http.channel.KeepAlivePolicy;
+import com.nhnacademy.http.channel.RateLimiter;
+import com.nhnacademy.http.channel.RequestChannel;
+import com.nhnacademy.http.handler.HttpHandler;
+import com.nhnacademy.http.metrics.HttpMetrics;
+import com.nhnacademy.http.response.HttpResponseWriter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Objects;
+
+/* ShardedHttpServer의 shard 하나 입니다.
+ * 자신의 listen socket, acceptor thread, RequestChannel, WorkerThreadPool을 가지며 다른 shard와 공유하는 객체가 없습니다.
+ * 같은 port에 SO_REUSEPORT로 bind된 listen socket들 사이의 connection 분배는 kernel이 담당 합니다.
+ */
+@Slf4j
+class AcceptorShard implements Runnable {
+    private final int index;
+    private final int port;
+    private final RequestChannel requestChannel;
+    private final WorkerThreadPool workerThreadPool;
+    private final HttpHandler httpHandler;
+    // null이면 요청 수를 제한하지 않습니다.
+    private final RateLimiter rateLimiter;
+    private final ServerSocketChannel serverSocketChannel;
+
+    AcceptorShard(int index, int port, WorkerThreadPool workerThreadPool, HttpHandler httpHandler, RateLimiter rateLimiter) throws IOException {
+        if(Objects.isNull(workerThreadPool)){
+            throw new IllegalArgumentException("workerThreadPool is null");
+        }
+        if(Objects.isNull(httpHandler)){
+            throw new IllegalArgumentException("httpHandler is null");
+        }
+        this.index = index;
+        this.port = port;
+        this.workerThreadPool = workerThreadPool;
+        this.requestChannel = workerThreadPool.getRequestChannel();
+        this.httpHandler = httpHandler;
+        this.rateLimiter = rateLimiter;
+
+        // 모든 shard가 bind 하기 전에 SO_REUSEPORT를 설정해야 같은 port를 공유할 수 있습니다.
+        serverSocketChannel = ServerSocketChannel.open();
+        try{
+            serverSocketChannel.setOption(StandardSocketOptions.SO_REUSEPORT, true);
+            serverSocketChannel.bind(new InetSocketAddress(port));
+        }catch(IOException | RuntimeException e){
+            serverSocketChannel.close();
+            throw e;
+        }
+    }
+
+    int getIndex() {
+        return index;
+    }
+
+    @Override
+    public void run() {
+        workerThreadPool.start();
+        try(serverSocketChannel){
+            while(!Thread.currentThread().isInterrupted()){
+                SocketChannel client = serverSocketChannel.accept();
+                HttpMetrics.get().connectionAccepted();
+                HttpJob httpJob = new HttpJob(client.socket(), KeepAlivePolicy.DEFAULT, httpHandler);
+                // 제한을 초과한 client는 queue에 배치하지 않고 acceptor thread에서 바로 429로 응답 합니다.
+                if(Objects.nonNull(rateLimiter) && !httpJob.admit(rateLimiter)){
+                    httpJob.reject(HttpResponseWriter.tooManyRequests());
+                    continue;
+                }
+                // 자신의 shard에 속한 RequestChannel에만 작업을 배치 합니다.
+                requestChannel.addHttpJob(httpJob);
+            }
+        }catch(ClosedChannelException e){
+            log.debug("shard-{} closed", index);
+        }catch(IOException e){
+            log.error("shard-{} port:{} error:{}", index, port, e);
+        }finally {
+            workerThreadPool.stop();
+        }
+    }
+
+    // accept()에서 대기중인 acceptor thread를 깨우고 종료 합니다.
+    void close() throws IOException {
+        serverSocketChannel.close();
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http;
+
+import com.nhnacademy.http.channel.Executable;
+import com.nhnacademy.http.channel.RequestChannel;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/* RequestChannel의 대기 작업 수와 대기 시간에 따라 worker thread 수를 조절 합니다.
+ *  - 시작할 때 corePoolSize 만큼의 worker를 생성 합니다.
+ *  - 쉬고 있는 worker보다 대기 작업이 많고, 가장 오래된 작업이 scaleUpWaitNanos 이상 대기했다면 maxPoolSize 까지 worker를 추가 합니다.
+ *  - keepAlive 동안 작업을 받지 못한 worker는 corePoolSize를 초과하는 경우에만 종료 됩니다.
+ * 이 객체는 scaler thread에서 실행되며, scaler thread가 interrupt 되면 모든 worker를 종료 합니다.
+ */
+@Slf4j
+public class AdaptiveWorkerGroup implements Runnable {
+    private static final long SCALE_INTERVAL_MILLIS = 10;
+    private static final long DEFAULT_SCALE_UP_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final RequestChannel requestChannel;
+    private final int corePoolSize;
+    private final int maxPoolSize;
+    private final long keepAliveNanos;
+    private final long scaleUpWaitNanos;
+
+    private final Set<Thread> workers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger poolSize = new AtomicInteger();
+    private final AtomicInteger activeCount = new AtomicInteger();
+    private final AtomicInteger threadSequence = new AtomicInteger();
+    private volatile int largestPoolSize;
+
+    public AdaptiveWorkerGroup(RequestChannel requestChannel, int corePoolSize, int maxPoolSize, long keepAliveMillis) {
+        this(requestChannel, corePoolSize, maxPoolSize, keepAliveMillis, DEFAULT_SCALE_UP_WAIT_NANOS);
+    }
+
+    public AdaptiveWorkerGroup(RequestChannel requestChannel, int corePoolSize, int maxPoolSize, long keepAliveMillis, long scaleUpWaitNanos) {
+        if(Objects.isNull(requestChannel)){
+            throw new IllegalArgumentException("requestChannel is null");
+        }
+        if(corePoolSize < 1 || maxPoolSize < corePoolSize){
+            throw new IllegalArgumentException(String.format("invalid pool size : core=%d, max=%d", corePoolSize, maxPoolSize));
+        }
+        if(keepAliveMillis <= 0 || scaleUpWaitNanos < 0){
+            throw new IllegalArgumentException("keepAlive must be positive");
+        }
+        this.requestChannel = requestChannel;
+        this.corePoolSize = corePoolSize;
+        this.maxPoolSize = maxPoolSize;
+        this.keepAliveNanos = TimeUnit.MILLISECONDS.toNanos(keepAliveMillis);
+        this.scaleUpWaitNanos = scaleUpWaitNanos;
+    }
+
+    @Override
+    public void run() {
+        for(int i=0; i<corePoolSize; i++){
+            addWorker();
+        }
+        try{
+            while(!Thread.currentThread().isInterrupted()){
+                scale();
+                Thread.sleep(SCALE_INTERVAL_MILLIS);
+            }
+        }catch(InterruptedException e){
+            Thread.currentThread().interrupt();
+        }finally {
+            stopWorkers();
+        }
+    }
+
+    public int getPoolSize() {
+        return poolSize.get();
+    }
+
+    public int getActiveCount() {
+        return activeCount.get();
+    }
+
+    public int getLargestPoolSize() {
+        return largestPoolSize;
+    }
+
+    public int getCorePoolSize() {
+        return corePoolSize;
+    }
+
+    public int getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    void scale(){
+        int queued = requestChannel.size();
+        int idle = poolSize.get() - activeCount.get();
+        if(queued <= idle || requestChannel.getOldestWaitNanos() < scaleUpWaitNanos){
+            return;
+        }
+        // 처리되지 못한 작업 수 만큼 한 번에 추가 합니다.
+        int required = queued - idle;
+        for(int i=0; i<required && addWorker(); i++){
+            log.debug("scale up : poolSize={}, queued={}", poolSize.get(), queued);
+        }
+    }
+
+    private boolean addWorker(){
+        int size;
+        do{
+            size = poolSize.get();
+            if(size >= maxPoolSize){
+                return false;
+            }
+        }while(!poolSize.compareAndSet(size, size + 1));
+        largestPoolSize = Math.max(largestPoolSize, size + 1);
+
+        Thread thread = new Thread(this::work);
+        thread.setName("adaptive-" + threadSequence.incrementAndGet());
+        workers.add(thread);
+        thread.start();
+        return true;
+    }
+
+    // corePoolSize를 초과하는 경우에만 poolSize를 줄이고 true를 반환 합니다.
+    private boolean tryRetire(){
+        int size;
+        do{
+            size = poolSize.get();
+            if(size <= corePoolSize){
+                return false;
+            }
+        }while(!poolSize.compareAndSet(size, size - 1));
+        return true;
+    }
+
+    private void work(){
+        try{
+            while(!Thread.currentThread().isInterrupted()){
+                Executable httpJob = requestChannel.pollHttpJob(keepAliveNanos, TimeUnit.NANOSECONDS);
+                if(Objects.isNull(httpJob)){
+                    if(tryRetire()){
+                        log.debug("scale down : poolSize={}", poolSize.get());
+                        return;
+                    }
+                    continue;
+                }
+                activeCount.incrementAndGet();
+                try{
+                    httpJob.execute();
+                }catch(Exception e){
+                    log.debug("worker error : {}", e.getMessage(), e);
+                }finally {
+                    activeCount.decrementAndGet();
+                }
+            }
+            // interrupt로 종료 되었습니다.
+            poolSize.decrementAndGet();
+        }catch(InterruptedException e){
+            poolSize.decrementAndGet();
+        }finally {
+            workers.remove(Thread.currentThread());
+        }
+    }
+
+    private void stopWorkers(){
+        for(Thread worker : workers){
+            worker.interrupt();
+        }
+        // scaler thread의 interrupt 상태를 지우고 worker가 종료될 때 까지 대기한 뒤 다시 설정 합니다.
+        boolean interrupted = Thread.interrupted();
+        for(Thread worker : workers){
+            try{
+                worker.join();
+            }catch(InterruptedException e){
+                interrupted = true;
+            }
+        }
+        if(interrupted){
+            Thread.currentThread().interrupt();
+        }
+    }
+}
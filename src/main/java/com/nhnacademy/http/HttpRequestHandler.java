@@ -18,6 +18,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Slf4j
 /* Java에서 Thread는 implements Runnable or extends Thread를 이용해서 Thread를 만들 수 있습니다.
@@ -27,6 +28,8 @@ public class HttpRequestHandler implements Runnable {
 
 
     private final RequestChannel requestChannel;
+    // 여러 worker thread가 하나의 handler를 공유 합니다. 작업을 실행중인 thread 수 입니다.
+    private final AtomicInteger activeCount = new AtomicInteger();
 
     public HttpRequestHandler(RequestChannel requestChannel) {
         if(Objects.isNull(requestChannel)){
@@ -36,6 +39,10 @@ public class HttpRequestHandler implements Runnable {
 
     }
 
+    public int getActiveCount() {
+        return activeCount.get();
+    }
+
     @Override
     public void run() {
         while (!Thread.currentThread().isInterrupted()) {
@@ -45,13 +52,18 @@ public class HttpRequestHandler implements Runnable {
 
 
                 //httpJob 객체의 execute() method를 실행 합니다.
-                httpJob.execute();
+                activeCount.incrementAndGet();
+                try {
+                    httpJob.execute();
+                } finally {
+                    activeCount.decrementAndGet();
+                }
 
             } catch (Exception e) {
                 // 상위 레벨의 다른 코드 또는 스레드가 이 스레드가 인터럽트 되었음을 인지 할 수 있습니다.
-                if(e.getMessage().contains(InterruptedException.class.getName())){
+                // RequestChannel은 대기 중 interrupt 되면 InterruptedException을 cause로 RuntimeException을 던집니다.
+                if(e.getCause() instanceof InterruptedException){
                     Thread.currentThread().interrupt();
-
                 }
                 // 종료될 떄 필요한 코드가 있다면 작성 합니다.
                 log.debug("RequestHandler error : {}",e.getMessage(),e);
@@ -0,0 +1,170 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http;
+
+import com.nhnacademy.http.channel.KeepAlivePolicy;
+import com.nhnacademy.http.channel.MonitorJobQueue;
+import com.nhnacademy.http.channel.OverloadPolicy;
+import com.nhnacademy.http.channel.RateLimiter;
+import com.nhnacademy.http.channel.RequestChannel;
+import com.nhnacademy.http.channel.TimeoutPolicy;
+import com.nhnacademy.http.handler.HelloHandler;
+import com.nhnacademy.http.handler.HttpHandler;
+import com.nhnacademy.http.metrics.HttpMetrics;
+import com.nhnacademy.http.nio.NioEventLoop;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.util.Objects;
+
+/* SimpleHttpServer의 event-driven 버전 입니다.
+ * blocking accept() 대신 Selector를 이용하며, 요청이 완성된 경우에만 RequestChannel에 작업을 배치 합니다.
+ */
+@Slf4j
+public class NioHttpServer {
+
+    private final int port;
+    private static final int DEFAULT_PORT=8080;
+    private static final int DEFAULT_QUEUE_SIZE = 1024;
+    private static final long STOP_TIMEOUT_MILLIS = 5_000;
+
+    private final RequestChannel requestChannel;
+    private HttpHandler httpHandler = new HelloHandler();
+    private TimeoutPolicy timeoutPolicy = TimeoutPolicy.DEFAULT;
+    // null이면 요청 수를 제한하지 않습니다.
+    private RateLimiter rateLimiter;
+    private final WorkerThreadPool workerThreadPool;
+
+    // stop() : start()가 실행중인 event loop를 종료 합니다.
+    private NioEventLoop eventLoop;
+    private Thread eventLoopThread;
+    private boolean stopped = false;
+
+    public NioHttpServer(){
+        this(DEFAULT_PORT);
+    }
+
+    public NioHttpServer(int port) {
+        this(port, new RequestChannel(new MonitorJobQueue(DEFAULT_QUEUE_SIZE), OverloadPolicy.REJECT));
+    }
+
+    /**
+     * event loop thread는 대기하지 않고 작업을 등록(RequestChannel.offerHttpJob) 합니다.
+     * 따라서 OverloadPolicy.BLOCK도 queue가 가득 찼다면 REJECT와 같이 503으로 응답 합니다.
+     */
+    public NioHttpServer(int port, RequestChannel requestChannel) {
+        if(port<=0){
+            throw new IllegalArgumentException(String.format("Invalid Port:%d",port));
+        }
+        if(Objects.isNull(requestChannel)){
+            throw new IllegalArgumentException("requestChannel is null");
+        }
+        this.port = port;
+        this.requestChannel = requestChannel;
+        workerThreadPool = new WorkerThreadPool(requestChannel);
+    }
+
+    // 요청을 처리할 handler를 지정 합니다. start() 전에 호출해야 합니다.
+    public void setHttpHandler(HttpHandler httpHandler) {
+        if(Objects.isNull(httpHandler)){
+            throw new IllegalArgumentException("httpHandler is null");
+        }
+        this.httpHandler = httpHandler;
+    }
+
+    /**
+     * header, body, write 단계의 timeout을 지정 합니다. start() 전에 호출해야 합니다.
+     * ex) server.setTimeoutPolicy(new TimeoutPolicy(5_000, 60_000, 30_000))
+     */
+    public void setTimeoutPolicy(TimeoutPolicy timeoutPolicy) {
+        if(Objects.isNull(timeoutPolicy)){
+            throw new IllegalArgumentException("timeoutPolicy is null");
+        }
+        this.timeoutPolicy = timeoutPolicy;
+    }
+
+    /**
+     * client(remote address) 별로 요청 수를 제한 합니다. 제한을 초과한 요청은 worker에게 전달하지 않고 429로 응답 합니다.
+     * start() 전에 호출해야 합니다.
+     * ex) server.setRateLimiter(new RateLimiter(50, 100))
+     */
+    public void setRateLimiter(RateLimiter rateLimiter) {
+        if(Objects.isNull(rateLimiter)){
+            throw new IllegalArgumentException("rateLimiter is null");
+        }
+        this.rateLimiter = rateLimiter;
+    }
+
+    public void start(){
+        workerThreadPool.start();
+        HttpMetrics.get().registerWorkerThreadPool(workerThreadPool);
+
+        try(ServerSocketChannel serverSocketChannel = ServerSocketChannel.open()){
+            serverSocketChannel.bind(new InetSocketAddress(port));
+            NioEventLoop eventLoop = new NioEventLoop(serverSocketChannel, requestChannel, KeepAlivePolicy.DEFAULT, httpHandler, timeoutPolicy);
+            if(Objects.nonNull(rateLimiter)){
+                eventLoop.setRateLimiter(rateLimiter);
+            }
+            if(!register(eventLoop)){
+                // start() 보다 stop()이 먼저 호출 되었습니다.
+                workerThreadPool.stop();
+                return;
+            }
+            // event loop는 start()를 호출한 thread에서 실행 됩니다.
+            eventLoop.run();
+            log.info("server stopped : port={}", port);
+        }catch (IOException e){
+            log.error("server error:{}",e);
+        }
+    }
+
+    // stop()이 먼저 호출 되었다면 false를 반환 합니다.
+    private synchronized boolean register(NioEventLoop eventLoop){
+        if(stopped){
+            return false;
+        }
+        this.eventLoop = eventLoop;
+        this.eventLoopThread = Thread.currentThread();
+        return true;
+    }
+
+    /**
+     * server를 종료 합니다. event loop가 모든 연결과 listen socket을 닫고 start()가 반환 된 뒤 WorkerThreadPool을 종료 합니다.
+     * 처리중인 응답을 기다리지 않습니다.
+     */
+    public void stop(){
+        NioEventLoop current;
+        Thread thread;
+        synchronized (this){
+            if(stopped){
+                return;
+            }
+            stopped = true;
+            current = eventLoop;
+            thread = eventLoopThread;
+        }
+        if(Objects.nonNull(current)){
+            current.stop();
+            if(thread != Thread.currentThread()){
+                try{
+                    thread.join(STOP_TIMEOUT_MILLIS);
+                }catch (InterruptedException e){
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+        workerThreadPool.stop();
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http;
+
+import com.nhnacademy.exceptions.ServerInitializationException;
+import com.nhnacademy.http.channel.RateLimiter;
+import com.nhnacademy.http.channel.RequestChannel;
+import com.nhnacademy.http.handler.HelloHandler;
+import com.nhnacademy.http.handler.HttpHandler;
+import com.nhnacademy.http.metrics.HttpMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.StandardSocketOptions;
+import java.nio.channels.ServerSocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/* SimpleHttpServer를 shard 단위로 나눈 버전 입니다.
+ * SimpleHttpServer는 accept thread 하나와 RequestChannel 하나를 모든 worker가 공유하므로 core 수가 많아지면 병목이 됩니다.
+ * ShardedHttpServer는 SO_REUSEPORT로 같은 port에 shardCount 개의 listen socket을 열고,
+ * shard마다 acceptor thread, RequestChannel, WorkerThreadPool을 따로 둡니다. shard 사이에 공유하는 lock이 없습니다.
+ *
+ * ex) new ShardedHttpServer(8080, Runtime.getRuntime().availableProcessors(), RequestChannel::new, WorkerThreadPool::new)
+ */
+@Slf4j
+public class ShardedHttpServer {
+    private static final int DEFAULT_PORT=8080;
+
+    private final int port;
+    private final int shardCount;
+    private final Supplier<RequestChannel> requestChannelFactory;
+    private final Function<RequestChannel, WorkerThreadPool> workerThreadPoolFactory;
+    private HttpHandler httpHandler = new HelloHandler();
+    // null이면 요청 수를 제한하지 않습니다.
+    private RateLimiter rateLimiter;
+
+    private final List<AcceptorShard> shards = new ArrayList<>();
+    private final List<Thread> acceptorThreads = new ArrayList<>();
+
+    public ShardedHttpServer(){
+        this(DEFAULT_PORT);
+    }
+
+    // core 수 만큼 shard를 생성 합니다.
+    public ShardedHttpServer(int port){
+        this(port, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ShardedHttpServer(int port, int shardCount){
+        this(port, shardCount, RequestChannel::new, WorkerThreadPool::new);
+    }
+
+    /**
+     * @param requestChannelFactory shard마다 호출되어 shard 전용 RequestChannel을 생성 합니다.
+     * @param workerThreadPoolFactory shard마다 호출되어 shard 전용 WorkerThreadPool을 생성 합니다. ex) WorkerThreadPool::ofVirtual
+     */
+    public ShardedHttpServer(int port, int shardCount, Supplier<RequestChannel> requestChannelFactory,
+                             Function<RequestChannel, WorkerThreadPool> workerThreadPoolFactory){
+        if(port<=0){
+            throw new IllegalArgumentException(String.format("Invalid Port:%d",port));
+        }
+        if(shardCount<1){
+            throw new IllegalArgumentException(String.format("Invalid shardCount:%d",shardCount));
+        }
+        if(Objects.isNull(requestChannelFactory)){
+            throw new IllegalArgumentException("requestChannelFactory is null");
+        }
+        if(Objects.isNull(workerThreadPoolFactory)){
+            throw new IllegalArgumentException("workerThreadPoolFactory is null");
+        }
+        this.port = port;
+        this.shardCount = shardCount;
+        this.requestChannelFactory = requestChannelFactory;
+        this.workerThreadPoolFactory = workerThreadPoolFactory;
+    }
+
+    // 요청을 처리할 handler를 지정 합니다. start() 전에 호출해야 합니다. 모든 shard가 같은 handler를 사용합니다.
+    public void setHttpHandler(HttpHandler httpHandler) {
+        if(Objects.isNull(httpHandler)){
+            throw new IllegalArgumentException("httpHandler is null");
+        }
+        this.httpHandler = httpHandler;
+    }
+
+    /**
+     * client(remote address) 별로 요청 수를 제한 합니다. 모든 shard가 같은 RateLimiter를 사용하므로
+     * kernel이 같은 client의 연결을 여러 shard에 분배해도 제한은 server 전체에 적용 됩니다.
+     * start() 전에 호출해야 합니다.
+     */
+    public void setRateLimiter(RateLimiter rateLimiter) {
+        if(Objects.isNull(rateLimiter)){
+            throw new IllegalArgumentException("rateLimiter is null");
+        }
+        this.rateLimiter = rateLimiter;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    // 운영체제가 SO_REUSEPORT를 지원하는지 확인 합니다. (ex: Linux 3.9+, macOS)
+    public static boolean isReusePortSupported(){
+        try(ServerSocketChannel serverSocketChannel = ServerSocketChannel.open()){
+            return serverSocketChannel.supportedOptions().contains(StandardSocketOptions.SO_REUSEPORT);
+        }catch (IOException e){
+            return false;
+        }
+    }
+
+    /**
+     * 모든 shard를 bind 하고 acceptor thread를 시작한 뒤, 모든 shard가 종료될 때 까지 대기 합니다.
+     * SO_REUSEPORT를 지원하지 않는 운영체제에서는 UnsupportedOperationException이 발생 합니다.
+     * @throws ServerInitializationException shard를 bind 하지 못했습니다. (ex: SO_REUSEPORT 없이 사용중인 port) bind한 shard는 모두 닫습니다.
+     */
+    public void start() throws ServerInitializationException {
+        if(!isReusePortSupported()){
+            throw new UnsupportedOperationException("SO_REUSEPORT is not supported");
+        }
+
+        List<WorkerThreadPool> workerThreadPools = new ArrayList<>();
+        synchronized (this){
+            try{
+                for(int i=0; i<shardCount; i++){
+                    WorkerThreadPool workerThreadPool = workerThreadPoolFactory.apply(requestChannelFactory.get());
+                    shards.add(new AcceptorShard(i, port, workerThreadPool, httpHandler, rateLimiter));
+                    workerThreadPools.add(workerThreadPool);
+                }
+            }catch (IOException e){
+                closeShards();
+                throw new ServerInitializationException("shard bind failed : port " + port, e);
+            }
+            HttpMetrics.get().registerWorkerThreadPools(workerThreadPools);
+
+            for(AcceptorShard shard : shards){
+                Thread thread = new Thread(shard);
+                thread.setName("shard-" + shard.getIndex() + "-acceptor");
+                acceptorThreads.add(thread);
+                thread.start();
+            }
+        }
+
+        for(Thread thread : acceptorThreads){
+            try{
+                thread.join();
+            }catch (InterruptedException e){
+                Thread.currentThread().interrupt();
+                stop();
+                return;
+            }
+        }
+    }
+
+    // listen socket을 닫아 acceptor thread를 종료 합니다. 각 shard의 WorkerThreadPool도 함께 종료 됩니다.
+    public synchronized void stop(){
+        closeShards();
+    }
+
+    private void closeShards(){
+        for(AcceptorShard shard : shards){
+            try{
+                shard.close();
+            }catch (IOException e){
+                log.debug("shard-{} close error:{}", shard.getIndex(), e.getMessage());
+            }
+        }
+    }
+}
@@ -12,62 +12,191 @@
 
 package com.nhnacademy.http;
 
+import com.nhnacademy.http.channel.ConnectionTracker;
 import com.nhnacademy.http.channel.HttpJob;
+import com.nhnacademy.http.channel.KeepAlivePolicy;
+import com.nhnacademy.http.channel.RateLimiter;
 import com.nhnacademy.http.channel.RequestChannel;
+import com.nhnacademy.http.channel.TimeoutPolicy;
+import com.nhnacademy.http.handler.HelloHandler;
+import com.nhnacademy.http.handler.HttpHandler;
+import com.nhnacademy.http.metrics.HttpMetrics;
+import com.nhnacademy.http.response.HttpResponseWriter;
 
 import lombok.extern.slf4j.Slf4j;
 import java.io.*;
-import java.net.ServerSocket;
-import java.net.Socket;
+import java.net.InetSocketAddress;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 public class SimpleHttpServer {
 
     private final int port;
     private static final int DEFAULT_PORT=8080;
-    private final ServerSocket serverSocket;
-
-
-    //TODO#1 CRLF를 선언합니다. CRLF는 Carriage Return (CR) 와 Line Feed (LF)를 의미하며, HTTP 프로토콜에서 줄 바꿈을 나타내기 위해 사용됩니다. 이는 \r\n으로 표현됩니다.
-    private static final String CRLF="FIXME";
-
-    private final AtomicLong atomicCounter;
+    private static final long DEFAULT_STOP_TIMEOUT_MILLIS=30_000;
 
     private final RequestChannel requestChannel;
+    private HttpHandler httpHandler = new HelloHandler();
+    private TimeoutPolicy timeoutPolicy = TimeoutPolicy.DEFAULT;
+    // null이라면 요청 수를 제한하지 않습니다.
+    private RateLimiter rateLimiter;
+
+    // graceful shutdown : accept한 연결을 추적 합니다.
+    private final ConnectionTracker connectionTracker = new ConnectionTracker();
+    private ServerSocketChannel serverSocketChannel;
+    private volatile boolean stopped = false;
 
     public SimpleHttpServer(){
-        //TODO#2 기본 port는 DEFAULT_PORT을 사용합니다.
-        port =0;
-        serverSocket = null;
+        //기본 port는 DEFAULT_PORT을 사용합니다.
+        this(DEFAULT_PORT);
     }
 
     private WorkerThreadPool workerThreadPool;
 
     public SimpleHttpServer(int port) {
+        this(port, WorkerThreadPool.ThreadMode.PLATFORM);
+    }
+
+    public SimpleHttpServer(int port, WorkerThreadPool.ThreadMode threadMode) {
+        this(port, threadMode, new RequestChannel());
+    }
+
+    /**
+     * 과부하 정책(OverloadPolicy)을 지정한 RequestChannel을 사용합니다.
+     * ex) new SimpleHttpServer(8080, ThreadMode.PLATFORM, new RequestChannel(new MonitorJobQueue(100), OverloadPolicy.CODEL))
+     */
+    public SimpleHttpServer(int port, WorkerThreadPool.ThreadMode threadMode, RequestChannel requestChannel) {
         if(port<=0){
             throw new IllegalArgumentException(String.format("Invalid Port:%d",port));
         }
+        if(Objects.isNull(requestChannel)){
+            throw new IllegalArgumentException("requestChannel is null");
+        }
         this.port = port;
-        // RequestChannel() 초기화 합니다.
-        requestChannel = new RequestChannel();
+        this.requestChannel = requestChannel;
+
+        // workerThreadPool 초기화 합니다. VIRTUAL mode는 요청마다 virtual thread를 사용합니다.
+        workerThreadPool = switch (threadMode) {
+            case VIRTUAL -> WorkerThreadPool.ofVirtual(requestChannel);
+            case ADAPTIVE -> WorkerThreadPool.ofAdaptive(requestChannel);
+            case PLATFORM -> new WorkerThreadPool(requestChannel);
+        };
+    }
+
+    // 요청을 처리할 handler를 지정 합니다. start() 전에 호출해야 합니다.
+    public void setHttpHandler(HttpHandler httpHandler) {
+        if(Objects.isNull(httpHandler)){
+            throw new IllegalArgumentException("httpHandler is null");
+        }
+        this.httpHandler = httpHandler;
+    }
 
-        // workerThreadPool 초기화 합니다.
-        workerThreadPool = new WorkerThreadPool(requestChannel);
+    /**
+     * header, body, write 단계의 timeout을 지정 합니다. start() 전에 호출해야 합니다.
+     * ex) server.setTimeoutPolicy(new TimeoutPolicy(5_000, 60_000, 30_000))
+     */
+    public void setTimeoutPolicy(TimeoutPolicy timeoutPolicy) {
+        if(Objects.isNull(timeoutPolicy)){
+            throw new IllegalArgumentException("timeoutPolicy is null");
+        }
+        this.timeoutPolicy = timeoutPolicy;
+    }
+
+    /**
+     * client(remote address) 별로 요청 수를 제한 합니다. keep-alive 연결과 pipelining 요청도 요청 하나가 token 하나를 사용합니다.
+     * 제한을 초과한 client의 연결은 RequestChannel에 배치하지 않고, 배치한 연결의 요청은 handler를 호출하지 않고 429로 응답한 뒤 연결을 종료 합니다.
+     * start() 전에 호출해야 합니다.
+     * ex) simpleHttpServer.setRateLimiter(new RateLimiter(50, 100))
+     */
+    public void setRateLimiter(RateLimiter rateLimiter) {
+        if(Objects.isNull(rateLimiter)){
+            throw new IllegalArgumentException("rateLimiter is null");
+        }
+        this.rateLimiter = rateLimiter;
     }
 
     public void start(){
         // workerThreadPool을 시작 합니다.
         workerThreadPool.start();
-
-        try(ServerSocket serverSocket = new ServerSocket(8080);){
-            while(true){
-                Socket client = serverSocket.accept();
+        HttpMetrics.get().registerWorkerThreadPool(workerThreadPool);
+
+        // blocking mode의 ServerSocketChannel을 사용합니다. accept한 socket은 gathering write를 사용할 수 있습니다.
+        try(ServerSocketChannel serverSocketChannel = open()){
+            serverSocketChannel.bind(new InetSocketAddress(port));
+            while(!stopped){
+                SocketChannel client = serverSocketChannel.accept();
+                HttpMetrics.get().connectionAccepted();
+                HttpJob httpJob = new HttpJob(client.socket(), KeepAlivePolicy.DEFAULT, httpHandler, connectionTracker, timeoutPolicy);
+                // 제한을 초과한 client는 queue에 배치하지 않고 acceptor thread에서 바로 429로 응답 합니다.
+                // 배치한 연결의 이후 요청은 HttpJob이 요청마다 확인 합니다.
+                if(Objects.nonNull(rateLimiter) && !httpJob.admit(rateLimiter)){
+                    httpJob.reject(HttpResponseWriter.tooManyRequests());
+                    continue;
+                }
                 //Queue(requestChannel)에 HttpJob 객체를 배치 합니다.
-                requestChannel.addHttpJob(new HttpJob(client));
+                requestChannel.addHttpJob(httpJob);
             }
+        }catch (ClosedChannelException e){
+            // stop()이 listen socket을 닫았습니다.
+            log.info("server stopped : port={}", port);
         }catch (IOException e){
             log.error("server error:{}",e);
 
         }
     }
+
+    private synchronized ServerSocketChannel open() throws IOException {
+        serverSocketChannel = ServerSocketChannel.open();
+        if(stopped){
+            serverSocketChannel.close();
+        }
+        return serverSocketChannel;
+    }
+
+    public void stop(){
+        stop(DEFAULT_STOP_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * server를 종료 합니다.
+     *  1. listen socket을 닫아 새 연결을 받지 않습니다.
+     *  2. 다음 요청을 기다리는 keep-alive 연결을 종료하고, 처리중인 요청은 "Connection: close"로 응답한 뒤 종료 합니다.
+     *     RequestChannel에서 대기중인 연결도 요청 하나를 처리한 뒤 종료 됩니다.
+     *  3. timeout 안에 종료되지 않은 연결은 강제로 종료하고 WorkerThreadPool을 종료 합니다.
+     * @return timeout 안에 모든 연결이 정상적으로 종료 되었다면 true
+     */
+    public boolean stop(long timeout, TimeUnit unit){
+        synchronized (this){
+            if(stopped){
+                return true;
+            }
+            stopped = true;
+            if(Objects.nonNull(serverSocketChannel)){
+                try{
+                    serverSocketChannel.close();
+                }catch (IOException e){
+                    log.debug("close error:{}", e.getMessage());
+                }
+            }
+        }
+
+        connectionTracker.drain();
+        boolean drained;
+        try{
+            drained = connectionTracker.awaitClosed(timeout, unit);
+        }catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+            drained = false;
+        }
+        if(!drained){
+            log.warn("stop timeout : {} connections are closed", connectionTracker.getOpenCount());
+            connectionTracker.closeAll();
+        }
+        workerThreadPool.stop();
+        return drained;
+    }
 }
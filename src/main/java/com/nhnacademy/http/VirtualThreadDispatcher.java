@@ -0,0 +1,97 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http;
+
+import com.nhnacademy.http.channel.Executable;
+import com.nhnacademy.http.channel.RequestChannel;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/* RequestChannel로 부터 작업을 할당 받아 virtual thread에서 실행 합니다.
+ * Semaphore를 이용해서 동시에 실행되는 요청 수를 maxConcurrentRequests로 제한 합니다.
+ */
+@Slf4j
+public class VirtualThreadDispatcher implements Runnable {
+
+    private final RequestChannel requestChannel;
+    private final ExecutorService executorService;
+    private final int maxConcurrentRequests;
+    private final Semaphore permits;
+
+    public VirtualThreadDispatcher(RequestChannel requestChannel, ExecutorService executorService, int maxConcurrentRequests) {
+        if(Objects.isNull(requestChannel)){
+            throw new IllegalArgumentException("requestChannel is null");
+        }
+        if(Objects.isNull(executorService)){
+            throw new IllegalArgumentException("executorService is null");
+        }
+        if(maxConcurrentRequests < 1){
+            throw new IllegalArgumentException("maxConcurrentRequests must be greater than 0");
+        }
+        this.requestChannel = requestChannel;
+        this.executorService = executorService;
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.permits = new Semaphore(maxConcurrentRequests);
+    }
+
+    // 실행중인 요청 수 입니다. (dispatcher가 작업을 기다리며 확보한 permit 하나를 포함할 수 있습니다.)
+    public int getActiveCount() {
+        return maxConcurrentRequests - permits.availablePermits();
+    }
+
+    @Override
+    public void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                // 동시 실행 수가 maxConcurrentRequests에 도달했다면 실행 중인 요청이 끝날 때 까지 대기 합니다.
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            Executable httpJob;
+            try {
+                httpJob = requestChannel.getHttpJob();
+            } catch (RuntimeException e) {
+                permits.release();
+                if(e.getCause() instanceof InterruptedException){
+                    Thread.currentThread().interrupt();
+                }
+                log.debug("dispatcher error : {}", e.getMessage(), e);
+                continue;
+            }
+
+            try {
+                executorService.execute(() -> {
+                    try {
+                        httpJob.execute();
+                    } catch (Exception e) {
+                        log.debug("virtual thread error : {}", e.getMessage(), e);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // executor가 종료 되었습니다.
+                permits.release();
+                log.debug("dispatcher stopped : {}", e.getMessage());
+                break;
+            }
+        }
+    }
+}
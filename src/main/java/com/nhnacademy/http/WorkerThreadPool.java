@@ -15,29 +15,115 @@ package com.nhnacademy.http;
 import com.nhnacademy.http.channel.RequestChannel;
 
 import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 public class WorkerThreadPool {
+    /* PLATFORM : poolSize 만큼의 platform thread가 RequestChannel의 작업을 처리 합니다.
+     * VIRTUAL : 요청 하나당 virtual thread 하나를 생성해서 처리 합니다. blocking I/O 중에도 carrier thread를 점유하지 않습니다.
+     * ADAPTIVE : corePoolSize ~ maxPoolSize 사이에서 대기 작업 수와 대기 시간에 따라 platform thread 수를 조절 합니다.
+     */
+    public enum ThreadMode { PLATFORM, VIRTUAL, ADAPTIVE }
+
     private final int poolSize;
 
     private final static int DEFAULT_POOL_SIZE=5;
+    private final static int DEFAULT_MAX_CONCURRENT_REQUESTS=10_000;
+    private final static int DEFAULT_MAX_POOL_SIZE=200;
+    private final static long STOP_TIMEOUT_SECONDS=5;
+    private final static long DEFAULT_KEEP_ALIVE_MILLIS=60_000;
 
+    private final ThreadMode threadMode;
     private final Thread[] workerThreads;
     private final RequestChannel requestChannel;
 
+    // VIRTUAL mode에서만 사용 합니다.
+    private final ExecutorService virtualThreadExecutor;
+    private final VirtualThreadDispatcher virtualThreadDispatcher;
+    // PLATFORM mode에서만 사용 합니다.
+    private final HttpRequestHandler httpRequestHandler;
+    // ADAPTIVE mode에서만 사용 합니다.
+    private final AdaptiveWorkerGroup adaptiveWorkerGroup;
+
     public WorkerThreadPool(RequestChannel requestChannel){
         this(DEFAULT_POOL_SIZE, requestChannel);
     }
     public WorkerThreadPool(int poolSize, RequestChannel requestChannel) {
+        this(ThreadMode.PLATFORM, poolSize, requestChannel);
+    }
+
+    /**
+     * virtual-thread-per-request 방식의 WorkerThreadPool을 생성 합니다.
+     * @param maxConcurrentRequests 동시에 실행할 수 있는 최대 요청 수
+     */
+    public static WorkerThreadPool ofVirtual(int maxConcurrentRequests, RequestChannel requestChannel){
+        return new WorkerThreadPool(ThreadMode.VIRTUAL, maxConcurrentRequests, requestChannel);
+    }
+
+    public static WorkerThreadPool ofVirtual(RequestChannel requestChannel){
+        return ofVirtual(DEFAULT_MAX_CONCURRENT_REQUESTS, requestChannel);
+    }
+
+    /**
+     * 요청량에 따라 thread 수를 조절하는 WorkerThreadPool을 생성 합니다.
+     * @param corePoolSize 항상 유지하는 thread 수
+     * @param maxPoolSize 최대 thread 수
+     * @param keepAliveMillis corePoolSize를 초과한 thread가 작업 없이 대기할 수 있는 시간
+     */
+    public static WorkerThreadPool ofAdaptive(int corePoolSize, int maxPoolSize, long keepAliveMillis, RequestChannel requestChannel){
+        return new WorkerThreadPool(new AdaptiveWorkerGroup(requestChannel, corePoolSize, maxPoolSize, keepAliveMillis), requestChannel);
+    }
+
+    public static WorkerThreadPool ofAdaptive(int corePoolSize, int maxPoolSize, RequestChannel requestChannel){
+        return ofAdaptive(corePoolSize, maxPoolSize, DEFAULT_KEEP_ALIVE_MILLIS, requestChannel);
+    }
+
+    public static WorkerThreadPool ofAdaptive(RequestChannel requestChannel){
+        return ofAdaptive(DEFAULT_POOL_SIZE, DEFAULT_MAX_POOL_SIZE, requestChannel);
+    }
+
+    private WorkerThreadPool(AdaptiveWorkerGroup adaptiveWorkerGroup, RequestChannel requestChannel) {
+        this.threadMode = ThreadMode.ADAPTIVE;
+        this.poolSize = adaptiveWorkerGroup.getMaxPoolSize();
+        this.requestChannel = requestChannel;
+        this.virtualThreadExecutor = null;
+        this.virtualThreadDispatcher = null;
+        this.httpRequestHandler = null;
+        this.adaptiveWorkerGroup = adaptiveWorkerGroup;
+
+        // scaler thread가 worker thread를 생성하고 종료 합니다.
+        workerThreads = new Thread[1];
+        workerThreads[0] = new Thread(adaptiveWorkerGroup);
+        workerThreads[0].setName("scaler");
+    }
+
+    private WorkerThreadPool(ThreadMode threadMode, int poolSize, RequestChannel requestChannel) {
         // poolSize <1 다면 IllegalArgumentException이 발생합니다. 적절히 ErrorMessage를 작성하세요
         if(poolSize<1) throw new IllegalArgumentException("poolSize must be greater than 0");
         // requestChannel null check. 적절히 ErrorMessage를 작성하세요
         if(requestChannel == null) throw new IllegalArgumentException("requestChannel cannot be null");
         //pooSize, requestChannel 초기화
+        this.threadMode = threadMode;
         this.poolSize = poolSize;
         this.requestChannel = requestChannel;
+        this.adaptiveWorkerGroup = null;
+
+        if(threadMode == ThreadMode.VIRTUAL){
+            // dispatcher thread 하나가 작업을 할당 받아 virtual thread에서 실행 합니다.
+            virtualThreadExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("virtual-",1).factory());
+            virtualThreadDispatcher = new VirtualThreadDispatcher(requestChannel, virtualThreadExecutor, poolSize);
+            httpRequestHandler = null;
+            workerThreads = new Thread[1];
+            workerThreads[0] = new Thread(virtualThreadDispatcher);
+            workerThreads[0].setName("dispatcher");
+            return;
+        }
+        virtualThreadExecutor = null;
+        virtualThreadDispatcher = null;
 
         // requestChannel을 이용하여 httpRequestHandler 객체를 생성 합니다.
-        HttpRequestHandler httpRequestHandler = new HttpRequestHandler(requestChannel);
+        httpRequestHandler = new HttpRequestHandler(requestChannel);
 
         // workerThreads를 초기화 합니다. poolSize 만큼 Thread를 생성 합니다.
         workerThreads = new Thread[poolSize];
@@ -46,14 +132,47 @@ public class WorkerThreadPool {
             // workerThread 생성및 이름 설정 :  thread-1,thread-2, thread-3 ...
             workerThreads[i] = new Thread(httpRequestHandler);
             workerThreads[i].setName("thread-"+i+1);
-            workerThreads[i].start();
 
         }
     }
+
+    public ThreadMode getThreadMode() {
+        return threadMode;
+    }
+
+    /* 현재 worker thread 수 입니다.
+     * VIRTUAL mode는 요청마다 thread를 생성하므로 실행중인 요청 수와 같습니다.
+     */
+    public int getPoolSize() {
+        return switch (threadMode) {
+            case PLATFORM -> poolSize;
+            case VIRTUAL -> virtualThreadDispatcher.getActiveCount();
+            case ADAPTIVE -> adaptiveWorkerGroup.getPoolSize();
+        };
+    }
+
+    // 작업을 실행중인 thread 수 입니다.
+    public int getActiveCount() {
+        return switch (threadMode) {
+            case PLATFORM -> httpRequestHandler.getActiveCount();
+            case VIRTUAL -> virtualThreadDispatcher.getActiveCount();
+            case ADAPTIVE -> adaptiveWorkerGroup.getActiveCount();
+        };
+    }
+
+    // 최대 thread 수 입니다. VIRTUAL mode는 동시에 실행할 수 있는 최대 요청 수 입니다.
+    public int getMaxPoolSize() {
+        return poolSize;
+    }
+
+    public RequestChannel getRequestChannel() {
+        return requestChannel;
+    }
+
     public synchronized void start(){
         // workerThreads에 초가화된 모든 Thread를 start 합니다.
-        for(int i=0; i<poolSize; i++){
-            workerThreads[i].start();
+        for(Thread thread : workerThreads){
+            thread.start();
         }
     }
 
@@ -76,5 +195,15 @@ public class WorkerThreadPool {
                 Thread.currentThread().interrupt();
             }
         }
+
+        // 실행 중인 virtual thread를 interrupt 하고 종료될 때 까지 대기 합니다.
+        if(Objects.nonNull(virtualThreadExecutor)){
+            virtualThreadExecutor.shutdownNow();
+            try{
+                virtualThreadExecutor.awaitTermination(STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            }catch (InterruptedException e){
+                Thread.currentThread().interrupt();
+            }
+        }
     }
 }
@@ -0,0 +1,265 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.buffer;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/* 연결마다 사용하는 I/O buffer를 재사용 합니다. 연결이 많을 때 buffer 할당으로 인한 GC 부담을 줄입니다.
+ *  - 크기는 2의 거듭제곱(size class)으로 올림 합니다. size class 마다 공유 pool(lock-free queue)을 따로 둡니다.
+ *  - platform thread는 size class 마다 threadCacheSize 개의 buffer를 thread-local cache에 보관해서 공유 pool 접근을 줄입니다.
+ *    virtual thread는 수가 많고 수명이 짧으므로 thread-local cache를 사용하지 않습니다.
+ *  - maxSize 보다 큰 buffer는 pool에 보관하지 않습니다.
+ *  - leakDetection : 반환하지 않은 buffer와 할당한 위치를 기록 합니다. 두 번 반환하거나 pool에서 할당하지 않은 buffer를 반환하면 예외가 발생합니다.
+ *    기록 비용이 크므로 test에서만 사용합니다. (-Dhttp.buffer.leakDetection=true)
+ */
+@Slf4j
+public class BufferPool {
+    public static final String LEAK_DETECTION_PROPERTY = "http.buffer.leakDetection";
+
+    private static final int DEFAULT_MIN_SIZE = 1024;
+    private static final int DEFAULT_MAX_SIZE = 64 * 1024;
+    private static final int DEFAULT_MAX_POOLED = 1024;
+    private static final int DEFAULT_THREAD_CACHE_SIZE = 4;
+
+    private static final boolean LEAK_DETECTION = Boolean.getBoolean(LEAK_DETECTION_PROPERTY);
+    private static final BufferPool DIRECT = new BufferPool(true, DEFAULT_MIN_SIZE, DEFAULT_MAX_SIZE, DEFAULT_MAX_POOLED, DEFAULT_THREAD_CACHE_SIZE, LEAK_DETECTION);
+    private static final BufferPool HEAP = new BufferPool(false, DEFAULT_MIN_SIZE, DEFAULT_MAX_SIZE, DEFAULT_MAX_POOLED, DEFAULT_THREAD_CACHE_SIZE, LEAK_DETECTION);
+
+    private final boolean direct;
+    private final int minShift;
+    private final int maxShift;
+    private final int maxPooled;
+    private final int threadCacheSize;
+    private final boolean leakDetection;
+
+    // size class -> 공유 pool, 보관중인 buffer 수
+    private final Queue<ByteBuffer>[] pools;
+    private final AtomicIntegerArray pooledCounts;
+    private final ThreadLocal<ThreadCache> threadCache;
+
+    // leakDetection : 반환하지 않은 buffer -> 할당한 위치
+    private final Map<ByteBuffer, Throwable> leases = new IdentityHashMap<>();
+
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder released = new LongAdder();
+    private final LongAdder allocated = new LongAdder();
+
+    // thread 하나가 사용하는 size class 별 stack 입니다.
+    private static final class ThreadCache {
+        private final ByteBuffer[][] buffers;
+        private final int[] counts;
+
+        private ThreadCache(int sizeClasses, int size) {
+            buffers = new ByteBuffer[sizeClasses][size];
+            counts = new int[sizeClasses];
+        }
+    }
+
+    /**
+     * @param direct direct ByteBuffer를 사용할지 여부
+     * @param minSize 가장 작은 size class
+     * @param maxSize 가장 큰 size class, 이보다 큰 buffer는 pool에 보관하지 않습니다.
+     * @param maxPooled size class 마다 공유 pool에 보관하는 최대 buffer 수
+     * @param threadCacheSize size class 마다 thread-local cache에 보관하는 최대 buffer 수, 0이라면 사용하지 않습니다.
+     */
+    @SuppressWarnings("unchecked")
+    public BufferPool(boolean direct, int minSize, int maxSize, int maxPooled, int threadCacheSize, boolean leakDetection) {
+        if(minSize < 1 || maxSize < minSize){
+            throw new IllegalArgumentException(String.format("invalid size : min=%d, max=%d", minSize, maxSize));
+        }
+        if(maxPooled < 0 || threadCacheSize < 0){
+            throw new IllegalArgumentException("maxPooled and threadCacheSize must be positive");
+        }
+        this.direct = direct;
+        this.minShift = shiftOf(minSize);
+        this.maxShift = shiftOf(maxSize);
+        this.maxPooled = maxPooled;
+        this.threadCacheSize = threadCacheSize;
+        this.leakDetection = leakDetection;
+
+        int sizeClasses = maxShift - minShift + 1;
+        pools = new Queue[sizeClasses];
+        for(int i=0; i<sizeClasses; i++){
+            pools[i] = new ConcurrentLinkedQueue<>();
+        }
+        pooledCounts = new AtomicIntegerArray(sizeClasses);
+        threadCache = ThreadLocal.withInitial(() -> new ThreadCache(sizeClasses, threadCacheSize));
+    }
+
+    // socket channel read/write에 사용합니다. heap buffer는 JDK 내부에서 direct buffer로 한 번 더 복사 됩니다.
+    public static BufferPool direct(){
+        return DIRECT;
+    }
+
+    // byte[]가 필요한 InputStream, OutputStream에 사용합니다.
+    public static BufferPool heap(){
+        return HEAP;
+    }
+
+    public boolean isDirect() {
+        return direct;
+    }
+
+    public boolean isLeakDetection() {
+        return leakDetection;
+    }
+
+    /**
+     * capacity 이상의 크기를 가진 buffer를 반환 합니다. position은 0, limit는 capacity 입니다.
+     * 사용한 뒤에는 release()로 반환해야 합니다.
+     */
+    public ByteBuffer acquire(int capacity){
+        if(capacity < 0){
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        acquired.increment();
+        int sizeClass = sizeClassOf(capacity);
+        ByteBuffer buffer = null;
+        if(sizeClass >= 0){
+            buffer = pollThreadCache(sizeClass);
+            if(Objects.isNull(buffer)){
+                buffer = pools[sizeClass].poll();
+                if(Objects.nonNull(buffer)){
+                    pooledCounts.decrementAndGet(sizeClass);
+                }
+            }
+        }
+        if(Objects.isNull(buffer)){
+            allocated.increment();
+            buffer = allocate(sizeClass >= 0 ? 1 << (sizeClass + minShift) : capacity);
+        }
+        buffer.clear().limit(capacity);
+        if(leakDetection){
+            synchronized (leases){
+                leases.put(buffer, new Throwable("buffer acquired here"));
+            }
+        }
+        return buffer;
+    }
+
+    /**
+     * acquire()로 받은 buffer를 반환 합니다. 반환한 buffer는 더 이상 사용하면 안됩니다.
+     */
+    public void release(ByteBuffer buffer){
+        if(Objects.isNull(buffer)){
+            throw new IllegalArgumentException("buffer is null");
+        }
+        if(leakDetection){
+            synchronized (leases){
+                if(Objects.isNull(leases.remove(buffer))){
+                    throw new IllegalStateException("buffer is not acquired from this pool or already released");
+                }
+            }
+        }
+        released.increment();
+        int capacity = buffer.capacity();
+        int sizeClass = sizeClassOf(capacity);
+        // 다른 pool에서 할당 했거나 size class 크기가 아닌 buffer는 보관하지 않습니다.
+        if(sizeClass < 0 || buffer.isDirect() != direct || capacity != 1 << (sizeClass + minShift) || buffer.isReadOnly()){
+            return;
+        }
+        if(offerThreadCache(sizeClass, buffer)){
+            return;
+        }
+        if(pooledCounts.incrementAndGet(sizeClass) <= maxPooled){
+            pools[sizeClass].offer(buffer);
+        }else{
+            // 공유 pool이 가득 찼습니다. GC가 회수 합니다.
+            pooledCounts.decrementAndGet(sizeClass);
+        }
+    }
+
+    // 반환하지 않은 buffer 수 입니다.
+    public long getLeasedCount(){
+        return acquired.sum() - released.sum();
+    }
+
+    // pool에 buffer가 없어서 새로 할당한 횟수 입니다.
+    public long getAllocatedCount(){
+        return allocated.sum();
+    }
+
+    /**
+     * leakDetection : 반환하지 않은 buffer를 할당한 위치와 함께 log로 기록 합니다.
+     * @return 반환하지 않은 buffer 수
+     */
+    public int reportLeaks(){
+        if(!leakDetection){
+            return 0;
+        }
+        List<Throwable> sites;
+        synchronized (leases){
+            sites = new ArrayList<>(leases.values());
+        }
+        for(Throwable site : sites){
+            log.warn("buffer leak detected", site);
+        }
+        return sites.size();
+    }
+
+    private ByteBuffer pollThreadCache(int sizeClass){
+        if(threadCacheSize == 0 || Thread.currentThread().isVirtual()){
+            return null;
+        }
+        ThreadCache cache = threadCache.get();
+        int count = cache.counts[sizeClass];
+        if(count == 0){
+            return null;
+        }
+        cache.counts[sizeClass] = --count;
+        ByteBuffer buffer = cache.buffers[sizeClass][count];
+        cache.buffers[sizeClass][count] = null;
+        return buffer;
+    }
+
+    private boolean offerThreadCache(int sizeClass, ByteBuffer buffer){
+        if(threadCacheSize == 0 || Thread.currentThread().isVirtual()){
+            return false;
+        }
+        ThreadCache cache = threadCache.get();
+        int count = cache.counts[sizeClass];
+        if(count == threadCacheSize){
+            return false;
+        }
+        cache.buffers[sizeClass][count] = buffer;
+        cache.counts[sizeClass] = count + 1;
+        return true;
+    }
+
+    private ByteBuffer allocate(int capacity){
+        return direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+    }
+
+    // pool에 보관하지 않는 크기라면 -1
+    private int sizeClassOf(int capacity){
+        int shift = Math.max(shiftOf(Math.max(capacity, 1)), minShift);
+        return shift > maxShift ? -1 : shift - minShift;
+    }
+
+    // capacity 이상인 가장 작은 2의 거듭제곱의 지수
+    private static int shiftOf(int capacity){
+        return capacity <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(capacity - 1);
+    }
+}
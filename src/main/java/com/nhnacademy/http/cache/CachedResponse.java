@@ -0,0 +1,79 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.cache;
+
+import com.nhnacademy.http.response.HttpResponse;
+import com.nhnacademy.http.response.HttpStatus;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/* cache에 보관하는 응답 입니다. handler가 반환한 HttpResponse와 독립된 사본이며 변경되지 않습니다.
+ * body는 direct buffer에 복사해 두므로 HttpResponseWriter가 header와 함께 gathering write 한 번으로 전송 합니다.
+ */
+public final class CachedResponse {
+    // key, map entry 등 body 이외에 사용하는 memory의 대략적인 크기 입니다.
+    static final long ENTRY_OVERHEAD = 256;
+
+    private final HttpStatus status;
+    private final String contentType;
+    private final Map<String, String> headers;
+    private final ByteBuffer body;
+    private final long expiresNanos;
+
+    CachedResponse(HttpResponse response, long expiresNanos) {
+        if(Objects.isNull(response)){
+            throw new IllegalArgumentException("response is null");
+        }
+        if(response.isStreaming() || Objects.nonNull(response.getFileRegion())){
+            throw new IllegalArgumentException("response body is not a ByteBuffer");
+        }
+        this.status = response.getStatus();
+        this.contentType = response.getContentType();
+        this.headers = Collections.unmodifiableMap(new LinkedHashMap<>(response.getHeaders()));
+        // handler의 body buffer는 position을 변경하지 않고 복사 합니다.
+        ByteBuffer source = response.getBody().duplicate();
+        this.body = ByteBuffer.allocateDirect(source.remaining()).put(source).flip().asReadOnlyBuffer();
+        this.expiresNanos = expiresNanos;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    public boolean isExpired(long now){
+        return now - expiresNanos >= 0;
+    }
+
+    // cache 크기를 계산할 때 사용합니다.
+    public long size(){
+        return body.capacity() + ENTRY_OVERHEAD;
+    }
+
+    // 요청마다 새 HttpResponse를 생성 합니다. body는 position을 공유하지 않도록 duplicate() 합니다.
+    public HttpResponse toResponse(){
+        HttpResponse response = new HttpResponse(status).setContentType(contentType);
+        for(Map.Entry<String, String> header : headers.entrySet()){
+            response.setHeader(header.getKey(), header.getValue());
+        }
+        return response.setBody(body.duplicate());
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/* 응답을 key 별로 보관 합니다.
+ *  - 전체 크기(CachedResponse.size()의 합계)가 maxCacheSize를 넘으면 가장 오래 사용하지 않은 응답부터 제거 합니다(LRU).
+ *  - 만료된 응답은 조회할 때 제거 됩니다.
+ * 조회와 저장은 map을 변경하는 짧은 구간만 lock을 사용합니다. 응답 생성과 body 복사는 lock 밖에서 실행 됩니다.
+ */
+public class ResponseCache {
+    public static final long DEFAULT_MAX_CACHE_SIZE = 32L * 1024 * 1024;
+
+    private final long maxCacheSize;
+    // access-order LinkedHashMap : 조회한 entry가 마지막으로 이동합니다.
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedBytes;
+
+    public ResponseCache() {
+        this(DEFAULT_MAX_CACHE_SIZE);
+    }
+
+    public ResponseCache(long maxCacheSize) {
+        if(maxCacheSize < 0){
+            throw new IllegalArgumentException("cache size must be positive");
+        }
+        this.maxCacheSize = maxCacheSize;
+    }
+
+    /**
+     * @return 만료되지 않은 응답, 없다면 null
+     */
+    public CachedResponse get(String key, long now){
+        if(Objects.isNull(key)){
+            throw new IllegalArgumentException("key is null");
+        }
+        synchronized (this){
+            CachedResponse cachedResponse = entries.get(key);
+            if(Objects.isNull(cachedResponse)){
+                return null;
+            }
+            if(cachedResponse.isExpired(now)){
+                remove(key);
+                return null;
+            }
+            return cachedResponse;
+        }
+    }
+
+    // maxCacheSize 보다 큰 응답은 보관하지 않습니다.
+    public void put(String key, CachedResponse cachedResponse){
+        if(Objects.isNull(key) || Objects.isNull(cachedResponse)){
+            throw new IllegalArgumentException("key or cachedResponse is null");
+        }
+        if(cachedResponse.size() > maxCacheSize){
+            return;
+        }
+        synchronized (this){
+            CachedResponse previous = entries.put(key, cachedResponse);
+            if(Objects.nonNull(previous)){
+                cachedBytes -= previous.size();
+            }
+            cachedBytes += cachedResponse.size();
+            evict();
+        }
+    }
+
+    public synchronized void invalidate(String key){
+        remove(key);
+    }
+
+    public synchronized void clear(){
+        entries.clear();
+        cachedBytes = 0;
+    }
+
+    public synchronized long getCachedBytes() {
+        return cachedBytes;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void remove(String key){
+        CachedResponse removed = entries.remove(key);
+        if(Objects.nonNull(removed)){
+            cachedBytes -= removed.size();
+        }
+    }
+
+    private void evict(){
+        Iterator<Map.Entry<String, CachedResponse>> iterator = entries.entrySet().iterator();
+        while(cachedBytes > maxCacheSize && iterator.hasNext()){
+            cachedBytes -= iterator.next().getValue().size();
+            iterator.remove();
+        }
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.cache;
+
+import com.nhnacademy.http.handler.HttpHandler;
+import com.nhnacademy.http.metrics.HttpMetrics;
+import com.nhnacademy.http.request.HttpRequest;
+import com.nhnacademy.http.response.HttpResponse;
+import com.nhnacademy.http.response.HttpStatus;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/* GET, HEAD 요청의 응답을 ResponseCache에 보관하고 같은 요청에 재사용 합니다.
+ * ex) new ResponseCacheHandler(new CompressionHandler(router), new ResponseCache(), 10_000, "Accept-Encoding")
+ *
+ * key : method, path, query 그리고 varyHeaders로 지정한 요청 header 값 입니다.
+ * 다음 응답은 보관하지 않습니다.
+ *  - 200 OK가 아닌 응답, 연결 종료를 요청한 응답, FileRegion/StreamingBody body
+ *  - Set-Cookie, "Cache-Control: no-store, no-cache, private" 응답
+ *  - varyHeaders에 없는 요청 header로 Vary를 지정한 응답 (key로 구분할 수 없습니다.)
+ * Authorization header가 있는 요청은 cache를 사용하지 않습니다.
+ * 응답의 "Cache-Control: max-age"가 있다면 ttl 대신 사용합니다.
+ *
+ * single-flight : 같은 key의 요청이 동시에 miss 되면 하나의 요청만 handler를 실행하고 나머지는 그 결과를 기다려서 사용합니다.
+ *  leader가 maxWaitMillis 안에 완료되지 않으면 기다리지 않고 handler를 직접 실행 합니다. (느린 handler 하나가 worker를 모두 묶지 않습니다.)
+ */
+public class ResponseCacheHandler implements HttpHandler {
+    public static final long DEFAULT_TTL_MILLIS = 10_000;
+    public static final long DEFAULT_MAX_WAIT_MILLIS = 1_000;
+
+    private final HttpHandler httpHandler;
+    private final ResponseCache responseCache;
+    private final long ttlNanos;
+    private final String[] varyHeaders;
+    private final Set<String> varyHeaderNames;
+    private long maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_MAX_WAIT_MILLIS);
+
+    // handler를 실행중인 key 입니다. 완료되면 보관한 응답(보관하지 않았다면 null)을 전달 합니다.
+    private final ConcurrentHashMap<String, CompletableFuture<CachedResponse>> inflight = new ConcurrentHashMap<>();
+
+    public ResponseCacheHandler(HttpHandler httpHandler) {
+        this(httpHandler, new ResponseCache(), DEFAULT_TTL_MILLIS);
+    }
+
+    public ResponseCacheHandler(HttpHandler httpHandler, ResponseCache responseCache, long ttlMillis, String... varyHeaders) {
+        if(Objects.isNull(httpHandler)){
+            throw new IllegalArgumentException("httpHandler is null");
+        }
+        if(Objects.isNull(responseCache)){
+            throw new IllegalArgumentException("responseCache is null");
+        }
+        if(ttlMillis < 1){
+            throw new IllegalArgumentException("ttlMillis must be greater than 0");
+        }
+        if(Objects.isNull(varyHeaders)){
+            throw new IllegalArgumentException("varyHeaders is null");
+        }
+        this.httpHandler = httpHandler;
+        this.responseCache = responseCache;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.varyHeaders = varyHeaders.clone();
+        Set<String> names = new HashSet<>();
+        for(String varyHeader : varyHeaders){
+            names.add(varyHeader.toLowerCase(Locale.ROOT));
+        }
+        this.varyHeaderNames = Set.copyOf(names);
+    }
+
+    // 같은 key의 요청을 실행중인 leader의 결과를 기다리는 최대 시간 입니다. 초과하면 handler를 직접 실행 합니다.
+    public ResponseCacheHandler setMaxWaitMillis(long maxWaitMillis) {
+        if(maxWaitMillis < 1){
+            throw new IllegalArgumentException("maxWaitMillis must be greater than 0");
+        }
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        return this;
+    }
+
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    @Override
+    public HttpResponse handle(HttpRequest request) throws IOException {
+        String method = request.getMethod();
+        if(!(method.equals("GET") || method.equals("HEAD")) || Objects.nonNull(request.getHeader("Authorization"))){
+            return httpHandler.handle(request);
+        }
+
+        String key = key(request);
+        CachedResponse cachedResponse = responseCache.get(key, System.nanoTime());
+        if(Objects.nonNull(cachedResponse)){
+            HttpMetrics.get().responseCache(HttpMetrics.CACHE_HIT);
+            return cachedResponse.toResponse();
+        }
+
+        CompletableFuture<CachedResponse> flight = new CompletableFuture<>();
+        CompletableFuture<CachedResponse> leader = inflight.putIfAbsent(key, flight);
+        if(Objects.nonNull(leader)){
+            // 다른 요청이 handler를 실행중 입니다. 결과를 보관하지 못했거나 maxWaitMillis 안에 완료되지 않았다면 직접 실행 합니다.
+            CachedResponse shared = await(leader);
+            if(Objects.nonNull(shared)){
+                HttpMetrics.get().responseCache(HttpMetrics.CACHE_COALESCED);
+                return shared.toResponse();
+            }
+            HttpMetrics.get().responseCache(HttpMetrics.CACHE_MISS);
+            return httpHandler.handle(request);
+        }
+
+        HttpMetrics.get().responseCache(HttpMetrics.CACHE_MISS);
+        CachedResponse stored = null;
+        try{
+            HttpResponse response = httpHandler.handle(request);
+            long ttl = ttlNanos(response);
+            if(ttl > 0){
+                stored = new CachedResponse(response, System.nanoTime() + ttl);
+                responseCache.put(key, stored);
+            }
+            return response;
+        }finally {
+            inflight.remove(key, flight);
+            flight.complete(stored);
+        }
+    }
+
+    // 응답을 보관할 시간 입니다. 보관하지 않는다면 0 입니다.
+    long ttlNanos(HttpResponse response){
+        if(Objects.isNull(response)
+                || response.getStatus() != HttpStatus.OK
+                || response.isClose()
+                || response.isStreaming()
+                || Objects.nonNull(response.getFileRegion())
+                || response.getContentLength() != response.getBody().remaining()
+                || Objects.nonNull(response.getHeader("Set-Cookie"))
+                || !isVaryCovered(response.getHeader("Vary"))){
+            return 0;
+        }
+        String cacheControl = response.getHeader("Cache-Control");
+        if(Objects.isNull(cacheControl)){
+            return ttlNanos;
+        }
+        long ttl = ttlNanos;
+        for(String token : cacheControl.split(",")){
+            String directive = token.trim().toLowerCase(Locale.ROOT);
+            if(directive.equals("no-store") || directive.equals("no-cache") || directive.equals("private")){
+                return 0;
+            }
+            if(directive.startsWith("max-age=")){
+                try{
+                    ttl = TimeUnit.SECONDS.toNanos(Long.parseLong(directive.substring("max-age=".length())));
+                }catch(NumberFormatException e){
+                    return 0;
+                }
+            }
+        }
+        return Math.max(0, ttl);
+    }
+
+    private boolean isVaryCovered(String vary){
+        if(Objects.isNull(vary)){
+            return true;
+        }
+        for(String token : vary.split(",")){
+            String name = token.trim().toLowerCase(Locale.ROOT);
+            if(!name.isEmpty() && !varyHeaderNames.contains(name)){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String key(HttpRequest request){
+        StringBuilder key = new StringBuilder(64)
+                .append(request.getMethod()).append(' ')
+                .append(request.getPath());
+        if(Objects.nonNull(request.getQuery())){
+            key.append('?').append(request.getQuery());
+        }
+        for(String varyHeader : varyHeaders){
+            String value = request.getHeader(varyHeader);
+            // 값이 없는 경우와 빈 문자열을 구분 합니다.
+            key.append('\n').append(Objects.isNull(value) ? "\0" : value);
+        }
+        return key.toString();
+    }
+
+    private CachedResponse await(CompletableFuture<CachedResponse> leader) throws IOException {
+        try{
+            return leader.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+        }catch(InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while waiting for a cached response", e);
+        }catch(ExecutionException e){
+            // leader는 항상 정상 완료(complete) 됩니다.
+            return null;
+        }catch(TimeoutException e){
+            return null;
+        }
+    }
+}
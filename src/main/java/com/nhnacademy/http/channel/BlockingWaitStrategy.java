@@ -0,0 +1,73 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http.channel;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/* Lock/Condition으로 대기 합니다. CPU를 사용하지 않지만 깨어나는 데 시간이 걸립니다.
+ * 대기중인 thread가 없다면 signal()은 lock을 획득하지 않습니다.
+ */
+public class BlockingWaitStrategy implements WaitStrategy {
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition condition = lock.newCondition();
+    private final AtomicInteger waiters = new AtomicInteger();
+
+    @Override
+    public void await(BooleanSupplier ready) throws InterruptedException {
+        waiters.incrementAndGet();
+        lock.lock();
+        try {
+            while (!ready.getAsBoolean()) {
+                condition.await();
+            }
+        } finally {
+            lock.unlock();
+            waiters.decrementAndGet();
+        }
+    }
+
+    @Override
+    public boolean await(BooleanSupplier ready, long timeoutNanos) throws InterruptedException {
+        waiters.incrementAndGet();
+        lock.lock();
+        try {
+            long remaining = timeoutNanos;
+            while (!ready.getAsBoolean()) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = condition.awaitNanos(remaining);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+            waiters.decrementAndGet();
+        }
+    }
+
+    @Override
+    public void signal() {
+        if (waiters.get() == 0) {
+            return;
+        }
+        lock.lock();
+        try {
+            condition.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.channel;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/* server가 accept한 연결(HttpJob)을 추적 합니다. graceful shutdown에 사용합니다.
+ *  - HttpJob은 생성될 때 등록되고 연결이 종료될 때 제거 됩니다. queue에서 대기중인 연결도 포함 됩니다.
+ *  - drain() 이후 처리중인 요청은 "Connection: close"로 응답한 뒤 종료 되고,
+ *    다음 요청을 기다리는(idle) keep-alive 연결은 즉시 종료 됩니다.
+ */
+public class ConnectionTracker {
+    private final Set<HttpJob> connections = ConcurrentHashMap.newKeySet();
+    private volatile boolean draining = false;
+
+    void register(HttpJob httpJob){
+        connections.add(httpJob);
+    }
+
+    void unregister(HttpJob httpJob){
+        if(connections.remove(httpJob) && connections.isEmpty()){
+            synchronized (this){
+                notifyAll();
+            }
+        }
+    }
+
+    public boolean isDraining() {
+        return draining;
+    }
+
+    // 열려 있는 연결 수 입니다.
+    public int getOpenCount(){
+        return connections.size();
+    }
+
+    /**
+     * 새 요청을 받지 않도록 설정하고, 다음 요청을 기다리는 keep-alive 연결을 종료 합니다.
+     */
+    public void drain(){
+        draining = true;
+        for(HttpJob httpJob : connections){
+            httpJob.closeIfIdle();
+        }
+    }
+
+    /**
+     * 모든 연결이 종료될 때 까지 최대 timeout 동안 대기 합니다.
+     * @return 시간 안에 모든 연결이 종료 되었다면 true
+     */
+    public boolean awaitClosed(long timeout, TimeUnit unit) throws InterruptedException {
+        if(Objects.isNull(unit)){
+            throw new IllegalArgumentException("unit is null");
+        }
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (this){
+            while(!connections.isEmpty()){
+                long remaining = deadline - System.nanoTime();
+                if(remaining <= 0){
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+        }
+        return true;
+    }
+
+    // 처리중인 요청과 관계 없이 모든 연결을 종료 합니다.
+    public void closeAll(){
+        for(HttpJob httpJob : connections){
+            httpJob.close();
+        }
+    }
+}
@@ -12,9 +12,20 @@
 
 package com.nhnacademy.http.channel;
 
+import com.nhnacademy.http.request.HttpRequest;
+
 import java.io.IOException;
 
 // Executable interface를 구현한 객체는  WorkerThread(작업자)가 execute method를 호출 합니다.
 public interface Executable {
     void execute() throws IOException;
+
+    // 과부하로 실행하지 않고 버려질 때 호출 됩니다. client에게 503 응답을 전송하고 연결을 종료 합니다.
+    default void reject() {
+    }
+
+    // 요청을 모두 읽은 뒤 배치되는 작업(NioHttpJob, Http2StreamJob)의 요청 입니다. WeightedFairJobQueue가 분류에 사용합니다.
+    default HttpRequest getRequest() {
+        return null;
+    }
 }
\ No newline at end of file
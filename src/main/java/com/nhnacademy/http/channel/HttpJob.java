@@ -12,30 +12,216 @@
 
 package com.nhnacademy.http.channel;
 
+import com.nhnacademy.exceptions.HttpParseException;
+import com.nhnacademy.http.buffer.BufferPool;
+import com.nhnacademy.http.handler.HelloHandler;
+import com.nhnacademy.http.handler.HttpHandler;
+import com.nhnacademy.http.handler.HttpHandlers;
+import com.nhnacademy.http.metrics.HttpMetrics;
+import com.nhnacademy.http.parser.HttpRequestParser;
+import com.nhnacademy.http.request.HttpRequest;
+import com.nhnacademy.http.request.RequestBody;
+import com.nhnacademy.http.response.HttpResponse;
+import com.nhnacademy.http.response.HttpResponseWriter;
+import com.nhnacademy.http.response.HttpStatus;
+import com.nhnacademy.http.timer.Timeout;
+import com.nhnacademy.http.timer.TimingWheel;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.*;
 import java.net.Socket;
-import java.net.URL;
-import java.security.cert.CRL;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Slf4j
 public class HttpJob implements Executable {
     private final Socket client;
-    private static final String CRLF="\r\n";
+    private final KeepAlivePolicy keepAlivePolicy;
+    private final HttpHandler httpHandler;
+    private final ConnectionTracker connectionTracker;
+    private final TimeoutPolicy timeoutPolicy;
+    // 진행 중인 단계(idle, header, body, write)의 timeout 입니다. 만료되면 socket을 닫아서 대기중인 read/write를 종료 합니다.
+    private Timeout timeout;
+    // null이면 요청 수를 제한하지 않습니다.
+    private RateLimiter rateLimiter;
+    // admit()에서 사용한 token 입니다. 첫 번째 요청은 token을 다시 사용하지 않습니다.
+    private boolean admitted;
+    private static final int LINGER_MILLIS = 1000;
+    // 동시에 linger 중인 socket 수의 상한 입니다. 거절이 몰려도 virtual thread와 socket이 LINGER_MILLIS 동안 쌓이지 않도록 합니다.
+    static final int MAX_LINGERING = 256;
+    private static final AtomicInteger LINGERING = new AtomicInteger();
+    private static final int BUFFER_SIZE = HttpRequestParser.DEFAULT_MAX_HEADER_SIZE + HttpRequestParser.DEFAULT_MAX_BODY_SIZE;
+    // head 뒤에 남은 공간이 이 크기보다 작다면 body는 별도의 buffer에 읽습니다.
+    private static final int MIN_BODY_CHUNK_SIZE = 8 * 1024;
+
+    /* BUSY : 요청을 읽거나 처리하는 중 입니다.
+       IDLE : keep-alive 연결에서 다음 요청을 기다리는 중 입니다. drain() 시 바로 종료할 수 있습니다.
+       CLOSED : 연결이 종료 되었습니다.
+     */
+    private static final int BUSY = 0;
+    private static final int IDLE = 1;
+    private static final int CLOSED = 2;
+    private final AtomicInteger state = new AtomicInteger(BUSY);
 
     public HttpJob(Socket client) {
+        this(client, KeepAlivePolicy.DEFAULT);
+    }
+
+    public HttpJob(Socket client, KeepAlivePolicy keepAlivePolicy) {
+        this(client, keepAlivePolicy, new HelloHandler());
+    }
+
+    public HttpJob(Socket client, KeepAlivePolicy keepAlivePolicy, HttpHandler httpHandler) {
+        this(client, keepAlivePolicy, httpHandler, new ConnectionTracker());
+    }
+
+    /**
+     * connectionTracker에 연결을 등록 합니다. server를 종료할 때 connectionTracker.drain()으로 연결을 정리할 수 있습니다.
+     */
+    public HttpJob(Socket client, KeepAlivePolicy keepAlivePolicy, HttpHandler httpHandler, ConnectionTracker connectionTracker) {
+        this(client, keepAlivePolicy, httpHandler, connectionTracker, TimeoutPolicy.DEFAULT);
+    }
+
+    /**
+     * timeout은 TimingWheel.get()이 관리 합니다.
+     */
+    public HttpJob(Socket client, KeepAlivePolicy keepAlivePolicy, HttpHandler httpHandler, ConnectionTracker connectionTracker, TimeoutPolicy timeoutPolicy) {
         if(Objects.isNull(client)){
             throw new IllegalArgumentException("client Socket is null");
         }
+        if(Objects.isNull(keepAlivePolicy)){
+            throw new IllegalArgumentException("keepAlivePolicy is null");
+        }
+        if(Objects.isNull(httpHandler)){
+            throw new IllegalArgumentException("httpHandler is null");
+        }
+        if(Objects.isNull(connectionTracker)){
+            throw new IllegalArgumentException("connectionTracker is null");
+        }
+        if(Objects.isNull(timeoutPolicy)){
+            throw new IllegalArgumentException("timeoutPolicy is null");
+        }
         this.client = client;
+        this.keepAlivePolicy = keepAlivePolicy;
+        this.httpHandler = httpHandler;
+        this.connectionTracker = connectionTracker;
+        this.timeoutPolicy = timeoutPolicy;
+        connectionTracker.register(this);
+    }
+
+    /**
+     * 요청마다 client(remote address)의 token을 하나씩 사용합니다. keep-alive 연결과 pipelining 요청도 요청 단위로 제한 합니다.
+     * execute() 전에 호출해야 합니다.
+     */
+    public void setRateLimiter(RateLimiter rateLimiter) {
+        if(Objects.isNull(rateLimiter)){
+            throw new IllegalArgumentException("rateLimiter is null");
+        }
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * acceptor thread에서 RequestChannel에 배치하기 전에 호출 합니다.
+     * 제한을 초과한 client의 연결은 queue에 들어가거나 worker를 사용하지 않습니다.
+     * 사용한 token은 첫 번째 요청에 적용하고, 이후 요청은 setRateLimiter()와 같이 요청마다 token을 사용합니다.
+     * @return 제한을 초과 했다면 false, 호출한 쪽은 reject(HttpResponseWriter.tooManyRequests())로 응답 합니다.
+     */
+    public boolean admit(RateLimiter rateLimiter) {
+        setRateLimiter(rateLimiter);
+        if(!rateLimiter.tryAcquire(client.getInetAddress())){
+            HttpMetrics.get().requestShed(HttpMetrics.SHED_RATE_LIMITED);
+            return false;
+        }
+        admitted = true;
+        return true;
     }
 
     public Socket getClient() {
         return client;
     }
 
+    // 요청을 읽지 않고 503 응답을 전송한 뒤 연결을 종료 합니다.
+    @Override
+    public void reject() {
+        reject(HttpResponseWriter.serviceUnavailable());
+    }
+
+    /**
+     * 요청을 읽지 않고 미리 encode한 response를 전송한 뒤 연결을 종료 합니다.
+     * ex) httpJob.reject(HttpResponseWriter.tooManyRequests())
+     */
+    public void reject(ByteBuffer response) {
+        try{
+            WritableByteChannel outputChannel = Objects.nonNull(client.getChannel()) ? client.getChannel() : Channels.newChannel(client.getOutputStream());
+            while(response.hasRemaining()){
+                outputChannel.write(response);
+            }
+            client.shutdownOutput();
+        }catch(IOException e){
+            log.debug("reject error : {}", e.getMessage());
+            close();
+            return;
+        }
+        /* 읽지 않은 요청이 남아 있거나 응답 후에 요청이 도착하면 close() 시 RST가 전송되어 client가 응답을 받지 못할 수 있습니다.
+           client가 연결을 종료할 때 까지(최대 LINGER_MILLIS) 요청을 읽어서 버린 뒤 종료 합니다.
+           거절은 acceptor thread에서도 호출되므로 virtual thread에서 대기 합니다.
+           linger 중인 socket이 MAX_LINGERING 개 라면 FIN을 전송한 것으로 만족하고 바로 종료 합니다.
+         */
+        if(LINGERING.incrementAndGet() > MAX_LINGERING){
+            LINGERING.decrementAndGet();
+            close();
+            return;
+        }
+        Thread.ofVirtual().name("linger").start(this::lingerClose);
+    }
+
+    // 현재 linger 중인 socket 수 입니다.
+    static int lingering(){
+        return LINGERING.get();
+    }
+
+    private void lingerClose(){
+        try{
+            client.setSoTimeout(LINGER_MILLIS);
+            InputStream inputStream = client.getInputStream();
+            byte[] discard = new byte[1024];
+            while(inputStream.read(discard) >= 0){
+                // client가 연결을 종료할 때 까지 읽습니다.
+            }
+        }catch(IOException e){
+            log.debug("linger : {}", e.getMessage());
+        }finally {
+            LINGERING.decrementAndGet();
+            close();
+        }
+    }
+
+    // 다음 요청을 기다리는 중이라면 연결을 종료 합니다.
+    void closeIfIdle(){
+        if(state.compareAndSet(IDLE, CLOSED)){
+            closeSocket();
+        }
+    }
+
+    // 처리중인 요청과 관계 없이 연결을 종료 합니다.
+    void close(){
+        state.set(CLOSED);
+        closeSocket();
+        connectionTracker.unregister(this);
+    }
+
+    private void closeSocket(){
+        try{
+            client.close();
+        }catch(IOException e){
+            log.debug("close error : {}", e.getMessage());
+        }
+    }
+
     @Override
     public void execute(){
 
@@ -44,48 +230,285 @@ public class HttpJob implements Executable {
         //<html><body><h1>thread-1:hello java</h1></body>
         //<html><body><h1>thread-2:hello java</h1></body>
         //....
-        StringBuilder requestBuilder = new StringBuilder();
-        try(BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(client.getInputStream()));
-            BufferedWriter bufferedWriter = new BufferedWriter(new OutputStreamWriter(client.getOutputStream()));
-        ){
-            while(true){
-                String line = bufferedReader.readLine();
-                requestBuilder.append(line);
-                log.debug("line : {}", line);
-                if(Objects.nonNull(line)|| line.length()==0){
+        /* ServerSocketChannel로 accept한 socket은 channel을 이용해서 header와 body를 gathering write로 전송 합니다.
+           direct buffer에 encode한 header는 JDK 내부 buffer로 복사되지 않습니다.
+           그렇지 않다면 outputStream에 모아서 전송 합니다.
+         */
+        boolean hasChannel = Objects.nonNull(client.getChannel());
+        BufferPool writerPool = hasChannel ? BufferPool.direct() : BufferPool.heap();
+        HttpResponseWriter responseWriter = new HttpResponseWriter(keepAlivePolicy, writerPool);
+        // socket에서 읽은 byte를 그대로 parser에 전달 합니다. InputStream으로 읽으므로 heap buffer를 사용합니다.
+        ByteBuffer buffer = BufferPool.heap().acquire(BUFFER_SIZE);
+        // buffer보다 큰 body 입니다. 응답을 전송한 뒤 close 합니다.
+        RequestBody requestBody = null;
+        // reject()가 연결을 linger 한 뒤 종료 합니다. 이 method에서 socket을 닫지 않습니다.
+        boolean lingering = false;
+
+        // socket의 stream을 close()하면 socket이 닫히므로 try-with-resources를 사용하지 않고 finally에서 연결을 종료 합니다.
+        try{
+            InputStream inputStream = client.getInputStream();
+            OutputStream outputStream = hasChannel ? client.getOutputStream() : new BufferedOutputStream(client.getOutputStream());
+            WritableByteChannel outputChannel = hasChannel ? client.getChannel() : Channels.newChannel(outputStream);
+
+            // [start, limit) 구간이 아직 처리하지 않은 byte 입니다.
+            byte[] bytes = buffer.array();
+            HttpRequestParser parser = new HttpRequestParser();
+            int start = 0;
+            int limit = 0;
+
+            int servedRequests = 0;
+            boolean keepAlive = true;
+            while(keepAlive){
+                parser.reset();
+                // 다음 요청의 첫 byte는 idleTimeout 동안 기다리고, 첫 byte가 도착하면 headerTimeout 안에 head를 모두 읽어야 합니다.
+                boolean waitingFirstByte = start == limit;
+                if(waitingFirstByte){
+                    startTimeout(HttpMetrics.TIMEOUT_IDLE, keepAlivePolicy.getIdleTimeoutMillis());
+                }else{
+                    startTimeout(HttpMetrics.TIMEOUT_HEADER, timeoutPolicy.getHeaderTimeoutMillis());
+                }
+                try{
+                    while(!parser.parse(buffer, start, limit)){
+                        if(limit == BUFFER_SIZE){
+                            // 처리한 요청이 차지하던 공간을 비우고 처음부터 다시 해석 합니다.
+                            if(start == 0){
+                                throw new HttpParseException(431, "Request Header Fields Too Large", "request is too large");
+                            }
+                            System.arraycopy(bytes, start, bytes, 0, limit - start);
+                            limit -= start;
+                            start = 0;
+                            parser.reset();
+                            continue;
+                        }
+                        // 처리한 요청 이후 다음 요청을 기다리는 구간 입니다. server가 종료 중이라면 기다리지 않습니다.
+                        boolean idle = servedRequests > 0 && start == limit;
+                        if(idle && !markIdle()){
+                            outputStream.flush();
+                            return;
+                        }
+                        int read = inputStream.read(bytes, limit, BUFFER_SIZE - limit);
+                        if(idle && !state.compareAndSet(IDLE, BUSY)){
+                            // drain()으로 연결이 종료 되었습니다.
+                            return;
+                        }
+                        if(read < 0){
+                            // client가 연결을 종료 했습니다.
+                            outputStream.flush();
+                            return;
+                        }
+                        limit += read;
+                        HttpMetrics.get().bytesReceived(read);
+                        if(waitingFirstByte && read > 0){
+                            waitingFirstByte = false;
+                            startTimeout(HttpMetrics.TIMEOUT_HEADER, timeoutPolicy.getHeaderTimeoutMillis());
+                        }
+                    }
+                }catch(HttpParseException e){
+                    badRequest(e, responseWriter, outputChannel);
                     break;
                 }
-            }
+                log.debug("request : {} {} {}", parser.getMethod(), parser.getPath(), parser.getHttpVersion());
 
-            StringBuilder responseBody = new StringBuilder();
-            responseBody.append("<html>");
-            responseBody.append("<body>");
-            responseBody.append(String.format("<h1>{%s}hello java</h1>",Thread.currentThread().getName()));
-            responseBody.append("</body>");
-            responseBody.append("</html>");
+                // 제한을 초과한 요청은 body를 읽거나 handler를 호출하지 않고 429로 응답한 뒤 연결을 종료 합니다.
+                // 첫 번째 요청은 admit()에서 사용한 token을 적용 합니다.
+                boolean paid = admitted;
+                admitted = false;
+                if(Objects.nonNull(rateLimiter) && !paid && !rateLimiter.tryAcquire(client.getInetAddress())){
+                    HttpMetrics.get().requestShed(HttpMetrics.SHED_RATE_LIMITED);
+                    startTimeout(HttpMetrics.TIMEOUT_WRITE, timeoutPolicy.getWriteTimeoutMillis());
+                    // 앞서 처리한 pipelining 요청의 응답을 먼저 전송 합니다.
+                    outputStream.flush();
+                    /* 읽지 않은 pipelining 요청이 남아 있으므로 바로 close() 하면 RST가 전송되어
+                       client가 429와 앞선 응답을 받지 못할 수 있습니다. reject()가 FIN을 전송하고 남은 요청을 읽어서 버린 뒤 종료 합니다.
+                     */
+                    lingering = true;
+                    reject(HttpResponseWriter.tooManyRequests());
+                    return;
+                }
 
-            StringBuilder responseHeader = new StringBuilder();
+                // head 뒤에 함께 도착해서 requestBody에 추가한 byte 수 입니다.
+                int bodyBytesInBuffer = 0;
+                if(parser.hasStreamedBody()){
+                    /* buffer보다 큰 body와 chunked body는 RequestBody에 읽습니다. (memoryThreshold를 넘으면 임시 파일)
+                       blocking I/O 이므로 body를 모두 받을 때 까지 이 worker thread가 사용됩니다.
+                     */
+                    startTimeout(HttpMetrics.TIMEOUT_BODY, timeoutPolicy.getBodyTimeoutMillis());
+                    requestBody = RequestBody.from(parser);
+                    if(parser.isExpectContinue()){
+                        ByteBuffer continueResponse = HttpResponseWriter.continueResponse();
+                        while(continueResponse.hasRemaining()){
+                            outputChannel.write(continueResponse);
+                        }
+                        outputStream.flush();
+                    }
+                    try{
+                        int bodyOffset = parser.getBodyOffset();
+                        bodyBytesInBuffer = requestBody.append(buffer.duplicate().limit(limit).position(bodyOffset));
+                        if(!requestBody.isComplete()){
+                            if(!readBody(requestBody, inputStream, bytes, bodyOffset)){
+                                // client가 body를 모두 전송하지 않고 연결을 종료 했습니다.
+                                return;
+                            }
+                            // head 뒤의 공간은 body를 읽는 용도로 사용 했습니다. 남은 byte가 없습니다.
+                            limit = bodyOffset;
+                            bodyBytesInBuffer = 0;
+                        }
+                    }catch(HttpParseException e){
+                        // chunk 형식이 잘못되었거나 크기 제한을 초과 했습니다.
+                        badRequest(e, responseWriter, outputChannel);
+                        break;
+                    }
+                }
 
-            responseHeader.append(String.format("HTTP/1.0 200 OK%s", CRLF));
-            responseHeader.append(String.format("Server: HTTP server/0.1%s",CRLF));
-            responseHeader.append(String.format("Content-type: text/html; charset=%s%s","UTF-8",CRLF));
-            responseHeader.append(String.format("Connection: Closed%s",CRLF));
-            responseHeader.append(String.format("Content-Length:%d %s%s",CRLF,CRLF));
+                // handler가 응답을 만드는 시간은 제한하지 않습니다.
+                cancelTimeout();
+                // 요청을 모두 읽은 시점부터 응답을 전송할 때 까지의 시간 입니다.
+                long serviceStart = System.nanoTime();
+                servedRequests++;
+                keepAlive = keepAlivePolicy.isKeepAlive(parser.getHttpVersion(), parser.getHeader("Connection"), servedRequests);
 
-            bufferedWriter.write(responseHeader.toString());
-            bufferedWriter.write(responseBody.toString());
-            bufferedWriter.flush();
-            client.close();
+                HttpResponse response = HttpHandlers.invoke(httpHandler, new HttpRequest(parser, requestBody));
+                if(Objects.nonNull(response.getWebSocketUpgrade())){
+                    // WebSocket은 연결마다 thread를 점유하지 않도록 NioHttpServer에서만 지원 합니다.
+                    response = new HttpResponse(HttpStatus.NOT_IMPLEMENTED);
+                }
+                keepAlive &= !response.isClose();
+                // server가 종료 중이라면 "Connection: close"로 응답하고 연결을 종료 합니다.
+                keepAlive &= !connectionTracker.isDraining();
+                // HTTP/1.0 client는 chunked를 해석할 수 없으므로 연결을 종료해서 body의 끝을 알립니다.
+                if(response.isStreaming() && response.getContentLength() < 0 && !"HTTP/1.1".equals(parser.getHttpVersion())){
+                    keepAlive = false;
+                }
+                boolean head = "HEAD".equals(parser.getMethod());
+                // 다음 단계의 timeout을 등록할 때 까지(flush 포함) 적용 됩니다.
+                startTimeout(HttpMetrics.TIMEOUT_WRITE, timeoutPolicy.getWriteTimeoutMillis());
+                responseWriter.write(response, keepAlive, head, outputChannel);
+                if(response.isStreaming() && !head){
+                    // header가 outputStream에 남아 있다면 body보다 먼저 전송 되도록 같은 stream을 사용합니다.
+                    HttpResponseWriter.writeStreamingBody(response, keepAlive, outputStream);
+                }
+                HttpMetrics.get().recordServiceTime(System.nanoTime() - serviceStart);
+                closeRequestBody(requestBody);
+                requestBody = null;
+
+                start += parser.getRequestLength() + bodyBytesInBuffer;
+                if(start == limit){
+                    start = limit = 0;
+                }
+
+                /* pipelining : client가 응답을 기다리지 않고 다음 요청을 이미 보냈다면
+                   응답을 모아서 한 번에 전송 합니다. 요청은 도착한 순서대로 응답 합니다.
+                 */
+                if(start == limit && inputStream.available() == 0){
+                    outputStream.flush();
+                }
+            }
+            outputStream.flush();
 
         }catch(IOException e){
-            log.error("server error: {}", e);
+            if(state.get() == CLOSED){
+                log.debug("connection closed : {}", e.getMessage());
+            }else{
+                log.error("server error: {}", e);
+            }
         }finally {
-            try{
-                client.close();
-            }catch(IOException e){
-                throw new RuntimeException();
+            cancelTimeout();
+            responseWriter.release();
+            BufferPool.heap().release(buffer);
+            closeRequestBody(requestBody);
+            if(!lingering){
+                close();
             }
         }
 
     }
+
+    // 요청을 해석할 수 없다면 error 응답을 전송합니다. 호출한 쪽에서 연결을 종료 합니다.
+    private void badRequest(HttpParseException e, HttpResponseWriter responseWriter, WritableByteChannel outputChannel) throws IOException {
+        log.debug("bad request : {}", e.getMessage());
+        startTimeout(HttpMetrics.TIMEOUT_WRITE, timeoutPolicy.getWriteTimeoutMillis());
+        responseWriter.write(new HttpResponse(HttpStatus.valueOf(e.getStatusCode())), false, outputChannel);
+    }
+
+    // 이전 단계의 timeout을 취소하고 다음 단계의 timeout을 등록 합니다.
+    private void startTimeout(String phase, int timeoutMillis){
+        cancelTimeout();
+        timeout = TimingWheel.get().schedule(()->expire(phase), timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void cancelTimeout(){
+        if(Objects.nonNull(timeout)){
+            timeout.cancel();
+            timeout = null;
+        }
+    }
+
+    // TimingWheel thread에서 실행 됩니다. socket을 닫으면 worker thread의 read/write가 IOException으로 종료 됩니다.
+    private void expire(String phase){
+        if(state.getAndSet(CLOSED) == CLOSED){
+            return;
+        }
+        log.debug("{} timeout : {}", phase, client.getRemoteSocketAddress());
+        HttpMetrics.get().connectionTimedOut(phase);
+        closeSocket();
+    }
+
+    /* head 뒤의 공간(bytes[bodyOffset, BUFFER_SIZE))에 body를 읽고 requestBody에 추가 합니다.
+       body의 남은 크기 만큼만 읽으므로 다음 요청의 byte를 읽지 않습니다. (chunked body는 남은 크기의 최소값 만큼 읽습니다.)
+       client가 body를 모두 전송하기 전에 연결을 종료했다면 false를 반환 합니다.
+     */
+    private static boolean readBody(RequestBody requestBody, InputStream inputStream, byte[] bytes, int bodyOffset) throws IOException {
+        if(BUFFER_SIZE - bodyOffset >= MIN_BODY_CHUNK_SIZE){
+            return readBody(requestBody, inputStream, bytes, bodyOffset, BUFFER_SIZE);
+        }
+        /* head가 buffer의 끝에서 끝났다면 남은 공간이 없거나(read 길이 0으로 busy-spin) 몇 byte 밖에 되지 않습니다.
+           pool에서 받은 별도의 buffer에 body를 읽습니다.
+         */
+        ByteBuffer chunk = BufferPool.heap().acquire(MIN_BODY_CHUNK_SIZE);
+        try{
+            return readBody(requestBody, inputStream, chunk.array(), chunk.arrayOffset(), chunk.arrayOffset() + chunk.limit());
+        }finally {
+            BufferPool.heap().release(chunk);
+        }
+    }
+
+    // bytes[offset, end) 구간을 반복해서 사용해 body를 읽습니다.
+    private static boolean readBody(RequestBody requestBody, InputStream inputStream, byte[] bytes, int offset, int end) throws IOException {
+        while(!requestBody.isComplete()){
+            int length = (int) Math.min(end - offset, requestBody.getRemaining());
+            int read = inputStream.read(bytes, offset, length);
+            if(read < 0){
+                return false;
+            }
+            HttpMetrics.get().bytesReceived(read);
+            requestBody.append(ByteBuffer.wrap(bytes, offset, read));
+        }
+        return true;
+    }
+
+    private static void closeRequestBody(RequestBody requestBody){
+        if(Objects.isNull(requestBody)){
+            return;
+        }
+        try{
+            requestBody.close();
+        }catch(IOException e){
+            log.debug("request body close error : {}", e.getMessage());
+        }
+    }
+
+    /* IDLE 상태로 변경 합니다. drain()과 동시에 실행되더라도
+       drain()이 IDLE 상태를 확인해서 연결을 종료하거나, 이 method가 draining을 확인해서 false를 반환 합니다.
+     */
+    private boolean markIdle(){
+        // closeAll()로 이미 종료된 연결 입니다.
+        if(!state.compareAndSet(BUSY, IDLE)){
+            return false;
+        }
+        if(connectionTracker.isDraining()){
+            state.compareAndSet(IDLE, BUSY);
+            return false;
+        }
+        return true;
+    }
 }
@@ -0,0 +1,38 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http.channel;
+
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+
+/* RequestChannel이 사용하는 작업 큐 입니다.
+ * Queue의 non-blocking 연산(offer/poll)에 더해서 blocking 연산(put/take)을 제공 합니다.
+ */
+public interface JobQueue extends Queue<Executable> {
+
+    // queue가 가득 찼다면 공간이 생길 때 까지 대기 합니다.
+    void put(Executable executable) throws InterruptedException;
+
+    // queue가 비어 있다면 작업이 추가될 때 까지 대기 합니다.
+    Executable take() throws InterruptedException;
+
+    // queue가 비어 있다면 최대 timeout 동안 대기 합니다. 시간 안에 작업이 추가되지 않으면 null을 반환 합니다.
+    Executable poll(long timeout, TimeUnit unit) throws InterruptedException;
+
+    long capacity();
+
+    // OverloadPolicy.DROP_OLDEST : executable을 등록할 공간을 만들기 위해 버릴 작업을 꺼냅니다. 기본 구현은 가장 앞의 작업 입니다.
+    default Executable evict(Executable executable) {
+        return poll();
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http.channel;
+
+import java.util.Objects;
+
+/* HTTP persistent connection(keep-alive) 설정 입니다.
+ *  - idleTimeoutMillis : 다음 요청을 기다리는 최대 시간
+ *  - maxRequests : 하나의 연결에서 처리할 최대 요청 수
+ */
+public final class KeepAlivePolicy {
+    public static final KeepAlivePolicy DEFAULT = new KeepAlivePolicy(5000, 100);
+
+    private final int idleTimeoutMillis;
+    private final int maxRequests;
+
+    public KeepAlivePolicy(int idleTimeoutMillis, int maxRequests) {
+        if(idleTimeoutMillis < 1){
+            throw new IllegalArgumentException("idleTimeoutMillis must be greater than 0");
+        }
+        if(maxRequests < 1){
+            throw new IllegalArgumentException("maxRequests must be greater than 0");
+        }
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.maxRequests = maxRequests;
+    }
+
+    public int getIdleTimeoutMillis() {
+        return idleTimeoutMillis;
+    }
+
+    public int getMaxRequests() {
+        return maxRequests;
+    }
+
+    /**
+     * 응답 후 연결을 유지할지 결정 합니다.
+     * HTTP/1.1은 기본적으로 연결을 유지하고, HTTP/1.0은 "Connection: keep-alive"를 요청한 경우에만 유지 합니다.
+     * @param servedRequests 현재 요청을 포함해서 이 연결에서 처리한 요청 수
+     */
+    public boolean isKeepAlive(String httpVersion, String connectionHeader, int servedRequests){
+        if(servedRequests >= maxRequests){
+            return false;
+        }
+        if(Objects.nonNull(connectionHeader)){
+            for(String token : connectionHeader.split(",")){
+                String option = token.trim();
+                if(option.equalsIgnoreCase("close")){
+                    return false;
+                }
+                if(option.equalsIgnoreCase("keep-alive")){
+                    return true;
+                }
+            }
+        }
+        return "HTTP/1.1".equals(httpVersion);
+    }
+}
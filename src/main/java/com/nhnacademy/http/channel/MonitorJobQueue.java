@@ -0,0 +1,115 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http.channel;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/* synchronized + wait()/notifyAll()을 이용한 JobQueue 입니다. RequestChannel의 기본 구현 입니다.
+ */
+public class MonitorJobQueue extends AbstractQueue<Executable> implements JobQueue {
+    private final LinkedList<Executable> requestQueue = new LinkedList<>();
+    private final long capacity;
+
+    public MonitorJobQueue(long capacity) {
+        if(capacity < 1){
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized void put(Executable executable) throws InterruptedException {
+        if(Objects.isNull(executable)){
+            throw new IllegalArgumentException("executable is null");
+        }
+        // queue가 가득 찼다면 소비될 때 까지 대기 합니다.
+        while(requestQueue.size() >= capacity){
+            wait();
+        }
+        requestQueue.add(executable);
+        notifyAll();
+    }
+
+    @Override
+    public synchronized Executable take() throws InterruptedException {
+        // requestQueue가 비어 있다면 대기 합니다.
+        while(requestQueue.isEmpty()){
+            wait();
+        }
+        notifyAll();
+        return requestQueue.poll();
+    }
+
+    @Override
+    public synchronized Executable poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long remaining = unit.toNanos(timeout);
+        long deadline = System.nanoTime() + remaining;
+        while(requestQueue.isEmpty()){
+            if(remaining <= 0){
+                return null;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            remaining = deadline - System.nanoTime();
+        }
+        notifyAll();
+        return requestQueue.poll();
+    }
+
+    @Override
+    public synchronized boolean offer(Executable executable) {
+        if(Objects.isNull(executable)){
+            throw new IllegalArgumentException("executable is null");
+        }
+        if(requestQueue.size() >= capacity){
+            return false;
+        }
+        requestQueue.add(executable);
+        notifyAll();
+        return true;
+    }
+
+    @Override
+    public synchronized Executable poll() {
+        Executable executable = requestQueue.poll();
+        if(Objects.nonNull(executable)){
+            notifyAll();
+        }
+        return executable;
+    }
+
+    @Override
+    public synchronized Executable peek() {
+        return requestQueue.peek();
+    }
+
+    @Override
+    public synchronized int size() {
+        return requestQueue.size();
+    }
+
+    @Override
+    public long capacity() {
+        return capacity;
+    }
+
+    // 호출 시점의 snapshot을 순회 합니다.
+    @Override
+    public synchronized Iterator<Executable> iterator() {
+        return new ArrayList<>(requestQueue).iterator();
+    }
+}
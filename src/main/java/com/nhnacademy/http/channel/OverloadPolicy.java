@@ -0,0 +1,89 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http.channel;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/* RequestChannel이 처리할 수 있는 양보다 많은 요청이 들어올 때의 동작 입니다.
+ *  - BLOCK : queue에 공간이 생길 때 까지 addHttpJob()이 대기 합니다. (기존 동작) offerHttpJob()은 대기하지 않고 REJECT와 같이 동작 합니다.
+ *  - REJECT : 새 작업을 즉시 거절 합니다. 거절된 작업은 Executable.reject()로 503 응답을 전송 합니다.
+ *  - DROP_OLDEST : 가장 오래 대기한 작업을 거절하고 새 작업을 등록 합니다.
+ *  - CODEL : queue가 가득 차면 REJECT와 같고, 작업을 꺼낼 때 대기 시간이 deadline을 넘은 작업을 거절 합니다.
+ *            interval 동안 queue가 한 번도 비지 않았다면 과부하로 보고 deadline을 target으로 줄입니다. (Controlled Delay)
+ */
+public final class OverloadPolicy {
+    public enum Action { BLOCK, REJECT, DROP_OLDEST }
+
+    public static final OverloadPolicy BLOCK = new OverloadPolicy(Action.BLOCK, 0, 0);
+    public static final OverloadPolicy REJECT = new OverloadPolicy(Action.REJECT, 0, 0);
+    public static final OverloadPolicy DROP_OLDEST = new OverloadPolicy(Action.DROP_OLDEST, 0, 0);
+    public static final OverloadPolicy CODEL = codel(5, 100);
+
+    private final Action action;
+    private final long targetNanos;
+    private final long intervalNanos;
+
+    private OverloadPolicy(Action action, long targetNanos, long intervalNanos) {
+        this.action = action;
+        this.targetNanos = targetNanos;
+        this.intervalNanos = intervalNanos;
+    }
+
+    /**
+     * @param targetMillis 과부하 상태에서 허용하는 최대 대기 시간
+     * @param intervalMillis 과부하로 판단하는 시간이며, 과부하가 아닐 때 허용하는 최대 대기 시간 입니다.
+     */
+    public static OverloadPolicy codel(long targetMillis, long intervalMillis){
+        if(targetMillis < 1 || intervalMillis < targetMillis){
+            throw new IllegalArgumentException(String.format("invalid codel : target=%d, interval=%d", targetMillis, intervalMillis));
+        }
+        return new OverloadPolicy(Action.REJECT, TimeUnit.MILLISECONDS.toNanos(targetMillis), TimeUnit.MILLISECONDS.toNanos(intervalMillis));
+    }
+
+    // queue가 가득 찼을 때의 동작 입니다.
+    public Action getAction() {
+        return action;
+    }
+
+    public boolean isCodel(){
+        return intervalNanos > 0;
+    }
+
+    public long getTargetNanos() {
+        return targetNanos;
+    }
+
+    public long getIntervalNanos() {
+        return intervalNanos;
+    }
+
+    /**
+     * CODEL : 작업을 실행하지 않고 거절할지 결정 합니다.
+     * @param waitNanos 작업이 queue에서 대기한 시간
+     * @param nonEmptyNanos queue가 마지막으로 비어 있던 시점부터 지난 시간
+     */
+    public boolean isExpired(long waitNanos, long nonEmptyNanos){
+        if(!isCodel()){
+            return false;
+        }
+        long deadline = nonEmptyNanos > intervalNanos ? targetNanos : intervalNanos;
+        return waitNanos > deadline;
+    }
+
+    @Override
+    public String toString() {
+        return isCodel() ? String.format("CODEL(target=%dms, interval=%dms)", TimeUnit.NANOSECONDS.toMillis(targetNanos),
+                TimeUnit.NANOSECONDS.toMillis(intervalNanos)) : Objects.toString(action);
+    }
+}
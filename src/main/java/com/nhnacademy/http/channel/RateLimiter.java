@@ -0,0 +1,149 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.channel;
+
+import java.net.InetAddress;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/* client(remote address) 별 token bucket 입니다. 요청을 handler에게 전달하기 전에 확인 합니다.
+ *  - client마다 초당 permitsPerSecond 개의 token이 burst 개 까지 채워지고, 요청 하나가 token 하나를 사용합니다.
+ *  - keep-alive 연결의 요청, pipelining 요청, HTTP/2 stream도 요청 단위로 token을 사용합니다.
+ *  - bucket table은 주소의 hash로 나눈 stripe 마다 lock과 LRU(access order) map을 가집니다.
+ *    stripe 마다 maxClients / STRIPES 개 까지 보관하고, 넘치면 가장 오래 사용하지 않은 bucket을 제거 합니다.
+ *    idleTimeout 동안 사용하지 않은 bucket은 해당 stripe에 접근할 때 제거 됩니다.
+ *    (제거된 bucket은 가득 찬 상태로 다시 생성되므로 idleTimeout은 burst / permitsPerSecond 보다 길어야 의미가 있습니다.)
+ */
+public class RateLimiter {
+    private static final int STRIPES = 16;
+    public static final long DEFAULT_IDLE_TIMEOUT_MILLIS = 60_000;
+    public static final int DEFAULT_MAX_CLIENTS = 65_536;
+
+    private final double permitsPerNano;
+    private final double burst;
+    private final long idleTimeoutNanos;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    private static final class Bucket {
+        private double tokens;
+        private long lastNanos;
+
+        private Bucket(double tokens, long lastNanos) {
+            this.tokens = tokens;
+            this.lastNanos = lastNanos;
+        }
+    }
+
+    // access order LinkedHashMap : 가장 오래 사용하지 않은 bucket이 앞에 있습니다.
+    private static final class Stripe extends LinkedHashMap<InetAddress, Bucket> {
+        private final int capacity;
+
+        private Stripe(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<InetAddress, Bucket> eldest) {
+            return size() > capacity;
+        }
+    }
+
+    public RateLimiter(double permitsPerSecond, int burst) {
+        this(permitsPerSecond, burst, DEFAULT_MAX_CLIENTS, DEFAULT_IDLE_TIMEOUT_MILLIS);
+    }
+
+    public RateLimiter(double permitsPerSecond, int burst, int maxClients, long idleTimeoutMillis) {
+        if(!(permitsPerSecond > 0)){
+            throw new IllegalArgumentException("permitsPerSecond must be greater than 0");
+        }
+        if(burst < 1){
+            throw new IllegalArgumentException("burst must be greater than 0");
+        }
+        if(maxClients < STRIPES){
+            throw new IllegalArgumentException(String.format("maxClients must be greater than or equal to %d", STRIPES));
+        }
+        if(idleTimeoutMillis < 1){
+            throw new IllegalArgumentException("idleTimeoutMillis must be greater than 0");
+        }
+        this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.burst = burst;
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+        for(int i=0; i<STRIPES; i++){
+            stripes[i] = new Stripe(maxClients / STRIPES);
+        }
+    }
+
+    /**
+     * client의 token 하나를 사용합니다.
+     * @return token이 남아 있다면 true, 제한을 초과 했다면 false
+     */
+    public boolean tryAcquire(InetAddress address){
+        return tryAcquire(address, System.nanoTime());
+    }
+
+    boolean tryAcquire(InetAddress address, long now){
+        if(Objects.isNull(address)){
+            throw new IllegalArgumentException("address is null");
+        }
+        Stripe stripe = stripeOf(address);
+        synchronized (stripe){
+            evictIdle(stripe, now);
+            Bucket bucket = stripe.get(address);
+            if(Objects.isNull(bucket)){
+                stripe.put(address, new Bucket(burst - 1, now));
+                return true;
+            }
+            bucket.tokens = Math.min(burst, bucket.tokens + (now - bucket.lastNanos) * permitsPerNano);
+            bucket.lastNanos = now;
+            if(bucket.tokens < 1){
+                return false;
+            }
+            bucket.tokens -= 1;
+            return true;
+        }
+    }
+
+    // 보관중인 bucket 수 입니다.
+    public int size(){
+        int size = 0;
+        for(Stripe stripe : stripes){
+            synchronized (stripe){
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    // 앞에서 부터 idleTimeout이 지난 bucket을 제거 합니다. access order 이므로 사용중인 bucket을 만나면 중단 합니다.
+    private void evictIdle(Stripe stripe, long now){
+        Iterator<Bucket> iterator = stripe.values().iterator();
+        while(iterator.hasNext()){
+            if(now - iterator.next().lastNanos < idleTimeoutNanos){
+                return;
+            }
+            iterator.remove();
+        }
+    }
+
+    private Stripe stripeOf(InetAddress address){
+        int hash = address.hashCode();
+        // 하위 bit가 비슷한 주소(같은 대역)가 한 stripe에 몰리지 않도록 섞습니다.
+        hash ^= (hash >>> 16);
+        return stripes[hash & (STRIPES - 1)];
+    }
+}
@@ -12,57 +12,224 @@
 
 package com.nhnacademy.http.channel;
 
-import java.util.LinkedList;
-import java.util.Queue;
+import com.nhnacademy.http.metrics.HttpMetrics;
+import com.nhnacademy.http.request.HttpRequest;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 public class RequestChannel {
-    private final Queue<Executable> requestQueue;
+    private final JobQueue requestQueue;
     private static final long QUEUE_MAX_SIZE = 10;
+    // DROP_OLDEST : 작업을 버리고 다시 등록을 시도하는 최대 횟수 입니다.
+    private static final int DROP_OLDEST_MAX_RETRIES = 8;
 
     private final long queueSize;
+    private final OverloadPolicy overloadPolicy;
+    // CODEL : queue가 마지막으로 비어 있던 시각 입니다.
+    private volatile long lastEmptyNanos = System.nanoTime();
+
+    // queue에서 대기한 시간의 합계와 작업 수 입니다. 여러 worker thread가 경합하지 않도록 LongAdder를 사용합니다.
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAdder dequeuedCount = new LongAdder();
+
+    // queue에 등록된 시각을 기록하기 위해 작업을 감싸서 보관 합니다.
+    private record QueuedJob(Executable job, long enqueuedNanos) implements Executable {
+        @Override
+        public void execute() throws IOException {
+            job.execute();
+        }
+
+        @Override
+        public void reject() {
+            job.reject();
+        }
+
+        @Override
+        public HttpRequest getRequest() {
+            return job.getRequest();
+        }
+    }
 
     public RequestChannel() {
         this(QUEUE_MAX_SIZE);
     }
 
     public RequestChannel(long queueSize){
-        //queueSize < 0  IllegalArgumentException 발생 합니다. 적절히 Error Message를 작성하세요.
-        if(queueSize < 0){ throw new IllegalArgumentException("queue size must be positive"); }
+        //queueSize < 1  IllegalArgumentException 발생 합니다. 크기가 0인 queue에는 작업을 등록할 수 없습니다.
+        if(queueSize < 1){ throw new IllegalArgumentException("queue size must be positive"); }
         // queueSize, requestQueue를 초기화 합니다.
         this.queueSize = queueSize;
-        this.requestQueue = new LinkedList<>();
-    }
-
-    public synchronized void addHttpJob(Executable executable){
-         /* queueSize >= MAX_QUEUE_SIZE 대기 합니다.
-            즉 queue에 데이터가 소비될 때 까지 client Socket을 Queue에 등록하는 작업을 대기 합니다.
-        */
-        while(queueSize >= QUEUE_MAX_SIZE){
-            try{
-                wait();
-            }catch(InterruptedException e){
-                throw new RuntimeException(e);
+        this.requestQueue = new MonitorJobQueue(queueSize);
+        this.overloadPolicy = OverloadPolicy.BLOCK;
+    }
+
+    /**
+     * 작업 큐 구현을 지정 합니다.
+     * ex) new RequestChannel(new RingBufferJobQueue(1024, ParkingWaitStrategy::new))
+     */
+    public RequestChannel(JobQueue jobQueue){
+        this(jobQueue, OverloadPolicy.BLOCK);
+    }
+
+    /**
+     * 과부하 시 동작을 지정 합니다.
+     * ex) new RequestChannel(new MonitorJobQueue(100), OverloadPolicy.CODEL)
+     */
+    public RequestChannel(JobQueue jobQueue, OverloadPolicy overloadPolicy){
+        if(Objects.isNull(jobQueue)){ throw new IllegalArgumentException("jobQueue is null"); }
+        if(Objects.isNull(overloadPolicy)){ throw new IllegalArgumentException("overloadPolicy is null"); }
+        if(jobQueue.capacity() < 1){ throw new IllegalArgumentException("jobQueue capacity must be positive"); }
+        this.queueSize = jobQueue.capacity();
+        this.requestQueue = jobQueue;
+        this.overloadPolicy = overloadPolicy;
+    }
+
+    public OverloadPolicy getOverloadPolicy() {
+        return overloadPolicy;
+    }
+
+    /**
+     * 작업을 등록 합니다. queue가 가득 찼다면 overloadPolicy에 따라 대기하거나 작업을 거절 합니다.
+     * @return 등록 되었다면 true, 거절 되었다면 false (거절된 작업은 reject()가 호출 됩니다.)
+     */
+    public boolean addHttpJob(Executable executable){
+        return admit(executable, true);
+    }
+
+    /**
+     * 대기할 수 없는 thread(NIO event loop)에서 작업을 등록 합니다.
+     * BLOCK이라도 대기하지 않고, queue가 가득 찼다면 REJECT와 같이 작업을 거절 합니다.
+     * @return 등록 되었다면 true, 거절 되었다면 false (거절된 작업은 reject()가 호출 됩니다.)
+     */
+    public boolean offerHttpJob(Executable executable){
+        return admit(executable, false);
+    }
+
+    private boolean admit(Executable executable, boolean blocking){
+        QueuedJob queuedJob = new QueuedJob(executable, System.nanoTime());
+        OverloadPolicy.Action action = overloadPolicy.getAction();
+        if(action == OverloadPolicy.Action.BLOCK && !blocking){
+            action = OverloadPolicy.Action.REJECT;
+        }
+        switch (action) {
+            case REJECT -> {
+                if(!requestQueue.offer(queuedJob)){
+                    shed(executable, HttpMetrics.SHED_REJECTED);
+                    return false;
+                }
+            }
+            case DROP_OLDEST -> {
+                // 가장 오래 기다린 요청은 client가 이미 포기했을 가능성이 높습니다.
+                for(int retry = 0; !requestQueue.offer(queuedJob); retry++){
+                    /* 버릴 작업이 없거나(ex: WeightedFairJobQueue에서 다른 class의 작업만 대기 중)
+                       다른 thread가 빈 공간을 계속 먼저 차지 한다면 반복하지 않고 새 작업을 거절 합니다.
+                     */
+                    Executable oldest = retry < DROP_OLDEST_MAX_RETRIES ? requestQueue.evict(queuedJob) : null;
+                    if(Objects.isNull(oldest)){
+                        shed(executable, HttpMetrics.SHED_REJECTED);
+                        return false;
+                    }
+                    shed(oldest, HttpMetrics.SHED_DROPPED);
+                }
             }
+            default -> {
+                /* queue가 가득 찼다면 대기 합니다.
+                   즉 queue에 데이터가 소비될 때 까지 client Socket을 Queue에 등록하는 작업을 대기 합니다.
+                */
+                try{
+                    requestQueue.put(queuedJob);
+                }catch(InterruptedException e){
+                    throw new RuntimeException(e);
+                }
+            }
+        }
+        return true;
+    }
+
+    public Executable getHttpJob(){
+        // requestQueue가 비어 있다면 대기 합니다.
+        try{
+            Executable executable;
+            while(Objects.isNull(executable = unwrap(requestQueue.take()))){
+                // CODEL : deadline이 지난 작업은 거절하고 다음 작업을 가져 옵니다.
+            }
+            return executable;
+        }catch(InterruptedException e){
+            throw new RuntimeException(e);
         }
-        // requestQueue에 executable를 추가 합니다.
-        requestQueue.add(executable);
+    }
 
-        //대기하고 있는 Thread를 깨웁니다.
-        notifyAll();
+    /**
+     * requestQueue가 비어 있다면 최대 timeout 동안 대기 합니다.
+     * @return 시간 안에 작업이 등록되지 않았다면 null
+     */
+    public Executable pollHttpJob(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while(true){
+            Executable executable = requestQueue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            if(Objects.isNull(executable)){
+                lastEmptyNanos = System.nanoTime();
+                return null;
+            }
+            executable = unwrap(executable);
+            if(Objects.nonNull(executable)){
+                return executable;
+            }
+        }
     }
 
-    public synchronized Executable getHttpJob(){
+    public int size(){
+        return requestQueue.size();
+    }
 
-        // requestQueue가 비어 있다면 대기 합니다.
-        while(requestQueue.isEmpty()){
-            try{
-                wait();
-            }catch(InterruptedException e){
-                throw new RuntimeException(e);
+    // 가장 오래 대기중인 작업의 대기 시간 입니다. 비어 있다면 0 입니다.
+    public long getOldestWaitNanos(){
+        if(requestQueue.peek() instanceof QueuedJob queuedJob){
+            return Math.max(0, System.nanoTime() - queuedJob.enqueuedNanos());
+        }
+        return 0;
+    }
+
+    // queue에서 꺼낸 작업들의 평균 대기 시간 입니다.
+    public long getAverageWaitNanos(){
+        long count = dequeuedCount.sum();
+        return count == 0 ? 0 : totalWaitNanos.sum() / count;
+    }
+
+    public long getDequeuedCount(){
+        return dequeuedCount.sum();
+    }
+
+    // CODEL : deadline이 지나서 거절한 작업이라면 null을 반환 합니다.
+    private Executable unwrap(Executable executable){
+        if(executable instanceof QueuedJob queuedJob){
+            long now = System.nanoTime();
+            long waitNanos = now - queuedJob.enqueuedNanos();
+            if(requestQueue.isEmpty()){
+                lastEmptyNanos = now;
+            }
+            if(overloadPolicy.isExpired(waitNanos, now - lastEmptyNanos)){
+                shed(queuedJob.job(), HttpMetrics.SHED_EXPIRED);
+                return null;
             }
+            totalWaitNanos.add(waitNanos);
+            HttpMetrics.get().recordQueueWait(waitNanos);
+            dequeuedCount.increment();
+            return queuedJob.job();
+        }
+        // RequestChannel(JobQueue)로 전달된 queue에 직접 등록된 작업 입니다.
+        return executable;
+    }
+
+    private static void shed(Executable executable, String reason){
+        HttpMetrics.get().requestShed(reason);
+        try{
+            executable.reject();
+        }catch(RuntimeException e){
+            // 거절 응답을 전송하지 못하더라도 다른 작업의 처리에는 영향을 주지 않습니다.
         }
-        // 대기하고 있는 Thread를 깨우고, requestQueue에서 Executable을 반환 합니다.
-        notifyAll();
-        return requestQueue.poll();
     }
 }
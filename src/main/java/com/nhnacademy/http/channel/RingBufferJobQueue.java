@@ -0,0 +1,187 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http.channel;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/* 미리 할당된 배열을 사용하는 lock-free bounded MPMC(multi-producer, multi-consumer) queue 입니다.
+ * slot마다 sequence 값을 두고 head/tail을 CAS로 증가시키는 방식(Vyukov bounded queue)으로 구현 했습니다.
+ *  - sequence == position         : producer가 값을 기록할 수 있는 slot
+ *  - sequence == position + 1     : consumer가 값을 가져갈 수 있는 slot
+ * 작업을 추가하거나 가져올 때 node를 할당하지 않으며, capacity를 정확하게 지킵니다.
+ */
+public class RingBufferJobQueue extends AbstractQueue<Executable> implements JobQueue {
+    private final int capacity;
+    private final Executable[] slots;
+    private final AtomicLongArray sequences;
+
+    // 다음에 기록할 위치 (producer)
+    private final PaddedSequence tail = new PaddedSequence(0);
+    // 다음에 가져올 위치 (consumer)
+    private final PaddedSequence head = new PaddedSequence(0);
+
+    private final WaitStrategy notEmpty;
+    private final WaitStrategy notFull;
+
+    public RingBufferJobQueue(int capacity) {
+        this(capacity, BlockingWaitStrategy::new);
+    }
+
+    public RingBufferJobQueue(int capacity, Supplier<WaitStrategy> waitStrategyFactory) {
+        // capacity가 1이면 "consumer가 가져갈 수 있는 slot"과 "다음 바퀴의 slot"의 sequence 값이 같아집니다.
+        if(capacity < 2){
+            throw new IllegalArgumentException("capacity must be greater than 1");
+        }
+        if(Objects.isNull(waitStrategyFactory)){
+            throw new IllegalArgumentException("waitStrategyFactory is null");
+        }
+        this.capacity = capacity;
+        this.slots = new Executable[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for(int i=0; i<capacity; i++){
+            sequences.set(i, i);
+        }
+        this.notEmpty = waitStrategyFactory.get();
+        this.notFull = waitStrategyFactory.get();
+    }
+
+    @Override
+    public boolean offer(Executable executable) {
+        if(Objects.isNull(executable)){
+            throw new IllegalArgumentException("executable is null");
+        }
+        long position = tail.get();
+        while(true){
+            int index = (int) (position % capacity);
+            long difference = sequences.get(index) - position;
+            if(difference == 0){
+                if(tail.compareAndSet(position, position + 1)){
+                    slots[index] = executable;
+                    // slot을 consumer에게 공개 합니다.
+                    sequences.set(index, position + 1);
+                    notEmpty.signal();
+                    return true;
+                }
+                position = tail.get();
+            }else if(difference < 0){
+                // 한 바퀴 전의 값을 아직 consumer가 가져가지 않았습니다. queue가 가득 찼습니다.
+                return false;
+            }else{
+                // 다른 producer가 먼저 기록 했습니다.
+                position = tail.get();
+            }
+        }
+    }
+
+    @Override
+    public Executable poll() {
+        long position = head.get();
+        while(true){
+            int index = (int) (position % capacity);
+            long difference = sequences.get(index) - (position + 1);
+            if(difference == 0){
+                if(head.compareAndSet(position, position + 1)){
+                    Executable executable = slots[index];
+                    slots[index] = null;
+                    // 다음 바퀴의 producer에게 slot을 반환 합니다.
+                    sequences.set(index, position + capacity);
+                    notFull.signal();
+                    return executable;
+                }
+                position = head.get();
+            }else if(difference < 0){
+                // queue가 비어 있습니다.
+                return null;
+            }else{
+                position = head.get();
+            }
+        }
+    }
+
+    @Override
+    public void put(Executable executable) throws InterruptedException {
+        while(!offer(executable)){
+            notFull.await(() -> size() < capacity);
+        }
+    }
+
+    @Override
+    public Executable take() throws InterruptedException {
+        Executable executable;
+        while((executable = poll()) == null){
+            notEmpty.await(() -> size() > 0);
+        }
+        return executable;
+    }
+
+    @Override
+    public Executable poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        Executable executable;
+        while((executable = poll()) == null){
+            long remaining = deadline - System.nanoTime();
+            if(remaining <= 0 || !notEmpty.await(() -> size() > 0, remaining)){
+                // 마지막으로 한 번 더 확인 합니다.
+                return poll();
+            }
+        }
+        return executable;
+    }
+
+    @Override
+    public Executable peek() {
+        long position = head.get();
+        int index = (int) (position % capacity);
+        if(sequences.get(index) != position + 1){
+            return null;
+        }
+        return slots[index];
+    }
+
+    @Override
+    public int size() {
+        // head를 먼저 읽어야 size가 음수가 되지 않습니다.
+        long currentHead = head.get();
+        long currentTail = tail.get();
+        long size = currentTail - currentHead;
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    @Override
+    public long capacity() {
+        return capacity;
+    }
+
+    // 호출 시점에 queue에 있는 작업의 snapshot을 순회 합니다 (weakly consistent).
+    @Override
+    public Iterator<Executable> iterator() {
+        List<Executable> snapshot = new ArrayList<>(capacity);
+        long currentHead = head.get();
+        long currentTail = tail.get();
+        for(long position=currentHead; position<currentTail; position++){
+            int index = (int) (position % capacity);
+            Executable executable = slots[index];
+            if(sequences.get(index) == position + 1 && Objects.nonNull(executable)){
+                snapshot.add(executable);
+            }
+        }
+        return snapshot.iterator();
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.channel;
+
+/* 요청을 읽고 응답을 전송하는 단계별 최대 시간 입니다. 다음 요청을 기다리는 시간(idle)은 KeepAlivePolicy를 사용합니다.
+ *  - headerTimeoutMillis : 요청의 첫 byte가 도착한 뒤 head(와 buffer에 담기는 작은 body)를 모두 읽을 때 까지
+ *  - bodyTimeoutMillis : buffer보다 큰 body(RequestBody)를 모두 읽을 때 까지
+ *  - writeTimeoutMillis : 응답을 모두 전송할 때 까지
+ * 요청을 조금씩 나눠서 보내는 client(slowloris)도 시간 안에 요청을 완성하지 못하면 연결을 종료 합니다.
+ * timeout은 TimingWheel로 관리 합니다.
+ */
+public final class TimeoutPolicy {
+    public static final TimeoutPolicy DEFAULT = new TimeoutPolicy(10_000, 30_000, 30_000);
+
+    private final int headerTimeoutMillis;
+    private final int bodyTimeoutMillis;
+    private final int writeTimeoutMillis;
+
+    public TimeoutPolicy(int headerTimeoutMillis, int bodyTimeoutMillis, int writeTimeoutMillis) {
+        if(headerTimeoutMillis < 1){
+            throw new IllegalArgumentException("headerTimeoutMillis must be greater than 0");
+        }
+        if(bodyTimeoutMillis < 1){
+            throw new IllegalArgumentException("bodyTimeoutMillis must be greater than 0");
+        }
+        if(writeTimeoutMillis < 1){
+            throw new IllegalArgumentException("writeTimeoutMillis must be greater than 0");
+        }
+        this.headerTimeoutMillis = headerTimeoutMillis;
+        this.bodyTimeoutMillis = bodyTimeoutMillis;
+        this.writeTimeoutMillis = writeTimeoutMillis;
+    }
+
+    public int getHeaderTimeoutMillis() {
+        return headerTimeoutMillis;
+    }
+
+    public int getBodyTimeoutMillis() {
+        return bodyTimeoutMillis;
+    }
+
+    public int getWriteTimeoutMillis() {
+        return writeTimeoutMillis;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.channel;
+
+import com.nhnacademy.http.request.HttpRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/* WeightedFairJobQueue의 scheduling class 입니다.
+ *  - weight : 한 round에 이 class에서 꺼낼 수 있는 작업 수 입니다. (deficit round robin의 quantum)
+ *  - capacity : 이 class에 대기할 수 있는 작업 수 입니다. 다른 class의 burst가 이 class의 공간을 차지하지 않습니다.
+ * 규칙(path prefix, header, predicate) 중 하나라도 일치하는 요청이 이 class에 속합니다.
+ *  ex) new TrafficClass("health", 4, 64).pathPrefix("/health").pathPrefix("/metrics")
+ *      new TrafficClass("api", 2, 256).header("X-Priority", "high")
+ */
+public final class TrafficClass {
+    private final String name;
+    private final int weight;
+    private final int capacity;
+    private final List<Predicate<HttpRequest>> rules = new ArrayList<>();
+
+    public TrafficClass(String name, int weight, int capacity) {
+        if(Objects.isNull(name) || name.isBlank()){
+            throw new IllegalArgumentException("name is empty");
+        }
+        if(weight < 1){
+            throw new IllegalArgumentException("weight must be greater than 0");
+        }
+        if(capacity < 1){
+            throw new IllegalArgumentException("capacity must be greater than 0");
+        }
+        this.name = name;
+        this.weight = weight;
+        this.capacity = capacity;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    // path(query string 제외)가 prefix로 시작하는 요청 입니다.
+    public TrafficClass pathPrefix(String prefix){
+        if(Objects.isNull(prefix)){
+            throw new IllegalArgumentException("prefix is null");
+        }
+        return match(request -> request.getPath().startsWith(prefix));
+    }
+
+    // header 값이 value와 같은(대소문자 무시) 요청 입니다.
+    public TrafficClass header(String headerName, String value){
+        if(Objects.isNull(headerName) || Objects.isNull(value)){
+            throw new IllegalArgumentException("header is null");
+        }
+        return match(request -> value.equalsIgnoreCase(request.getHeader(headerName)));
+    }
+
+    public TrafficClass match(Predicate<HttpRequest> rule){
+        if(Objects.isNull(rule)){
+            throw new IllegalArgumentException("rule is null");
+        }
+        rules.add(rule);
+        return this;
+    }
+
+    boolean matches(HttpRequest request){
+        for(Predicate<HttpRequest> rule : rules){
+            if(rule.test(request)){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
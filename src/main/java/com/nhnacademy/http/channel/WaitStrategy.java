@@ -0,0 +1,33 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http.channel;
+
+import java.util.function.BooleanSupplier;
+
+/* RingBufferJobQueue에서 queue가 비었거나 가득 찼을 때 대기하는 방법 입니다.
+ * queue의 각 방향(notEmpty, notFull)마다 하나의 instance를 사용합니다.
+ */
+public interface WaitStrategy {
+
+    // condition이 true가 될 때 까지 대기 합니다. 조건을 다시 확인하기 전에 반환될 수도 있습니다.
+    void await(BooleanSupplier condition) throws InterruptedException;
+
+    /**
+     * condition이 true가 되거나 timeoutNanos가 지날 때 까지 대기 합니다.
+     * @return condition이 true라면 true, 시간이 초과되었다면 false
+     */
+    boolean await(BooleanSupplier condition, long timeoutNanos) throws InterruptedException;
+
+    // condition이 변경되었음을 대기중인 thread에게 알립니다.
+    void signal();
+}
@@ -0,0 +1,241 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.channel;
+
+import com.nhnacademy.http.request.HttpRequest;
+
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/* 요청을 TrafficClass로 분류해서 class마다 따로 대기시키는 JobQueue 입니다.
+ * 작업은 deficit round robin으로 꺼냅니다. class를 차례로 방문하면서 weight 만큼 작업을 꺼내고,
+ * 비어 있는 class는 건너 뛰므로 사용하지 않는 몫은 다른 class가 사용합니다. (work-conserving)
+ * 처리 비용을 미리 알 수 없으므로 작업 하나의 비용은 1 입니다.
+ * 비싼 요청이 몰려도 health check 같은 class는 자신의 capacity와 몫을 유지하므로 앞의 작업을 기다리지 않습니다.
+ * 분류는 Executable.getRequest()를 사용합니다. 요청이 없는 작업(연결 단위의 HttpJob 등)과 규칙이 일치하지 않는 요청은 기본 class에 등록 됩니다.
+ *  ex) new RequestChannel(new WeightedFairJobQueue(
+ *          new TrafficClass("default", 1, 256),
+ *          new TrafficClass("health", 4, 32).pathPrefix("/health")), OverloadPolicy.REJECT)
+ */
+public class WeightedFairJobQueue extends AbstractQueue<Executable> implements JobQueue {
+    private final TrafficClass[] classes;
+    private final ArrayDeque<Executable>[] queues;
+    // 이번 round에서 남은 몫 입니다. 0이라면 다음 방문 시 weight 만큼 충전 합니다.
+    private final int[] deficits;
+    private final long capacity;
+    // 다음에 방문할 class 입니다.
+    private int current;
+    private int size;
+
+    /**
+     * @param defaultClass 규칙과 관계 없이 일치하는 class가 없는 작업이 등록 됩니다.
+     * @param classes 순서대로 규칙을 확인하고, 처음 일치하는 class에 등록 합니다.
+     */
+    @SuppressWarnings("unchecked")
+    public WeightedFairJobQueue(TrafficClass defaultClass, TrafficClass... classes) {
+        if(Objects.isNull(defaultClass)){
+            throw new IllegalArgumentException("defaultClass is null");
+        }
+        if(Objects.isNull(classes)){
+            throw new IllegalArgumentException("classes is null");
+        }
+        // 기본 class는 마지막에 둡니다.
+        this.classes = new TrafficClass[classes.length + 1];
+        long total = 0;
+        for(int i=0; i<classes.length; i++){
+            if(Objects.isNull(classes[i])){
+                throw new IllegalArgumentException("class is null");
+            }
+            this.classes[i] = classes[i];
+            total += classes[i].getCapacity();
+        }
+        this.classes[classes.length] = defaultClass;
+        this.capacity = total + defaultClass.getCapacity();
+        this.queues = new ArrayDeque[this.classes.length];
+        for(int i=0; i<queues.length; i++){
+            queues[i] = new ArrayDeque<>();
+        }
+        this.deficits = new int[this.classes.length];
+    }
+
+    // 작업이 속한 class 입니다.
+    public TrafficClass classify(Executable executable){
+        return classes[indexOf(executable)];
+    }
+
+    private int indexOf(Executable executable){
+        HttpRequest request = executable.getRequest();
+        if(Objects.nonNull(request)){
+            for(int i=0; i<classes.length - 1; i++){
+                if(classes[i].matches(request)){
+                    return i;
+                }
+            }
+        }
+        return classes.length - 1;
+    }
+
+    // class에 대기중인 작업 수 입니다.
+    public synchronized int size(TrafficClass trafficClass){
+        for(int i=0; i<classes.length; i++){
+            if(classes[i] == trafficClass){
+                return queues[i].size();
+            }
+        }
+        throw new IllegalArgumentException(String.format("unknown class : %s", trafficClass));
+    }
+
+    @Override
+    public void put(Executable executable) throws InterruptedException {
+        if(Objects.isNull(executable)){
+            throw new IllegalArgumentException("executable is null");
+        }
+        // lock 밖에서 분류 합니다. 규칙이 요청의 header를 읽는 동안 다른 thread가 대기하지 않습니다.
+        int index = indexOf(executable);
+        synchronized (this){
+            // class가 가득 찼다면 소비될 때 까지 대기 합니다.
+            while(queues[index].size() >= classes[index].getCapacity()){
+                wait();
+            }
+            enqueue(index, executable);
+        }
+    }
+
+    @Override
+    public boolean offer(Executable executable) {
+        if(Objects.isNull(executable)){
+            throw new IllegalArgumentException("executable is null");
+        }
+        int index = indexOf(executable);
+        synchronized (this){
+            if(queues[index].size() >= classes[index].getCapacity()){
+                return false;
+            }
+            enqueue(index, executable);
+            return true;
+        }
+    }
+
+    private void enqueue(int index, Executable executable){
+        queues[index].add(executable);
+        size++;
+        notifyAll();
+    }
+
+    @Override
+    public synchronized Executable take() throws InterruptedException {
+        while(size == 0){
+            wait();
+        }
+        return dequeue();
+    }
+
+    @Override
+    public synchronized Executable poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long remaining = unit.toNanos(timeout);
+        long deadline = System.nanoTime() + remaining;
+        while(size == 0){
+            if(remaining <= 0){
+                return null;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            remaining = deadline - System.nanoTime();
+        }
+        return dequeue();
+    }
+
+    @Override
+    public synchronized Executable poll() {
+        return size == 0 ? null : dequeue();
+    }
+
+    // DROP_OLDEST : 등록할 작업과 같은 class에서 가장 오래 기다린 작업을 버립니다. 다른 class의 작업은 버리지 않습니다.
+    @Override
+    public Executable evict(Executable executable) {
+        int index = indexOf(executable);
+        synchronized (this){
+            Executable oldest = queues[index].poll();
+            if(Objects.nonNull(oldest)){
+                size--;
+                notifyAll();
+            }
+            return oldest;
+        }
+    }
+
+    // size > 0 일 때 호출 합니다.
+    private Executable dequeue(){
+        while(true){
+            ArrayDeque<Executable> queue = queues[current];
+            if(queue.isEmpty()){
+                // 대기중인 작업이 없는 class는 몫을 모아두지 않습니다.
+                deficits[current] = 0;
+                next();
+                continue;
+            }
+            if(deficits[current] == 0){
+                deficits[current] = classes[current].getWeight();
+            }
+            Executable executable = queue.poll();
+            size--;
+            if(--deficits[current] == 0 || queue.isEmpty()){
+                deficits[current] = 0;
+                next();
+            }
+            notifyAll();
+            return executable;
+        }
+    }
+
+    private void next(){
+        current = (current + 1) % queues.length;
+    }
+
+    // 다음에 꺼낼 작업 입니다.
+    @Override
+    public synchronized Executable peek() {
+        for(int i=0; i<queues.length; i++){
+            Executable executable = queues[(current + i) % queues.length].peek();
+            if(Objects.nonNull(executable)){
+                return executable;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public synchronized int size() {
+        return size;
+    }
+
+    @Override
+    public long capacity() {
+        return capacity;
+    }
+
+    // 호출 시점의 snapshot을 순회 합니다.
+    @Override
+    public synchronized Iterator<Executable> iterator() {
+        List<Executable> snapshot = new ArrayList<>(size);
+        for(ArrayDeque<Executable> queue : queues){
+            snapshot.addAll(queue);
+        }
+        return snapshot.iterator();
+    }
+}
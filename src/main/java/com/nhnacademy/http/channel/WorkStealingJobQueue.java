@@ -0,0 +1,278 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.channel;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/* worker thread마다 자신의 deque를 가지는 작업 큐 입니다.
+ * ex) new RequestChannel(new WorkStealingJobQueue(5, 1024)) + new WorkerThreadPool(5, requestChannel)
+ *
+ *  - take(), poll(timeout)을 호출하는 worker thread는 처음 호출할 때 deque 하나를 할당 받습니다.
+ *    (parallelism은 worker 수와 같게 설정 합니다. poll()만 호출하는 thread(ex: DROP_OLDEST의 acceptor)는 할당 받지 않습니다.)
+ *  - 작업은 round-robin 대상과 임의의 deque 중 대기 작업이 적은 deque에 추가 됩니다(power of two choices).
+ *  - 자신의 deque가 비어 있다면 다른 deque에서 가져 옵니다(steal).
+ *    요청은 서로 독립적이므로 fork/join과 달리 가장 오래된 작업(head) 부터 가져가서 대기 시간이 길어지지 않도록 합니다.
+ *  - 모든 deque가 비어 있다면 park 합니다. 작업을 추가한 thread는 해당 deque의 worker를 우선 깨우고,
+ *    그 worker가 실행 중이라면 쉬고 있는 다른 worker 하나를 깨웁니다. (notifyAll()로 모두 깨우지 않습니다.)
+ * 전역 lock이 없으며, 전체 크기(capacity)만 AtomicInteger로 관리 합니다.
+ * peek()은 첫 번째로 발견한 deque의 head를 반환하므로 전체에서 가장 오래된 작업이 아닐 수 있습니다.
+ */
+public class WorkStealingJobQueue extends AbstractQueue<Executable> implements JobQueue {
+    // queue가 가득 찼을 때 put()이 다시 시도하기 전에 대기하는 시간 입니다.
+    private static final long PUT_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final int capacity;
+    private final WorkerDeque[] deques;
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicInteger nextDeque = new AtomicInteger();
+    private final AtomicInteger nextOwner = new AtomicInteger();
+    private final ThreadLocal<WorkerDeque> ownDeque = new ThreadLocal<>();
+    // 작업을 기다리며 park 중인 thread 입니다. 깨우는 thread가 제거(claim) 하므로 같은 thread를 두 번 깨우지 않습니다.
+    private final ConcurrentLinkedDeque<Thread> sleepers = new ConcurrentLinkedDeque<>();
+
+    private static final class WorkerDeque {
+        private final ConcurrentLinkedDeque<Executable> jobs = new ConcurrentLinkedDeque<>();
+        private final AtomicInteger count = new AtomicInteger();
+        // 마지막으로 deque를 할당 받은 thread 입니다.
+        private volatile Thread owner;
+
+        private void add(Executable executable){
+            count.incrementAndGet();
+            jobs.offerLast(executable);
+        }
+
+        private Executable poll(){
+            Executable executable = jobs.pollFirst();
+            if(Objects.nonNull(executable)){
+                count.decrementAndGet();
+            }
+            return executable;
+        }
+    }
+
+    public WorkStealingJobQueue(int parallelism, int capacity) {
+        if(parallelism < 1){
+            throw new IllegalArgumentException("parallelism must be greater than 0");
+        }
+        if(capacity < 1){
+            throw new IllegalArgumentException("capacity must be greater than 0");
+        }
+        this.capacity = capacity;
+        this.deques = new WorkerDeque[parallelism];
+        for(int i=0; i<parallelism; i++){
+            deques[i] = new WorkerDeque();
+        }
+    }
+
+    public int getParallelism() {
+        return deques.length;
+    }
+
+    @Override
+    public boolean offer(Executable executable) {
+        if(Objects.isNull(executable)){
+            throw new IllegalArgumentException("executable is null");
+        }
+        int current;
+        do{
+            current = size.get();
+            if(current >= capacity){
+                return false;
+            }
+        }while(!size.compareAndSet(current, current + 1));
+
+        WorkerDeque target = select();
+        target.add(executable);
+        signal(target);
+        return true;
+    }
+
+    // 호출한 thread의 deque에서 가져오고, 비어 있다면 다른 deque에서 가져 옵니다.
+    @Override
+    public Executable poll() {
+        return poll(ownDeque.get());
+    }
+
+    private Executable poll(WorkerDeque own){
+        Executable executable = Objects.nonNull(own) ? own.poll() : null;
+        if(Objects.isNull(executable)){
+            executable = steal(own);
+        }
+        if(Objects.nonNull(executable)){
+            size.decrementAndGet();
+        }
+        return executable;
+    }
+
+    @Override
+    public void put(Executable executable) throws InterruptedException {
+        // queue가 가득 찬 것은 과부하 상황 입니다. 짧게 park 하며 다시 시도 합니다.
+        while(!offer(executable)){
+            if(Thread.interrupted()){
+                throw new InterruptedException();
+            }
+            LockSupport.parkNanos(this, PUT_PARK_NANOS);
+        }
+    }
+
+    @Override
+    public Executable take() throws InterruptedException {
+        return await(false, 0);
+    }
+
+    @Override
+    public Executable poll(long timeout, TimeUnit unit) throws InterruptedException {
+        return await(true, unit.toNanos(timeout));
+    }
+
+    @Override
+    public Executable peek() {
+        for(WorkerDeque deque : deques){
+            Executable executable = deque.jobs.peekFirst();
+            if(Objects.nonNull(executable)){
+                return executable;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public int size() {
+        return size.get();
+    }
+
+    @Override
+    public long capacity() {
+        return capacity;
+    }
+
+    // 호출 시점에 queue에 있는 작업의 snapshot을 순회 합니다 (weakly consistent).
+    @Override
+    public Iterator<Executable> iterator() {
+        List<Executable> snapshot = new ArrayList<>();
+        for(WorkerDeque deque : deques){
+            snapshot.addAll(deque.jobs);
+        }
+        return snapshot.iterator();
+    }
+
+    private Executable await(boolean timed, long timeoutNanos) throws InterruptedException {
+        long deadline = System.nanoTime() + timeoutNanos;
+        Thread current = Thread.currentThread();
+        WorkerDeque own = assign();
+        while(true){
+            Executable executable = poll(own);
+            if(Objects.nonNull(executable)){
+                return executable;
+            }
+            if(Thread.interrupted()){
+                throw new InterruptedException();
+            }
+
+            /* sleepers에 등록한 뒤 한 번 더 확인 합니다.
+               offer()는 작업을 추가한 뒤 sleepers를 확인하므로, 둘 중 하나는 반드시 상대방을 보게 됩니다.
+             */
+            sleepers.addFirst(current);
+            executable = poll(own);
+            if(Objects.nonNull(executable)){
+                if(!sleepers.remove(current)){
+                    // 다른 작업을 위해 깨워진 상태 입니다. 대신 다른 worker를 깨웁니다.
+                    signalAny();
+                }
+                return executable;
+            }
+            if(timed){
+                long remaining = deadline - System.nanoTime();
+                if(remaining <= 0){
+                    if(!sleepers.remove(current)){
+                        signalAny();
+                    }
+                    return null;
+                }
+                LockSupport.parkNanos(this, remaining);
+            }else{
+                LockSupport.park(this);
+            }
+            // 시간 초과, interrupt, spurious wake-up이라면 아직 sleepers에 남아 있습니다.
+            boolean signalled = !sleepers.remove(current);
+            if(Thread.interrupted()){
+                if(signalled){
+                    signalAny();
+                }
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    private WorkerDeque assign(){
+        WorkerDeque deque = ownDeque.get();
+        if(Objects.isNull(deque)){
+            deque = deques[Math.floorMod(nextOwner.getAndIncrement(), deques.length)];
+            deque.owner = Thread.currentThread();
+            ownDeque.set(deque);
+        }
+        return deque;
+    }
+
+    private WorkerDeque select(){
+        WorkerDeque first = deques[Math.floorMod(nextDeque.getAndIncrement(), deques.length)];
+        if(deques.length == 1){
+            return first;
+        }
+        WorkerDeque second = deques[ThreadLocalRandom.current().nextInt(deques.length)];
+        return first.count.get() <= second.count.get() ? first : second;
+    }
+
+    private Executable steal(WorkerDeque own){
+        int start = ThreadLocalRandom.current().nextInt(deques.length);
+        for(int i=0; i<deques.length; i++){
+            WorkerDeque victim = deques[(start + i) % deques.length];
+            if(victim == own){
+                continue;
+            }
+            Executable executable = victim.poll();
+            if(Objects.nonNull(executable)){
+                return executable;
+            }
+        }
+        return null;
+    }
+
+    // deque의 worker가 쉬고 있다면 깨우고, 그렇지 않다면 쉬고 있는 다른 worker를 깨웁니다.
+    private void signal(WorkerDeque target){
+        Thread owner = target.owner;
+        if(Objects.nonNull(owner) && sleepers.remove(owner)){
+            LockSupport.unpark(owner);
+            return;
+        }
+        signalAny();
+    }
+
+    private void signalAny(){
+        // 가장 최근에 쉬기 시작한 worker를 깨웁니다. cache가 아직 유효할 가능성이 높습니다.
+        Thread sleeper = sleepers.pollFirst();
+        if(Objects.nonNull(sleeper)){
+            LockSupport.unpark(sleeper);
+        }
+    }
+}
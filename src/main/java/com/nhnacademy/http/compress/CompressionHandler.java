@@ -0,0 +1,127 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.compress;
+
+import com.nhnacademy.http.handler.HttpHandler;
+import com.nhnacademy.http.request.HttpRequest;
+import com.nhnacademy.http.response.HttpResponse;
+import com.nhnacademy.http.response.HttpStatus;
+import com.nhnacademy.http.response.StreamingBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/* handler의 응답 body를 Accept-Encoding에 따라 압축 합니다.
+ * ex) new CompressionHandler(new Router(new HelloHandler()).get("/metrics", new MetricsHandler()))
+ *
+ * 다음 응답은 압축하지 않습니다.
+ *  - 200 OK가 아닌 응답, HEAD 요청, 이미 Content-Encoding이 지정된 응답(ex: StaticFileHandler의 precompressed 응답)
+ *  - FileRegion body : transferTo로 전송해야 하므로 StaticFileHandler의 CompressedFileCache를 사용합니다.
+ *  - 압축 효과가 없는 Content-Type, minSize 보다 작은 body
+ * StreamingBody는 압축한 크기를 미리 알 수 없으므로 Content-Length를 제거하고 생성하는 대로 압축해서 전송 합니다.
+ */
+public class CompressionHandler implements HttpHandler {
+    // 이보다 작은 body는 gzip header와 trailer 때문에 오히려 커질 수 있습니다.
+    public static final int DEFAULT_MIN_SIZE = 1024;
+
+    private final HttpHandler httpHandler;
+    private final int minSize;
+    private final Compressor compressor;
+
+    public CompressionHandler(HttpHandler httpHandler) {
+        this(httpHandler, DEFAULT_MIN_SIZE, Compressor.get());
+    }
+
+    public CompressionHandler(HttpHandler httpHandler, int minSize, Compressor compressor) {
+        if(Objects.isNull(httpHandler)){
+            throw new IllegalArgumentException("httpHandler is null");
+        }
+        if(minSize < 0){
+            throw new IllegalArgumentException("minSize must be positive");
+        }
+        if(Objects.isNull(compressor)){
+            throw new IllegalArgumentException("compressor is null");
+        }
+        this.httpHandler = httpHandler;
+        this.minSize = minSize;
+        this.compressor = compressor;
+    }
+
+    @Override
+    public HttpResponse handle(HttpRequest request) throws IOException {
+        HttpResponse response = httpHandler.handle(request);
+        if(Objects.isNull(response)
+                || response.getStatus() != HttpStatus.OK
+                || request.getMethod().equals("HEAD")
+                || Objects.nonNull(response.getHeader("Content-Encoding"))
+                || Objects.nonNull(response.getFileRegion())
+                || !Compressor.isCompressible(response.getContentType())){
+            return response;
+        }
+        if(response.isStreaming()){
+            // 크기를 지정한 StreamingBody가 minSize 보다 작다면 압축하지 않습니다.
+            if(response.getContentLength() >= 0 && response.getContentLength() < minSize){
+                return response;
+            }
+        }else if(response.getContentLength() != response.getBody().remaining()
+                || response.getBody().remaining() < minSize){
+            return response;
+        }
+
+        // 압축 여부와 관계 없이 응답이 Accept-Encoding에 따라 달라지므로 cache에게 알립니다.
+        addVary(response);
+        ContentEncoding encoding = ContentEncoding.negotiate(request.getHeader("Accept-Encoding"));
+        if(encoding == ContentEncoding.IDENTITY){
+            return response;
+        }
+
+        if(response.isStreaming()){
+            StreamingBody body = response.getStreamingBody();
+            return response.setBody(output -> {
+                        try(OutputStream compressed = compressor.compress(output, encoding)){
+                            body.writeTo(compressed);
+                        }
+                    })
+                    .setContentLength(-1)
+                    .setHeader("Content-Encoding", encoding.getToken())
+                    .setHeader("ETag", encoding.etag(response.getHeader("ETag")));
+        }
+
+        ByteBuffer compressed = compressor.compress(response.getBody(), encoding);
+        if(compressed.remaining() >= response.getBody().remaining()){
+            return response;
+        }
+        return response.setBody(compressed)
+                .setHeader("Content-Encoding", encoding.getToken())
+                .setHeader("ETag", encoding.etag(response.getHeader("ETag")));
+    }
+
+    // handler가 지정한 Vary(ex: Vary: Origin)를 유지하고 Accept-Encoding을 추가 합니다. "*"는 이미 모든 header를 포함 합니다.
+    private static void addVary(HttpResponse response){
+        String vary = response.getHeader("Vary");
+        if(Objects.isNull(vary) || vary.isBlank()){
+            response.setHeader("Vary", "Accept-Encoding");
+            return;
+        }
+        for(String token : vary.split(",")){
+            String name = token.trim();
+            if(name.equals("*") || name.equalsIgnoreCase("Accept-Encoding")){
+                return;
+            }
+        }
+        response.setHeader("Vary", vary + ", Accept-Encoding");
+    }
+}
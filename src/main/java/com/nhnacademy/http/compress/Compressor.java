@@ -0,0 +1,222 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.compress;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/* body를 gzip 또는 deflate로 압축 합니다.
+ * Deflater는 native memory를 사용하고 생성 비용이 크므로 pool에 보관해서 재사용 합니다.
+ * pool이 비어 있으면 새로 생성하고, 반납할 때 pool이 가득 찼다면 end()로 native memory를 해제 합니다.
+ * 입력은 복사하지 않고 Deflater에 직접 전달하며, 출력은 CHUNK_SIZE 단위로 늘려가며 기록 합니다.
+ * 크기를 알 수 없는 StreamingBody는 compress(OutputStream, ContentEncoding)로 압축하면서 전송 합니다.
+ */
+public class Compressor {
+    private static final int CHUNK_SIZE = 8 * 1024;
+    private static final int GZIP_MAGIC = 0x8b1f;
+    private static final int GZIP_HEADER_SIZE = 10;
+    private static final int GZIP_TRAILER_SIZE = 8;
+
+    private static final Compressor DEFAULT = new Compressor(Deflater.DEFAULT_COMPRESSION, Runtime.getRuntime().availableProcessors() * 2);
+
+    private final int level;
+    // gzip은 header와 trailer를 직접 기록하므로 nowrap Deflater를 사용합니다. deflate는 zlib 형식 입니다.
+    private final BlockingQueue<Deflater> gzipDeflaters;
+    private final BlockingQueue<Deflater> zlibDeflaters;
+
+    /**
+     * @param level 압축 level (0~9, Deflater.DEFAULT_COMPRESSION)
+     * @param maxPooled encoding 별로 보관하는 최대 Deflater 수
+     */
+    public Compressor(int level, int maxPooled) {
+        if((level < 0 || level > 9) && level != Deflater.DEFAULT_COMPRESSION){
+            throw new IllegalArgumentException(String.format("invalid level : %d", level));
+        }
+        if(maxPooled < 1){
+            throw new IllegalArgumentException("maxPooled must be greater than 0");
+        }
+        this.level = level;
+        this.gzipDeflaters = new ArrayBlockingQueue<>(maxPooled);
+        this.zlibDeflaters = new ArrayBlockingQueue<>(maxPooled);
+    }
+
+    public static Compressor get(){
+        return DEFAULT;
+    }
+
+    // 압축 효과가 있는 Content-Type 입니다. 이미지, 동영상, font(woff2) 등은 이미 압축되어 있습니다.
+    public static boolean isCompressible(String contentType){
+        if(Objects.isNull(contentType)){
+            return false;
+        }
+        String type = contentType.toLowerCase();
+        return type.startsWith("text/")
+                || type.startsWith("application/json")
+                || type.startsWith("application/javascript")
+                || type.startsWith("application/xml")
+                || type.startsWith("image/svg+xml")
+                || type.startsWith("application/wasm");
+    }
+
+    /**
+     * source의 position ~ limit 구간을 압축 합니다. source의 position은 변경하지 않습니다.
+     * @param encoding GZIP 또는 DEFLATE
+     */
+    public ByteBuffer compress(ByteBuffer source, ContentEncoding encoding){
+        if(Objects.isNull(source) || Objects.isNull(encoding)){
+            throw new IllegalArgumentException("source or encoding is null");
+        }
+        if(encoding == ContentEncoding.IDENTITY){
+            throw new IllegalArgumentException("identity is not a compression");
+        }
+        boolean gzip = encoding == ContentEncoding.GZIP;
+        Deflater deflater = acquire(gzip);
+        try{
+            int length = source.remaining();
+            byte[] output = new byte[Math.max(CHUNK_SIZE, length / 2)];
+            int position = 0;
+            if(gzip){
+                position = writeGzipHeader(output);
+            }
+
+            deflater.setInput(source.duplicate());
+            deflater.finish();
+            while(!deflater.finished()){
+                if(output.length - position < CHUNK_SIZE){
+                    output = Arrays.copyOf(output, output.length + Math.max(CHUNK_SIZE, output.length / 2));
+                }
+                position += deflater.deflate(output, position, output.length - position);
+            }
+
+            if(gzip){
+                if(output.length - position < GZIP_TRAILER_SIZE){
+                    output = Arrays.copyOf(output, position + GZIP_TRAILER_SIZE);
+                }
+                CRC32 crc32 = new CRC32();
+                crc32.update(source.duplicate());
+                position = writeInt(output, position, (int) crc32.getValue());
+                position = writeInt(output, position, length);
+            }
+            return ByteBuffer.wrap(output, 0, position).slice();
+        }finally {
+            release(gzip, deflater);
+        }
+    }
+
+    /**
+     * output으로 압축해서 기록하는 stream을 생성 합니다. pool의 Deflater를 사용합니다.
+     * flush()는 지금까지 기록한 byte를 압축해서 output으로 전송 합니다(SYNC_FLUSH). ex) server-sent events
+     * close()는 압축을 마치고 gzip trailer를 기록한 뒤 Deflater를 pool에 반납 합니다. output은 닫지 않습니다.
+     * @param encoding GZIP 또는 DEFLATE
+     */
+    public OutputStream compress(OutputStream output, ContentEncoding encoding) throws IOException {
+        if(Objects.isNull(output) || Objects.isNull(encoding)){
+            throw new IllegalArgumentException("output or encoding is null");
+        }
+        if(encoding == ContentEncoding.IDENTITY){
+            throw new IllegalArgumentException("identity is not a compression");
+        }
+        boolean gzip = encoding == ContentEncoding.GZIP;
+        if(gzip){
+            byte[] header = new byte[GZIP_HEADER_SIZE];
+            writeGzipHeader(header);
+            output.write(header);
+        }
+        return new CompressedOutputStream(output, gzip, acquire(gzip));
+    }
+
+    // pool에 보관중인 Deflater 수 입니다.
+    public int getPooledCount(ContentEncoding encoding){
+        return encoding == ContentEncoding.GZIP ? gzipDeflaters.size() : zlibDeflaters.size();
+    }
+
+    private Deflater acquire(boolean gzip){
+        Deflater deflater = (gzip ? gzipDeflaters : zlibDeflaters).poll();
+        return Objects.nonNull(deflater) ? deflater : new Deflater(level, gzip);
+    }
+
+    private void release(boolean gzip, Deflater deflater){
+        deflater.reset();
+        if(!(gzip ? gzipDeflaters : zlibDeflaters).offer(deflater)){
+            deflater.end();
+        }
+    }
+
+    private final class CompressedOutputStream extends DeflaterOutputStream {
+        private final boolean gzip;
+        private final CRC32 crc32 = new CRC32();
+        private long length;
+        private boolean closed;
+
+        private CompressedOutputStream(OutputStream output, boolean gzip, Deflater deflater) {
+            super(output, deflater, CHUNK_SIZE, true);
+            this.gzip = gzip;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            super.write(bytes, offset, length);
+            if(gzip){
+                crc32.update(bytes, offset, length);
+                this.length += length;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if(closed){
+                return;
+            }
+            closed = true;
+            try{
+                finish();
+                if(gzip){
+                    byte[] trailer = new byte[GZIP_TRAILER_SIZE];
+                    writeInt(trailer, writeInt(trailer, 0, (int) crc32.getValue()), (int) length);
+                    out.write(trailer);
+                }
+                out.flush();
+            }finally {
+                release(gzip, def);
+            }
+        }
+    }
+
+    // RFC 1952 : magic, CM=8(deflate), FLG=0, MTIME=0, XFL=0, OS=255(unknown)
+    private static int writeGzipHeader(byte[] output){
+        output[0] = (byte) GZIP_MAGIC;
+        output[1] = (byte) (GZIP_MAGIC >> 8);
+        output[2] = Deflater.DEFLATED;
+        Arrays.fill(output, 3, 9, (byte) 0);
+        output[9] = (byte) 0xff;
+        return GZIP_HEADER_SIZE;
+    }
+
+    // little endian
+    private static int writeInt(byte[] output, int position, int value){
+        output[position] = (byte) value;
+        output[position + 1] = (byte) (value >> 8);
+        output[position + 2] = (byte) (value >> 16);
+        output[position + 3] = (byte) (value >> 24);
+        return position + 4;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.compress;
+
+import java.util.Objects;
+
+// 응답 body의 Content-Encoding 입니다.
+public enum ContentEncoding {
+    GZIP("gzip"),
+    DEFLATE("deflate"),
+    IDENTITY("identity");
+
+    private final String token;
+
+    ContentEncoding(String token) {
+        this.token = token;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    /**
+     * 압축된 응답은 원본과 다른 representation이므로 ETag를 구분 합니다.
+     * ex) "a-1b" -> "a-1b-gzip"
+     */
+    public String etag(String etag){
+        if(this == IDENTITY || Objects.isNull(etag) || !etag.endsWith("\"")){
+            return etag;
+        }
+        return etag.substring(0, etag.length() - 1) + "-" + token + "\"";
+    }
+
+    /**
+     * Accept-Encoding header로 사용할 encoding을 결정 합니다.
+     * q 값이 가장 큰 encoding을 선택하고, 같다면 gzip을 우선 합니다. q=0은 허용하지 않는다는 의미 입니다.
+     * ex) "gzip, deflate;q=0.5" -> GZIP, "deflate, gzip;q=0" -> DEFLATE, null -> IDENTITY
+     */
+    public static ContentEncoding negotiate(String acceptEncoding){
+        if(Objects.isNull(acceptEncoding) || acceptEncoding.isBlank()){
+            return IDENTITY;
+        }
+        double gzip = -1;
+        double deflate = -1;
+        double any = -1;
+        for(String coding : acceptEncoding.split(",")){
+            int semicolon = coding.indexOf(';');
+            String name = (semicolon < 0 ? coding : coding.substring(0, semicolon)).trim();
+            double q = semicolon < 0 ? 1 : parseQuality(coding.substring(semicolon + 1));
+            if(name.equalsIgnoreCase(GZIP.token) || name.equalsIgnoreCase("x-gzip")){
+                gzip = Math.max(gzip, q);
+            }else if(name.equalsIgnoreCase(DEFLATE.token)){
+                deflate = Math.max(deflate, q);
+            }else if(name.equals("*")){
+                any = q;
+            }
+        }
+        // 목록에 없는 encoding은 "*"의 q 값을 사용합니다.
+        gzip = gzip < 0 ? Math.max(any, 0) : gzip;
+        deflate = deflate < 0 ? Math.max(any, 0) : deflate;
+        if(gzip > 0 && gzip >= deflate){
+            return GZIP;
+        }
+        return deflate > 0 ? DEFLATE : IDENTITY;
+    }
+
+    // "q=0.5" 형식의 parameter를 해석 합니다. 잘못된 값은 0으로 봅니다.
+    private static double parseQuality(String parameter){
+        String value = parameter.trim();
+        if(!value.startsWith("q=") && !value.startsWith("Q=")){
+            return 1;
+        }
+        try{
+            double q = Double.parseDouble(value.substring(2).trim());
+            return q >= 0 && q <= 1 ? q : 0;
+        }catch (NumberFormatException e){
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.file;
+
+import com.nhnacademy.http.compress.Compressor;
+import com.nhnacademy.http.compress.ContentEncoding;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.Deflater;
+
+/* 정적 파일의 압축된 내용(gzip, deflate)을 memory에 보관 합니다. 같은 파일을 요청마다 다시 압축하지 않습니다.
+ *  - gzip : 같은 directory에 원본보다 최신인 "파일명.gz"가 있다면 압축하지 않고 그 내용을 사용합니다.
+ *  - minSize 미만, maxFileSize 초과 파일은 압축하지 않습니다.
+ *  - 압축해도 작아지지 않는 파일도 기록해서 다시 압축을 시도하지 않습니다.
+ * 전체 크기가 maxCacheSize를 넘으면 가장 오래 사용하지 않은 entry부터 제거 합니다(LRU).
+ * 원본 파일의 크기나 수정 시각이 바뀌면 다시 압축 합니다.
+ */
+public class CompressedFileCache {
+    public static final long DEFAULT_MAX_CACHE_SIZE = 16L * 1024 * 1024;
+    public static final long DEFAULT_MAX_FILE_SIZE = 1024 * 1024;
+    public static final long DEFAULT_MIN_SIZE = 1024;
+    private static final String GZIP_EXTENSION = ".gz";
+    // map entry와 key가 차지하는 대략적인 크기 입니다. 압축 결과가 없는 entry도 cache 크기에 포함 합니다.
+    private static final long ENTRY_OVERHEAD = 128;
+
+    private record Key(Path path, ContentEncoding encoding) { }
+
+    // content가 null이라면 압축 효과가 없는 파일 입니다.
+    private record Entry(ByteBuffer content, long size, long lastModified) {
+        long weight(){
+            return ENTRY_OVERHEAD + (Objects.isNull(content) ? 0 : content.capacity());
+        }
+    }
+
+    private final long maxCacheSize;
+    private final long maxFileSize;
+    private final long minSize;
+    private final Compressor compressor;
+
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedBytes;
+
+    public CompressedFileCache() {
+        // 한 번만 압축하므로 가장 높은 압축률을 사용합니다.
+        this(DEFAULT_MAX_CACHE_SIZE, DEFAULT_MAX_FILE_SIZE, DEFAULT_MIN_SIZE, new Compressor(Deflater.BEST_COMPRESSION, 2));
+    }
+
+    public CompressedFileCache(long maxCacheSize, long maxFileSize, long minSize, Compressor compressor) {
+        if(maxCacheSize < 0 || maxFileSize < 0 || minSize < 0){
+            throw new IllegalArgumentException("cache size must be positive");
+        }
+        if(maxFileSize > Integer.MAX_VALUE){
+            throw new IllegalArgumentException("maxFileSize is too large");
+        }
+        if(Objects.isNull(compressor)){
+            throw new IllegalArgumentException("compressor is null");
+        }
+        this.maxCacheSize = maxCacheSize;
+        this.maxFileSize = maxFileSize;
+        this.minSize = minSize;
+        this.compressor = compressor;
+    }
+
+    // 압축을 시도할 크기인지 확인 합니다.
+    public boolean isEligible(long size){
+        return size >= minSize && size <= maxFileSize;
+    }
+
+    /**
+     * 압축된 파일 내용을 반환 합니다.
+     * @return 압축된 내용(read-only), 압축할 수 없거나 압축 효과가 없다면 null
+     */
+    public ByteBuffer get(Path path, BasicFileAttributes attributes, ContentEncoding encoding) throws IOException {
+        if(Objects.isNull(path) || Objects.isNull(attributes) || Objects.isNull(encoding)){
+            throw new IllegalArgumentException("path, attributes or encoding is null");
+        }
+        long size = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        if(encoding == ContentEncoding.IDENTITY || !isEligible(size)){
+            return null;
+        }
+
+        Key key = new Key(path, encoding);
+        synchronized (this){
+            Entry entry = entries.get(key);
+            if(Objects.nonNull(entry) && entry.size() == size && entry.lastModified() == lastModified){
+                return duplicate(entry.content());
+            }
+        }
+
+        // 압축은 lock 밖에서 합니다. 같은 파일을 동시에 압축할 수 있지만 결과는 같습니다.
+        ByteBuffer content = load(path, size, lastModified, encoding);
+        if(Objects.nonNull(content) && content.remaining() >= size){
+            content = null;
+        }
+        Entry entry = new Entry(content, size, lastModified);
+        synchronized (this){
+            Entry previous = entries.put(key, entry);
+            if(Objects.nonNull(previous)){
+                cachedBytes -= previous.weight();
+            }
+            cachedBytes += entry.weight();
+            evict();
+        }
+        return duplicate(content);
+    }
+
+    public synchronized long getCachedBytes() {
+        return cachedBytes;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private ByteBuffer load(Path path, long size, long lastModified, ContentEncoding encoding) throws IOException {
+        if(encoding == ContentEncoding.GZIP){
+            Path precompressed = path.resolveSibling(path.getFileName() + GZIP_EXTENSION);
+            try{
+                BasicFileAttributes attributes = Files.readAttributes(precompressed, BasicFileAttributes.class);
+                if(attributes.isRegularFile() && attributes.size() <= maxFileSize
+                        && attributes.lastModifiedTime().toMillis() >= lastModified){
+                    return ByteBuffer.wrap(Files.readAllBytes(precompressed));
+                }
+            }catch (NoSuchFileException e){
+                // 미리 압축된 파일이 없다면 직접 압축 합니다.
+            }
+        }
+        byte[] bytes = Files.readAllBytes(path);
+        if(bytes.length != size){
+            // 읽는 도중 파일이 변경 되었습니다. 다음 요청에서 다시 압축 합니다.
+            return null;
+        }
+        return compressor.compress(ByteBuffer.wrap(bytes), encoding);
+    }
+
+    private static ByteBuffer duplicate(ByteBuffer content){
+        return Objects.isNull(content) ? null : content.asReadOnlyBuffer();
+    }
+
+    private void evict(){
+        Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+        while(cachedBytes > maxCacheSize && iterator.hasNext()){
+            cachedBytes -= iterator.next().getValue().weight();
+            iterator.remove();
+        }
+    }
+}
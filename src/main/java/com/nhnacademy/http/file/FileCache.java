@@ -0,0 +1,126 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http.file;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/* 자주 요청되는 작은 파일의 내용을 memory에 보관 합니다.
+ *  - mapThreshold 미만 : direct ByteBuffer로 미리 읽어 둡니다.
+ *  - mapThreshold 이상 maxFileSize 이하 : FileChannel.map()으로 memory-mapped buffer를 사용합니다.
+ *  - maxFileSize 초과 : cache 하지 않습니다. (StaticFileHandler가 transferTo로 전송 합니다.)
+ * 전체 크기가 maxCacheSize를 넘으면 가장 오래 사용하지 않은 파일부터 제거 합니다(LRU).
+ * 파일의 크기나 수정 시각이 바뀌면 다시 읽습니다.
+ */
+public class FileCache {
+    public static final long DEFAULT_MAX_CACHE_SIZE = 64L * 1024 * 1024;
+    public static final long DEFAULT_MAX_FILE_SIZE = 1024 * 1024;
+    public static final long DEFAULT_MAP_THRESHOLD = 64 * 1024;
+
+    private record Entry(ByteBuffer content, long size, long lastModified) { }
+
+    private final long maxCacheSize;
+    private final long maxFileSize;
+    private final long mapThreshold;
+
+    // access-order LinkedHashMap : 조회한 entry가 마지막으로 이동합니다.
+    private final LinkedHashMap<Path, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedBytes;
+
+    public FileCache() {
+        this(DEFAULT_MAX_CACHE_SIZE, DEFAULT_MAX_FILE_SIZE, DEFAULT_MAP_THRESHOLD);
+    }
+
+    public FileCache(long maxCacheSize, long maxFileSize, long mapThreshold) {
+        if(maxCacheSize < 0 || maxFileSize < 0 || mapThreshold < 0){
+            throw new IllegalArgumentException("cache size must be positive");
+        }
+        if(maxFileSize > Integer.MAX_VALUE){
+            throw new IllegalArgumentException("maxFileSize is too large");
+        }
+        this.maxCacheSize = maxCacheSize;
+        this.maxFileSize = Math.min(maxFileSize, maxCacheSize);
+        this.mapThreshold = mapThreshold;
+    }
+
+    /**
+     * 파일 내용을 반환 합니다. cache에 없거나 변경되었다면 읽어서 cache에 추가 합니다.
+     * @return 파일 내용(read-only), cache 할 수 없는 크기라면 null
+     */
+    public ByteBuffer get(Path path, BasicFileAttributes attributes) throws IOException {
+        if(Objects.isNull(path) || Objects.isNull(attributes)){
+            throw new IllegalArgumentException("path or attributes is null");
+        }
+        long size = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        if(size > maxFileSize){
+            return null;
+        }
+
+        synchronized (this){
+            Entry entry = entries.get(path);
+            if(Objects.nonNull(entry) && entry.size() == size && entry.lastModified() == lastModified){
+                return entry.content().duplicate();
+            }
+        }
+
+        // 파일은 lock 밖에서 읽습니다. 같은 파일을 동시에 읽을 수 있지만 결과는 같습니다.
+        Entry entry = new Entry(load(path, size), size, lastModified);
+        synchronized (this){
+            Entry previous = entries.put(path, entry);
+            if(Objects.nonNull(previous)){
+                cachedBytes -= previous.size();
+            }
+            cachedBytes += size;
+            evict();
+        }
+        return entry.content().duplicate();
+    }
+
+    public synchronized long getCachedBytes() {
+        return cachedBytes;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private ByteBuffer load(Path path, long size) throws IOException {
+        try(FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ)){
+            if(size >= mapThreshold){
+                return fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, size).asReadOnlyBuffer();
+            }
+            ByteBuffer buffer = ByteBuffer.allocateDirect((int) size);
+            while(buffer.hasRemaining() && fileChannel.read(buffer) >= 0){
+                // 파일 끝까지 읽습니다.
+            }
+            return buffer.flip().asReadOnlyBuffer();
+        }
+    }
+
+    private void evict(){
+        Iterator<Map.Entry<Path, Entry>> iterator = entries.entrySet().iterator();
+        while(cachedBytes > maxCacheSize && iterator.hasNext()){
+            cachedBytes -= iterator.next().getValue().size();
+            iterator.remove();
+        }
+    }
+}
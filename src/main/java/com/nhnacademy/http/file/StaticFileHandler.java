@@ -0,0 +1,264 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http.file;
+
+import com.nhnacademy.http.compress.Compressor;
+import com.nhnacademy.http.compress.ContentEncoding;
+import com.nhnacademy.http.handler.HttpHandler;
+import com.nhnacademy.http.request.HttpRequest;
+import com.nhnacademy.http.response.DateHeader;
+import com.nhnacademy.http.response.FileRegion;
+import com.nhnacademy.http.response.HttpResponse;
+import com.nhnacademy.http.response.HttpStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Objects;
+
+/* documentRoot 아래의 파일을 응답 합니다.
+ *  - 작은 파일은 FileCache의 buffer를, 큰 파일은 FileRegion(transferTo)을 사용하므로 파일 내용을 heap으로 복사하지 않습니다.
+ *  - ETag, Last-Modified를 전송하고 If-None-Match, If-Modified-Since 요청에는 304로 응답 합니다.
+ *  - 하나의 구간을 요청하는 Range(bytes=start-end) 요청에는 206으로 응답 합니다.
+ *  - 압축 효과가 있는 파일은 Accept-Encoding에 따라 CompressedFileCache의 압축된 내용으로 응답 합니다.
+ */
+public class StaticFileHandler implements HttpHandler {
+    private static final String INDEX_FILE = "index.html";
+
+    private final Path documentRoot;
+    private final FileCache fileCache;
+    private final CompressedFileCache compressedFileCache;
+
+    public StaticFileHandler(Path documentRoot) {
+        this(documentRoot, new FileCache());
+    }
+
+    public StaticFileHandler(Path documentRoot, FileCache fileCache) {
+        this(documentRoot, fileCache, new CompressedFileCache());
+    }
+
+    public StaticFileHandler(Path documentRoot, FileCache fileCache, CompressedFileCache compressedFileCache) {
+        if(Objects.isNull(documentRoot) || !Files.isDirectory(documentRoot)){
+            throw new IllegalArgumentException(String.format("invalid document root : %s", documentRoot));
+        }
+        if(Objects.isNull(fileCache)){
+            throw new IllegalArgumentException("fileCache is null");
+        }
+        if(Objects.isNull(compressedFileCache)){
+            throw new IllegalArgumentException("compressedFileCache is null");
+        }
+        this.documentRoot = documentRoot.toAbsolutePath().normalize();
+        this.fileCache = fileCache;
+        this.compressedFileCache = compressedFileCache;
+    }
+
+    @Override
+    public HttpResponse handle(HttpRequest request) throws IOException {
+        boolean head = request.getMethod().equals("HEAD");
+        if(!head && !request.getMethod().equals("GET")){
+            return new HttpResponse(HttpStatus.METHOD_NOT_ALLOWED).setHeader("Allow", "GET, HEAD");
+        }
+
+        Path file = resolve(request.getPath());
+        if(Objects.isNull(file)){
+            return new HttpResponse(HttpStatus.NOT_FOUND);
+        }
+        BasicFileAttributes attributes;
+        try{
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            if(attributes.isDirectory()){
+                file = file.resolve(INDEX_FILE);
+                attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            }
+        }catch (NoSuchFileException e){
+            return new HttpResponse(HttpStatus.NOT_FOUND);
+        }
+        if(!attributes.isRegularFile()){
+            return new HttpResponse(HttpStatus.NOT_FOUND);
+        }
+
+        long size = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        String etag = String.format("\"%x-%x\"", size, lastModified);
+
+        String contentType = MimeTypes.of(file.getFileName().toString());
+
+        HttpResponse response = new HttpResponse()
+                .setHeader("Last-Modified", DateHeader.format(lastModified))
+                .setHeader("Accept-Ranges", "bytes");
+
+        // Range 요청은 원본 파일의 구간으로 응답 합니다.
+        ByteBuffer compressed = null;
+        if(Compressor.isCompressible(contentType) && compressedFileCache.isEligible(size)){
+            response.setHeader("Vary", "Accept-Encoding");
+            ContentEncoding encoding = ContentEncoding.negotiate(request.getHeader("Accept-Encoding"));
+            if(encoding != ContentEncoding.IDENTITY && Objects.isNull(request.getHeader("Range"))){
+                compressed = compressedFileCache.get(file, attributes, encoding);
+                if(Objects.nonNull(compressed)){
+                    etag = encoding.etag(etag);
+                    response.setHeader("Content-Encoding", encoding.getToken());
+                }
+            }
+        }
+        response.setHeader("ETag", etag);
+
+        if(isNotModified(request, etag, lastModified)){
+            return response.setStatus(HttpStatus.NOT_MODIFIED);
+        }
+        response.setContentType(contentType);
+
+        if(Objects.nonNull(compressed)){
+            return head ? response.setContentLength(compressed.remaining()) : response.setBody(compressed);
+        }
+
+        long start = 0;
+        long length = size;
+        long[] range = parseRange(request, etag, size);
+        if(Objects.nonNull(range)){
+            if(range.length == 0){
+                return new HttpResponse(HttpStatus.RANGE_NOT_SATISFIABLE)
+                        .setHeader("Content-Range", String.format("bytes */%d", size));
+            }
+            start = range[0];
+            length = range[1] - range[0] + 1;
+            response.setStatus(HttpStatus.PARTIAL_CONTENT)
+                    .setHeader("Content-Range", String.format("bytes %d-%d/%d", range[0], range[1], size));
+        }
+
+        if(head){
+            return response.setContentLength(length);
+        }
+        ByteBuffer content = fileCache.get(file, attributes);
+        if(Objects.nonNull(content)){
+            return response.setBody(content.slice((int) start, (int) length));
+        }
+        return response.setBody(new FileRegion(file, start, length));
+    }
+
+    /**
+     * 요청 path를 documentRoot 아래의 파일 경로로 변환 합니다.
+     * @return documentRoot를 벗어나거나 잘못된 path라면 null
+     */
+    Path resolve(String requestPath){
+        if(Objects.isNull(requestPath) || !requestPath.startsWith("/")){
+            return null;
+        }
+        String decoded = decode(requestPath);
+        if(Objects.isNull(decoded) || decoded.indexOf('\0') >= 0){
+            return null;
+        }
+        Path file = documentRoot.resolve(decoded.substring(1)).normalize();
+        // "../" 를 이용해서 documentRoot 밖의 파일에 접근할 수 없습니다.
+        return file.startsWith(documentRoot) ? file : null;
+    }
+
+    private static boolean isNotModified(HttpRequest request, String etag, long lastModified){
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        if(Objects.nonNull(ifNoneMatch)){
+            for(String tag : ifNoneMatch.split(",")){
+                String value = tag.trim();
+                if(value.equals("*") || value.equals(etag) || value.equals("W/" + etag)){
+                    return true;
+                }
+            }
+            return false;
+        }
+        String ifModifiedSince = request.getHeader("If-Modified-Since");
+        if(Objects.nonNull(ifModifiedSince)){
+            long since = DateHeader.parse(ifModifiedSince);
+            // HTTP-date는 초 단위 입니다.
+            return since >= 0 && lastModified / 1000 <= since / 1000;
+        }
+        return false;
+    }
+
+    /**
+     * Range header를 해석 합니다.
+     * @return [start, end](end 포함), Range를 무시해야 한다면 null, 만족할 수 없는 Range라면 빈 배열
+     */
+    static long[] parseRange(HttpRequest request, String etag, long size){
+        String range = request.getHeader("Range");
+        if(Objects.isNull(range) || !range.startsWith("bytes=")){
+            return null;
+        }
+        // If-Range가 현재 ETag와 다르다면 파일 전체를 전송 합니다.
+        String ifRange = request.getHeader("If-Range");
+        if(Objects.nonNull(ifRange) && !ifRange.trim().equals(etag)){
+            return null;
+        }
+        String spec = range.substring("bytes=".length()).trim();
+        if(spec.indexOf(',') >= 0){
+            // 여러 구간(multipart/byteranges)은 지원하지 않습니다. 파일 전체를 전송 합니다.
+            return null;
+        }
+        int dash = spec.indexOf('-');
+        if(dash < 0){
+            return null;
+        }
+        try{
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            if(first.isEmpty()){
+                // bytes=-500 : 마지막 500 byte
+                long suffix = Long.parseLong(last);
+                if(suffix <= 0 || size == 0){
+                    return new long[0];
+                }
+                return new long[]{Math.max(0, size - suffix), size - 1};
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? Long.MAX_VALUE : Long.parseLong(last);
+            if(start < 0 || end < start){
+                // 문법이 잘못된 Range는 무시 합니다.
+                return null;
+            }
+            if(start >= size){
+                return new long[0];
+            }
+            return new long[]{start, Math.min(end, size - 1)};
+        }catch (NumberFormatException e){
+            return null;
+        }
+    }
+
+    // percent-encoding(%XX)을 UTF-8로 decode 합니다. '+'는 공백으로 바꾸지 않습니다.
+    private static String decode(String path){
+        if(path.indexOf('%') < 0){
+            return path;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(path.length());
+        for(int i=0; i<path.length(); i++){
+            char c = path.charAt(i);
+            if(c == '%'){
+                if(i + 2 >= path.length()){
+                    return null;
+                }
+                int high = Character.digit(path.charAt(i + 1), 16);
+                int low = Character.digit(path.charAt(i + 2), 16);
+                if(high < 0 || low < 0){
+                    return null;
+                }
+                bytes.write(high << 4 | low);
+                i += 2;
+            }else{
+                bytes.write(c);
+            }
+        }
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.h2;
+
+import com.nhnacademy.exceptions.Http2Exception;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Objects;
+
+/* HPACK header block을 해석 합니다. (RFC 7541)
+ * dynamic table은 연결의 모든 header block이 공유하므로, 연결마다 하나를 만들고 block을 받은 순서대로 해석해야 합니다.
+ * 해석에 실패하면 dynamic table을 신뢰할 수 없으므로 COMPRESSION_ERROR(연결 오류)로 연결을 종료 합니다.
+ */
+public class HpackDecoder {
+    public static final int DEFAULT_HEADER_TABLE_SIZE = 4096;
+    // RFC 7541 4.1 : entry 크기 = name + value + 32
+    private static final int ENTRY_OVERHEAD = 32;
+
+    @FunctionalInterface
+    public interface HeaderListener {
+        void header(String name, String value) throws Http2Exception;
+    }
+
+    private record Entry(String name, String value) {
+        int size(){
+            return name.length() + value.length() + ENTRY_OVERHEAD;
+        }
+    }
+
+    // 첫 번째 element가 가장 최근에 추가한 entry(index 62) 입니다.
+    private final ArrayDeque<Entry> dynamicTable = new ArrayDeque<>();
+    // SETTINGS_HEADER_TABLE_SIZE로 client에게 알린 최대 크기 입니다. encoder는 이보다 작은 크기로 변경할 수 있습니다.
+    private final int maxTableSizeLimit;
+    private int maxTableSize;
+    private int tableSize;
+
+    public HpackDecoder() {
+        this(DEFAULT_HEADER_TABLE_SIZE);
+    }
+
+    public HpackDecoder(int maxTableSize) {
+        if(maxTableSize < 0){
+            throw new IllegalArgumentException("maxTableSize must be positive");
+        }
+        this.maxTableSizeLimit = maxTableSize;
+        this.maxTableSize = maxTableSize;
+    }
+
+    public int getTableSize() {
+        return tableSize;
+    }
+
+    /**
+     * header block 전체를 해석 합니다. header는 block에 기록된 순서대로 listener에 전달 됩니다.
+     */
+    public void decode(ByteBuffer block, HeaderListener listener) throws Http2Exception {
+        if(Objects.isNull(block)){
+            throw new IllegalArgumentException("block is null");
+        }
+        if(Objects.isNull(listener)){
+            throw new IllegalArgumentException("listener is null");
+        }
+        boolean headerDecoded = false;
+        while(block.hasRemaining()){
+            int b = block.get(block.position()) & 0xff;
+            if((b & 0x80) != 0){
+                // 6.1 Indexed Header Field
+                Entry entry = get(decodeInteger(block, 7));
+                listener.header(entry.name(), entry.value());
+                headerDecoded = true;
+            }else if((b & 0x40) != 0){
+                // 6.2.1 Literal Header Field with Incremental Indexing
+                Entry entry = decodeLiteral(block, 6);
+                add(entry);
+                listener.header(entry.name(), entry.value());
+                headerDecoded = true;
+            }else if((b & 0x20) != 0){
+                // 6.3 Dynamic Table Size Update, header보다 먼저 와야 합니다.
+                if(headerDecoded){
+                    throw compressionError("table size update after header");
+                }
+                int size = decodeInteger(block, 5);
+                if(size > maxTableSizeLimit){
+                    throw compressionError("table size exceeds limit");
+                }
+                maxTableSize = size;
+                evict();
+            }else{
+                // 6.2.2 Literal Header Field without Indexing (0000), 6.2.3 Never Indexed (0001)
+                Entry entry = decodeLiteral(block, 4);
+                listener.header(entry.name(), entry.value());
+                headerDecoded = true;
+            }
+        }
+    }
+
+    private Entry decodeLiteral(ByteBuffer block, int prefixBits) throws Http2Exception {
+        int index = decodeInteger(block, prefixBits);
+        String name = index == 0 ? decodeString(block) : get(index).name();
+        return new Entry(name, decodeString(block));
+    }
+
+    private Entry get(int index) throws Http2Exception {
+        if(index >= 1 && index <= HpackStaticTable.SIZE){
+            String[] entry = HpackStaticTable.ENTRIES[index];
+            return new Entry(entry[0], entry[1]);
+        }
+        int dynamicIndex = index - HpackStaticTable.SIZE - 1;
+        if(dynamicIndex < 0 || dynamicIndex >= dynamicTable.size()){
+            throw compressionError(String.format("invalid index:%d", index));
+        }
+        int i = 0;
+        for(Entry entry : dynamicTable){
+            if(i++ == dynamicIndex){
+                return entry;
+            }
+        }
+        throw compressionError(String.format("invalid index:%d", index));
+    }
+
+    private void add(Entry entry){
+        // table보다 큰 entry는 table을 비웁니다. (RFC 7541 4.4)
+        dynamicTable.addFirst(entry);
+        tableSize += entry.size();
+        evict();
+    }
+
+    private void evict(){
+        while(tableSize > maxTableSize){
+            tableSize -= dynamicTable.removeLast().size();
+        }
+    }
+
+    // 5.1 Integer Representation
+    static int decodeInteger(ByteBuffer block, int prefixBits) throws Http2Exception {
+        int mask = (1 << prefixBits) - 1;
+        int prefix = block.get() & mask;
+        if(prefix < mask){
+            return prefix;
+        }
+        long value = prefix;
+        int shift = 0;
+        int b;
+        do{
+            if(!block.hasRemaining()){
+                throw compressionError("truncated integer");
+            }
+            b = block.get() & 0xff;
+            value += (long) (b & 0x7f) << shift;
+            shift += 7;
+            // int 범위를 넘는 값은 허용하지 않습니다.
+            if(value > Integer.MAX_VALUE || shift > 35){
+                throw compressionError("integer overflow");
+            }
+        }while((b & 0x80) != 0);
+        return (int) value;
+    }
+
+    // 5.2 String Literal Representation
+    private static String decodeString(ByteBuffer block) throws Http2Exception {
+        if(!block.hasRemaining()){
+            throw compressionError("truncated string");
+        }
+        boolean huffman = (block.get(block.position()) & 0x80) != 0;
+        int length = decodeInteger(block, 7);
+        if(length > block.remaining()){
+            throw compressionError("truncated string");
+        }
+        if(huffman){
+            return HpackHuffman.decode(block, length);
+        }
+        byte[] bytes = new byte[length];
+        block.get(bytes);
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    private static Http2Exception compressionError(String message){
+        return Http2Exception.connectionError(Http2Exception.COMPRESSION_ERROR, message);
+    }
+}
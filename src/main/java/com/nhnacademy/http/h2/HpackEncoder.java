@@ -0,0 +1,92 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.h2;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/* 응답 header를 HPACK header block으로 encode 합니다.
+ * dynamic table을 사용하지 않으므로(static table 또는 literal without indexing) 상태가 없습니다.
+ * 여러 worker thread가 각자 encode한 block을 순서와 관계 없이 전송할 수 있습니다.
+ * encoder 객체는 하나의 header block을 만드는 동안만 사용합니다.
+ */
+public class HpackEncoder {
+    private byte[] bytes = new byte[256];
+    private int length;
+
+    /**
+     * @param name 소문자 header 이름 (HTTP/2는 대문자를 허용하지 않습니다.)
+     */
+    public HpackEncoder header(String name, String value){
+        int index = HpackStaticTable.indexOf(name, value);
+        if(index > 0){
+            // 6.1 Indexed Header Field
+            encodeInteger(0x80, 7, index);
+            return this;
+        }
+        // 6.2.2 Literal Header Field without Indexing
+        int nameIndex = HpackStaticTable.indexOfName(name);
+        encodeInteger(0x00, 4, nameIndex);
+        if(nameIndex == 0){
+            encodeString(name);
+        }
+        encodeString(value);
+        return this;
+    }
+
+    public int size(){
+        return length;
+    }
+
+    public ByteBuffer toByteBuffer(){
+        return ByteBuffer.wrap(bytes, 0, length);
+    }
+
+    // 5.1 Integer Representation
+    private void encodeInteger(int pattern, int prefixBits, int value){
+        int mask = (1 << prefixBits) - 1;
+        if(value < mask){
+            put(pattern | value);
+            return;
+        }
+        put(pattern | mask);
+        value -= mask;
+        while(value >= 0x80){
+            put((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        put(value);
+    }
+
+    // 5.2 String Literal Representation, Huffman을 사용하지 않습니다.
+    private void encodeString(String value){
+        byte[] encoded = value.getBytes(StandardCharsets.ISO_8859_1);
+        encodeInteger(0x00, 7, encoded.length);
+        ensureCapacity(encoded.length);
+        System.arraycopy(encoded, 0, bytes, length, encoded.length);
+        length += encoded.length;
+    }
+
+    private void put(int b){
+        ensureCapacity(1);
+        bytes[length++] = (byte) b;
+    }
+
+    private void ensureCapacity(int additional){
+        if(length + additional > bytes.length){
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + additional));
+        }
+    }
+}
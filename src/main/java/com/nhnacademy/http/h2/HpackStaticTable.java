@@ -0,0 +1,114 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.h2;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/* HPACK static table 입니다. (RFC 7541 Appendix A) index는 1부터 시작 합니다.
+ */
+final class HpackStaticTable {
+    static final String[][] ENTRIES = {
+            null,
+            {":authority", ""},
+            {":method", "GET"},
+            {":method", "POST"},
+            {":path", "/"},
+            {":path", "/index.html"},
+            {":scheme", "http"},
+            {":scheme", "https"},
+            {":status", "200"},
+            {":status", "204"},
+            {":status", "206"},
+            {":status", "304"},
+            {":status", "400"},
+            {":status", "404"},
+            {":status", "500"},
+            {"accept-charset", ""},
+            {"accept-encoding", "gzip, deflate"},
+            {"accept-language", ""},
+            {"accept-ranges", ""},
+            {"accept", ""},
+            {"access-control-allow-origin", ""},
+            {"age", ""},
+            {"allow", ""},
+            {"authorization", ""},
+            {"cache-control", ""},
+            {"content-disposition", ""},
+            {"content-encoding", ""},
+            {"content-language", ""},
+            {"content-length", ""},
+            {"content-location", ""},
+            {"content-range", ""},
+            {"content-type", ""},
+            {"cookie", ""},
+            {"date", ""},
+            {"etag", ""},
+            {"expect", ""},
+            {"expires", ""},
+            {"from", ""},
+            {"host", ""},
+            {"if-match", ""},
+            {"if-modified-since", ""},
+            {"if-none-match", ""},
+            {"if-range", ""},
+            {"if-unmodified-since", ""},
+            {"last-modified", ""},
+            {"link", ""},
+            {"location", ""},
+            {"max-forwards", ""},
+            {"proxy-authenticate", ""},
+            {"proxy-authorization", ""},
+            {"range", ""},
+            {"referer", ""},
+            {"refresh", ""},
+            {"retry-after", ""},
+            {"server", ""},
+            {"set-cookie", ""},
+            {"strict-transport-security", ""},
+            {"transfer-encoding", ""},
+            {"user-agent", ""},
+            {"vary", ""},
+            {"via", ""},
+            {"www-authenticate", ""},
+    };
+
+    static final int SIZE = ENTRIES.length - 1;
+
+    // encoder가 사용합니다. name -> 가장 작은 index, "name\0value" -> index
+    private static final Map<String, Integer> NAMES = new HashMap<>();
+    private static final Map<String, Integer> FIELDS = new HashMap<>();
+
+    static {
+        for(int i=SIZE; i>=1; i--){
+            NAMES.put(ENTRIES[i][0], i);
+            if(!ENTRIES[i][1].isEmpty()){
+                FIELDS.put(ENTRIES[i][0] + '\0' + ENTRIES[i][1], i);
+            }
+        }
+    }
+
+    private HpackStaticTable() {
+    }
+
+    // name과 value가 모두 일치하는 index, 없다면 0 입니다.
+    static int indexOf(String name, String value){
+        return FIELDS.getOrDefault(name + '\0' + value, 0);
+    }
+
+    // name이 일치하는 index, 없다면 0 입니다.
+    static int indexOfName(String name){
+        return NAMES.getOrDefault(name, 0);
+    }
+}
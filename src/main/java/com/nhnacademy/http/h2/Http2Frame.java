@@ -0,0 +1,111 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.h2;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/* HTTP/2 frame 상수와 frame을 만드는 method 입니다. (RFC 9113 4. HTTP Frames)
+ *  +-----------------------------------------------+
+ *  |                 Length (24)                   |
+ *  +---------------+---------------+---------------+
+ *  |   Type (8)    |   Flags (8)   |
+ *  +-+-------------+---------------+-------------------------------+
+ *  |R|                 Stream Identifier (31)                      |
+ *  +=+=============================================================+
+ *  |                   Frame Payload (0...)                      ...
+ *  +---------------------------------------------------------------+
+ */
+public final class Http2Frame {
+    public static final int HEADER_LENGTH = 9;
+
+    public static final int DATA = 0x0;
+    public static final int HEADERS = 0x1;
+    public static final int PRIORITY = 0x2;
+    public static final int RST_STREAM = 0x3;
+    public static final int SETTINGS = 0x4;
+    public static final int PUSH_PROMISE = 0x5;
+    public static final int PING = 0x6;
+    public static final int GOAWAY = 0x7;
+    public static final int WINDOW_UPDATE = 0x8;
+    public static final int CONTINUATION = 0x9;
+
+    public static final int FLAG_END_STREAM = 0x1;
+    public static final int FLAG_ACK = 0x1;
+    public static final int FLAG_END_HEADERS = 0x4;
+    public static final int FLAG_PADDED = 0x8;
+    public static final int FLAG_PRIORITY = 0x20;
+
+    public static final int SETTINGS_HEADER_TABLE_SIZE = 0x1;
+    public static final int SETTINGS_ENABLE_PUSH = 0x2;
+    public static final int SETTINGS_MAX_CONCURRENT_STREAMS = 0x3;
+    public static final int SETTINGS_INITIAL_WINDOW_SIZE = 0x4;
+    public static final int SETTINGS_MAX_FRAME_SIZE = 0x5;
+    public static final int SETTINGS_MAX_HEADER_LIST_SIZE = 0x6;
+
+    public static final int DEFAULT_MAX_FRAME_SIZE = 16384;
+    public static final int MAX_FRAME_SIZE_LIMIT = 16777215;
+    public static final int DEFAULT_WINDOW_SIZE = 65535;
+    public static final int MAX_WINDOW_SIZE = Integer.MAX_VALUE;
+
+    // client connection preface (RFC 9113 3.4)
+    public static final byte[] PREFACE = "PRI * HTTP/2.0\r\n\r\nSM\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    private Http2Frame() {
+    }
+
+    // payload를 기록할 수 있도록 frame header를 기록한 buffer를 반환 합니다.
+    public static ByteBuffer allocate(int length, int type, int flags, int streamId){
+        ByteBuffer frame = ByteBuffer.allocate(HEADER_LENGTH + length);
+        frame.put((byte) (length >>> 16))
+                .put((byte) (length >>> 8))
+                .put((byte) length)
+                .put((byte) type)
+                .put((byte) flags)
+                .putInt(streamId & Integer.MAX_VALUE);
+        return frame;
+    }
+
+    // [id(16), value(32)] 쌍의 목록 입니다.
+    public static ByteBuffer settings(int... settings){
+        if(settings.length % 2 != 0){
+            throw new IllegalArgumentException("settings must be id, value pairs");
+        }
+        ByteBuffer frame = allocate(settings.length / 2 * 6, SETTINGS, 0, 0);
+        for(int i=0; i<settings.length; i+=2){
+            frame.putShort((short) settings[i]).putInt(settings[i + 1]);
+        }
+        return frame.flip();
+    }
+
+    public static ByteBuffer settingsAck(){
+        return allocate(0, SETTINGS, FLAG_ACK, 0).flip();
+    }
+
+    public static ByteBuffer pingAck(ByteBuffer payload){
+        return allocate(8, PING, FLAG_ACK, 0).put(payload.duplicate()).flip();
+    }
+
+    public static ByteBuffer windowUpdate(int streamId, int increment){
+        return allocate(4, WINDOW_UPDATE, 0, streamId).putInt(increment).flip();
+    }
+
+    public static ByteBuffer rstStream(int streamId, int errorCode){
+        return allocate(4, RST_STREAM, 0, streamId).putInt(errorCode).flip();
+    }
+
+    public static ByteBuffer goAway(int lastStreamId, int errorCode){
+        return allocate(8, GOAWAY, 0, 0).putInt(lastStreamId).putInt(errorCode).flip();
+    }
+}
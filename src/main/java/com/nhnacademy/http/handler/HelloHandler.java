@@ -0,0 +1,35 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http.handler;
+
+import com.nhnacademy.http.request.HttpRequest;
+import com.nhnacademy.http.response.HttpResponse;
+
+import java.nio.charset.StandardCharsets;
+
+/* 요청을 처리한 thread 이름을 포함한 기본 page 입니다.
+ * <html><body><h1>{thread-1}hello java</h1></body></html>
+ * thread마다 body를 한 번만 encode 합니다.
+ */
+public class HelloHandler implements HttpHandler {
+    private static final ThreadLocal<byte[]> BODY = ThreadLocal.withInitial(() ->
+            String.format("<html><body><h1>{%s}hello java</h1></body></html>", Thread.currentThread().getName())
+                    .getBytes(StandardCharsets.UTF_8));
+
+    @Override
+    public HttpResponse handle(HttpRequest request) {
+        return new HttpResponse()
+                .setContentType(HttpResponse.TEXT_HTML)
+                .setBody(BODY.get());
+    }
+}
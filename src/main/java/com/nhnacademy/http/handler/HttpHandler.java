@@ -0,0 +1,24 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http.handler;
+
+import com.nhnacademy.http.request.HttpRequest;
+import com.nhnacademy.http.response.HttpResponse;
+
+import java.io.IOException;
+
+// HttpJob(worker thread)이 요청마다 호출 합니다.
+@FunctionalInterface
+public interface HttpHandler {
+    HttpResponse handle(HttpRequest request) throws IOException;
+}
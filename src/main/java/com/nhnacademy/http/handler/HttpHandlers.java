@@ -0,0 +1,43 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http.handler;
+
+import com.nhnacademy.http.request.HttpRequest;
+import com.nhnacademy.http.response.HttpResponse;
+import com.nhnacademy.http.response.HttpStatus;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Objects;
+
+@Slf4j
+public final class HttpHandlers {
+
+    private HttpHandlers() {
+    }
+
+    /**
+     * handler를 호출 합니다. 예외가 발생하거나 응답이 없다면 500 응답을 반환하고 연결을 종료 합니다.
+     */
+    public static HttpResponse invoke(HttpHandler handler, HttpRequest request) {
+        try {
+            HttpResponse response = handler.handle(request);
+            if(Objects.nonNull(response)){
+                return response;
+            }
+            log.error("handler returned null : {} {}", request.getMethod(), request.getPath());
+        } catch (Exception e) {
+            log.error("handler error : {} {}", request.getMethod(), request.getPath(), e);
+        }
+        return new HttpResponse(HttpStatus.INTERNAL_SERVER_ERROR).setClose(true);
+    }
+}
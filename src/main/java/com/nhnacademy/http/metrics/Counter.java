@@ -0,0 +1,47 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/* 증가만 하는 값 입니다.
+ * LongAdder는 thread 마다 다른 cell을 증가시키므로 여러 worker thread가 동시에 증가시켜도 경합하지 않습니다.
+ */
+public class Counter implements Metric {
+    private final LongAdder value = new LongAdder();
+
+    public void increment(){
+        value.increment();
+    }
+
+    public void add(long amount){
+        if(amount < 0){
+            throw new IllegalArgumentException("counter cannot decrease");
+        }
+        value.add(amount);
+    }
+
+    public long get(){
+        return value.sum();
+    }
+
+    @Override
+    public String getType() {
+        return "counter";
+    }
+
+    @Override
+    public void writeTo(String name, StringBuilder out) {
+        out.append(name).append(' ').append(get()).append('\n');
+    }
+}
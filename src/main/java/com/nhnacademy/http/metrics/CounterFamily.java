@@ -0,0 +1,59 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http.metrics;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/* label 값마다 Counter를 하나씩 가지는 metric 입니다.
+ * ex) http_responses_total{code="200"}
+ * 자주 사용하는 label의 Counter는 labels()로 한 번 조회한 뒤 보관해서 사용합니다.
+ */
+public class CounterFamily implements Metric {
+    private final String labelName;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public CounterFamily(String labelName) {
+        if(Objects.isNull(labelName) || labelName.isBlank()){
+            throw new IllegalArgumentException("labelName is empty");
+        }
+        this.labelName = labelName;
+    }
+
+    public Counter labels(String labelValue){
+        if(Objects.isNull(labelValue)){
+            throw new IllegalArgumentException("labelValue is null");
+        }
+        return counters.computeIfAbsent(labelValue, value -> new Counter());
+    }
+
+    @Override
+    public String getType() {
+        return "counter";
+    }
+
+    @Override
+    public void writeTo(String name, StringBuilder out) {
+        for(Map.Entry<String, Counter> entry : new TreeMap<>(counters).entrySet()){
+            out.append(name).append('{').append(labelName).append("=\"")
+                    .append(escape(entry.getKey())).append("\"} ")
+                    .append(entry.getValue().get()).append('\n');
+        }
+    }
+
+    private static String escape(String value){
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http.metrics;
+
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+// export 할 때 현재 값을 조회 합니다. ex) thread pool 크기, queue 길이
+public class Gauge implements Metric {
+    private final LongSupplier supplier;
+
+    public Gauge(LongSupplier supplier) {
+        if(Objects.isNull(supplier)){
+            throw new IllegalArgumentException("supplier is null");
+        }
+        this.supplier = supplier;
+    }
+
+    public long get(){
+        return supplier.getAsLong();
+    }
+
+    @Override
+    public String getType() {
+        return "gauge";
+    }
+
+    @Override
+    public void writeTo(String name, StringBuilder out) {
+        out.append(name).append(' ').append(get()).append('\n');
+    }
+}
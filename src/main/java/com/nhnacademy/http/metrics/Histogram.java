@@ -0,0 +1,205 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http.metrics;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/* HdrHistogram과 같은 log-linear bucket을 사용하는 lock-free histogram 입니다.
+ *  - 값을 2의 거듭제곱 구간으로 나누고, 각 구간을 다시 SUB_BUCKET_COUNT(16)개로 나눕니다.
+ *  - 상대 오차는 1/16(6.25%) 이하이며, 0 ~ Long.MAX_VALUE 범위를 고정된 배열 하나로 기록 합니다.
+ *  - record()는 bucket 위치를 bit 연산으로 계산하고 AtomicLongArray를 증가시킬 뿐이므로 lock과 할당이 없습니다.
+ * Prometheus로는 누적(cumulative) _bucket{le="..."}과 _sum, _count를 가진 histogram으로 export 합니다.
+ *  - server가 시작된 이후 전체 값으로 계산한 quantile은 최근의 latency 변화를 볼 수 없습니다.
+ *    누적 bucket은 rate()/histogram_quantile()로 원하는 구간(ex: 최근 5분)의 분포를 계산할 수 있고, 여러 server를 합칠 수 있습니다.
+ *  - le 경계 마다 LongAdder를 하나씩 두고 record() 할 때 함께 증가시키므로 bucket의 값은 정확 합니다.
+ *  - getValueAtQuantile()은 process 안에서(benchmark 등) 사용합니다.
+ */
+public class Histogram implements Metric {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    // 0 ~ 2*SUB_BUCKET_COUNT-1 까지는 값 하나가 bucket 하나 입니다.
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+    // export 할 le 경계 입니다. (scale을 곱한 단위, 기본은 초 단위 latency)
+    public static final double[] DEFAULT_BUCKETS = {
+            0.0001, 0.00025, 0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10
+    };
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+    // export 할 때 곱하는 값 입니다. ex) nano seconds -> seconds : 1e-9
+    private final double scale;
+    private final String[] bucketLabels;
+    // le 경계를 기록한 값의 단위로 바꾼 값 입니다. value <= bucketThresholds[i] 라면 i번째 bucket에 기록 합니다.
+    private final long[] bucketThresholds;
+    // 마지막은 +Inf bucket 입니다. export 할 때 누적 합니다.
+    private final LongAdder[] bucketCounts;
+
+    public Histogram() {
+        this(1);
+    }
+
+    public Histogram(double scale) {
+        this(scale, DEFAULT_BUCKETS);
+    }
+
+    /**
+     * @param bucketBounds export 할 le 경계 입니다. scale을 곱한 단위이며 오름차순 이어야 합니다. +Inf는 항상 추가 합니다.
+     */
+    public Histogram(double scale, double... bucketBounds) {
+        if(scale <= 0){
+            throw new IllegalArgumentException("scale must be positive");
+        }
+        if(Objects.isNull(bucketBounds)){
+            throw new IllegalArgumentException("bucketBounds is null");
+        }
+        this.scale = scale;
+        this.bucketLabels = new String[bucketBounds.length];
+        this.bucketThresholds = new long[bucketBounds.length];
+        this.bucketCounts = new LongAdder[bucketBounds.length + 1];
+        for(int i=0; i<bucketBounds.length; i++){
+            double bound = bucketBounds[i];
+            if(!(bound >= 0) || Double.isInfinite(bound) || (i > 0 && bound <= bucketBounds[i-1])){
+                throw new IllegalArgumentException("bucketBounds must be increasing finite values");
+            }
+            bucketLabels[i] = label(bound);
+            // 기록한 값은 정수이므로 le 이하의 가장 큰 정수 입니다. 1e-9 * 5e6 과 같은 나눗셈 오차는 보정 합니다.
+            double threshold = bound / scale;
+            bucketThresholds[i] = threshold >= Long.MAX_VALUE ? Long.MAX_VALUE : (long) Math.floor(threshold * (1 + 1e-12));
+        }
+        for(int i=0; i<bucketCounts.length; i++){
+            bucketCounts[i] = new LongAdder();
+        }
+    }
+
+    public void record(long value){
+        if(value < 0){
+            value = 0;
+        }
+        buckets.incrementAndGet(indexOf(value));
+        bucketCounts[bucketOf(value)].increment();
+        count.increment();
+        sum.add(value);
+        // 대부분의 값은 max보다 작으므로 CAS 없이 확인 합니다.
+        long currentMax = max.get();
+        while(value > currentMax && !max.compareAndSet(currentMax, value)){
+            currentMax = max.get();
+        }
+    }
+
+    public long getCount(){
+        return count.sum();
+    }
+
+    public long getSum(){
+        return sum.sum();
+    }
+
+    public long getMax(){
+        return max.get();
+    }
+
+    /**
+     * quantile(0 ~ 1)에 해당하는 값을 반환 합니다. bucket의 상한 값이므로 실제 값보다 최대 6.25% 클 수 있습니다.
+     * 기록 중에 호출하면 근사치를 반환 합니다.
+     */
+    public long getValueAtQuantile(double quantile){
+        if(quantile < 0 || quantile > 1){
+            throw new IllegalArgumentException("quantile must be between 0 and 1");
+        }
+        long total = 0;
+        long[] snapshot = new long[BUCKET_COUNT];
+        for(int i=0; i<BUCKET_COUNT; i++){
+            snapshot[i] = buckets.get(i);
+            total += snapshot[i];
+        }
+        if(total == 0){
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for(int i=0; i<BUCKET_COUNT; i++){
+            seen += snapshot[i];
+            if(seen >= rank){
+                return Math.min(upperBoundOf(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    // 지수 표기 없이 export 합니다. ex) 1e-4 -> 0.0001, 1 -> 1.0
+    private static String label(double bound){
+        String label = BigDecimal.valueOf(bound).stripTrailingZeros().toPlainString();
+        return label.indexOf('.') < 0 ? label + ".0" : label;
+    }
+
+    // value 이상인 첫 번째 le 경계 입니다. 없다면 +Inf bucket 입니다.
+    private int bucketOf(long value){
+        int low = 0;
+        int high = bucketThresholds.length;
+        while(low < high){
+            int middle = (low + high) >>> 1;
+            if(bucketThresholds[middle] < value){
+                low = middle + 1;
+            }else{
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    static int indexOf(long value){
+        if(value < 2 * SUB_BUCKET_COUNT){
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        // value >>> shift 는 SUB_BUCKET_COUNT ~ 2*SUB_BUCKET_COUNT-1 사이의 값 입니다.
+        return (shift + 1) * SUB_BUCKET_COUNT + (int) ((value >>> shift) - SUB_BUCKET_COUNT);
+    }
+
+    static long upperBoundOf(int index){
+        if(index < 2 * SUB_BUCKET_COUNT){
+            return index;
+        }
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        long subBucket = index % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+        long upper = ((subBucket + 1) << shift) - 1;
+        // 마지막 bucket은 Long.MAX_VALUE를 넘습니다.
+        return upper < 0 ? Long.MAX_VALUE : upper;
+    }
+
+    @Override
+    public String getType() {
+        return "histogram";
+    }
+
+    @Override
+    public void writeTo(String name, StringBuilder out) {
+        // 한 번 읽은 값으로 누적 하므로 +Inf bucket과 _count는 같은 값 입니다.
+        long cumulative = 0;
+        for(int i=0; i<bucketLabels.length; i++){
+            cumulative += bucketCounts[i].sum();
+            out.append(name).append("_bucket{le=\"").append(bucketLabels[i]).append("\"} ").append(cumulative).append('\n');
+        }
+        cumulative += bucketCounts[bucketLabels.length].sum();
+        out.append(name).append("_bucket{le=\"+Inf\"} ").append(cumulative).append('\n');
+        out.append(name).append("_sum ").append(getSum() * scale).append('\n');
+        out.append(name).append("_count ").append(cumulative).append('\n');
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http.metrics;
+
+import com.nhnacademy.http.WorkerThreadPool;
+import com.nhnacademy.http.response.HttpStatus;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.ToLongFunction;
+
+/* server가 기록하는 기본 metric 입니다.
+ * accept 수, RequestChannel 대기 시간, 요청 처리 시간, 송수신 byte, 응답 status code를 기록 합니다.
+ * 시간은 nano seconds로 기록하고 seconds 단위로 export 합니다.
+ */
+public final class HttpMetrics {
+    public static final String SHED_REJECTED = "rejected";
+    public static final String SHED_DROPPED = "dropped";
+    public static final String SHED_EXPIRED = "expired";
+    public static final String SHED_RATE_LIMITED = "rate_limited";
+    public static final String CACHE_HIT = "hit";
+    public static final String CACHE_MISS = "miss";
+    public static final String CACHE_COALESCED = "coalesced";
+    public static final String TIMEOUT_IDLE = "idle";
+    public static final String TIMEOUT_HEADER = "header";
+    public static final String TIMEOUT_BODY = "body";
+    public static final String TIMEOUT_WRITE = "write";
+
+    private static final double NANOS_TO_SECONDS = 1e-9;
+    private static final HttpMetrics DEFAULT = new HttpMetrics(new MetricsRegistry());
+
+    private final MetricsRegistry registry;
+    private final Counter acceptedConnections;
+    private final Histogram queueWait;
+    private final Histogram serviceTime;
+    private final Counter bytesReceived;
+    private final Counter bytesSent;
+    // HttpStatus.ordinal() -> Counter, 응답마다 map을 조회하지 않습니다.
+    private final Counter[] responses;
+    private final CounterFamily shedRequests;
+    private final CounterFamily cacheLookups;
+    private final Counter spilledRequestBodies;
+    private final CounterFamily timeouts;
+
+    public HttpMetrics(MetricsRegistry registry) {
+        if(Objects.isNull(registry)){
+            throw new IllegalArgumentException("registry is null");
+        }
+        this.registry = registry;
+        acceptedConnections = registry.counter("http_connections_accepted_total", "Accepted client connections.");
+        queueWait = registry.histogram("http_request_queue_wait_seconds", "Time a job waited in the RequestChannel.", NANOS_TO_SECONDS);
+        serviceTime = registry.histogram("http_request_service_seconds", "Time to handle a request and write its response.", NANOS_TO_SECONDS);
+        bytesReceived = registry.counter("http_received_bytes_total", "Bytes read from clients.");
+        bytesSent = registry.counter("http_sent_bytes_total", "Response bytes written to clients.");
+
+        CounterFamily responseFamily = registry.counterFamily("http_responses_total", "Responses by status code.", "code");
+        HttpStatus[] statuses = HttpStatus.values();
+        responses = new Counter[statuses.length];
+        for(HttpStatus status : statuses){
+            responses[status.ordinal()] = responseFamily.labels(String.valueOf(status.getCode()));
+        }
+
+        shedRequests = registry.counterFamily("http_requests_shed_total", "Jobs rejected by the RequestChannel overload policy or the rate limiter.", "reason");
+        for(String reason : new String[]{SHED_REJECTED, SHED_DROPPED, SHED_EXPIRED, SHED_RATE_LIMITED}){
+            shedRequests.labels(reason);
+        }
+
+        cacheLookups = registry.counterFamily("http_response_cache_total", "Response cache lookups by result.", "result");
+        for(String result : new String[]{CACHE_HIT, CACHE_MISS, CACHE_COALESCED}){
+            cacheLookups.labels(result);
+        }
+
+        spilledRequestBodies = registry.counter("http_request_body_spilled_total", "Request bodies written to a temporary file.");
+
+        timeouts = registry.counterFamily("http_connection_timeouts_total", "Connections closed by a timeout, by phase.", "phase");
+        for(String phase : new String[]{TIMEOUT_IDLE, TIMEOUT_HEADER, TIMEOUT_BODY, TIMEOUT_WRITE}){
+            timeouts.labels(phase);
+        }
+    }
+
+    // server 전체에서 사용하는 기본 instance 입니다.
+    public static HttpMetrics get(){
+        return DEFAULT;
+    }
+
+    public MetricsRegistry getRegistry() {
+        return registry;
+    }
+
+    public void connectionAccepted(){
+        acceptedConnections.increment();
+    }
+
+    public void recordQueueWait(long nanos){
+        queueWait.record(nanos);
+    }
+
+    public void recordServiceTime(long nanos){
+        serviceTime.record(nanos);
+    }
+
+    public void bytesReceived(long bytes){
+        bytesReceived.add(bytes);
+    }
+
+    public void bytesSent(long bytes){
+        bytesSent.add(bytes);
+    }
+
+    public void responseSent(HttpStatus status){
+        responses[status.ordinal()].increment();
+    }
+
+    // 과부하로 거절한 작업 입니다. reason : rejected, dropped, expired, rate_limited
+    public void requestShed(String reason){
+        shedRequests.labels(reason).increment();
+    }
+
+    // ResponseCacheHandler의 조회 결과 입니다. result : hit, miss, coalesced(다른 요청의 handler 실행 결과를 기다려서 사용)
+    public void responseCache(String result){
+        cacheLookups.labels(result).increment();
+    }
+
+    // memoryThreshold를 넘어서 임시 파일에 기록한 RequestBody 입니다.
+    public void requestBodySpilled(){
+        spilledRequestBodies.increment();
+    }
+
+    // timeout으로 종료한 연결 입니다. phase : idle, header, body, write
+    public void connectionTimedOut(String phase){
+        timeouts.labels(phase).increment();
+    }
+
+    public Histogram getQueueWait() {
+        return queueWait;
+    }
+
+    public Histogram getServiceTime() {
+        return serviceTime;
+    }
+
+    // worker thread pool과 RequestChannel의 현재 상태를 gauge로 등록 합니다.
+    public void registerWorkerThreadPool(WorkerThreadPool workerThreadPool){
+        if(Objects.isNull(workerThreadPool)){
+            throw new IllegalArgumentException("workerThreadPool is null");
+        }
+        registerWorkerThreadPools(List.of(workerThreadPool));
+    }
+
+    // ShardedHttpServer : shard 별 WorkerThreadPool의 합계를 export 합니다.
+    public void registerWorkerThreadPools(List<WorkerThreadPool> workerThreadPools){
+        if(Objects.isNull(workerThreadPools) || workerThreadPools.isEmpty()){
+            throw new IllegalArgumentException("workerThreadPools is empty");
+        }
+        List<WorkerThreadPool> pools = List.copyOf(workerThreadPools);
+        registry.gauge("http_worker_threads", "Current worker threads.", ()->sum(pools, WorkerThreadPool::getPoolSize));
+        registry.gauge("http_worker_threads_active", "Worker threads executing a job.", ()->sum(pools, WorkerThreadPool::getActiveCount));
+        registry.gauge("http_worker_threads_max", "Maximum worker threads.", ()->sum(pools, WorkerThreadPool::getMaxPoolSize));
+        registry.gauge("http_request_queue_depth", "Jobs waiting in the RequestChannel.", ()->sum(pools, pool->pool.getRequestChannel().size()));
+    }
+
+    private static long sum(List<WorkerThreadPool> workerThreadPools, ToLongFunction<WorkerThreadPool> value){
+        long sum = 0;
+        for(WorkerThreadPool workerThreadPool : workerThreadPools){
+            sum += value.applyAsLong(workerThreadPool);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,23 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http.metrics;
+
+// MetricsRegistry에 등록되는 측정 값 입니다. Prometheus text format으로 기록 합니다.
+public interface Metric {
+
+    // Prometheus metric type : counter, gauge, histogram
+    String getType();
+
+    // "# HELP", "# TYPE" 이후의 sample line을 기록 합니다.
+    void writeTo(String name, StringBuilder out);
+}
@@ -0,0 +1,47 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http.metrics;
+
+import com.nhnacademy.http.handler.HttpHandler;
+import com.nhnacademy.http.request.HttpRequest;
+import com.nhnacademy.http.response.HttpResponse;
+
+import java.util.Objects;
+
+/* MetricsRegistry를 Prometheus text format으로 응답 합니다.
+ * ex) router.get("/metrics", new MetricsHandler());
+ */
+public class MetricsHandler implements HttpHandler {
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final MetricsRegistry registry;
+
+    public MetricsHandler() {
+        this(HttpMetrics.get().getRegistry());
+    }
+
+    public MetricsHandler(MetricsRegistry registry) {
+        if(Objects.isNull(registry)){
+            throw new IllegalArgumentException("registry is null");
+        }
+        this.registry = registry;
+    }
+
+    @Override
+    public HttpResponse handle(HttpRequest request) {
+        return new HttpResponse()
+                .setContentType(CONTENT_TYPE)
+                .setHeader("Cache-Control", "no-cache")
+                .setBody(registry.export());
+    }
+}
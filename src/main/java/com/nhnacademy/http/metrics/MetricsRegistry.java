@@ -0,0 +1,97 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/* 이름으로 metric을 등록하고 Prometheus text format(0.0.4)으로 export 합니다.
+ * 등록은 server를 시작할 때만 일어나므로 synchronized를 사용하고, 값의 기록은 각 metric이 lock 없이 처리 합니다.
+ */
+public class MetricsRegistry {
+    private static final Pattern NAME_PATTERN = Pattern.compile("[a-zA-Z_:][a-zA-Z0-9_:]*");
+
+    private record Entry(String help, Metric metric) { }
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+    public Counter counter(String name, String help){
+        return register(name, help, Counter.class, Counter::new);
+    }
+
+    public CounterFamily counterFamily(String name, String help, String labelName){
+        return register(name, help, CounterFamily.class, () -> new CounterFamily(labelName));
+    }
+
+    public Histogram histogram(String name, String help, double scale){
+        return register(name, help, Histogram.class, () -> new Histogram(scale));
+    }
+
+    // gauge는 같은 이름으로 다시 등록하면 새로운 supplier로 교체 합니다. (ex: server를 다시 시작한 경우)
+    public synchronized Gauge gauge(String name, String help, LongSupplier supplier){
+        validate(name);
+        Entry entry = entries.get(name);
+        if(Objects.nonNull(entry) && !(entry.metric() instanceof Gauge)){
+            throw new IllegalArgumentException(String.format("metric already registered : %s", name));
+        }
+        Gauge gauge = new Gauge(supplier);
+        entries.put(name, new Entry(help, gauge));
+        return gauge;
+    }
+
+    public synchronized Metric get(String name){
+        Entry entry = entries.get(name);
+        return Objects.isNull(entry) ? null : entry.metric();
+    }
+
+    public String export(){
+        StringBuilder out = new StringBuilder(4096);
+        writeTo(out);
+        return out.toString();
+    }
+
+    public synchronized void writeTo(StringBuilder out){
+        for(Map.Entry<String, Entry> entry : entries.entrySet()){
+            String name = entry.getKey();
+            Metric metric = entry.getValue().metric();
+            out.append("# HELP ").append(name).append(' ').append(entry.getValue().help()).append('\n');
+            out.append("# TYPE ").append(name).append(' ').append(metric.getType()).append('\n');
+            metric.writeTo(name, out);
+        }
+    }
+
+    // 이미 같은 이름과 type으로 등록되어 있다면 등록된 metric을 반환 합니다.
+    private synchronized <T extends Metric> T register(String name, String help, Class<T> type, Supplier<T> factory){
+        validate(name);
+        Entry entry = entries.get(name);
+        if(Objects.nonNull(entry)){
+            if(!type.isInstance(entry.metric())){
+                throw new IllegalArgumentException(String.format("metric already registered : %s", name));
+            }
+            return type.cast(entry.metric());
+        }
+        T metric = factory.get();
+        entries.put(name, new Entry(Objects.requireNonNullElse(help, ""), metric));
+        return metric;
+    }
+
+    private static void validate(String name){
+        if(Objects.isNull(name) || !NAME_PATTERN.matcher(name).matches()){
+            throw new IllegalArgumentException(String.format("invalid metric name : %s", name));
+        }
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http.nio;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+// header, body buffer를 gathering write로 전송 합니다.
+class BufferOutbound implements Outbound {
+    private final ByteBuffer[] buffers;
+
+    BufferOutbound(ByteBuffer[] buffers) {
+        this.buffers = buffers;
+    }
+
+    @Override
+    public boolean write(SocketChannel channel) throws IOException {
+        channel.write(buffers);
+        return !buffers[buffers.length - 1].hasRemaining();
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http.nio;
+
+import com.nhnacademy.http.response.FileRegion;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.StandardOpenOption;
+
+/* FileChannel.transferTo()로 파일을 전송 합니다. 파일 내용은 user space로 복사되지 않습니다(sendfile).
+ * socket send buffer가 가득 차면 전송한 위치를 기억해 두고, writable 상태가 되면 이어서 전송 합니다.
+ */
+@Slf4j
+class FileOutbound implements Outbound {
+    private final FileRegion fileRegion;
+    private final FileChannel fileChannel;
+    private final long end;
+    private long position;
+
+    // 파일은 worker thread에서 미리 열어 둡니다. 파일을 열 수 없다면 응답을 등록하기 전에 실패 합니다.
+    FileOutbound(FileRegion fileRegion) throws IOException {
+        this.fileRegion = fileRegion;
+        this.fileChannel = FileChannel.open(fileRegion.path(), StandardOpenOption.READ);
+        this.position = fileRegion.position();
+        this.end = fileRegion.position() + fileRegion.count();
+    }
+
+    @Override
+    public boolean write(SocketChannel channel) throws IOException {
+        while(position < end){
+            long transferred = fileChannel.transferTo(position, end - position, channel);
+            if(transferred <= 0){
+                if(position >= fileChannel.size()){
+                    // Content-Length 만큼 전송할 수 없으므로 연결을 종료 합니다.
+                    throw new IOException(String.format("file truncated : %s", fileRegion.path()));
+                }
+                return false;
+            }
+            position += transferred;
+        }
+        close();
+        return true;
+    }
+
+    @Override
+    public void close() {
+        try{
+            fileChannel.close();
+        }catch(IOException e){
+            log.debug("file close error : {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,1040 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.nio;
+
+import com.nhnacademy.exceptions.Http2Exception;
+import com.nhnacademy.exceptions.HttpParseException;
+import com.nhnacademy.http.channel.RequestChannel;
+import com.nhnacademy.http.h2.HpackDecoder;
+import com.nhnacademy.http.h2.HpackEncoder;
+import com.nhnacademy.http.h2.Http2Frame;
+import com.nhnacademy.http.handler.HttpHandler;
+import com.nhnacademy.http.metrics.HttpMetrics;
+import com.nhnacademy.http.parser.HttpRequestParser;
+import com.nhnacademy.http.request.HttpRequest;
+import com.nhnacademy.http.response.DateHeader;
+import com.nhnacademy.http.response.FileRegion;
+import com.nhnacademy.http.response.HttpResponse;
+import com.nhnacademy.http.response.HttpResponseWriter;
+import com.nhnacademy.http.response.HttpStatus;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/* HTTP/2 cleartext(h2c) 연결 입니다. (RFC 9113)
+ *  - prior knowledge : 첫 요청 대신 connection preface("PRI * HTTP/2.0 ...")로 시작하는 연결
+ *  - upgrade : "Upgrade: h2c" HTTP/1.1 요청에 101로 응답하고, 그 요청은 stream 1로 응답 합니다.
+ * event loop thread가 frame을 읽고 HPACK header block을 해석 합니다. 요청이 완성된 stream은 Http2StreamJob으로
+ * RequestChannel에 배치 되므로, 하나의 연결에서 여러 요청을 동시에 처리하고 먼저 끝난 응답부터 전송 합니다.
+ * 응답은 worker thread가 frame으로 만들어 NioConnection의 전송 대기열에 등록 합니다.
+ * DATA frame은 client가 허용한 window(연결, stream) 만큼만 전송하고, window가 없다면 WINDOW_UPDATE를 기다립니다.
+ * 요청 body는 memory에 모으므로, 연결의 receive window는 처리를 마치지 않은 body의 합계가 MAX_BUFFERED_BODY_SIZE를 넘지 않는 만큼만 열어 둡니다.
+ */
+@Slf4j
+public class Http2Connection {
+    // 한 연결에서 동시에 처리하는 stream 수 입니다. 초과한 stream은 REFUSED_STREAM으로 거절 합니다.
+    public static final int MAX_CONCURRENT_STREAMS = 256;
+    // 요청 body는 memory에 모아서 handler에게 전달 합니다. 초과하면 413으로 응답 합니다.
+    public static final int MAX_BODY_SIZE = 1024 * 1024;
+    // 한 연결에서 처리를 마치지 않은 요청 body의 합계 입니다. 응답을 마친 stream의 body 만큼 연결의 window를 돌려줍니다.
+    public static final int MAX_BUFFERED_BODY_SIZE = 4 * MAX_BODY_SIZE;
+    /* stream의 receive window(SETTINGS_INITIAL_WINDOW_SIZE) 입니다. 절반을 사용하면 WINDOW_UPDATE로 다시 채웁니다.
+       client는 SETTINGS ACK 전에는 기본 값을 사용하므로 기본 값과 같은 크기를 사용합니다. memory는 연결의 window로 제한 합니다.
+     */
+    static final int STREAM_RECEIVE_WINDOW = Http2Frame.DEFAULT_WINDOW_SIZE;
+    // 해석한 header 목록의 최대 크기 입니다. (RFC 9113 6.5.2 SETTINGS_MAX_HEADER_LIST_SIZE)
+    public static final int MAX_HEADER_LIST_SIZE = HttpRequestParser.DEFAULT_MAX_HEADER_SIZE;
+
+    private static final int MAX_HEADER_BLOCK_SIZE = MAX_HEADER_LIST_SIZE * 2;
+    private static final byte[] PREFACE_REMAINDER = "SM\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] SWITCHING_PROTOCOLS = ("HTTP/1.1 101 Switching Protocols\r\n"
+            + "Connection: Upgrade\r\n"
+            + "Upgrade: h2c\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+    private static final String SERVER = "HTTP server/0.1";
+    // HTTP/2에서 사용할 수 없는 연결 관련 header 입니다. (RFC 9113 8.2.2)
+    private static final Set<String> CONNECTION_HEADERS = Set.of("connection", "keep-alive", "proxy-connection", "transfer-encoding", "upgrade");
+
+    private final NioConnection connection;
+    private final RequestChannel requestChannel;
+    private final HttpHandler httpHandler;
+    private final long writeTimeoutNanos;
+
+    // 아래 field는 event loop thread에서만 사용합니다.
+    private final ByteBuffer inBuffer = ByteBuffer.allocate(Http2Frame.HEADER_LENGTH + Http2Frame.DEFAULT_MAX_FRAME_SIZE);
+    private final HpackDecoder hpackDecoder = new HpackDecoder();
+    private byte[] expectedPreface = PREFACE_REMAINDER;
+    private int prefaceIndex;
+    private int lastStreamId;
+    // CONTINUATION frame을 기다리는 header block 입니다.
+    private final ByteArrayOutputStream headerBlock = new ByteArrayOutputStream();
+    private int headerBlockStreamId;
+    private int headerBlockFlags;
+    private int initialSendWindow = Http2Frame.DEFAULT_WINDOW_SIZE;
+    private boolean goAway;
+
+    private final Map<Integer, Http2Stream> streams = new ConcurrentHashMap<>();
+
+    // 연결의 send window와 stream의 send window는 flowLock을 획득한 뒤 변경 합니다.
+    private final Object flowLock = new Object();
+    private long connectionSendWindow = Http2Frame.DEFAULT_WINDOW_SIZE;
+    private volatile int peerMaxFrameSize = Http2Frame.DEFAULT_MAX_FRAME_SIZE;
+    private volatile boolean closed;
+
+    // 수신 flow control 입니다. event loop thread와 응답을 마친 worker thread가 receiveLock을 획득한 뒤 변경 합니다.
+    private final Object receiveLock = new Object();
+    // client가 더 전송할 수 있는 크기 입니다.
+    private long connectionReceiveWindow = Http2Frame.DEFAULT_WINDOW_SIZE;
+    // 처리를 마치지 않은 stream의 요청 body 합계 입니다.
+    private long bufferedBodyBytes;
+
+    Http2Connection(NioConnection connection, RequestChannel requestChannel, HttpHandler httpHandler, int writeTimeoutMillis) {
+        if(Objects.isNull(connection)){
+            throw new IllegalArgumentException("connection is null");
+        }
+        if(Objects.isNull(requestChannel)){
+            throw new IllegalArgumentException("requestChannel is null");
+        }
+        if(Objects.isNull(httpHandler)){
+            throw new IllegalArgumentException("httpHandler is null");
+        }
+        this.connection = connection;
+        this.requestChannel = requestChannel;
+        this.httpHandler = httpHandler;
+        this.writeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(writeTimeoutMillis);
+    }
+
+    // "PRI * HTTP/2.0" : connection preface의 앞 부분을 HTTP/1.1 요청으로 해석한 결과 입니다.
+    static boolean isPriorKnowledge(HttpRequestParser parser){
+        return "PRI".equals(parser.getMethod()) && "*".equals(parser.getPath()) && "HTTP/2.0".equals(parser.getHttpVersion());
+    }
+
+    // body가 없는 HTTP/1.1 요청의 "Connection: Upgrade, HTTP2-Settings", "Upgrade: h2c" 입니다. (RFC 7540 3.2)
+    static boolean isUpgrade(HttpRequestParser parser){
+        return "HTTP/1.1".equals(parser.getHttpVersion())
+                && parser.getContentLength() == 0 && !parser.hasStreamedBody()
+                && hasToken(parser.getHeader("Upgrade"), "h2c")
+                && hasToken(parser.getHeader("Connection"), "upgrade")
+                && Objects.nonNull(parser.getHeader("HTTP2-Settings"));
+    }
+
+    /**
+     * HTTP2-Settings header(base64url로 encode한 SETTINGS payload)를 해석 합니다.
+     * @return 형식이 잘못 되었다면 null, upgrade 하지 않고 HTTP/1.1로 응답 합니다.
+     */
+    static byte[] decodeSettingsHeader(String value){
+        try{
+            byte[] payload = Base64.getUrlDecoder().decode(value.trim());
+            return payload.length % 6 == 0 ? payload : null;
+        }catch (IllegalArgumentException e){
+            return null;
+        }
+    }
+
+    private static boolean hasToken(String header, String token){
+        if(Objects.isNull(header)){
+            return false;
+        }
+        for(String value : header.split(",")){
+            if(value.trim().equalsIgnoreCase(token)){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * prior knowledge : server의 SETTINGS를 전송하고, preface 이후에 이미 도착한 byte를 해석 합니다.
+     */
+    void start(ByteBuffer received) throws IOException {
+        expectedPreface = PREFACE_REMAINDER;
+        enqueue(null, serverSettings());
+        replenishConnectionWindow();
+        receive(received);
+    }
+
+    /**
+     * upgrade : 101 응답과 server의 SETTINGS를 전송하고, upgrade 요청을 stream 1로 처리 합니다.
+     * client는 101 응답을 받은 뒤 connection preface 전체를 전송 합니다.
+     */
+    void upgrade(HttpRequestParser parser, byte[] settings, ByteBuffer received) throws IOException {
+        enqueue(null, ByteBuffer.wrap(SWITCHING_PROTOCOLS), serverSettings());
+        replenishConnectionWindow();
+        // HTTP2-Settings는 SETTINGS frame과 같이 적용하고, ACK는 전송하지 않습니다. (101 응답이 ACK 입니다.)
+        applySettings(ByteBuffer.wrap(settings));
+
+        // 연결의 buffer는 재사용 되므로 요청을 복사 합니다.
+        ByteBuffer request = ByteBuffer.allocate(parser.getRequestLength());
+        request.put(parser.getBuffer().slice(parser.getRequestOffset(), parser.getRequestLength())).flip();
+        HttpRequestParser upgradeRequest = new HttpRequestParser();
+        upgradeRequest.parse(request, 0, request.limit());
+
+        Http2Stream stream = new Http2Stream(1, initialSendWindow);
+        stream.setEndStream();
+        lastStreamId = 1;
+        streams.put(1, stream);
+        if(admit(stream)){
+            requestChannel.offerHttpJob(new Http2StreamJob(this, stream, new HttpRequest(upgradeRequest), httpHandler));
+        }
+
+        expectedPreface = Http2Frame.PREFACE;
+        receive(received);
+    }
+
+    private static ByteBuffer serverSettings(){
+        return Http2Frame.settings(
+                Http2Frame.SETTINGS_MAX_CONCURRENT_STREAMS, MAX_CONCURRENT_STREAMS,
+                Http2Frame.SETTINGS_INITIAL_WINDOW_SIZE, STREAM_RECEIVE_WINDOW,
+                Http2Frame.SETTINGS_MAX_HEADER_LIST_SIZE, MAX_HEADER_LIST_SIZE);
+    }
+
+    // 처리중인 stream이 있다면 true 입니다. 연결의 idle timeout을 연장 합니다.
+    boolean hasActiveStreams(){
+        return !streams.isEmpty();
+    }
+
+    /**
+     * event loop thread에서 호출 합니다. socket에서 읽을 수 있는 만큼 읽고 완성된 frame을 처리 합니다.
+     * @throws IOException client가 연결을 종료한 경우
+     */
+    void read(SocketChannel channel) throws IOException {
+        int read = channel.read(inBuffer);
+        if(read < 0){
+            throw new IOException("connection closed by peer");
+        }
+        HttpMetrics.get().bytesReceived(read);
+        process();
+    }
+
+    private void receive(ByteBuffer received) throws IOException {
+        while(received.hasRemaining() && !goAway){
+            int count = Math.min(received.remaining(), inBuffer.remaining());
+            inBuffer.put(received.slice(received.position(), count));
+            received.position(received.position() + count);
+            process();
+        }
+    }
+
+    private void process() throws IOException {
+        inBuffer.flip();
+        try{
+            if(readPreface()){
+                while(!goAway && readFrame()){
+                    // 완성된 frame을 모두 처리 합니다.
+                }
+            }
+        }catch(Http2Exception e){
+            log.debug("http/2 connection error : {}", e.getMessage());
+            goAway(e.getErrorCode());
+        }finally {
+            inBuffer.compact();
+        }
+    }
+
+    private boolean readPreface() throws Http2Exception {
+        while(prefaceIndex < expectedPreface.length){
+            if(!inBuffer.hasRemaining()){
+                return false;
+            }
+            if(inBuffer.get() != expectedPreface[prefaceIndex++]){
+                throw Http2Exception.connectionError(Http2Exception.PROTOCOL_ERROR, "invalid connection preface");
+            }
+        }
+        return true;
+    }
+
+    private boolean readFrame() throws IOException {
+        if(inBuffer.remaining() < Http2Frame.HEADER_LENGTH){
+            return false;
+        }
+        int position = inBuffer.position();
+        int length = (inBuffer.get(position) & 0xff) << 16 | (inBuffer.get(position + 1) & 0xff) << 8 | inBuffer.get(position + 2) & 0xff;
+        if(length > Http2Frame.DEFAULT_MAX_FRAME_SIZE){
+            throw Http2Exception.connectionError(Http2Exception.FRAME_SIZE_ERROR, "frame is too large");
+        }
+        if(inBuffer.remaining() < Http2Frame.HEADER_LENGTH + length){
+            return false;
+        }
+        int type = inBuffer.get(position + 3) & 0xff;
+        int flags = inBuffer.get(position + 4) & 0xff;
+        int streamId = inBuffer.getInt(position + 5) & Integer.MAX_VALUE;
+        // payload는 inBuffer의 view 입니다. 보관할 byte는 복사 합니다.
+        ByteBuffer payload = inBuffer.slice(position + Http2Frame.HEADER_LENGTH, length);
+        inBuffer.position(position + Http2Frame.HEADER_LENGTH + length);
+        try{
+            handleFrame(type, flags, streamId, payload);
+        }catch(Http2Exception e){
+            if(e.isConnectionError()){
+                throw e;
+            }
+            log.debug("http/2 stream error : stream={}, {}", e.getStreamId(), e.getMessage());
+            resetStream(e.getStreamId(), e.getErrorCode());
+        }
+        return true;
+    }
+
+    private void handleFrame(int type, int flags, int streamId, ByteBuffer payload) throws IOException {
+        if(headerBlockStreamId != 0 && type != Http2Frame.CONTINUATION){
+            throw Http2Exception.connectionError(Http2Exception.PROTOCOL_ERROR, "expected CONTINUATION");
+        }
+        switch (type){
+            case Http2Frame.DATA -> onData(flags, streamId, payload);
+            case Http2Frame.HEADERS -> onHeaders(flags, streamId, payload);
+            case Http2Frame.PRIORITY -> {
+                // 우선순위는 사용하지 않습니다.
+                requireStream(streamId);
+                if(payload.remaining() != 5){
+                    throw Http2Exception.streamError(Http2Exception.FRAME_SIZE_ERROR, streamId, "invalid PRIORITY");
+                }
+            }
+            case Http2Frame.RST_STREAM -> onRstStream(streamId, payload);
+            case Http2Frame.SETTINGS -> onSettings(flags, streamId, payload);
+            case Http2Frame.PUSH_PROMISE -> throw Http2Exception.connectionError(Http2Exception.PROTOCOL_ERROR, "PUSH_PROMISE from client");
+            case Http2Frame.PING -> {
+                if(streamId != 0){
+                    throw Http2Exception.connectionError(Http2Exception.PROTOCOL_ERROR, "PING on stream");
+                }
+                if(payload.remaining() != 8){
+                    throw Http2Exception.connectionError(Http2Exception.FRAME_SIZE_ERROR, "invalid PING");
+                }
+                if((flags & Http2Frame.FLAG_ACK) == 0){
+                    enqueue(null, Http2Frame.pingAck(payload));
+                }
+            }
+            case Http2Frame.GOAWAY -> {
+                // client가 더 이상 새 stream을 만들지 않습니다. 처리중인 stream은 계속 응답 합니다.
+                log.debug("http/2 goaway from client : {}", connection.getChannel());
+            }
+            case Http2Frame.WINDOW_UPDATE -> onWindowUpdate(streamId, payload);
+            case Http2Frame.CONTINUATION -> onContinuation(flags, streamId, payload);
+            default -> {
+                // 알 수 없는 frame은 무시 합니다. (RFC 9113 4.1)
+            }
+        }
+    }
+
+    private void onData(int flags, int streamId, ByteBuffer payload) throws IOException {
+        requireStream(streamId);
+        int frameLength = payload.remaining();
+        ByteBuffer data = removePadding(flags, payload);
+        // padding을 포함한 frame 크기 만큼 window를 사용합니다. (RFC 9113 6.9.1)
+        synchronized (receiveLock){
+            if(frameLength > connectionReceiveWindow){
+                throw Http2Exception.connectionError(Http2Exception.FLOW_CONTROL_ERROR, "connection window exceeded");
+            }
+            connectionReceiveWindow -= frameLength;
+        }
+        Http2Stream stream = streams.get(streamId);
+        if(Objects.isNull(stream) || stream.isEndStream()){
+            // 보관하지 않는 byte의 window는 돌려줍니다.
+            replenishConnectionWindow();
+            if(streamId > lastStreamId){
+                throw Http2Exception.connectionError(Http2Exception.PROTOCOL_ERROR, "DATA on idle stream");
+            }
+            throw Http2Exception.streamError(Http2Exception.STREAM_CLOSED, streamId, "DATA on closed stream");
+        }
+        if(frameLength > stream.getReceiveWindow()){
+            replenishConnectionWindow();
+            throw Http2Exception.streamError(Http2Exception.FLOW_CONTROL_ERROR, streamId, "stream window exceeded");
+        }
+        stream.addReceiveWindow(-frameLength);
+        if(stream.getBody().size() + data.remaining() > MAX_BODY_SIZE){
+            // 응답한 뒤 RST_STREAM(NO_ERROR)으로 나머지 body를 전송하지 않도록 합니다. (RFC 9113 8.1)
+            stream.setEndStream();
+            sendHeaders(stream, new HttpResponse(HttpStatus.CONTENT_TOO_LARGE), true);
+            resetStream(streamId, Http2Exception.NO_ERROR);
+            return;
+        }
+        byte[] bytes = new byte[data.remaining()];
+        data.get(bytes);
+        stream.getBody().writeBytes(bytes);
+        ByteBuffer connectionUpdate;
+        synchronized (receiveLock){
+            bufferedBodyBytes += bytes.length;
+            stream.addBufferedBytes(bytes.length);
+            // padding 만큼은 보관하지 않으므로 돌려줄 수 있습니다.
+            connectionUpdate = connectionWindowUpdate();
+        }
+        if(Objects.nonNull(connectionUpdate)){
+            enqueue(null, connectionUpdate);
+        }
+        if((flags & Http2Frame.FLAG_END_STREAM) != 0){
+            stream.setEndStream();
+            dispatch(stream);
+        }else if(stream.getReceiveWindow() <= STREAM_RECEIVE_WINDOW / 2){
+            int increment = STREAM_RECEIVE_WINDOW - (int) stream.getReceiveWindow();
+            stream.addReceiveWindow(increment);
+            enqueue(null, Http2Frame.windowUpdate(streamId, increment));
+        }
+    }
+
+    /* receiveLock을 획득한 뒤 호출 합니다. 연결의 receive window를 (MAX_BUFFERED_BODY_SIZE - 보관중인 body) 까지 늘리는 WINDOW_UPDATE 입니다.
+       작은 WINDOW_UPDATE를 자주 전송하지 않도록 max frame size 이상 모였을 때만 반환 합니다.
+     */
+    private ByteBuffer connectionWindowUpdate(){
+        long increment = MAX_BUFFERED_BODY_SIZE - bufferedBodyBytes - connectionReceiveWindow;
+        if(increment < Http2Frame.DEFAULT_MAX_FRAME_SIZE){
+            return null;
+        }
+        connectionReceiveWindow += increment;
+        return Http2Frame.windowUpdate(0, (int) increment);
+    }
+
+    private void replenishConnectionWindow() throws IOException {
+        ByteBuffer update;
+        synchronized (receiveLock){
+            update = connectionWindowUpdate();
+        }
+        if(Objects.nonNull(update)){
+            enqueue(null, update);
+        }
+    }
+
+    // stream의 요청 body를 더 이상 보관하지 않습니다. 보관하던 크기 만큼 연결의 window를 돌려줍니다.
+    private void releaseBody(Http2Stream stream){
+        synchronized (receiveLock){
+            bufferedBodyBytes -= stream.releaseBufferedBytes();
+        }
+        try{
+            replenishConnectionWindow();
+        }catch(IOException e){
+            log.debug("http/2 window update error : {}", e.getMessage());
+        }
+    }
+
+    private void onHeaders(int flags, int streamId, ByteBuffer payload) throws IOException {
+        requireStream(streamId);
+        if(streamId % 2 == 0){
+            throw Http2Exception.connectionError(Http2Exception.PROTOCOL_ERROR, "even stream id from client");
+        }
+        ByteBuffer block = removePadding(flags, payload);
+        if((flags & Http2Frame.FLAG_PRIORITY) != 0){
+            if(block.remaining() < 5){
+                throw Http2Exception.connectionError(Http2Exception.FRAME_SIZE_ERROR, "invalid HEADERS priority");
+            }
+            block.position(block.position() + 5);
+        }
+        headerBlock.reset();
+        appendHeaderBlock(block);
+        headerBlockStreamId = streamId;
+        headerBlockFlags = flags;
+        if((flags & Http2Frame.FLAG_END_HEADERS) != 0){
+            headersComplete();
+        }
+    }
+
+    private void onContinuation(int flags, int streamId, ByteBuffer payload) throws IOException {
+        if(headerBlockStreamId == 0 || headerBlockStreamId != streamId){
+            throw Http2Exception.connectionError(Http2Exception.PROTOCOL_ERROR, "unexpected CONTINUATION");
+        }
+        appendHeaderBlock(payload);
+        if((flags & Http2Frame.FLAG_END_HEADERS) != 0){
+            headersComplete();
+        }
+    }
+
+    private void appendHeaderBlock(ByteBuffer block) throws Http2Exception {
+        if(headerBlock.size() + block.remaining() > MAX_HEADER_BLOCK_SIZE){
+            throw Http2Exception.connectionError(Http2Exception.PROTOCOL_ERROR, "header block is too large");
+        }
+        byte[] bytes = new byte[block.remaining()];
+        block.get(bytes);
+        headerBlock.writeBytes(bytes);
+    }
+
+    private void headersComplete() throws IOException {
+        int streamId = headerBlockStreamId;
+        boolean endStream = (headerBlockFlags & Http2Frame.FLAG_END_STREAM) != 0;
+        headerBlockStreamId = 0;
+
+        Http2Stream stream;
+        if(streamId <= lastStreamId){
+            // 이미 시작한 stream의 trailer 입니다. dynamic table을 갱신하기 위해 해석만 합니다.
+            hpackDecoder.decode(ByteBuffer.wrap(headerBlock.toByteArray()), (name, value) -> { });
+            stream = streams.get(streamId);
+            if(Objects.isNull(stream) || stream.isEndStream()){
+                throw Http2Exception.streamError(Http2Exception.STREAM_CLOSED, streamId, "HEADERS on closed stream");
+            }
+            if(!endStream){
+                throw Http2Exception.streamError(Http2Exception.PROTOCOL_ERROR, streamId, "trailer without END_STREAM");
+            }
+            stream.setEndStream();
+            dispatch(stream);
+            return;
+        }
+
+        lastStreamId = streamId;
+        stream = new Http2Stream(streamId, initialSendWindow);
+        int[] headerListSize = {0};
+        Http2Stream newStream = stream;
+        hpackDecoder.decode(ByteBuffer.wrap(headerBlock.toByteArray()), (name, value) -> {
+            headerListSize[0] += name.length() + value.length() + 32;
+            if(headerListSize[0] <= MAX_HEADER_LIST_SIZE){
+                newStream.addHeader(name, value);
+            }
+        });
+        if(goAway || streams.size() >= MAX_CONCURRENT_STREAMS){
+            throw Http2Exception.streamError(Http2Exception.REFUSED_STREAM, streamId, "too many streams");
+        }
+        streams.put(streamId, stream);
+        if(headerListSize[0] > MAX_HEADER_LIST_SIZE){
+            stream.setEndStream();
+            sendHeaders(stream, new HttpResponse(HttpStatus.REQUEST_HEADER_FIELDS_TOO_LARGE), true);
+            if(endStream){
+                complete(stream);
+            }else{
+                resetStream(streamId, Http2Exception.NO_ERROR);
+            }
+            return;
+        }
+        if(endStream){
+            stream.setEndStream();
+            dispatch(stream);
+        }
+    }
+
+    private void onRstStream(int streamId, ByteBuffer payload) throws Http2Exception {
+        requireStream(streamId);
+        if(payload.remaining() != 4){
+            throw Http2Exception.connectionError(Http2Exception.FRAME_SIZE_ERROR, "invalid RST_STREAM");
+        }
+        if(streamId > lastStreamId){
+            throw Http2Exception.connectionError(Http2Exception.PROTOCOL_ERROR, "RST_STREAM on idle stream");
+        }
+        Http2Stream stream = streams.remove(streamId);
+        if(Objects.nonNull(stream)){
+            log.debug("http/2 stream reset by client : stream={}, error={}", streamId, payload.getInt(0));
+            stream.reset();
+            releaseBody(stream);
+            synchronized (flowLock){
+                flowLock.notifyAll();
+            }
+        }
+    }
+
+    private void onSettings(int flags, int streamId, ByteBuffer payload) throws IOException {
+        if(streamId != 0){
+            throw Http2Exception.connectionError(Http2Exception.PROTOCOL_ERROR, "SETTINGS on stream");
+        }
+        if((flags & Http2Frame.FLAG_ACK) != 0){
+            if(payload.hasRemaining()){
+                throw Http2Exception.connectionError(Http2Exception.FRAME_SIZE_ERROR, "SETTINGS ack with payload");
+            }
+            return;
+        }
+        if(payload.remaining() % 6 != 0){
+            throw Http2Exception.connectionError(Http2Exception.FRAME_SIZE_ERROR, "invalid SETTINGS");
+        }
+        applySettings(payload);
+        enqueue(null, Http2Frame.settingsAck());
+    }
+
+    private void applySettings(ByteBuffer payload) throws Http2Exception {
+        while(payload.remaining() >= 6){
+            int id = payload.getShort() & 0xffff;
+            int value = payload.getInt();
+            switch (id){
+                case Http2Frame.SETTINGS_ENABLE_PUSH -> {
+                    if(value != 0 && value != 1){
+                        throw Http2Exception.connectionError(Http2Exception.PROTOCOL_ERROR, "invalid SETTINGS_ENABLE_PUSH");
+                    }
+                }
+                case Http2Frame.SETTINGS_INITIAL_WINDOW_SIZE -> {
+                    if(value < 0){
+                        throw Http2Exception.connectionError(Http2Exception.FLOW_CONTROL_ERROR, "invalid SETTINGS_INITIAL_WINDOW_SIZE");
+                    }
+                    // 처리중인 stream의 window도 차이 만큼 변경 합니다. (RFC 9113 6.9.2)
+                    synchronized (flowLock){
+                        int delta = value - initialSendWindow;
+                        initialSendWindow = value;
+                        for(Http2Stream stream : streams.values()){
+                            stream.addSendWindow(delta);
+                            if(stream.getSendWindow() > Http2Frame.MAX_WINDOW_SIZE){
+                                throw Http2Exception.connectionError(Http2Exception.FLOW_CONTROL_ERROR, "window overflow");
+                            }
+                        }
+                        flowLock.notifyAll();
+                    }
+                }
+                case Http2Frame.SETTINGS_MAX_FRAME_SIZE -> {
+                    if(value < Http2Frame.DEFAULT_MAX_FRAME_SIZE || value > Http2Frame.MAX_FRAME_SIZE_LIMIT){
+                        throw Http2Exception.connectionError(Http2Exception.PROTOCOL_ERROR, "invalid SETTINGS_MAX_FRAME_SIZE");
+                    }
+                    peerMaxFrameSize = value;
+                }
+                default -> {
+                    // HEADER_TABLE_SIZE : encoder가 dynamic table을 사용하지 않으므로 무시 합니다.
+                    // MAX_CONCURRENT_STREAMS : server push를 사용하지 않으므로 무시 합니다.
+                }
+            }
+        }
+    }
+
+    private void onWindowUpdate(int streamId, ByteBuffer payload) throws Http2Exception {
+        if(payload.remaining() != 4){
+            throw Http2Exception.connectionError(Http2Exception.FRAME_SIZE_ERROR, "invalid WINDOW_UPDATE");
+        }
+        int increment = payload.getInt(0) & Integer.MAX_VALUE;
+        if(increment == 0){
+            if(streamId == 0){
+                throw Http2Exception.connectionError(Http2Exception.PROTOCOL_ERROR, "zero window increment");
+            }
+            throw Http2Exception.streamError(Http2Exception.PROTOCOL_ERROR, streamId, "zero window increment");
+        }
+        synchronized (flowLock){
+            if(streamId == 0){
+                connectionSendWindow += increment;
+                if(connectionSendWindow > Http2Frame.MAX_WINDOW_SIZE){
+                    throw Http2Exception.connectionError(Http2Exception.FLOW_CONTROL_ERROR, "window overflow");
+                }
+            }else{
+                Http2Stream stream = streams.get(streamId);
+                if(Objects.isNull(stream)){
+                    if(streamId > lastStreamId){
+                        throw Http2Exception.connectionError(Http2Exception.PROTOCOL_ERROR, "WINDOW_UPDATE on idle stream");
+                    }
+                    // 이미 응답을 마친 stream 입니다.
+                    return;
+                }
+                stream.addSendWindow(increment);
+                if(stream.getSendWindow() > Http2Frame.MAX_WINDOW_SIZE){
+                    throw Http2Exception.streamError(Http2Exception.FLOW_CONTROL_ERROR, streamId, "window overflow");
+                }
+            }
+            flowLock.notifyAll();
+        }
+    }
+
+    private static void requireStream(int streamId) throws Http2Exception {
+        if(streamId == 0){
+            throw Http2Exception.connectionError(Http2Exception.PROTOCOL_ERROR, "frame requires stream id");
+        }
+    }
+
+    // PADDED flag가 있다면 padding을 제외한 payload 입니다.
+    private static ByteBuffer removePadding(int flags, ByteBuffer payload) throws Http2Exception {
+        if((flags & Http2Frame.FLAG_PADDED) == 0){
+            return payload;
+        }
+        if(!payload.hasRemaining()){
+            throw Http2Exception.connectionError(Http2Exception.FRAME_SIZE_ERROR, "invalid padding");
+        }
+        int padLength = payload.get() & 0xff;
+        if(padLength > payload.remaining()){
+            throw Http2Exception.connectionError(Http2Exception.PROTOCOL_ERROR, "invalid padding");
+        }
+        return payload.limit(payload.limit() - padLength);
+    }
+
+    // 요청이 완성된 stream을 worker에게 전달 합니다.
+    private void dispatch(Http2Stream stream) throws IOException {
+        HttpRequest request;
+        try{
+            request = toHttpRequest(stream);
+        }catch(HttpParseException e){
+            log.debug("http/2 bad request : stream={}, {}", stream.getId(), e.getMessage());
+            sendHeaders(stream, new HttpResponse(HttpStatus.valueOf(e.getStatusCode())), true);
+            complete(stream);
+            return;
+        }
+        if(admit(stream)){
+            requestChannel.offerHttpJob(new Http2StreamJob(this, stream, request, httpHandler));
+        }
+    }
+
+    // client 별 요청 수 제한을 초과했다면 stream에 429로 응답하고 false를 반환 합니다. 연결은 유지 합니다.
+    private boolean admit(Http2Stream stream) throws IOException {
+        if(connection.tryAcquire()){
+            return true;
+        }
+        HttpResponse response = new HttpResponse(HttpStatus.TOO_MANY_REQUESTS)
+                .setHeader("Retry-After", String.valueOf(HttpResponseWriter.RETRY_AFTER_SECONDS));
+        sendHeaders(stream, response, true);
+        complete(stream);
+        return false;
+    }
+
+    /* handler는 HTTP/1.1과 같은 HttpRequest를 사용합니다.
+       pseudo header와 header를 HTTP/1.1 형식의 요청으로 기록하고 HttpRequestParser로 해석 합니다.
+     */
+    private static HttpRequest toHttpRequest(Http2Stream stream) throws HttpParseException, Http2Exception {
+        int streamId = stream.getId();
+        String method = null;
+        String path = null;
+        String scheme = null;
+        String authority = null;
+        boolean hasHost = false;
+        boolean regularHeader = false;
+        StringBuilder fields = new StringBuilder();
+        StringBuilder cookie = new StringBuilder();
+        List<String> headers = stream.getHeaders();
+        for(int i=0; i<headers.size(); i+=2){
+            String name = headers.get(i);
+            String value = headers.get(i + 1);
+            if(!isValidName(name) || !isValidValue(value)){
+                throw malformed(streamId, "invalid header : " + name);
+            }
+            if(name.startsWith(":")){
+                // pseudo header는 header 보다 앞에 한 번씩만 올 수 있습니다.
+                if(regularHeader){
+                    throw malformed(streamId, "pseudo header after header");
+                }
+                switch (name){
+                    case ":method" -> method = requireOnce(method, value, streamId);
+                    case ":path" -> path = requireOnce(path, value, streamId);
+                    case ":scheme" -> scheme = requireOnce(scheme, value, streamId);
+                    case ":authority" -> authority = requireOnce(authority, value, streamId);
+                    default -> throw malformed(streamId, "unknown pseudo header : " + name);
+                }
+                continue;
+            }
+            regularHeader = true;
+            if(CONNECTION_HEADERS.contains(name) || (name.equals("te") && !value.equals("trailers"))){
+                throw malformed(streamId, "connection specific header : " + name);
+            }
+            switch (name){
+                // 요청을 모두 받았으므로 실제 body 크기를 사용합니다.
+                case "content-length" -> { }
+                // 여러 개로 나뉜 cookie는 하나로 합칩니다. (RFC 9113 8.2.3)
+                case "cookie" -> cookie.append(cookie.isEmpty() ? "" : "; ").append(value);
+                default -> {
+                    hasHost |= name.equals("host");
+                    fields.append(name).append(": ").append(value).append("\r\n");
+                }
+            }
+        }
+        if(Objects.isNull(method) || Objects.isNull(path) || Objects.isNull(scheme)){
+            throw malformed(streamId, "missing pseudo header");
+        }
+
+        StringBuilder head = new StringBuilder(method).append(' ').append(path).append(" HTTP/2.0\r\n");
+        if(Objects.nonNull(authority) && !hasHost){
+            head.append("host: ").append(authority).append("\r\n");
+        }
+        head.append(fields);
+        if(!cookie.isEmpty()){
+            head.append("cookie: ").append(cookie).append("\r\n");
+        }
+        int bodyLength = stream.getBody().size();
+        if(bodyLength > 0){
+            head.append("content-length: ").append(bodyLength).append("\r\n");
+        }
+        head.append("\r\n");
+
+        byte[] headBytes = head.toString().getBytes(StandardCharsets.ISO_8859_1);
+        ByteBuffer buffer = ByteBuffer.allocate(headBytes.length + bodyLength);
+        buffer.put(headBytes).put(stream.getBody().toByteArray()).flip();
+        HttpRequestParser parser = new HttpRequestParser(MAX_HEADER_BLOCK_SIZE, HttpRequestParser.DEFAULT_MAX_HEADER_COUNT, MAX_BODY_SIZE);
+        if(!parser.parse(buffer, 0, buffer.limit())){
+            throw HttpParseException.badRequest("incomplete request");
+        }
+        return new HttpRequest(parser);
+    }
+
+    private static String requireOnce(String current, String value, int streamId) throws Http2Exception {
+        if(Objects.nonNull(current)){
+            throw malformed(streamId, "duplicated pseudo header");
+        }
+        return value;
+    }
+
+    // header 이름은 소문자만 사용합니다. (RFC 9113 8.2.1)
+    private static boolean isValidName(String name){
+        if(name.isEmpty()){
+            return false;
+        }
+        for(int i=0; i<name.length(); i++){
+            char c = name.charAt(i);
+            if(c <= ' ' || c >= 0x7f || (c >= 'A' && c <= 'Z') || (c == ':' && i > 0)){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isValidValue(String value){
+        for(int i=0; i<value.length(); i++){
+            char c = value.charAt(i);
+            if(c == '\r' || c == '\n' || c == 0){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Http2Exception malformed(int streamId, String message){
+        return Http2Exception.streamError(Http2Exception.PROTOCOL_ERROR, streamId, message);
+    }
+
+    /**
+     * worker thread에서 호출 합니다. 응답 header를 전송한 뒤 body를 DATA frame으로 전송 합니다.
+     * @param head HEAD 요청의 응답이라면 header만 전송 합니다.
+     * @throws IOException stream이 reset 되었거나, writeTimeout 동안 window를 얻지 못한 경우
+     */
+    void sendResponse(Http2Stream stream, HttpResponse response, boolean head) throws IOException {
+        if(Objects.nonNull(response.getWebSocketUpgrade())){
+            // WebSocket over HTTP/2(RFC 8441)는 지원하지 않습니다.
+            response = new HttpResponse(HttpStatus.NOT_IMPLEMENTED);
+        }
+        FileRegion fileRegion = response.getFileRegion();
+        boolean file = Objects.nonNull(fileRegion) && response.getContentLength() == fileRegion.count() && fileRegion.count() > 0;
+        ByteBuffer body = response.getBody().duplicate();
+        boolean endStream = head || (!response.isStreaming() && !file && !body.hasRemaining());
+        try{
+            sendHeaders(stream, response, endStream);
+            if(endStream){
+                return;
+            }
+            if(response.isStreaming()){
+                try(OutputStream output = new DataOutputStream(stream)){
+                    response.getStreamingBody().writeTo(output);
+                }catch (RuntimeException e){
+                    throw new IOException("streaming body error", e);
+                }
+            }else if(file){
+                sendFile(stream, fileRegion);
+            }else{
+                sendData(stream, body, true);
+            }
+        }catch(IOException e){
+            if(!stream.isReset()){
+                resetStream(stream.getId(), Http2Exception.INTERNAL_ERROR);
+            }
+            throw e;
+        }finally {
+            complete(stream);
+        }
+    }
+
+    private void sendHeaders(Http2Stream stream, HttpResponse response, boolean endStream) throws IOException {
+        HpackEncoder encoder = new HpackEncoder()
+                .header(":status", String.valueOf(response.getStatus().getCode()))
+                .header("server", SERVER)
+                .header("date", DateHeader.format(System.currentTimeMillis()));
+        if(Objects.nonNull(response.getContentType())){
+            encoder.header("content-type", response.getContentType());
+        }
+        for(Map.Entry<String, String> header : response.getHeaders().entrySet()){
+            String name = header.getKey().toLowerCase(Locale.ROOT);
+            if(!CONNECTION_HEADERS.contains(name)){
+                encoder.header(name, header.getValue());
+            }
+        }
+        if(response.getContentLength() >= 0){
+            encoder.header("content-length", String.valueOf(response.getContentLength()));
+        }
+
+        // header block이 max frame size 보다 크다면 CONTINUATION으로 나눠서 전송 합니다. 다른 frame이 끼어들지 않도록 한 번에 등록 합니다.
+        ByteBuffer block = encoder.toByteBuffer();
+        int maxFrameSize = peerMaxFrameSize;
+        List<ByteBuffer> frames = new ArrayList<>();
+        int type = Http2Frame.HEADERS;
+        do{
+            int length = Math.min(block.remaining(), maxFrameSize);
+            int flags = (length == block.remaining() ? Http2Frame.FLAG_END_HEADERS : 0)
+                    | (type == Http2Frame.HEADERS && endStream ? Http2Frame.FLAG_END_STREAM : 0);
+            frames.add(Http2Frame.allocate(length, type, flags, stream.getId()).put(block.slice(block.position(), length)).flip());
+            block.position(block.position() + length);
+            type = Http2Frame.CONTINUATION;
+        }while(block.hasRemaining());
+        enqueue(stream, frames.toArray(ByteBuffer[]::new));
+        HttpMetrics.get().responseSent(response.getStatus());
+    }
+
+    private void sendFile(Http2Stream stream, FileRegion fileRegion) throws IOException {
+        try(FileChannel fileChannel = FileChannel.open(fileRegion.path(), StandardOpenOption.READ)){
+            long position = fileRegion.position();
+            long end = fileRegion.position() + fileRegion.count();
+            while(position < end){
+                ByteBuffer chunk = ByteBuffer.allocate((int) Math.min(peerMaxFrameSize, end - position));
+                while(chunk.hasRemaining()){
+                    if(fileChannel.read(chunk, position + chunk.position()) < 0){
+                        throw new IOException(String.format("file truncated : %s", fileRegion.path()));
+                    }
+                }
+                position += chunk.flip().remaining();
+                sendData(stream, chunk, position == end);
+            }
+        }
+    }
+
+    /**
+     * data를 DATA frame으로 나눠서 전송 합니다. window가 없다면 WINDOW_UPDATE를 기다립니다.
+     */
+    private void sendData(Http2Stream stream, ByteBuffer data, boolean endStream) throws IOException {
+        if(!data.hasRemaining()){
+            if(endStream){
+                enqueue(stream, Http2Frame.allocate(0, Http2Frame.DATA, Http2Frame.FLAG_END_STREAM, stream.getId()).flip());
+            }
+            return;
+        }
+        while(data.hasRemaining()){
+            int length = acquireWindow(stream, Math.min(data.remaining(), peerMaxFrameSize));
+            boolean last = length == data.remaining();
+            ByteBuffer frame = Http2Frame.allocate(length, Http2Frame.DATA, last && endStream ? Http2Frame.FLAG_END_STREAM : 0, stream.getId());
+            frame.put(data.slice(data.position(), length)).flip();
+            data.position(data.position() + length);
+            enqueue(stream, frame);
+        }
+    }
+
+    // 연결과 stream의 window에서 최대 length 만큼 사용합니다.
+    private int acquireWindow(Http2Stream stream, int length) throws IOException {
+        long deadline = System.nanoTime() + writeTimeoutNanos;
+        synchronized (flowLock){
+            while(true){
+                if(closed || stream.isReset()){
+                    throw new IOException(String.format("stream reset : %d", stream.getId()));
+                }
+                long available = Math.min(connectionSendWindow, stream.getSendWindow());
+                if(available > 0){
+                    int acquired = (int) Math.min(length, available);
+                    connectionSendWindow -= acquired;
+                    stream.addSendWindow(-acquired);
+                    return acquired;
+                }
+                long remaining = deadline - System.nanoTime();
+                if(remaining <= 0){
+                    throw new IOException(String.format("flow control window timeout : %d", stream.getId()));
+                }
+                try{
+                    TimeUnit.NANOSECONDS.timedWait(flowLock, remaining);
+                }catch (InterruptedException e){
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("interrupted while waiting for window");
+                }
+            }
+        }
+    }
+
+    /* stream이 null이라면 연결의 control frame 입니다. stream이 reset 되었다면 전송하지 않습니다.
+       worker thread가 등록하는 stream의 frame은 client가 받을 때 까지 대기할 수 있습니다. (NioConnection.MAX_PENDING_FRAME_BYTES)
+     */
+    private void enqueue(Http2Stream stream, ByteBuffer... frames) throws IOException {
+        if(closed){
+            throw new IOException("connection closed");
+        }
+        if(Objects.nonNull(stream) && stream.isReset()){
+            throw new IOException(String.format("stream reset : %d", stream.getId()));
+        }
+        long bytes = 0;
+        for(ByteBuffer frame : frames){
+            bytes += frame.remaining();
+        }
+        connection.sendFrames(frames, bytes, Objects.isNull(stream));
+        HttpMetrics.get().bytesSent(bytes);
+    }
+
+    // 응답을 모두 전송 했습니다.
+    private void complete(Http2Stream stream){
+        streams.remove(stream.getId(), stream);
+        releaseBody(stream);
+    }
+
+    private void resetStream(int streamId, int errorCode) throws IOException {
+        Http2Stream stream = streams.remove(streamId);
+        if(Objects.nonNull(stream)){
+            stream.reset();
+            synchronized (flowLock){
+                flowLock.notifyAll();
+            }
+        }
+        enqueue(null, Http2Frame.rstStream(streamId, errorCode));
+        if(Objects.nonNull(stream)){
+            releaseBody(stream);
+        }
+    }
+
+    // 연결 오류 : GOAWAY를 전송하고 연결을 종료 합니다.
+    private void goAway(int errorCode){
+        goAway = true;
+        connection.send(new ByteBuffer[]{Http2Frame.goAway(lastStreamId, errorCode)}, true);
+    }
+
+    // NioConnection이 종료될 때 호출 됩니다. window를 기다리는 worker thread를 깨웁니다.
+    void close(){
+        closed = true;
+        for(Http2Stream stream : streams.values()){
+            stream.reset();
+        }
+        streams.clear();
+        synchronized (flowLock){
+            flowLock.notifyAll();
+        }
+    }
+
+    /* StreamingBody가 기록한 byte를 DATA frame으로 전송 합니다.
+       max frame size 만큼 모이거나 flush()를 호출하면 전송하고, close()에서 END_STREAM을 전송 합니다.
+     */
+    private final class DataOutputStream extends OutputStream {
+        private final Http2Stream stream;
+        private final ByteBuffer buffer = ByteBuffer.allocate(peerMaxFrameSize);
+
+        private DataOutputStream(Http2Stream stream) {
+            this.stream = stream;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if(!buffer.hasRemaining()){
+                flush();
+            }
+            buffer.put((byte) b);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            Objects.checkFromIndexSize(offset, length, bytes.length);
+            while(length > 0){
+                if(!buffer.hasRemaining()){
+                    flush();
+                }
+                int count = Math.min(length, buffer.remaining());
+                buffer.put(bytes, offset, count);
+                offset += count;
+                length -= count;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if(buffer.position() > 0){
+                // frame에 복사하므로 buffer를 바로 재사용 할 수 있습니다.
+                sendData(stream, buffer.flip(), false);
+                buffer.clear();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            sendData(stream, buffer.flip(), true);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.nio;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/* HTTP/2 stream 하나의 상태 입니다.
+ * 요청(header, body)은 event loop thread가 기록하고, 응답은 Http2StreamJob을 실행하는 worker thread가 전송 합니다.
+ */
+final class Http2Stream {
+    private final int id;
+    // 요청 header 입니다. [name, value] 순서로 기록 합니다.
+    private final List<String> headers = new ArrayList<>();
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+    // client가 END_STREAM을 전송 했습니다. (half-closed remote)
+    private boolean endStream;
+
+    // 응답을 전송할 수 있는 크기 입니다. Http2Connection의 flow control lock을 획득한 뒤 사용합니다.
+    private long sendWindow;
+    // client가 전송할 수 있는 크기 입니다. event loop thread에서만 사용합니다.
+    private long receiveWindow = Http2Connection.STREAM_RECEIVE_WINDOW;
+    // 연결의 receive window에서 사용중인 body 크기 입니다. Http2Connection의 receive lock을 획득한 뒤 사용합니다.
+    private long bufferedBytes;
+    // RST_STREAM을 받았거나 연결이 종료 되었습니다.
+    private volatile boolean reset;
+
+    Http2Stream(int id, long sendWindow) {
+        this.id = id;
+        this.sendWindow = sendWindow;
+    }
+
+    int getId() {
+        return id;
+    }
+
+    void addHeader(String name, String value){
+        headers.add(name);
+        headers.add(value);
+    }
+
+    List<String> getHeaders() {
+        return headers;
+    }
+
+    ByteArrayOutputStream getBody() {
+        return body;
+    }
+
+    boolean isEndStream() {
+        return endStream;
+    }
+
+    void setEndStream() {
+        this.endStream = true;
+    }
+
+    long getSendWindow() {
+        return sendWindow;
+    }
+
+    void addSendWindow(long delta) {
+        this.sendWindow += delta;
+    }
+
+    long getReceiveWindow() {
+        return receiveWindow;
+    }
+
+    void addReceiveWindow(long delta) {
+        this.receiveWindow += delta;
+    }
+
+    void addBufferedBytes(long bytes) {
+        this.bufferedBytes += bytes;
+    }
+
+    // 보관하던 body 크기를 반환 합니다. 두 번 호출하면 0 입니다.
+    long releaseBufferedBytes() {
+        long released = bufferedBytes;
+        bufferedBytes = 0;
+        return released;
+    }
+
+    boolean isReset() {
+        return reset;
+    }
+
+    void reset() {
+        this.reset = true;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.nio;
+
+import com.nhnacademy.http.channel.Executable;
+import com.nhnacademy.http.handler.HttpHandler;
+import com.nhnacademy.http.handler.HttpHandlers;
+import com.nhnacademy.http.metrics.HttpMetrics;
+import com.nhnacademy.http.request.HttpRequest;
+import com.nhnacademy.http.response.HttpResponse;
+import com.nhnacademy.http.response.HttpStatus;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+
+/* HTTP/2 stream 하나의 요청을 처리하는 작업 입니다.
+ * 같은 연결의 stream도 각각 RequestChannel에 배치 되므로, 오래 걸리는 요청이 다른 stream의 응답을 막지 않습니다.
+ */
+@Slf4j
+class Http2StreamJob implements Executable {
+    private final Http2Connection connection;
+    private final Http2Stream stream;
+    private final HttpRequest request;
+    private final HttpHandler httpHandler;
+
+    Http2StreamJob(Http2Connection connection, Http2Stream stream, HttpRequest request, HttpHandler httpHandler) {
+        this.connection = connection;
+        this.stream = stream;
+        this.request = request;
+        this.httpHandler = httpHandler;
+    }
+
+    // 요청을 처리하지 않고 503으로 응답 합니다. 연결의 다른 stream은 계속 처리 합니다.
+    @Override
+    public void reject() {
+        try{
+            connection.sendResponse(stream, new HttpResponse(HttpStatus.SERVICE_UNAVAILABLE).setHeader("Retry-After", "1"), false);
+        }catch(IOException e){
+            log.debug("http/2 reject error : {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public HttpRequest getRequest() {
+        return request;
+    }
+
+    @Override
+    public void execute() {
+        long serviceStart = System.nanoTime();
+        log.debug("http/2 request : stream={} {} {}", stream.getId(), request.getMethod(), request.getPath());
+        HttpResponse response = HttpHandlers.invoke(httpHandler, request);
+        try{
+            connection.sendResponse(stream, response, "HEAD".equals(request.getMethod()));
+        }catch(IOException e){
+            log.debug("http/2 response error : stream={}, {}", stream.getId(), e.getMessage());
+        }
+        HttpMetrics.get().recordServiceTime(System.nanoTime() - serviceStart);
+    }
+}
@@ -0,0 +1,727 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http.nio;
+
+import com.nhnacademy.exceptions.HttpParseException;
+import com.nhnacademy.http.buffer.BufferPool;
+import com.nhnacademy.http.channel.KeepAlivePolicy;
+import com.nhnacademy.http.channel.TimeoutPolicy;
+import com.nhnacademy.http.metrics.HttpMetrics;
+import com.nhnacademy.http.parser.HttpRequestParser;
+import com.nhnacademy.http.request.RequestBody;
+import com.nhnacademy.http.response.FileRegion;
+import com.nhnacademy.http.response.HttpResponse;
+import com.nhnacademy.http.response.HttpResponseWriter;
+import com.nhnacademy.http.timer.Timeout;
+import com.nhnacademy.http.websocket.WebSocketUpgrade;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/* client 하나의 연결 상태를 관리 합니다.
+ * read는 event loop thread에서만 호출되고, send()는 worker thread에서 호출될 수 있습니다.
+ * 하나의 연결에서는 한 번에 하나의 요청만 처리하므로, pipelining된 요청도 도착한 순서대로 응답 합니다.
+ * buffer보다 큰 body와 chunked body(HttpRequestParser.hasStreamedBody())는 event loop가 RequestBody에 모두 읽은 뒤 dispatch 하므로,
+ * body가 천천히 도착하더라도 worker thread가 대기하지 않습니다.
+ * 임시 파일에 기록할 수 있는 body는 BODY_WRITER thread가 RequestBody에 추가 합니다. 기록하는 동안에는 연결에서 읽지 않으므로
+ * disk가 느리더라도 event loop thread가 대기하지 않고, 연결마다 최대 readBuffer 크기 만큼만 기록을 기다립니다.
+ * idle, header, body, write 단계의 timeout은 event loop의 TimingWheel에 등록하고, 만료되면 연결을 종료 합니다.
+ * HTTP/2(h2c)로 전환된 연결은 Http2Connection이 frame을 읽고, 응답 frame은 같은 전송 대기열로 전송 합니다.
+ * 전송하지 못한 frame이 MAX_PENDING_FRAME_BYTES 이상이면 응답을 만드는 worker thread가 대기 합니다. (StreamOutbound와 같은 backpressure)
+ * WebSocket으로 전환된 연결(101 응답에 WebSocketUpgrade가 있는 경우)은 WebSocketConnection이 frame을 읽습니다.
+ */
+@Slf4j
+public class NioConnection {
+    private static final int BUFFER_SIZE = HttpRequestParser.DEFAULT_MAX_HEADER_SIZE + HttpRequestParser.DEFAULT_MAX_BODY_SIZE;
+    // HTTP/2 : worker thread가 등록한 응답 frame 중 전송하지 못한 byte의 최대 크기 입니다.
+    static final long MAX_PENDING_FRAME_BYTES = 256 * 1024;
+    /* HTTP/2 : event loop thread가 등록한 control frame(SETTINGS ACK, PING ACK, WINDOW_UPDATE, RST_STREAM 등) 중 전송하지 못한 byte의 최대 크기 입니다.
+       event loop는 대기할 수 없으므로, client가 받지 않으면서 control frame을 계속 요청하면 연결을 종료 합니다.
+     */
+    static final long MAX_PENDING_CONTROL_BYTES = 64 * 1024;
+    // 임시 파일 생성과 기록(RequestBody.append)을 event loop thread 대신 실행 합니다.
+    private static final Executor BODY_WRITER = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final NioEventLoop eventLoop;
+    private final SocketChannel channel;
+    private final SelectionKey selectionKey;
+    private final KeepAlivePolicy keepAlivePolicy;
+    private final TimeoutPolicy timeoutPolicy;
+
+    // [0, position) 구간이 읽은 byte 입니다. 요청을 처리하는 동안에는 변경하지 않으므로 worker thread가 parser의 view로 읽을 수 있습니다.
+    // socket에서 바로 읽을 수 있도록 direct buffer를 pool에서 할당 합니다.
+    private final ByteBuffer readBuffer;
+    private final HttpRequestParser parser = new HttpRequestParser();
+    // 처리 중인 요청의 큰 body 입니다. 응답을 전송한 뒤(consumeRequest) 또는 buffer를 반환할 때 close 합니다.
+    private volatile RequestBody requestBody;
+    // readBuffer의 head 뒤에 함께 도착해서 requestBody에 추가한 byte 수 입니다. consumeRequest()에서 제거 합니다.
+    private int bodyBytesInBuffer;
+    // BODY_WRITER가 기록한 결과 입니다. NioEventLoop.resumeBody()로 event loop thread에 전달 합니다.
+    private volatile int bodyAppended;
+    private volatile IOException bodyError;
+    // head와 함께 도착한 byte(readBuffer에 남아 있는 byte)를 기록 했다면 true 입니다.
+    private boolean appendingReceived;
+
+    // 응답 header buffer를 재사용 합니다. 한 번에 하나의 응답만 전송하므로 연결마다 하나를 사용합니다.
+    private final HttpResponseWriter responseWriter;
+    // worker thread가 등록한 응답(header, body buffer와 파일)을 event loop thread가 전송 합니다.
+    private final Queue<Outbound> writeQueue = new ConcurrentLinkedQueue<>();
+    // writeQueue.size()는 O(n) 이므로 따로 관리 합니다.
+    private final AtomicInteger pendingWrites = new AtomicInteger();
+    // HTTP/2 : 전송 대기중인 frame의 byte 수 입니다. frameLock을 획득한 뒤 변경 합니다.
+    private final Object frameLock = new Object();
+    private long pendingFrameBytes;
+    private long pendingControlBytes;
+    private volatile boolean closeAfterWrite;
+    // 다른 thread가 연결 종료를 요청 했습니다. 다음 flush()에서 event loop thread가 종료 합니다.
+    private volatile boolean closeRequested;
+    // HTTP/2로 전환되었다면 null이 아닙니다. 이후에는 HTTP/1.1 요청을 해석하지 않습니다.
+    private volatile Http2Connection http2;
+    // 101 응답을 전송한 뒤 WebSocket으로 전환 합니다.
+    private volatile WebSocketUpgrade webSocketUpgrade;
+    private volatile WebSocketConnection webSocket;
+
+    /* readBuffer와 header buffer를 사용하는 수 입니다. 연결(1)과 처리중인 NioHttpJob이 사용합니다.
+       worker thread가 요청을 읽는 도중 연결이 종료되어도 job이 끝난 뒤에 pool에 반환 합니다.
+     */
+    private final AtomicInteger references = new AtomicInteger(1);
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    // 이 연결에서 읽은 요청 수 입니다.
+    private int requestCount;
+    // 진행 중인 단계의 timeout 입니다. event loop thread에서만 변경 합니다. worker가 요청을 처리하는 동안에는 없습니다.
+    private Timeout timeout;
+    private String timeoutPhase;
+
+    public NioConnection(NioEventLoop eventLoop, SocketChannel channel, SelectionKey selectionKey) {
+        this(eventLoop, channel, selectionKey, KeepAlivePolicy.DEFAULT);
+    }
+
+    public NioConnection(NioEventLoop eventLoop, SocketChannel channel, SelectionKey selectionKey, KeepAlivePolicy keepAlivePolicy) {
+        this(eventLoop, channel, selectionKey, keepAlivePolicy, TimeoutPolicy.DEFAULT);
+    }
+
+    // event loop thread에서 생성 합니다. 첫 요청을 keepAlivePolicy의 idleTimeout 동안 기다립니다.
+    public NioConnection(NioEventLoop eventLoop, SocketChannel channel, SelectionKey selectionKey, KeepAlivePolicy keepAlivePolicy, TimeoutPolicy timeoutPolicy) {
+        if(Objects.isNull(eventLoop)){
+            throw new IllegalArgumentException("eventLoop is null");
+        }
+        if(Objects.isNull(channel)){
+            throw new IllegalArgumentException("channel is null");
+        }
+        if(Objects.isNull(selectionKey)){
+            throw new IllegalArgumentException("selectionKey is null");
+        }
+        if(Objects.isNull(keepAlivePolicy)){
+            throw new IllegalArgumentException("keepAlivePolicy is null");
+        }
+        if(Objects.isNull(timeoutPolicy)){
+            throw new IllegalArgumentException("timeoutPolicy is null");
+        }
+        this.eventLoop = eventLoop;
+        this.channel = channel;
+        this.selectionKey = selectionKey;
+        this.keepAlivePolicy = keepAlivePolicy;
+        this.timeoutPolicy = timeoutPolicy;
+        this.readBuffer = BufferPool.direct().acquire(BUFFER_SIZE);
+        this.responseWriter = new HttpResponseWriter(keepAlivePolicy, BufferPool.direct());
+        startTimeout(HttpMetrics.TIMEOUT_IDLE, keepAlivePolicy.getIdleTimeoutMillis());
+    }
+
+    public SocketChannel getChannel() {
+        return channel;
+    }
+
+    // HTTP/2 stream도 요청 하나마다 token을 사용합니다. NioEventLoop.tryAcquire() 참고
+    boolean tryAcquire() {
+        return eventLoop.tryAcquire(this);
+    }
+
+    public int getRequestCount() {
+        return requestCount;
+    }
+
+    public HttpResponseWriter getResponseWriter() {
+        return responseWriter;
+    }
+
+    // 처리 중인 요청 입니다. 응답을 전송할 때 까지 유효 합니다.
+    public HttpRequestParser getRequest() {
+        return parser;
+    }
+
+    // 처리 중인 요청의 큰 body 입니다. 없다면 null 입니다.
+    public RequestBody getRequestBody() {
+        return requestBody;
+    }
+
+    /**
+     * socket에서 읽을 수 있는 만큼 읽고, 요청이 완성되었는지 확인 합니다.
+     * @return 요청이 완성되었다면 true
+     * @throws HttpParseException 요청 형식이 잘못되었거나 크기 제한을 초과한 경우
+     * @throws IOException client가 연결을 종료한 경우
+     */
+    boolean read() throws IOException {
+        if(Objects.nonNull(webSocket)){
+            webSocket.read(channel, readBuffer);
+            return false;
+        }
+        if(Objects.nonNull(http2)){
+            // 요청은 stream 마다 worker에게 전달하므로, 연결은 항상 다음 frame을 읽습니다.
+            // 응답을 전송하는 중이라면 client가 frame을 보내더라도 write timeout을 유지 합니다.
+            if(!HttpMetrics.TIMEOUT_WRITE.equals(timeoutPhase)){
+                startTimeout(HttpMetrics.TIMEOUT_IDLE, keepAlivePolicy.getIdleTimeoutMillis());
+            }
+            http2.read(channel);
+            return false;
+        }
+        if(Objects.nonNull(requestBody)){
+            return readBody();
+        }
+        int read = channel.read(readBuffer);
+        if(read < 0){
+            throw new IOException("connection closed by peer");
+        }
+        HttpMetrics.get().bytesReceived(read);
+        if(read > 0 && HttpMetrics.TIMEOUT_IDLE.equals(timeoutPhase)){
+            // 요청의 첫 byte가 도착 했습니다. headerTimeout 안에 head를 모두 읽어야 합니다.
+            startTimeout(HttpMetrics.TIMEOUT_HEADER, timeoutPolicy.getHeaderTimeoutMillis());
+        }
+        return nextRequest();
+    }
+
+    /**
+     * 이미 읽어 둔 byte에서 다음 요청을 찾습니다. (pipelining)
+     * @return 요청이 완성되었다면 true
+     */
+    boolean nextRequest() throws IOException {
+        if(!parser.parse(readBuffer, 0, readBuffer.position())){
+            if(!readBuffer.hasRemaining()){
+                throw new HttpParseException(431, "Request Header Fields Too Large", "request is too large");
+            }
+            return false;
+        }
+        if((requestCount == 0 && Http2Connection.isPriorKnowledge(parser)) || Http2Connection.isUpgrade(parser)){
+            return startHttp2();
+        }
+        if(parser.hasStreamedBody()){
+            return startBody();
+        }
+        return requestComplete();
+    }
+
+    /* HTTP/2로 전환 합니다. head 뒤에 이미 도착한 byte는 Http2Connection이 frame으로 해석 합니다.
+     * HTTP2-Settings header가 잘못된 upgrade 요청은 전환하지 않고 HTTP/1.1로 응답 합니다.
+     */
+    private boolean startHttp2() throws IOException {
+        boolean upgrade = !Http2Connection.isPriorKnowledge(parser);
+        byte[] settings = null;
+        if(upgrade){
+            settings = Http2Connection.decodeSettingsHeader(parser.getHeader("HTTP2-Settings"));
+            if(Objects.isNull(settings)){
+                return requestComplete();
+            }
+        }
+        requestCount++;
+        Http2Connection connection = new Http2Connection(this, eventLoop.getRequestChannel(), eventLoop.getHttpHandler(), timeoutPolicy.getWriteTimeoutMillis());
+        http2 = connection;
+        startTimeout(HttpMetrics.TIMEOUT_IDLE, keepAlivePolicy.getIdleTimeoutMillis());
+        ByteBuffer received = readBuffer.duplicate().limit(readBuffer.position()).position(parser.getRequestLength());
+        if(upgrade){
+            connection.upgrade(parser, settings, received);
+        }else{
+            connection.start(received);
+        }
+        parser.reset();
+        readBuffer.clear();
+        log.debug("http/2 started : {}, upgrade={}", channel, upgrade);
+        return false;
+    }
+
+    /* head 뒤에 이미 도착한 body를 requestBody에 추가 합니다.
+     * body가 모두 도착했다면 뒤에 이어진 다음 요청은 buffer에 그대로 남겨둡니다.
+     */
+    private boolean startBody() throws IOException {
+        if(parser.isExpectContinue()){
+            writeContinue();
+        }
+        startTimeout(HttpMetrics.TIMEOUT_BODY, timeoutPolicy.getBodyTimeoutMillis());
+        ByteBuffer received = readBuffer.duplicate().limit(readBuffer.position()).position(parser.getBodyOffset());
+        if(parser.isChunked() || parser.getStreamedBodyLength() > RequestBody.DEFAULT_MEMORY_THRESHOLD){
+            // 임시 파일을 생성할 수 있으므로 RequestBody도 BODY_WRITER가 생성 합니다.
+            appendInBackground(received, true);
+            return false;
+        }
+        requestBody = RequestBody.from(parser);
+        return bodyAppended(requestBody.append(received), true);
+    }
+
+    /* head 뒤의 공간에 body를 읽고 requestBody에 추가 합니다.
+     * body의 남은 크기 만큼만 읽으므로 다음 요청의 byte를 읽지 않습니다. (chunked body는 남은 크기의 최소값 만큼 읽습니다.)
+     */
+    private boolean readBody() throws IOException {
+        int bodyOffset = parser.getBodyOffset();
+        readBuffer.limit((int) Math.min(readBuffer.capacity(), bodyOffset + requestBody.getRemaining()));
+        int read;
+        try{
+            read = channel.read(readBuffer);
+        }finally {
+            readBuffer.limit(readBuffer.capacity());
+        }
+        if(read < 0){
+            throw new IOException("connection closed by peer");
+        }
+        if(read == 0){
+            return false;
+        }
+        HttpMetrics.get().bytesReceived(read);
+        ByteBuffer received = readBuffer.duplicate().flip().position(bodyOffset);
+        readBuffer.position(bodyOffset);
+        if(requestBody.isSpilled() || requestBody.isChunked()){
+            appendInBackground(received, false);
+            return false;
+        }
+        requestBody.append(received);
+        return requestBody.isComplete() && requestComplete();
+    }
+
+    /* BODY_WRITER thread에서 src를 requestBody에 추가 합니다. 기록을 마칠 때 까지 연결에서 읽지 않습니다.
+     * 기록하는 동안 연결이 종료되어도 readBuffer를 pool에 반환하지 않도록 retain() 합니다.
+     */
+    private void appendInBackground(ByteBuffer src, boolean received){
+        appendingReceived = received;
+        selectionKey.interestOps(0);
+        retain();
+        BODY_WRITER.execute(()->{
+            try{
+                if(Objects.isNull(requestBody)){
+                    requestBody = RequestBody.from(parser);
+                }
+                bodyAppended = requestBody.append(src);
+            }catch(IOException e){
+                bodyError = e;
+            }finally {
+                eventLoop.resumeBody(this);
+                release();
+            }
+        });
+    }
+
+    /**
+     * event loop thread에서 호출 합니다. BODY_WRITER가 기록을 마친 body를 이어서 읽거나 요청을 완성 합니다.
+     * @return 요청이 완성되었다면 true
+     * @throws HttpParseException chunk 형식이 잘못되었거나 크기 제한을 초과한 경우
+     */
+    boolean resumeBody() throws IOException {
+        if(closed.get()){
+            return false;
+        }
+        IOException error = bodyError;
+        if(Objects.nonNull(error)){
+            bodyError = null;
+            throw error;
+        }
+        return bodyAppended(bodyAppended, appendingReceived);
+    }
+
+    /* body를 모두 읽었다면 요청을 완성 합니다. head와 함께 도착한 byte를 추가 했다면(received) 그 수를 기록 합니다.
+     * 아직 남았다면 이후에는 head 뒤의 공간을 body를 읽는 용도로 사용합니다.
+     */
+    private boolean bodyAppended(int appended, boolean received){
+        if(requestBody.isComplete()){
+            bodyBytesInBuffer = received ? appended : 0;
+            return requestComplete();
+        }
+        bodyBytesInBuffer = 0;
+        readBuffer.position(parser.getBodyOffset());
+        selectionKey.interestOps(SelectionKey.OP_READ);
+        return false;
+    }
+
+    // 100 Continue는 짧은 응답이므로 event loop에서 바로 전송 합니다. 전송하지 못하더라도 client는 잠시 뒤 body를 전송 합니다.
+    private void writeContinue() throws IOException {
+        ByteBuffer response = HttpResponseWriter.continueResponse();
+        channel.write(response);
+        if(response.hasRemaining()){
+            log.debug("100 continue is not sent : {} bytes remaining", response.remaining());
+        }
+    }
+
+    private boolean requestComplete(){
+        requestCount++;
+        // handler가 응답을 만드는 시간은 제한하지 않습니다.
+        cancelTimeout();
+        // 응답을 전송할 때 까지 더 이상 읽지 않습니다.
+        selectionKey.interestOps(0);
+        return true;
+    }
+
+    // 처리한 요청을 buffer에서 제거하고 다음 요청을 해석할 준비를 합니다.
+    private void consumeRequest(){
+        readBuffer.flip();
+        readBuffer.position(parser.getRequestLength() + bodyBytesInBuffer);
+        readBuffer.compact();
+        parser.reset();
+        closeRequestBody();
+    }
+
+    private void closeRequestBody(){
+        RequestBody body = requestBody;
+        requestBody = null;
+        bodyBytesInBuffer = 0;
+        if(Objects.nonNull(body)){
+            try{
+                body.close();
+            }catch(IOException e){
+                log.debug("request body close error : {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 응답을 전송 대기열에 등록 합니다. 실제 전송은 event loop thread가 수행 합니다.
+     * @param close 응답을 전송한 뒤 연결을 종료할지 여부
+     */
+    public void send(ByteBuffer[] response, boolean close){
+        if(Objects.isNull(response) || response.length == 0){
+            throw new IllegalArgumentException("response is empty");
+        }
+        enqueue(new BufferOutbound(response));
+        closeAfterWrite = close;
+        eventLoop.requestFlush(this);
+    }
+
+    // WebSocket frame을 전송 대기열에 등록 합니다. 대기중인 frame 수는 WebSocketConnection이 제한 합니다.
+    void sendFrames(ByteBuffer[] frames){
+        enqueue(new BufferOutbound(frames));
+        eventLoop.requestFlush(this);
+    }
+
+    /**
+     * HTTP/2 frame을 전송 대기열에 등록 합니다. worker thread와 event loop thread에서 호출 합니다.
+     * worker thread는 전송 대기중인 byte가 MAX_PENDING_FRAME_BYTES 보다 적어질 때 까지 writeTimeout 동안 대기 합니다.
+     * @param control 연결의 control frame이라면 true, 대기하지 않고 MAX_PENDING_CONTROL_BYTES 까지 등록 합니다.
+     * @throws IOException 연결이 종료 되었거나, 시간 안에 client가 frame을 받지 않은 경우
+     */
+    void sendFrames(ByteBuffer[] frames, long bytes, boolean control) throws IOException {
+        control |= eventLoop.inEventLoop();
+        synchronized (frameLock){
+            if(control){
+                if(pendingControlBytes + bytes > MAX_PENDING_CONTROL_BYTES){
+                    throw new IOException("peer is not reading control frames");
+                }
+                pendingControlBytes += bytes;
+            }else{
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutPolicy.getWriteTimeoutMillis());
+                while(!closed.get() && pendingFrameBytes >= MAX_PENDING_FRAME_BYTES){
+                    long remaining = deadline - System.nanoTime();
+                    if(remaining <= 0){
+                        throw new IOException("write timeout");
+                    }
+                    try{
+                        TimeUnit.NANOSECONDS.timedWait(frameLock, remaining);
+                    }catch (InterruptedException e){
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException("interrupted while waiting for write");
+                    }
+                }
+                pendingFrameBytes += bytes;
+            }
+            if(closed.get()){
+                throw new IOException("connection closed");
+            }
+            // close()가 대기열을 비운 뒤에 등록하지 않도록 frameLock 안에서 등록 합니다.
+            enqueue(new FrameOutbound(frames, bytes, control));
+        }
+        eventLoop.requestFlush(this);
+    }
+
+    private void releaseFrameBytes(long bytes, boolean control){
+        synchronized (frameLock){
+            if(control){
+                pendingControlBytes -= bytes;
+            }else{
+                pendingFrameBytes -= bytes;
+                frameLock.notifyAll();
+            }
+        }
+    }
+
+    // HTTP/2 frame 입니다. 전송을 마치거나 연결이 종료되면 대기중인 byte에서 제외 합니다.
+    private final class FrameOutbound extends BufferOutbound {
+        private final long bytes;
+        private final boolean control;
+
+        private FrameOutbound(ByteBuffer[] frames, long bytes, boolean control) {
+            super(frames);
+            this.bytes = bytes;
+            this.control = control;
+        }
+
+        @Override
+        public boolean write(SocketChannel channel) throws IOException {
+            if(super.write(channel)){
+                releaseFrameBytes(bytes, control);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void close() {
+            releaseFrameBytes(bytes, control);
+        }
+    }
+
+    /* worker thread에서 연결을 종료할 때 사용합니다. 전송 대기중인 응답은 버립니다.
+     * close()는 readBuffer를 pool에 반환하므로, event loop가 읽는 중일 수 있는 다른 thread에서 호출하지 않습니다.
+     */
+    void requestClose(){
+        closeRequested = true;
+        eventLoop.requestFlush(this);
+    }
+
+    // 전송 대기중인 Outbound 수 입니다.
+    int getPendingWrites(){
+        return pendingWrites.get();
+    }
+
+    private void enqueue(Outbound outbound){
+        pendingWrites.incrementAndGet();
+        writeQueue.add(outbound);
+    }
+
+    /**
+     * worker thread에서 호출 합니다. 101 응답을 전송 대기열에 등록하고, 전송을 마치면 연결을 WebSocket으로 전환 합니다.
+     */
+    void upgradeWebSocket(HttpResponse response){
+        webSocketUpgrade = response.getWebSocketUpgrade();
+        enqueue(new BufferOutbound(new ByteBuffer[]{HttpResponseWriter.switchingProtocols(response)}));
+        closeAfterWrite = false;
+        eventLoop.requestFlush(this);
+    }
+
+    // event loop thread에서 호출 합니다. upgrade 요청은 buffer에서 제거하고, 뒤에 도착한 byte는 frame으로 해석 합니다.
+    private void startWebSocket() throws IOException {
+        WebSocketUpgrade upgrade = webSocketUpgrade;
+        webSocketUpgrade = null;
+        consumeRequest();
+        // 연결 상태는 WebSocketConnection의 Ping으로 확인 합니다.
+        cancelTimeout();
+        WebSocketConnection connection = new WebSocketConnection(this, eventLoop.getRequestChannel(), eventLoop.getTimingWheel(), upgrade);
+        webSocket = connection;
+        selectionKey.interestOps(SelectionKey.OP_READ);
+        log.debug("websocket started : {}, session={}", channel, connection.getId());
+        connection.open(readBuffer);
+    }
+
+    /**
+     * 응답을 encode 해서 전송 대기열에 등록 합니다. body가 FileRegion이라면 header 다음에 transferTo로 전송 합니다.
+     * @param close 응답을 전송한 뒤 연결을 종료할지 여부
+     * @throws IOException 응답할 파일을 열 수 없는 경우
+     */
+    public void send(HttpResponse response, boolean close) throws IOException {
+        send(response, close, false);
+    }
+
+    /**
+     * @param head HEAD 요청의 응답이라면 header만 전송 합니다.
+     */
+    public void send(HttpResponse response, boolean close, boolean head) throws IOException {
+        if(Objects.isNull(response)){
+            throw new IllegalArgumentException("response is null");
+        }
+        FileRegion fileRegion = response.getFileRegion();
+        Outbound body = null;
+        if(!head && Objects.nonNull(fileRegion) && response.getContentLength() == fileRegion.count()){
+            body = new FileOutbound(fileRegion);
+        }
+        StreamOutbound stream = null;
+        if(!head && response.isStreaming()){
+            // worker thread가 backpressure로 대기하는 시간도 연결의 writeTimeout을 따릅니다.
+            stream = new StreamOutbound(()->eventLoop.requestFlush(this), StreamOutbound.DEFAULT_MAX_PENDING_BYTES, timeoutPolicy.getWriteTimeoutMillis());
+            body = stream;
+        }
+        // HEAD 요청이라면 encode()가 body buffer를 비워서 반환 합니다.
+        enqueue(new BufferOutbound(responseWriter.encode(response, !close, head)));
+        if(Objects.nonNull(body)){
+            enqueue(body);
+        }
+        closeAfterWrite = close;
+        eventLoop.requestFlush(this);
+
+        if(Objects.nonNull(stream)){
+            // worker thread에서 body를 생성 합니다. event loop thread가 전송하는 속도에 맞춰 대기 합니다.
+            HttpResponseWriter.writeStreamingBody(response, !close, stream);
+            stream.finish();
+        }
+    }
+
+    /**
+     * event loop thread에서 호출 합니다.
+     * @return 응답 전송을 마치고 다음 요청을 읽을 수 있다면 true
+     */
+    boolean flush() throws IOException {
+        if(!selectionKey.isValid()){
+            return false;
+        }
+        if(closeRequested){
+            close();
+            return false;
+        }
+        Outbound outbound;
+        while((outbound = writeQueue.peek()) != null){
+            if(!outbound.write(channel)){
+                if(Objects.nonNull(http2) || Objects.nonNull(webSocket)){
+                    // HTTP/2는 전송하는 동안에도 다른 stream의 요청과 WINDOW_UPDATE를 읽어야 합니다. WebSocket도 전송과 관계 없이 frame을 읽습니다.
+                    selectionKey.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                    // client가 frame을 보내더라도 받지 않는다면 writeTimeout 뒤에 연결을 종료 합니다.
+                    if(!HttpMetrics.TIMEOUT_WRITE.equals(timeoutPhase)){
+                        startTimeout(HttpMetrics.TIMEOUT_WRITE, timeoutPolicy.getWriteTimeoutMillis());
+                    }
+                    return false;
+                }
+                // socket send buffer가 가득 찼습니다. writable 상태가 되면 이어서 전송 합니다.
+                // 전송할 데이터를 기다리는 중이라면 worker thread가 requestFlush()로 깨웁니다.
+                selectionKey.interestOps(outbound.isStalled() ? 0 : SelectionKey.OP_WRITE);
+                if(!HttpMetrics.TIMEOUT_WRITE.equals(timeoutPhase)){
+                    // 응답을 모두 전송할 때 까지 적용 됩니다.
+                    startTimeout(HttpMetrics.TIMEOUT_WRITE, timeoutPolicy.getWriteTimeoutMillis());
+                }
+                return false;
+            }
+            writeQueue.poll();
+            pendingWrites.decrementAndGet();
+        }
+
+        if(closeAfterWrite){
+            close();
+            return false;
+        }
+        if(Objects.nonNull(http2) || Objects.nonNull(webSocket)){
+            selectionKey.interestOps(SelectionKey.OP_READ);
+            if(HttpMetrics.TIMEOUT_WRITE.equals(timeoutPhase)){
+                // 모두 전송 했습니다. HTTP/2는 다음 frame을 기다리고, WebSocket은 Ping으로 연결을 확인 합니다.
+                if(Objects.nonNull(http2)){
+                    startTimeout(HttpMetrics.TIMEOUT_IDLE, keepAlivePolicy.getIdleTimeoutMillis());
+                }else{
+                    cancelTimeout();
+                }
+            }
+            return false;
+        }
+        if(Objects.nonNull(webSocketUpgrade)){
+            startWebSocket();
+            return false;
+        }
+        // keep-alive : 다음 요청을 기다립니다.
+        consumeRequest();
+        // pipelining : 다음 요청의 일부를 이미 읽었다면 head를 읽는 중 입니다.
+        if(readBuffer.position() > 0){
+            startTimeout(HttpMetrics.TIMEOUT_HEADER, timeoutPolicy.getHeaderTimeoutMillis());
+        }else{
+            startTimeout(HttpMetrics.TIMEOUT_IDLE, keepAlivePolicy.getIdleTimeoutMillis());
+        }
+        selectionKey.interestOps(SelectionKey.OP_READ);
+        return true;
+    }
+
+    // 이전 단계의 timeout을 취소하고 다음 단계의 timeout을 등록 합니다. event loop thread에서 호출 합니다.
+    private void startTimeout(String phase, int timeoutMillis){
+        cancelTimeout();
+        timeoutPhase = phase;
+        timeout = eventLoop.getTimingWheel().schedule(()->expire(phase), timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void cancelTimeout(){
+        Timeout current = timeout;
+        if(Objects.nonNull(current)){
+            current.cancel();
+        }
+        timeout = null;
+        timeoutPhase = null;
+    }
+
+    // event loop thread에서 실행 됩니다.
+    private void expire(String phase){
+        if(closed.get()){
+            return;
+        }
+        if(Objects.nonNull(http2) && http2.hasActiveStreams() && !HttpMetrics.TIMEOUT_WRITE.equals(phase)){
+            // 응답을 처리중인 stream이 있다면 연결을 유지 합니다.
+            startTimeout(HttpMetrics.TIMEOUT_IDLE, keepAlivePolicy.getIdleTimeoutMillis());
+            return;
+        }
+        log.debug("{} timeout : {}", phase, channel);
+        HttpMetrics.get().connectionTimedOut(phase);
+        close();
+    }
+
+    // NioHttpJob이 buffer를 사용하기 시작합니다.
+    void retain(){
+        references.incrementAndGet();
+    }
+
+    // buffer 사용을 마쳤습니다. 더 이상 사용하지 않는다면 pool에 반환 합니다.
+    void release(){
+        if(references.decrementAndGet() == 0){
+            BufferPool.direct().release(readBuffer);
+            responseWriter.release();
+            closeRequestBody();
+        }
+    }
+
+    void close(){
+        if(!closed.compareAndSet(false, true)){
+            return;
+        }
+        Timeout current = timeout;
+        if(Objects.nonNull(current)){
+            current.cancel();
+        }
+        if(Objects.nonNull(http2)){
+            http2.close();
+        }
+        if(Objects.nonNull(webSocket)){
+            webSocket.terminate();
+        }
+        Outbound outbound;
+        synchronized (frameLock){
+            while((outbound = writeQueue.poll()) != null){
+                pendingWrites.decrementAndGet();
+                outbound.close();
+            }
+            // frame을 등록하려고 대기중인 worker thread를 깨웁니다.
+            frameLock.notifyAll();
+        }
+        selectionKey.cancel();
+        try{
+            channel.close();
+        }catch(IOException e){
+            log.debug("close error : {}",e.getMessage());
+        }
+        release();
+    }
+}
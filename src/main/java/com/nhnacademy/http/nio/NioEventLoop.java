@@ -0,0 +1,304 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http.nio;
+
+import com.nhnacademy.exceptions.HttpParseException;
+import com.nhnacademy.http.channel.KeepAlivePolicy;
+import com.nhnacademy.http.channel.RateLimiter;
+import com.nhnacademy.http.channel.RequestChannel;
+import com.nhnacademy.http.channel.TimeoutPolicy;
+import com.nhnacademy.http.handler.HelloHandler;
+import com.nhnacademy.http.handler.HttpHandler;
+import com.nhnacademy.http.metrics.HttpMetrics;
+import com.nhnacademy.http.response.HttpResponse;
+import com.nhnacademy.http.response.HttpResponseWriter;
+import com.nhnacademy.http.response.HttpStatus;
+import com.nhnacademy.http.timer.TimingWheel;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.net.InetAddress;
+import java.net.StandardSocketOptions;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/* ServerSocketChannel과 Selector를 이용한 accept/read/write loop 입니다.
+ * 하나의 thread가 모든 연결을 관리하며, HttpRequestParser로 해석이 끝난 요청만 RequestChannel에 배치 합니다.
+ * 연결이 대기(idle)하거나 느리게 전송하더라도 worker thread를 점유하지 않습니다.
+ * 연결의 timeout은 event loop thread가 직접 진행하는 TimingWheel로 관리 합니다. (lock 경합 없이 O(1) 등록/취소)
+ */
+@Slf4j
+public class NioEventLoop implements Runnable {
+    // timeout의 정확도 입니다. wheel 한 바퀴는 TICK_MILLIS * WHEEL_SIZE(약 51초) 입니다.
+    private static final long TICK_MILLIS = 100;
+    private static final int WHEEL_SIZE = 512;
+
+    private final Selector selector;
+    private final ServerSocketChannel serverSocketChannel;
+    private final RequestChannel requestChannel;
+    private final KeepAlivePolicy keepAlivePolicy;
+    private final HttpHandler httpHandler;
+    private final TimeoutPolicy timeoutPolicy;
+    private final TimingWheel timingWheel = new TimingWheel(TICK_MILLIS, TimeUnit.MILLISECONDS, WHEEL_SIZE);
+    // null이면 요청 수를 제한하지 않습니다.
+    private RateLimiter rateLimiter;
+
+    // worker thread가 응답을 등록한 connection 목록 입니다.
+    private final Queue<NioConnection> flushQueue = new ConcurrentLinkedQueue<>();
+    // BODY_WRITER가 request body 기록을 마친 connection 목록 입니다.
+    private final Queue<NioConnection> bodyQueue = new ConcurrentLinkedQueue<>();
+    private volatile Thread thread;
+    private volatile boolean stopped;
+
+    public NioEventLoop(ServerSocketChannel serverSocketChannel, RequestChannel requestChannel) throws IOException {
+        this(serverSocketChannel, requestChannel, KeepAlivePolicy.DEFAULT);
+    }
+
+    public NioEventLoop(ServerSocketChannel serverSocketChannel, RequestChannel requestChannel, KeepAlivePolicy keepAlivePolicy) throws IOException {
+        this(serverSocketChannel, requestChannel, keepAlivePolicy, new HelloHandler());
+    }
+
+    public NioEventLoop(ServerSocketChannel serverSocketChannel, RequestChannel requestChannel, KeepAlivePolicy keepAlivePolicy, HttpHandler httpHandler) throws IOException {
+        this(serverSocketChannel, requestChannel, keepAlivePolicy, httpHandler, TimeoutPolicy.DEFAULT);
+    }
+
+    public NioEventLoop(ServerSocketChannel serverSocketChannel, RequestChannel requestChannel, KeepAlivePolicy keepAlivePolicy, HttpHandler httpHandler, TimeoutPolicy timeoutPolicy) throws IOException {
+        if(Objects.isNull(keepAlivePolicy)){
+            throw new IllegalArgumentException("keepAlivePolicy is null");
+        }
+        if(Objects.isNull(httpHandler)){
+            throw new IllegalArgumentException("httpHandler is null");
+        }
+        if(Objects.isNull(timeoutPolicy)){
+            throw new IllegalArgumentException("timeoutPolicy is null");
+        }
+        if(Objects.isNull(serverSocketChannel)){
+            throw new IllegalArgumentException("serverSocketChannel is null");
+        }
+        if(Objects.isNull(requestChannel)){
+            throw new IllegalArgumentException("requestChannel is null");
+        }
+        this.serverSocketChannel = serverSocketChannel;
+        this.requestChannel = requestChannel;
+        this.keepAlivePolicy = keepAlivePolicy;
+        this.httpHandler = httpHandler;
+        this.timeoutPolicy = timeoutPolicy;
+        this.selector = Selector.open();
+
+        serverSocketChannel.configureBlocking(false);
+        serverSocketChannel.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    /**
+     * client(remote address) 별로 요청 수를 제한 합니다. 요청 하나(HTTP/2는 stream 하나)가 token 하나를 사용합니다.
+     * run() 전에 호출해야 합니다.
+     */
+    public void setRateLimiter(RateLimiter rateLimiter) {
+        if(Objects.isNull(rateLimiter)){
+            throw new IllegalArgumentException("rateLimiter is null");
+        }
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public void run() {
+        thread = Thread.currentThread();
+        try {
+            while (!stopped && !Thread.currentThread().isInterrupted()) {
+                // 다음 tick 까지 대기 합니다. select(0)은 무한히 대기하므로 최소 1ms 입니다.
+                selector.select(Math.max(1, TimeUnit.NANOSECONDS.toMillis(timingWheel.nanosUntilNextTick(System.nanoTime()))));
+                flushPending();
+                resumePending();
+
+                Iterator<SelectionKey> iterator = selector.selectedKeys().iterator();
+                while (iterator.hasNext()) {
+                    SelectionKey key = iterator.next();
+                    iterator.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else if (key.isReadable()) {
+                        read((NioConnection) key.attachment());
+                    } else if (key.isWritable()) {
+                        write((NioConnection) key.attachment());
+                    }
+                }
+                timingWheel.advance(System.nanoTime());
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            log.error("event loop error:{}", e.getMessage(), e);
+        } finally {
+            close();
+        }
+    }
+
+    // 다른 thread에서 호출 합니다. event loop thread가 select()에서 깨어나 모든 연결을 닫고 종료 합니다.
+    public void stop() {
+        stopped = true;
+        selector.wakeup();
+    }
+
+    // worker thread에서 호출 합니다. selector를 깨워서 event loop thread가 전송하도록 합니다.
+    void requestFlush(NioConnection connection){
+        flushQueue.add(connection);
+        selector.wakeup();
+    }
+
+    // request body를 임시 파일에 기록한 thread에서 호출 합니다. event loop thread가 이어서 읽도록 합니다.
+    void resumeBody(NioConnection connection){
+        bodyQueue.add(connection);
+        selector.wakeup();
+    }
+
+    // event loop thread에서는 대기(backpressure)하지 않습니다.
+    boolean inEventLoop() {
+        return Thread.currentThread() == thread;
+    }
+
+    // NioConnection이 timeout을 등록 합니다. event loop thread에서만 사용합니다.
+    TimingWheel getTimingWheel() {
+        return timingWheel;
+    }
+
+    // HTTP/2 연결은 stream의 요청을 직접 RequestChannel에 배치 합니다.
+    RequestChannel getRequestChannel() {
+        return requestChannel;
+    }
+
+    HttpHandler getHttpHandler() {
+        return httpHandler;
+    }
+
+    // 요청을 worker에게 전달하기 전에 token을 사용합니다. 제한을 초과했다면 false를 반환 합니다.
+    boolean tryAcquire(NioConnection connection) {
+        if (Objects.isNull(rateLimiter)) {
+            return true;
+        }
+        InetAddress address = connection.getChannel().socket().getInetAddress();
+        if (Objects.isNull(address) || rateLimiter.tryAcquire(address)) {
+            return true;
+        }
+        HttpMetrics.get().requestShed(HttpMetrics.SHED_RATE_LIMITED);
+        return false;
+    }
+
+    public void close(){
+        for(SelectionKey key : selector.keys()){
+            if(key.attachment() instanceof NioConnection connection){
+                connection.close();
+            }
+        }
+        try {
+            selector.close();
+        } catch (IOException e) {
+            log.debug("selector close error : {}", e.getMessage());
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel client;
+        // non-blocking accept, 대기중인 연결이 없다면 null을 반환 합니다.
+        while ((client = serverSocketChannel.accept()) != null) {
+            client.configureBlocking(false);
+            client.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            SelectionKey key = client.register(selector, SelectionKey.OP_READ);
+            key.attach(new NioConnection(this, client, key, keepAlivePolicy, timeoutPolicy));
+            HttpMetrics.get().connectionAccepted();
+        }
+    }
+
+    private void read(NioConnection connection) {
+        try {
+            dispatch(connection, connection.read());
+        } catch (HttpParseException e) {
+            badRequest(connection, e);
+        } catch (IOException e) {
+            log.debug("read error : {}", e.getMessage());
+            connection.close();
+        }
+    }
+
+    private void write(NioConnection connection) {
+        try {
+            if (connection.flush()) {
+                // pipelining : 응답을 기다리는 동안 이미 도착한 다음 요청이 있다면 바로 처리 합니다.
+                dispatch(connection, connection.nextRequest());
+            }
+        } catch (HttpParseException e) {
+            badRequest(connection, e);
+        } catch (IOException e) {
+            log.debug("write error : {}", e.getMessage());
+            connection.close();
+        }
+    }
+
+    private void dispatch(NioConnection connection, boolean requestComplete) {
+        if (requestComplete) {
+            if (!tryAcquire(connection)) {
+                tooManyRequests(connection);
+                return;
+            }
+            // event loop thread는 대기하지 않습니다. queue가 가득 찼다면 reject()로 503을 전송 합니다.
+            requestChannel.offerHttpJob(new NioHttpJob(connection, keepAlivePolicy, httpHandler));
+        }
+    }
+
+    // 요청을 해석할 수 없다면 error 응답을 전송하고 연결을 종료 합니다.
+    private void badRequest(NioConnection connection, HttpParseException e) {
+        log.debug("bad request : {}", e.getMessage());
+        HttpResponse response = new HttpResponse(HttpStatus.valueOf(e.getStatusCode()));
+        try {
+            connection.send(response, true);
+        } catch (IOException ioException) {
+            connection.close();
+        }
+    }
+
+    // 제한을 초과한 client에게 429를 전송하고 연결을 종료 합니다. worker를 사용하지 않습니다.
+    // 공유하는 미리 encode한 응답의 복사본(view)을 대기열에 등록하므로 요청마다 응답을 encode하지 않습니다.
+    private void tooManyRequests(NioConnection connection) {
+        connection.send(new ByteBuffer[]{HttpResponseWriter.tooManyRequests()}, true);
+    }
+
+    private void resumePending() {
+        NioConnection connection;
+        while ((connection = bodyQueue.poll()) != null) {
+            try {
+                dispatch(connection, connection.resumeBody());
+            } catch (HttpParseException e) {
+                badRequest(connection, e);
+            } catch (IOException e) {
+                log.debug("request body error : {}", e.getMessage());
+                connection.close();
+            }
+        }
+    }
+
+    private void flushPending() {
+        NioConnection connection;
+        while ((connection = flushQueue.poll()) != null) {
+            write(connection);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http.nio;
+
+import com.nhnacademy.http.channel.Executable;
+import com.nhnacademy.http.channel.KeepAlivePolicy;
+import com.nhnacademy.http.handler.HelloHandler;
+import com.nhnacademy.http.handler.HttpHandler;
+import com.nhnacademy.http.handler.HttpHandlers;
+import com.nhnacademy.http.metrics.HttpMetrics;
+import com.nhnacademy.http.parser.HttpRequestParser;
+import com.nhnacademy.http.request.HttpRequest;
+import com.nhnacademy.http.response.HttpResponse;
+import com.nhnacademy.http.response.HttpResponseWriter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/* event loop가 요청을 모두 읽은 뒤 RequestChannel에 배치하는 작업 입니다.
+ * worker thread는 socket에서 읽기 위해 대기하지 않고, 응답을 만들어 connection에 넘겨주기만 합니다.
+ */
+@Slf4j
+public class NioHttpJob implements Executable {
+    private final NioConnection connection;
+    private final KeepAlivePolicy keepAlivePolicy;
+    private final HttpHandler httpHandler;
+    // 현재 요청을 포함해서 이 연결에서 처리한 요청 수 입니다.
+    private final int servedRequests;
+    // 분류(getRequest)와 처리(handle)가 같은 객체를 사용합니다. queue를 거치므로 worker thread에서도 보입니다.
+    private HttpRequest httpRequest;
+
+    public NioHttpJob(NioConnection connection) {
+        this(connection, KeepAlivePolicy.DEFAULT);
+    }
+
+    public NioHttpJob(NioConnection connection, KeepAlivePolicy keepAlivePolicy) {
+        this(connection, keepAlivePolicy, new HelloHandler());
+    }
+
+    public NioHttpJob(NioConnection connection, KeepAlivePolicy keepAlivePolicy, HttpHandler httpHandler) {
+        if(Objects.isNull(connection)){
+            throw new IllegalArgumentException("connection is null");
+        }
+        if(Objects.isNull(keepAlivePolicy)){
+            throw new IllegalArgumentException("keepAlivePolicy is null");
+        }
+        if(Objects.isNull(httpHandler)){
+            throw new IllegalArgumentException("httpHandler is null");
+        }
+        this.connection = connection;
+        this.keepAlivePolicy = keepAlivePolicy;
+        this.httpHandler = httpHandler;
+        this.servedRequests = connection.getRequestCount();
+        // 작업이 끝날 때 까지 connection의 buffer를 pool에 반환하지 않습니다.
+        connection.retain();
+    }
+
+    // 요청을 처리하지 않고 503 응답을 전송한 뒤 연결을 종료 합니다.
+    @Override
+    public void reject() {
+        connection.send(new ByteBuffer[]{HttpResponseWriter.serviceUnavailable()}, true);
+        connection.release();
+    }
+
+    @Override
+    public HttpRequest getRequest() {
+        if(Objects.isNull(httpRequest)){
+            httpRequest = new HttpRequest(connection.getRequest(), connection.getRequestBody());
+        }
+        return httpRequest;
+    }
+
+    @Override
+    public void execute() {
+        try{
+            handle();
+        }finally {
+            connection.release();
+        }
+    }
+
+    private void handle() {
+        // 응답을 만들어 전송 대기열에 등록할 때 까지의 시간 입니다. socket 전송은 event loop가 처리 합니다.
+        long serviceStart = System.nanoTime();
+        HttpRequestParser request = connection.getRequest();
+        log.debug("request : {} {} {}", request.getMethod(), request.getPath(), request.getHttpVersion());
+
+        boolean keepAlive = keepAlivePolicy.isKeepAlive(request.getHttpVersion(), request.getHeader("Connection"), servedRequests);
+
+        HttpResponse response = HttpHandlers.invoke(httpHandler, getRequest());
+        if(Objects.nonNull(response.getWebSocketUpgrade())){
+            // 101 응답을 전송한 뒤 연결은 WebSocket으로 전환 되므로 keep-alive를 적용하지 않습니다.
+            connection.upgradeWebSocket(response);
+            HttpMetrics.get().recordServiceTime(System.nanoTime() - serviceStart);
+            return;
+        }
+        keepAlive &= !response.isClose();
+        // HTTP/1.0 client는 chunked를 해석할 수 없으므로 연결을 종료해서 body의 끝을 알립니다.
+        if(response.isStreaming() && response.getContentLength() < 0 && !"HTTP/1.1".equals(request.getHttpVersion())){
+            keepAlive = false;
+        }
+        try{
+            connection.send(response, !keepAlive, "HEAD".equals(request.getMethod()));
+        }catch(IOException e){
+            log.error("response error : {}", e.getMessage());
+            connection.close();
+        }
+        HttpMetrics.get().recordServiceTime(System.nanoTime() - serviceStart);
+    }
+}
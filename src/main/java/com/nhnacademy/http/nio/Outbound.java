@@ -0,0 +1,37 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http.nio;
+
+import java.io.IOException;
+import java.nio.channels.SocketChannel;
+
+// NioConnection이 event loop thread에서 전송할 데이터 입니다.
+interface Outbound {
+    /**
+     * non-blocking channel로 전송할 수 있는 만큼 전송 합니다.
+     * @return 모두 전송했다면 true, socket send buffer가 가득 찼다면 false
+     */
+    boolean write(SocketChannel channel) throws IOException;
+
+    /**
+     * write()가 false를 반환한 이유가 socket이 아니라 전송할 데이터가 아직 없기 때문이라면 true 입니다.
+     * 이 경우 OP_WRITE를 등록하지 않고, 데이터가 준비되면 NioEventLoop.requestFlush()로 다시 전송 합니다.
+     */
+    default boolean isStalled() {
+        return false;
+    }
+
+    // 전송을 마쳤거나 연결이 종료되었을 때 사용한 자원을 반환 합니다.
+    default void close() {
+    }
+}
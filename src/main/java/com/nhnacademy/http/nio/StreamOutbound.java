@@ -0,0 +1,138 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.nio;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+
+/* worker thread가 StreamingBody로 기록한 byte를 event loop thread가 전송 합니다.
+ * 전송하지 못한 byte가 maxPendingBytes 이상이면 worker thread의 write()가 대기 합니다(backpressure).
+ * client가 writeTimeoutMillis 동안 받지 않으면 write()는 IOException으로 실패 합니다.
+ */
+class StreamOutbound extends OutputStream implements Outbound {
+    static final int DEFAULT_MAX_PENDING_BYTES = 64 * 1024;
+
+    private final Runnable flushRequest;
+    private final int maxPendingBytes;
+    private final long writeTimeoutNanos;
+
+    private final Queue<ByteBuffer> pending = new ArrayDeque<>();
+    private int pendingBytes;
+    // worker thread가 body를 모두 기록 했습니다.
+    private boolean finished;
+    // 연결이 종료 되었습니다.
+    private boolean closed;
+
+    /**
+     * @param flushRequest 전송할 byte가 생겼을 때 event loop를 깨웁니다.
+     * @param writeTimeoutMillis 연결의 TimeoutPolicy.getWriteTimeoutMillis() 입니다.
+     */
+    StreamOutbound(Runnable flushRequest, int maxPendingBytes, long writeTimeoutMillis) {
+        if(Objects.isNull(flushRequest)){
+            throw new IllegalArgumentException("flushRequest is null");
+        }
+        if(maxPendingBytes < 1 || writeTimeoutMillis < 1){
+            throw new IllegalArgumentException("maxPendingBytes and writeTimeoutMillis must be greater than 0");
+        }
+        this.flushRequest = flushRequest;
+        this.maxPendingBytes = maxPendingBytes;
+        this.writeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(writeTimeoutMillis);
+    }
+
+    // worker thread
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    // worker thread : 전송 대기중인 byte가 줄어들 때 까지 대기한 뒤 복사해서 등록 합니다.
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+        if(length == 0){
+            return;
+        }
+        synchronized (this){
+            long deadline = System.nanoTime() + writeTimeoutNanos;
+            while(!closed && pendingBytes >= maxPendingBytes){
+                long remaining = deadline - System.nanoTime();
+                if(remaining <= 0){
+                    throw new IOException("write timeout");
+                }
+                try{
+                    TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                }catch (InterruptedException e){
+                    Thread.currentThread().interrupt();
+                    throw new IOException("interrupted", e);
+                }
+            }
+            if(closed){
+                throw new IOException("connection closed");
+            }
+            if(finished){
+                throw new IOException("stream finished");
+            }
+            pending.add(ByteBuffer.wrap(Arrays.copyOfRange(bytes, offset, offset + length)));
+            pendingBytes += length;
+        }
+        flushRequest.run();
+    }
+
+    // worker thread : body를 모두 기록 했습니다. 남은 byte를 전송하면 다음 응답으로 넘어갑니다.
+    void finish(){
+        synchronized (this){
+            finished = true;
+        }
+        flushRequest.run();
+    }
+
+    // event loop thread
+    @Override
+    public synchronized boolean write(SocketChannel channel) throws IOException {
+        ByteBuffer buffer;
+        while((buffer = pending.peek()) != null){
+            int written = channel.write(buffer);
+            pendingBytes -= written;
+            if(written > 0){
+                notifyAll();
+            }
+            if(buffer.hasRemaining()){
+                return false;
+            }
+            pending.poll();
+        }
+        return finished;
+    }
+
+    // 전송할 byte가 없고 worker thread가 아직 기록 중이라면 true, socket이 writable 상태가 되기를 기다릴 필요가 없습니다.
+    @Override
+    public synchronized boolean isStalled() {
+        return pending.isEmpty() && !finished;
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        pending.clear();
+        pendingBytes = 0;
+        notifyAll();
+    }
+}
@@ -0,0 +1,396 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.nio;
+
+import com.nhnacademy.exceptions.WebSocketException;
+import com.nhnacademy.http.channel.Executable;
+import com.nhnacademy.http.channel.RequestChannel;
+import com.nhnacademy.http.metrics.HttpMetrics;
+import com.nhnacademy.http.timer.Timeout;
+import com.nhnacademy.http.timer.TimingWheel;
+import com.nhnacademy.http.websocket.WebSocketFrame;
+import com.nhnacademy.http.websocket.WebSocketFrameDecoder;
+import com.nhnacademy.http.websocket.WebSocketHandler;
+import com.nhnacademy.http.websocket.WebSocketSession;
+import com.nhnacademy.http.websocket.WebSocketUpgrade;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/* WebSocket으로 전환된 연결 입니다. (RFC 6455)
+ * event loop thread가 NioConnection의 readBuffer(pool에서 할당한 direct buffer)에 frame을 읽고, 그 자리에서 unmask 합니다.
+ * 완성된 message는 복사해서 WebSocketHandler에게 전달 합니다. handler는 worker thread에서 실행 되며,
+ * 하나의 연결의 event는 한 번에 하나의 작업(EventJob)이 도착한 순서대로 처리 합니다.
+ * handler가 처리하지 못한 message가 maxPendingMessages(개수, byte)를 초과하면 1008로 연결을 종료 합니다.
+ * keepalive : pingInterval 마다 Ping을 전송하고, 다음 Ping 까지 client가 아무 frame도 보내지 않았다면 연결을 종료 합니다.
+ */
+@Slf4j
+class WebSocketConnection implements WebSocketSession {
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+    private static final ByteBuffer PING = WebSocketFrame.ping(ByteBuffer.allocate(0)).asReadOnlyBuffer();
+    private static final int NO_MESSAGE = -1;
+
+    private final long id = SEQUENCE.incrementAndGet();
+    private final NioConnection connection;
+    private final RequestChannel requestChannel;
+    private final TimingWheel timingWheel;
+    private final WebSocketUpgrade upgrade;
+    private final WebSocketHandler handler;
+
+    // 아래 field는 event loop thread에서만 사용합니다.
+    private final WebSocketFrameDecoder decoder;
+    // fragment로 나뉘었거나 buffer 보다 큰 message를 모읍니다.
+    private final ByteArrayOutputStream message = new ByteArrayOutputStream();
+    private int messageOpcode = NO_MESSAGE;
+    private boolean inFrame;
+    private boolean awaitingPong;
+    private Timeout pingTimeout;
+
+    // handler event는 EventJob이 하나씩 실행 합니다.
+    private final Queue<Event> events = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    // events에 추가 했지만 handler가 처리를 마치지 않은 message 입니다. event loop thread가 증가시키고 worker thread가 감소시킵니다.
+    private final AtomicInteger pendingMessages = new AtomicInteger();
+    private final AtomicLong pendingMessageBytes = new AtomicLong();
+    // Close frame을 전송 했다면 더 이상 message를 전송하지 않습니다.
+    private final AtomicBoolean closeSent = new AtomicBoolean();
+    private final AtomicBoolean terminated = new AtomicBoolean();
+    private volatile int closeStatus = WebSocketFrame.ABNORMAL_CLOSURE;
+    private volatile String closeReason = "";
+
+    @FunctionalInterface
+    private interface Event {
+        void run() throws IOException;
+    }
+
+    WebSocketConnection(NioConnection connection, RequestChannel requestChannel, TimingWheel timingWheel, WebSocketUpgrade upgrade) {
+        if(Objects.isNull(connection)){
+            throw new IllegalArgumentException("connection is null");
+        }
+        if(Objects.isNull(requestChannel)){
+            throw new IllegalArgumentException("requestChannel is null");
+        }
+        if(Objects.isNull(timingWheel)){
+            throw new IllegalArgumentException("timingWheel is null");
+        }
+        if(Objects.isNull(upgrade)){
+            throw new IllegalArgumentException("upgrade is null");
+        }
+        this.connection = connection;
+        this.requestChannel = requestChannel;
+        this.timingWheel = timingWheel;
+        this.upgrade = upgrade;
+        this.handler = upgrade.getHandler();
+        this.decoder = new WebSocketFrameDecoder(upgrade.getMaxMessageSize());
+    }
+
+    @Override
+    public long getId() {
+        return id;
+    }
+
+    @Override
+    public String getPath() {
+        return upgrade.getPath();
+    }
+
+    @Override
+    public boolean isOpen() {
+        return !closeSent.get() && !terminated.get();
+    }
+
+    @Override
+    public int getPendingWrites() {
+        return connection.getPendingWrites();
+    }
+
+    @Override
+    public void send(ByteBuffer frame) throws IOException {
+        if(Objects.isNull(frame)){
+            throw new IllegalArgumentException("frame is null");
+        }
+        if(!isOpen()){
+            throw new IOException(String.format("session closed : %d", id));
+        }
+        // 전송하지 못한 frame이 계속 쌓이는 client 때문에 memory가 고갈되지 않도록 연결을 종료 합니다.
+        // client가 받지 않으므로 Close frame을 기다리지 않고, event loop thread에서 연결을 종료 합니다.
+        if(connection.getPendingWrites() >= upgrade.getMaxPendingWrites()){
+            log.debug("websocket slow consumer : session={}, pending={}", id, connection.getPendingWrites());
+            if(closeSent.compareAndSet(false, true)){
+                closeStatus = WebSocketFrame.POLICY_VIOLATION;
+                closeReason = "slow consumer";
+                connection.requestClose();
+            }
+            throw new IOException(String.format("slow consumer : %d", id));
+        }
+        connection.sendFrames(new ByteBuffer[]{frame});
+    }
+
+    @Override
+    public void close(int statusCode, String reason) {
+        if(closeSent.compareAndSet(false, true)){
+            closeStatus = statusCode;
+            closeReason = Objects.isNull(reason) ? "" : reason;
+            // client의 Close 응답을 기다리지 않고 전송을 마치면 연결을 종료 합니다.
+            connection.send(new ByteBuffer[]{WebSocketFrame.close(statusCode, reason)}, true);
+        }
+    }
+
+    /**
+     * event loop thread에서 101 응답을 전송한 뒤 호출 합니다.
+     * @param readBuffer upgrade 요청 뒤에 이미 도착한 byte가 [0, position)에 있습니다.
+     */
+    void open(ByteBuffer readBuffer) throws IOException {
+        post(() -> handler.onOpen(this));
+        schedulePing();
+        process(readBuffer);
+    }
+
+    /**
+     * event loop thread에서 호출 합니다. socket에서 읽을 수 있는 만큼 읽고 완성된 frame을 처리 합니다.
+     * @throws IOException client가 연결을 종료한 경우
+     */
+    void read(SocketChannel channel, ByteBuffer readBuffer) throws IOException {
+        int read = channel.read(readBuffer);
+        if(read < 0){
+            throw new IOException("connection closed by peer");
+        }
+        HttpMetrics.get().bytesReceived(read);
+        process(readBuffer);
+    }
+
+    // NioConnection이 종료될 때 호출 됩니다. handler의 onClose()는 한 번만 호출 합니다.
+    void terminate(){
+        if(!terminated.compareAndSet(false, true)){
+            return;
+        }
+        Timeout current = pingTimeout;
+        if(Objects.nonNull(current)){
+            current.cancel();
+        }
+        int status = closeStatus;
+        String reason = closeReason;
+        post(() -> handler.onClose(this, status, reason));
+    }
+
+    private void process(ByteBuffer readBuffer) throws IOException {
+        readBuffer.flip();
+        try{
+            decoder.decode(readBuffer, this::onPayload);
+        }catch(WebSocketException e){
+            log.debug("websocket protocol error : session={}, {}", id, e.getMessage());
+            close(e.getStatusCode(), e.getMessage());
+            readBuffer.position(readBuffer.limit());
+        }finally {
+            readBuffer.compact();
+        }
+    }
+
+    private void onPayload(int opcode, boolean fin, ByteBuffer payload, boolean frameEnd) throws IOException {
+        // client가 보낸 frame은 모두 연결이 살아 있다는 뜻 입니다.
+        awaitingPong = false;
+        switch (opcode){
+            case WebSocketFrame.CLOSE -> onClose(payload);
+            case WebSocketFrame.PING -> {
+                if(!closeSent.get()){
+                    ByteBuffer data = ByteBuffer.allocate(payload.remaining()).put(payload).flip();
+                    connection.sendFrames(new ByteBuffer[]{WebSocketFrame.pong(data)});
+                }
+            }
+            case WebSocketFrame.PONG -> {
+                // keepalive 응답 입니다.
+            }
+            default -> onData(opcode, fin, payload, frameEnd);
+        }
+    }
+
+    private void onData(int opcode, boolean fin, ByteBuffer payload, boolean frameEnd) throws IOException {
+        boolean frameStart = !inFrame;
+        inFrame = !frameEnd;
+        if(frameStart){
+            // 처음 frame은 TEXT, BINARY 이고 이어지는 fragment는 CONTINUATION 입니다. (RFC 6455 5.4)
+            if(opcode == WebSocketFrame.CONTINUATION){
+                if(messageOpcode == NO_MESSAGE){
+                    throw new WebSocketException(WebSocketFrame.PROTOCOL_ERROR, "unexpected continuation frame");
+                }
+            }else{
+                if(messageOpcode != NO_MESSAGE){
+                    throw new WebSocketException(WebSocketFrame.PROTOCOL_ERROR, "expected continuation frame");
+                }
+                messageOpcode = opcode;
+            }
+        }
+        if(closeSent.get()){
+            return;
+        }
+        if((long) message.size() + payload.remaining() > upgrade.getMaxMessageSize()){
+            throw new WebSocketException(WebSocketFrame.MESSAGE_TOO_BIG, "message is too large");
+        }
+        byte[] bytes = new byte[payload.remaining()];
+        payload.get(bytes);
+        if(!(fin && frameEnd)){
+            message.writeBytes(bytes);
+            return;
+        }
+        // 하나의 frame으로 도착한 message는 모으지 않고 바로 전달 합니다.
+        if(message.size() > 0){
+            message.writeBytes(bytes);
+            bytes = message.toByteArray();
+            message.reset();
+        }
+        int completed = messageOpcode;
+        messageOpcode = NO_MESSAGE;
+        if(completed == WebSocketFrame.TEXT){
+            String text = decodeText(bytes);
+            postMessage(bytes.length, () -> handler.onText(this, text));
+        }else{
+            ByteBuffer binary = ByteBuffer.wrap(bytes);
+            postMessage(bytes.length, () -> handler.onBinary(this, binary));
+        }
+    }
+
+    /* handler가 message를 처리하는 속도 보다 client가 빠르게 보내면 events가 끝없이 늘어납니다.
+     * 대기중인 message가 제한을 초과하면 더 이상 추가하지 않고 1008로 연결을 종료 합니다.
+     * Close frame을 전송한 뒤에는 onData()가 message를 무시하므로 더 이상 쌓이지 않습니다.
+     */
+    private void postMessage(int size, Event event) {
+        int pending = pendingMessages.get();
+        long pendingBytes = pendingMessageBytes.get();
+        if(pending >= upgrade.getMaxPendingMessages() || (pending > 0 && pendingBytes + size > upgrade.getMaxPendingMessageBytes())){
+            log.debug("websocket too many pending messages : session={}, pending={}, bytes={}", id, pending, pendingBytes);
+            close(WebSocketFrame.POLICY_VIOLATION, "too many pending messages");
+            return;
+        }
+        pendingMessages.incrementAndGet();
+        pendingMessageBytes.addAndGet(size);
+        post(() -> {
+            try{
+                event.run();
+            }finally {
+                pendingMessages.decrementAndGet();
+                pendingMessageBytes.addAndGet(-size);
+            }
+        });
+    }
+
+    // client가 Close를 보냈습니다. 같은 status code로 응답하고 연결을 종료 합니다. (RFC 6455 5.5.1)
+    private void onClose(ByteBuffer payload) throws WebSocketException {
+        int status = WebSocketFrame.NO_STATUS;
+        String reason = "";
+        if(payload.remaining() == 1){
+            throw new WebSocketException(WebSocketFrame.PROTOCOL_ERROR, "invalid close payload");
+        }
+        if(payload.remaining() >= 2){
+            status = payload.getShort() & 0xffff;
+            if(!isValidStatus(status)){
+                throw new WebSocketException(WebSocketFrame.PROTOCOL_ERROR, String.format("invalid close status : %d", status));
+            }
+            byte[] bytes = new byte[payload.remaining()];
+            payload.get(bytes);
+            reason = decodeText(bytes);
+        }
+        if(closeSent.compareAndSet(false, true)){
+            closeStatus = status;
+            closeReason = reason;
+            int reply = status == WebSocketFrame.NO_STATUS ? WebSocketFrame.NORMAL_CLOSURE : status;
+            connection.send(new ByteBuffer[]{WebSocketFrame.close(reply, null)}, true);
+        }
+    }
+
+    // 1005, 1006, 1015는 frame으로 전송할 수 없습니다. 3000 ~ 4999는 application이 사용합니다.
+    private static boolean isValidStatus(int status){
+        return (status >= 1000 && status <= 1003) || (status >= 1007 && status <= 1014) || (status >= 3000 && status <= 4999);
+    }
+
+    // 잘못된 UTF-8은 1007로 연결을 종료 합니다. (RFC 6455 8.1)
+    private static String decodeText(byte[] bytes) throws WebSocketException {
+        try{
+            return StandardCharsets.UTF_8.newDecoder().decode(ByteBuffer.wrap(bytes)).toString();
+        }catch(CharacterCodingException e){
+            throw new WebSocketException(WebSocketFrame.INVALID_PAYLOAD, "invalid utf-8 text");
+        }
+    }
+
+    private void schedulePing(){
+        pingTimeout = timingWheel.schedule(this::ping, upgrade.getPingIntervalMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // event loop thread에서 실행 됩니다.
+    private void ping(){
+        if(!isOpen()){
+            return;
+        }
+        if(awaitingPong){
+            log.debug("websocket ping timeout : session={}", id);
+            HttpMetrics.get().connectionTimedOut(HttpMetrics.TIMEOUT_IDLE);
+            connection.close();
+            return;
+        }
+        awaitingPong = true;
+        connection.sendFrames(new ByteBuffer[]{PING.duplicate()});
+        schedulePing();
+    }
+
+    private void post(Event event){
+        events.add(event);
+        if(scheduled.compareAndSet(false, true)){
+            requestChannel.offerHttpJob(new EventJob());
+        }
+    }
+
+    private void drain(){
+        do{
+            Event event;
+            while((event = events.poll()) != null){
+                try{
+                    event.run();
+                }catch(IOException | RuntimeException e){
+                    log.error("websocket handler error : session={}, {}", id, e.getMessage(), e);
+                    close(WebSocketFrame.INTERNAL_ERROR, null);
+                }
+            }
+            scheduled.set(false);
+            // 다른 thread가 event를 추가하면서 작업을 배치하지 않았다면 이어서 처리 합니다.
+        }while(!events.isEmpty() && scheduled.compareAndSet(false, true));
+    }
+
+    private final class EventJob implements Executable {
+        @Override
+        public void execute() {
+            drain();
+        }
+
+        // 과부하 : 처리하지 못한 event를 버리고 1013(Try Again Later)으로 연결을 종료 합니다.
+        @Override
+        public void reject() {
+            events.clear();
+            pendingMessages.set(0);
+            pendingMessageBytes.set(0);
+            scheduled.set(false);
+            close(WebSocketFrame.TRY_AGAIN_LATER, "server overloaded");
+        }
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.parser;
+
+import com.nhnacademy.exceptions.HttpParseException;
+
+import java.nio.ByteBuffer;
+
+/* Transfer-Encoding: chunked 로 전송된 request body를 해석 합니다. (RFC 9112 7.1)
+ * next()를 반복해서 호출하면 chunk의 data 구간만 순서대로 반환 합니다. chunk-size line, chunk extension, trailer는 읽고 버립니다.
+ * body가 여러 번에 나뉘어 도착해도 이전에 해석한 위치부터 이어서 해석 합니다.
+ * chunk를 다르게 해석해서 발생하는 request smuggling을 피하기 위해 줄의 끝은 CRLF만 허용 합니다.
+ */
+public class ChunkedDecoder {
+    private static final byte CR = '\r';
+    private static final byte LF = '\n';
+    private static final byte SP = ' ';
+    private static final byte HT = '\t';
+    private static final byte SEMICOLON = ';';
+    // chunk extension을 포함한 chunk-size line의 최대 길이 입니다.
+    private static final int MAX_LINE_LENGTH = 4096;
+    // last-chunk 이후에 가장 짧은 body의 끝은 "0\r\n\r\n" 입니다.
+    private static final int LAST_CHUNK_LENGTH = 5;
+    private static final int CRLF_LENGTH = 2;
+
+    private enum State {
+        SIZE, EXTENSION, SIZE_LF, DATA, DATA_CR, DATA_LF,
+        TRAILER_START, TRAILER, TRAILER_LF, END_LF, COMPLETE
+    }
+
+    private final long maxBodySize;
+    private final int maxTrailerSize;
+
+    private State state = State.SIZE;
+    private long chunkSize;
+    private int sizeDigits;
+    private long chunkRemaining;
+    private int lineLength;
+    private int trailerSize;
+    private long decoded;
+
+    public ChunkedDecoder(long maxBodySize) {
+        this(maxBodySize, HttpRequestParser.DEFAULT_MAX_HEADER_SIZE);
+    }
+
+    /**
+     * @param maxBodySize chunk data 크기의 합 입니다. 초과하면 413 입니다.
+     * @param maxTrailerSize trailer의 최대 크기 입니다. 초과하면 431 입니다.
+     */
+    public ChunkedDecoder(long maxBodySize, int maxTrailerSize) {
+        if(maxBodySize < 0){
+            throw new IllegalArgumentException("maxBodySize must be positive");
+        }
+        if(maxTrailerSize < 0){
+            throw new IllegalArgumentException("maxTrailerSize must be positive");
+        }
+        this.maxBodySize = maxBodySize;
+        this.maxTrailerSize = maxTrailerSize;
+    }
+
+    /**
+     * src에서 다음 chunk data 구간을 찾아서 반환 합니다. 해석한 byte와 반환한 구간 만큼 src의 position이 이동 합니다.
+     * body가 끝나면 더 이상 읽지 않으므로 src에 이어진 다음 요청은 그대로 남아 있습니다.
+     * @return chunk data 구간(src의 view), src를 모두 해석했거나 body가 끝났다면 null
+     * @throws HttpParseException chunk 형식이 잘못되었거나 크기 제한을 초과한 경우
+     */
+    public ByteBuffer next(ByteBuffer src) throws HttpParseException {
+        while(src.hasRemaining() && state != State.COMPLETE){
+            if(state == State.DATA){
+                int count = (int) Math.min(src.remaining(), chunkRemaining);
+                ByteBuffer data = src.slice(src.position(), count);
+                src.position(src.position() + count);
+                chunkRemaining -= count;
+                if(chunkRemaining == 0){
+                    state = State.DATA_CR;
+                }
+                return data;
+            }
+            byte b = src.get();
+            switch (state){
+                case SIZE -> {
+                    int digit = Character.digit(b, 16);
+                    if(digit >= 0){
+                        if(chunkSize > (maxBodySize - decoded) >> 4){
+                            throw new HttpParseException(413, "Content Too Large", "request body is too large");
+                        }
+                        chunkSize = (chunkSize << 4) + digit;
+                        sizeDigits++;
+                    }else if(sizeDigits == 0){
+                        throw HttpParseException.badRequest("invalid chunk size");
+                    }else if(b == CR){
+                        state = State.SIZE_LF;
+                    }else if(b == SEMICOLON || b == SP || b == HT){
+                        state = State.EXTENSION;
+                    }else{
+                        throw HttpParseException.badRequest("invalid chunk size");
+                    }
+                    checkLineLength();
+                }
+                case EXTENSION -> {
+                    // chunk extension은 해석하지 않습니다.
+                    if(b == CR){
+                        state = State.SIZE_LF;
+                    }else if(b == LF){
+                        throw HttpParseException.badRequest("expected carriage return");
+                    }
+                    checkLineLength();
+                }
+                case SIZE_LF -> {
+                    expectLineFeed(b);
+                    startChunk();
+                }
+                case DATA_CR -> {
+                    if(b != CR){
+                        throw HttpParseException.badRequest("expected CRLF after chunk data");
+                    }
+                    state = State.DATA_LF;
+                }
+                case DATA_LF -> {
+                    expectLineFeed(b);
+                    state = State.SIZE;
+                }
+                case TRAILER_START -> {
+                    state = b == CR ? State.END_LF : State.TRAILER;
+                    checkTrailerSize();
+                }
+                case TRAILER -> {
+                    if(b == CR){
+                        state = State.TRAILER_LF;
+                    }
+                    checkTrailerSize();
+                }
+                case TRAILER_LF -> {
+                    expectLineFeed(b);
+                    state = State.TRAILER_START;
+                    checkTrailerSize();
+                }
+                case END_LF -> {
+                    expectLineFeed(b);
+                    state = State.COMPLETE;
+                }
+                default -> throw new IllegalStateException(state.name());
+            }
+        }
+        return null;
+    }
+
+    // last-chunk와 trailer를 모두 읽었다면 true 입니다.
+    public boolean isComplete(){
+        return state == State.COMPLETE;
+    }
+
+    // 지금까지 해석한 chunk data 크기의 합 입니다.
+    public long getDecoded() {
+        return decoded;
+    }
+
+    /**
+     * body에 속한 것이 확실한 남은 byte 수의 최소값 입니다. body가 끝났다면 0 입니다.
+     * 연결에서 이 크기 만큼만 읽으면 body 뒤에 이어진 다음 요청의 byte를 읽지 않습니다.
+     */
+    public long getMinimumRemaining(){
+        return switch (state){
+            case SIZE -> sizeDigits == 0 ? LAST_CHUNK_LENGTH : CRLF_LENGTH + afterSizeLine();
+            case EXTENSION -> CRLF_LENGTH + afterSizeLine();
+            case SIZE_LF -> 1 + afterSizeLine();
+            case DATA -> chunkRemaining + CRLF_LENGTH + LAST_CHUNK_LENGTH;
+            case DATA_CR -> CRLF_LENGTH + LAST_CHUNK_LENGTH;
+            case DATA_LF -> 1 + LAST_CHUNK_LENGTH;
+            case TRAILER_START -> CRLF_LENGTH;
+            case TRAILER -> CRLF_LENGTH + CRLF_LENGTH;
+            case TRAILER_LF -> 1 + CRLF_LENGTH;
+            case END_LF -> 1;
+            case COMPLETE -> 0;
+        };
+    }
+
+    // chunk-size line 다음에 최소한 남은 byte 수 입니다. last-chunk 라면 trailer의 끝(CRLF) 입니다.
+    private long afterSizeLine(){
+        return chunkSize == 0 ? CRLF_LENGTH : chunkSize + CRLF_LENGTH + LAST_CHUNK_LENGTH;
+    }
+
+    private void startChunk() throws HttpParseException {
+        if(chunkSize > maxBodySize - decoded){
+            throw new HttpParseException(413, "Content Too Large", "request body is too large");
+        }
+        decoded += chunkSize;
+        chunkRemaining = chunkSize;
+        state = chunkSize == 0 ? State.TRAILER_START : State.DATA;
+        chunkSize = 0;
+        sizeDigits = 0;
+        lineLength = 0;
+    }
+
+    private void checkLineLength() throws HttpParseException {
+        if(++lineLength > MAX_LINE_LENGTH){
+            throw HttpParseException.badRequest("chunk size line is too long");
+        }
+    }
+
+    private void checkTrailerSize() throws HttpParseException {
+        if(++trailerSize > maxTrailerSize){
+            throw new HttpParseException(431, "Request Header Fields Too Large", "trailer is too large");
+        }
+    }
+
+    private static void expectLineFeed(byte b) throws HttpParseException {
+        if(b != LF){
+            throw HttpParseException.badRequest("expected line feed");
+        }
+    }
+}
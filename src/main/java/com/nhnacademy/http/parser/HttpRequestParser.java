@@ -0,0 +1,559 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http.parser;
+
+import com.nhnacademy.exceptions.HttpParseException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/* ByteBuffer에서 직접 HTTP 요청을 해석하는 parser 입니다.
+ * String을 만들지 않고 method, path, version, header, body의 위치(offset/length)만 기록 합니다.
+ * 요청의 일부만 도착했다면 false를 반환하고, 다음 parse() 호출 시 이전에 확인한 위치부터 이어서 해석 합니다.
+ * parser 객체는 연결마다 하나씩 만들고, 요청을 처리한 뒤 reset()해서 재사용 합니다.
+ * Content-Length가 maxBodySize를 넘고 maxStreamedBodySize 이하라면 head만 해석하고 완료 합니다.
+ * Transfer-Encoding: chunked 요청도 head만 해석하고 완료 합니다. (isChunked())
+ * 이 경우 hasStreamedBody()가 true이며, body는 호출한 쪽에서 RequestBody로 이어서 읽습니다.
+ */
+public class HttpRequestParser {
+    public static final int DEFAULT_MAX_HEADER_SIZE = 8192;
+    public static final int DEFAULT_MAX_HEADER_COUNT = 64;
+    public static final int DEFAULT_MAX_BODY_SIZE = 8192;
+    // -Dhttp.body.maxSize=16777216
+    public static final long DEFAULT_MAX_STREAMED_BODY_SIZE = Long.getLong("http.body.maxSize", 16 * 1024 * 1024);
+
+    private static final byte CR = '\r';
+    private static final byte LF = '\n';
+    private static final byte SP = ' ';
+    private static final byte HT = '\t';
+    private static final byte COLON = ':';
+
+    private static final byte[] CONTENT_LENGTH = "content-length".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TRANSFER_ENCODING = "transfer-encoding".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CHUNKED = "chunked".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] EXPECT = "expect".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CONTINUE = "100-continue".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HTTP_PREFIX = "HTTP/".getBytes(StandardCharsets.US_ASCII);
+
+    private enum State {
+        REQUEST_LINE_START, METHOD, PATH, VERSION, REQUEST_LINE_LF,
+        HEADER_START, HEADER_NAME, HEADER_VALUE_START, HEADER_VALUE, HEADER_LF,
+        HEAD_END_LF, BODY, COMPLETE
+    }
+
+    private final int maxHeaderSize;
+    private final int maxHeaderCount;
+    private final int maxBodySize;
+    private final long maxStreamedBodySize;
+
+    // header 위치는 미리 할당한 배열에 기록 합니다.
+    private final int[] headerNameOffsets;
+    private final int[] headerNameLengths;
+    private final int[] headerValueOffsets;
+    private final int[] headerValueLengths;
+    private int headerCount;
+
+    private State state = State.REQUEST_LINE_START;
+    private ByteBuffer buffer;
+    private int requestOffset = -1;
+    // 다음 parse() 호출 시 해석을 시작할 위치 입니다.
+    private int scanIndex;
+
+    private int methodOffset;
+    private int methodLength;
+    private int pathOffset;
+    private int pathLength;
+    private int versionOffset;
+    private int versionLength;
+    private int valueEnd;
+    private int bodyOffset;
+    private int contentLength;
+    private long streamedBodyLength;
+    private boolean chunked;
+    private boolean expectContinue;
+
+    public HttpRequestParser() {
+        this(DEFAULT_MAX_HEADER_SIZE, DEFAULT_MAX_HEADER_COUNT, DEFAULT_MAX_BODY_SIZE, Math.max(DEFAULT_MAX_BODY_SIZE, DEFAULT_MAX_STREAMED_BODY_SIZE));
+    }
+
+    // body를 buffer에서만 읽습니다. maxBodySize를 넘으면 413 입니다.
+    public HttpRequestParser(int maxHeaderSize, int maxHeaderCount, int maxBodySize) {
+        this(maxHeaderSize, maxHeaderCount, maxBodySize, maxBodySize);
+    }
+
+    public HttpRequestParser(int maxHeaderSize, int maxHeaderCount, int maxBodySize, long maxStreamedBodySize) {
+        if(maxHeaderSize < 1){
+            throw new IllegalArgumentException("maxHeaderSize must be greater than 0");
+        }
+        if(maxHeaderCount < 0){
+            throw new IllegalArgumentException("maxHeaderCount must be positive");
+        }
+        if(maxBodySize < 0){
+            throw new IllegalArgumentException("maxBodySize must be positive");
+        }
+        if(maxStreamedBodySize < maxBodySize){
+            throw new IllegalArgumentException("maxStreamedBodySize must be greater than or equal to maxBodySize");
+        }
+        this.maxHeaderSize = maxHeaderSize;
+        this.maxHeaderCount = maxHeaderCount;
+        this.maxBodySize = maxBodySize;
+        this.maxStreamedBodySize = maxStreamedBodySize;
+        this.headerNameOffsets = new int[maxHeaderCount];
+        this.headerNameLengths = new int[maxHeaderCount];
+        this.headerValueOffsets = new int[maxHeaderCount];
+        this.headerValueLengths = new int[maxHeaderCount];
+    }
+
+    /**
+     * buffer의 [start, limit) 구간을 해석 합니다.
+     * 요청이 완성될 때 까지 같은 buffer와 start로 limit만 늘려가며 반복해서 호출 합니다.
+     * @return 요청(head + body)이 완성되었다면 true
+     * @throws HttpParseException 요청 형식이 잘못되었거나 크기 제한을 초과한 경우
+     */
+    public boolean parse(ByteBuffer buffer, int start, int limit) throws HttpParseException {
+        if(Objects.isNull(buffer)){
+            throw new IllegalArgumentException("buffer is null");
+        }
+        if(requestOffset < 0){
+            this.buffer = buffer;
+            this.requestOffset = start;
+            this.scanIndex = start;
+        }
+
+        int index = scanIndex;
+        while(index < limit && state != State.BODY && state != State.COMPLETE){
+            byte b = buffer.get(index);
+            switch (state){
+                case REQUEST_LINE_START -> {
+                    // 요청 앞의 빈 줄은 무시 합니다.
+                    if(isTokenChar(b)){
+                        methodOffset = index;
+                        state = State.METHOD;
+                    }else if(b != CR && b != LF){
+                        throw HttpParseException.badRequest("invalid method");
+                    }
+                }
+                case METHOD -> {
+                    if(b == SP){
+                        methodLength = index - methodOffset;
+                        pathOffset = index + 1;
+                        state = State.PATH;
+                    }else if(!isTokenChar(b)){
+                        throw HttpParseException.badRequest("invalid method");
+                    }
+                }
+                case PATH -> {
+                    if(b == SP){
+                        pathLength = index - pathOffset;
+                        if(pathLength == 0){
+                            throw HttpParseException.badRequest("empty request target");
+                        }
+                        versionOffset = index + 1;
+                        state = State.VERSION;
+                    }else if(b <= SP || b == 0x7f){
+                        throw HttpParseException.badRequest("invalid request target");
+                    }
+                }
+                case VERSION -> {
+                    if(b == CR || b == LF){
+                        versionLength = index - versionOffset;
+                        if(!startsWith(versionOffset, versionLength, HTTP_PREFIX)){
+                            throw HttpParseException.badRequest("invalid http version");
+                        }
+                        state = b == CR ? State.REQUEST_LINE_LF : State.HEADER_START;
+                    }
+                }
+                case REQUEST_LINE_LF, HEADER_LF -> {
+                    expectLineFeed(b);
+                    state = State.HEADER_START;
+                }
+                case HEADER_START -> {
+                    if(b == CR){
+                        state = State.HEAD_END_LF;
+                    }else if(b == LF){
+                        headComplete(index);
+                    }else if(b == SP || b == HT){
+                        // obs-fold(여러 줄로 나뉜 header)는 지원하지 않습니다.
+                        throw HttpParseException.badRequest("obsolete line folding");
+                    }else{
+                        if(headerCount == maxHeaderCount){
+                            throw new HttpParseException(431, "Request Header Fields Too Large", "too many headers");
+                        }
+                        headerNameOffsets[headerCount] = index;
+                        state = State.HEADER_NAME;
+                    }
+                }
+                case HEADER_NAME -> {
+                    if(b == COLON){
+                        headerNameLengths[headerCount] = index - headerNameOffsets[headerCount];
+                        if(headerNameLengths[headerCount] == 0){
+                            throw HttpParseException.badRequest("empty header name");
+                        }
+                        state = State.HEADER_VALUE_START;
+                    }else if(!isTokenChar(b)){
+                        throw HttpParseException.badRequest("invalid header name");
+                    }
+                }
+                case HEADER_VALUE_START -> {
+                    if(b == CR || b == LF){
+                        headerValueOffsets[headerCount] = index;
+                        valueEnd = index;
+                        endHeader(b);
+                    }else if(b != SP && b != HT){
+                        headerValueOffsets[headerCount] = index;
+                        valueEnd = index + 1;
+                        state = State.HEADER_VALUE;
+                    }
+                }
+                case HEADER_VALUE -> {
+                    if(b == CR || b == LF){
+                        endHeader(b);
+                    }else if(b != SP && b != HT){
+                        // value 뒤의 공백은 포함하지 않습니다.
+                        valueEnd = index + 1;
+                    }
+                }
+                case HEAD_END_LF -> {
+                    expectLineFeed(b);
+                    headComplete(index);
+                }
+                default -> throw new IllegalStateException(state.name());
+            }
+            index++;
+            if(state != State.BODY && state != State.COMPLETE && index - requestOffset > maxHeaderSize){
+                throw new HttpParseException(431, "Request Header Fields Too Large", "request head is too large");
+            }
+        }
+        scanIndex = index;
+
+        if(state == State.BODY && limit - bodyOffset >= contentLength){
+            state = State.COMPLETE;
+        }
+        return state == State.COMPLETE;
+    }
+
+    // 다음 요청을 해석할 수 있도록 상태를 초기화 합니다.
+    public void reset(){
+        state = State.REQUEST_LINE_START;
+        buffer = null;
+        requestOffset = -1;
+        scanIndex = 0;
+        headerCount = 0;
+        methodOffset = methodLength = 0;
+        pathOffset = pathLength = 0;
+        versionOffset = versionLength = 0;
+        bodyOffset = contentLength = 0;
+        streamedBodyLength = 0;
+        chunked = false;
+        expectContinue = false;
+    }
+
+    public boolean isComplete(){
+        return state == State.COMPLETE;
+    }
+
+    // 해석한 buffer 입니다. offset은 모두 이 buffer의 절대 위치 입니다.
+    public ByteBuffer getBuffer() {
+        return buffer;
+    }
+
+    public int getRequestOffset() {
+        return requestOffset;
+    }
+
+    // head와 body를 포함한 요청의 길이 입니다. 다음 요청은 getRequestOffset() + getRequestLength()에서 시작 합니다.
+    public int getRequestLength() {
+        return bodyOffset + contentLength - requestOffset;
+    }
+
+    public int getMethodOffset() {
+        return methodOffset;
+    }
+
+    public int getMethodLength() {
+        return methodLength;
+    }
+
+    public int getPathOffset() {
+        return pathOffset;
+    }
+
+    public int getPathLength() {
+        return pathLength;
+    }
+
+    public int getVersionOffset() {
+        return versionOffset;
+    }
+
+    public int getVersionLength() {
+        return versionLength;
+    }
+
+    public int getHeaderCount() {
+        return headerCount;
+    }
+
+    public int getHeaderNameOffset(int index) {
+        return headerNameOffsets[checkHeaderIndex(index)];
+    }
+
+    public int getHeaderNameLength(int index) {
+        return headerNameLengths[checkHeaderIndex(index)];
+    }
+
+    public int getHeaderValueOffset(int index) {
+        return headerValueOffsets[checkHeaderIndex(index)];
+    }
+
+    public int getHeaderValueLength(int index) {
+        return headerValueLengths[checkHeaderIndex(index)];
+    }
+
+    public int getBodyOffset() {
+        return bodyOffset;
+    }
+
+    // buffer에 포함된 body의 길이 입니다. body를 이어서 읽어야 한다면 0 입니다.
+    public int getContentLength() {
+        return contentLength;
+    }
+
+    // head 뒤에 이어지는 body를 RequestBody로 읽어야 한다면 true 입니다.
+    public boolean hasStreamedBody() {
+        return streamedBodyLength > 0 || chunked;
+    }
+
+    // chunked body는 길이를 미리 알 수 없으므로 -1 입니다.
+    public long getStreamedBodyLength() {
+        return chunked ? -1 : streamedBodyLength;
+    }
+
+    // Transfer-Encoding: chunked 요청 입니다. body는 RequestBody(ChunkedDecoder)로 읽습니다.
+    public boolean isChunked() {
+        return chunked;
+    }
+
+    // RequestBody로 읽을 수 있는 body의 최대 크기 입니다.
+    public long getMaxStreamedBodySize() {
+        return maxStreamedBodySize;
+    }
+
+    // Expect: 100-continue 요청 입니다. body를 읽기 전에 100 Continue를 전송 합니다.
+    public boolean isExpectContinue() {
+        return expectContinue;
+    }
+
+    /**
+     * 대소문자 구분 없이 header를 찾습니다.
+     * @param lowerCaseName 소문자로 작성된 header 이름
+     * @return header index, 없다면 -1
+     */
+    public int findHeader(byte[] lowerCaseName){
+        for(int i=0; i<headerCount; i++){
+            if(equalsIgnoreCase(headerNameOffsets[i], headerNameLengths[i], lowerCaseName)){
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public boolean isMethod(byte[] method){
+        return equals(methodOffset, methodLength, method);
+    }
+
+    /* 아래 method들은 String을 생성 합니다. 로그나 application 코드에서 편의를 위해 사용합니다.
+     */
+    public String getMethod(){
+        return string(methodOffset, methodLength);
+    }
+
+    public String getPath(){
+        return string(pathOffset, pathLength);
+    }
+
+    public String getHttpVersion(){
+        return string(versionOffset, versionLength);
+    }
+
+    public String getHeaderName(int index){
+        return string(getHeaderNameOffset(index), getHeaderNameLength(index));
+    }
+
+    public String getHeaderValue(int index){
+        return string(getHeaderValueOffset(index), getHeaderValueLength(index));
+    }
+
+    // header가 없다면 null을 반환 합니다.
+    public String getHeader(String name){
+        for(int i=0; i<headerCount; i++){
+            if(headerNameLengths[i] == name.length() && equalsIgnoreCase(headerNameOffsets[i], name)){
+                return getHeaderValue(i);
+            }
+        }
+        return null;
+    }
+
+    private void endHeader(byte b){
+        headerValueLengths[headerCount] = valueEnd - headerValueOffsets[headerCount];
+        headerCount++;
+        state = b == CR ? State.HEADER_LF : State.HEADER_START;
+    }
+
+    private void headComplete(int index) throws HttpParseException {
+        bodyOffset = index + 1;
+        long length = contentLength();
+        if(findHeader(TRANSFER_ENCODING) >= 0){
+            // Content-Length와 함께 사용하면 body의 끝을 다르게 해석할 수 있으므로 거절 합니다. (RFC 9112 6.3)
+            if(length >= 0){
+                throw HttpParseException.badRequest("content-length with transfer-encoding");
+            }
+            chunked = isChunkedOnly();
+            if(!chunked){
+                throw new HttpParseException(501, "Not Implemented", "only chunked transfer-encoding is supported");
+            }
+        }else if(length >= 0){
+            if(length > maxBodySize){
+                // buffer에 담지 않습니다. head만 완성하고 body는 호출한 쪽에서 이어서 읽습니다.
+                streamedBodyLength = length;
+            }else{
+                contentLength = (int) length;
+            }
+        }
+        int expectIndex = findHeader(EXPECT);
+        expectContinue = expectIndex >= 0 && equalsIgnoreCase(headerValueOffsets[expectIndex], headerValueLengths[expectIndex], CONTINUE);
+        state = contentLength > 0 ? State.BODY : State.COMPLETE;
+    }
+
+    // Transfer-Encoding header가 하나이고 값이 chunked 뿐인지 확인 합니다. 다른 coding(gzip 등)은 지원하지 않습니다.
+    private boolean isChunkedOnly(){
+        int count = 0;
+        int index = -1;
+        for(int i=0; i<headerCount; i++){
+            if(equalsIgnoreCase(headerNameOffsets[i], headerNameLengths[i], TRANSFER_ENCODING)){
+                count++;
+                index = i;
+            }
+        }
+        return count == 1 && equalsIgnoreCase(headerValueOffsets[index], headerValueLengths[index], CHUNKED);
+    }
+
+    /* 모든 Content-Length header를 확인 합니다. 없다면 -1을 반환 합니다.
+       값이 다른 Content-Length가 여러 개라면 body의 끝을 알 수 없으므로 400 입니다. (RFC 9112 6.3, request smuggling 방지)
+       같은 값이 반복된 경우는 하나로 처리 합니다.
+     */
+    private long contentLength() throws HttpParseException {
+        long contentLength = -1;
+        for(int i=0; i<headerCount; i++){
+            if(!equalsIgnoreCase(headerNameOffsets[i], headerNameLengths[i], CONTENT_LENGTH)){
+                continue;
+            }
+            long length = parseContentLength(headerValueOffsets[i], headerValueLengths[i]);
+            if(contentLength >= 0 && contentLength != length){
+                throw HttpParseException.badRequest("conflicting content-length");
+            }
+            contentLength = length;
+        }
+        return contentLength;
+    }
+
+    private long parseContentLength(int offset, int length) throws HttpParseException {
+        if(length == 0){
+            throw HttpParseException.badRequest("invalid content-length");
+        }
+        long value = 0;
+        for(int i=offset; i<offset+length; i++){
+            byte b = buffer.get(i);
+            if(b < '0' || b > '9'){
+                throw HttpParseException.badRequest("invalid content-length");
+            }
+            value = value * 10 + (b - '0');
+            if(value > maxStreamedBodySize){
+                throw new HttpParseException(413, "Content Too Large", "request body is too large");
+            }
+        }
+        return value;
+    }
+
+    private void expectLineFeed(byte b) throws HttpParseException {
+        if(b != LF){
+            throw HttpParseException.badRequest("expected line feed");
+        }
+    }
+
+    private int checkHeaderIndex(int index){
+        if(index < 0 || index >= headerCount){
+            throw new IndexOutOfBoundsException(String.format("header index:%d, header count:%d", index, headerCount));
+        }
+        return index;
+    }
+
+    private boolean startsWith(int offset, int length, byte[] prefix){
+        return length >= prefix.length && equals(offset, prefix.length, prefix);
+    }
+
+    private boolean equals(int offset, int length, byte[] expected){
+        if(length != expected.length){
+            return false;
+        }
+        for(int i=0; i<length; i++){
+            if(buffer.get(offset + i) != expected[i]){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean equalsIgnoreCase(int offset, int length, byte[] lowerCase){
+        if(length != lowerCase.length){
+            return false;
+        }
+        for(int i=0; i<length; i++){
+            if(toLowerCase(buffer.get(offset + i)) != lowerCase[i]){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean equalsIgnoreCase(int offset, String name){
+        for(int i=0; i<name.length(); i++){
+            if(toLowerCase(buffer.get(offset + i)) != Character.toLowerCase(name.charAt(i))){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String string(int offset, int length){
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    private static byte toLowerCase(byte b){
+        return b >= 'A' && b <= 'Z' ? (byte) (b + ('a' - 'A')) : b;
+    }
+
+    // RFC 9110 token : 공백, 제어 문자, 구분자를 제외한 문자
+    private static boolean isTokenChar(byte b){
+        if(b <= SP || b >= 0x7f){
+            return false;
+        }
+        return switch (b){
+            case '(', ')', '<', '>', '@', ',', ';', ':', '\\', '"', '/', '[', ']', '?', '=', '{', '}' -> false;
+            default -> true;
+        };
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http.request;
+
+import com.nhnacademy.http.parser.HttpRequestParser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Objects;
+
+/* handler에게 전달되는 요청 입니다. HttpRequestParser가 기록한 view를 감싸며, 필요한 값만 String으로 변환 합니다.
+ * buffer를 공유하므로 응답을 전송한 뒤에는 사용할 수 없습니다.
+ * buffer보다 큰 body는 연결에서 모두 읽어 둔 RequestBody로 전달 됩니다. (메모리 또는 임시 파일)
+ */
+public class HttpRequest {
+    private final HttpRequestParser parser;
+    private final RequestBody requestBody;
+    private String method;
+    private String path;
+    private String query;
+    private Map<String, String> pathParameters = Map.of();
+
+    public HttpRequest(HttpRequestParser parser) {
+        this(parser, null);
+    }
+
+    /**
+     * @param requestBody parser.hasStreamedBody()라면 모두 읽은 body, 그렇지 않다면 null
+     */
+    public HttpRequest(HttpRequestParser parser, RequestBody requestBody) {
+        if(Objects.isNull(parser)){
+            throw new IllegalArgumentException("parser is null");
+        }
+        if(!parser.isComplete()){
+            throw new IllegalArgumentException("request is not complete");
+        }
+        if(parser.hasStreamedBody() && (Objects.isNull(requestBody) || !requestBody.isComplete())){
+            throw new IllegalArgumentException("request body is not complete");
+        }
+        this.parser = parser;
+        this.requestBody = parser.hasStreamedBody() ? requestBody : null;
+    }
+
+    public HttpRequestParser getParser() {
+        return parser;
+    }
+
+    public String getMethod() {
+        if(Objects.isNull(method)){
+            method = parser.getMethod();
+        }
+        return method;
+    }
+
+    // query string을 제외한 path 입니다.
+    public String getPath() {
+        if(Objects.isNull(path)){
+            String target = parser.getPath();
+            int index = target.indexOf('?');
+            path = index < 0 ? target : target.substring(0, index);
+            query = index < 0 ? null : target.substring(index + 1);
+        }
+        return path;
+    }
+
+    // query string이 없다면 null을 반환 합니다.
+    public String getQuery() {
+        getPath();
+        return query;
+    }
+
+    public String getHttpVersion() {
+        return parser.getHttpVersion();
+    }
+
+    public String getHeader(String name) {
+        return parser.getHeader(name);
+    }
+
+    public long getContentLength() {
+        return Objects.nonNull(requestBody) ? requestBody.getLength() : parser.getContentLength();
+    }
+
+    // body의 read-only view 입니다. 임시 파일에 기록한 body는 memory-mapped buffer 입니다.
+    public ByteBuffer getBody() {
+        if(Objects.nonNull(requestBody)){
+            try{
+                return requestBody.getBuffer();
+            }catch(IOException e){
+                throw new UncheckedIOException(e);
+            }
+        }
+        return parser.getBuffer()
+                .slice(parser.getBodyOffset(), parser.getContentLength())
+                .asReadOnlyBuffer();
+    }
+
+    // body를 처음부터 읽는 InputStream 입니다. 큰 body를 heap에 복사하지 않고 읽을 때 사용합니다.
+    public InputStream getBodyStream() {
+        if(Objects.nonNull(requestBody)){
+            try{
+                return requestBody.getInputStream();
+            }catch(IOException e){
+                throw new UncheckedIOException(e);
+            }
+        }
+        return new RequestBody.BufferInputStream(getBody());
+    }
+
+    // 큰 body(RequestBody)라면 true 입니다.
+    public boolean isBodyStreamed() {
+        return Objects.nonNull(requestBody);
+    }
+
+    // Router가 pattern의 {name}, * 과 일치한 값을 설정 합니다.
+    public String getPathParameter(String name) {
+        return pathParameters.get(name);
+    }
+
+    public Map<String, String> getPathParameters() {
+        return pathParameters;
+    }
+
+    public void setPathParameters(Map<String, String> pathParameters) {
+        if(Objects.isNull(pathParameters)){
+            throw new IllegalArgumentException("pathParameters is null");
+        }
+        this.pathParameters = pathParameters;
+    }
+}
@@ -0,0 +1,313 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.request;
+
+import com.nhnacademy.http.metrics.HttpMetrics;
+import com.nhnacademy.http.parser.ChunkedDecoder;
+import com.nhnacademy.http.parser.HttpRequestParser;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/* 요청 buffer에 담을 수 없는 큰 request body 입니다. (HttpRequestParser.hasStreamedBody())
+ * 연결에서 읽은 byte를 append() 로 조금씩 추가 합니다.
+ *  - memoryThreshold 이하 : heap buffer에 보관 합니다.
+ *  - memoryThreshold 초과 : 임시 파일에 FileChannel로 기록 합니다. 파일은 close() 할 때 삭제 됩니다(DELETE_ON_CLOSE).
+ * Transfer-Encoding: chunked 요청은 ChunkedDecoder로 해석한 data만 추가 합니다. 길이를 미리 알 수 없으므로
+ * heap buffer를 memoryThreshold 까지 늘려가며 사용하고, 넘치면 임시 파일로 옮깁니다.
+ * handler는 getInputStream()으로 처음부터 읽거나, getBuffer()로 전체를 읽을 수 있습니다. (임시 파일은 memory-mapped buffer)
+ */
+public class RequestBody implements Closeable {
+    // -Dhttp.body.memoryThreshold=65536
+    public static final int DEFAULT_MEMORY_THRESHOLD = Integer.getInteger("http.body.memoryThreshold", 64 * 1024);
+    private static final Path TEMP_DIRECTORY = Paths.get(System.getProperty("java.io.tmpdir"));
+    // chunked body의 heap buffer 초기 크기 입니다.
+    private static final int INITIAL_CHUNKED_CAPACITY = 8192;
+
+    private final int memoryThreshold;
+    private final Path tempDirectory;
+    // chunked body가 아니라면 null 입니다.
+    private final ChunkedDecoder decoder;
+    // chunked body는 모두 읽을 때 까지 -1 입니다.
+    private long length;
+    private ByteBuffer memory;
+    private FileChannel file;
+    private long received;
+
+    public RequestBody(long length) throws IOException {
+        this(length, DEFAULT_MEMORY_THRESHOLD, TEMP_DIRECTORY);
+    }
+
+    public RequestBody(long length, int memoryThreshold, Path tempDirectory) throws IOException {
+        this(length, null, memoryThreshold, tempDirectory);
+        if(length <= memoryThreshold){
+            this.memory = ByteBuffer.allocate((int) length);
+        }else{
+            spill();
+        }
+    }
+
+    private RequestBody(long length, ChunkedDecoder decoder, int memoryThreshold, Path tempDirectory) {
+        if(Objects.isNull(decoder) && length < 0){
+            throw new IllegalArgumentException("length must be positive");
+        }
+        if(memoryThreshold < 0){
+            throw new IllegalArgumentException("memoryThreshold must be positive");
+        }
+        if(Objects.isNull(tempDirectory)){
+            throw new IllegalArgumentException("tempDirectory is null");
+        }
+        this.length = length;
+        this.decoder = decoder;
+        this.memoryThreshold = memoryThreshold;
+        this.tempDirectory = tempDirectory;
+    }
+
+    /**
+     * Transfer-Encoding: chunked body 입니다.
+     * @param maxLength chunk data 크기의 합 입니다. 초과하면 append()에서 413(HttpParseException)이 발생 합니다.
+     */
+    public static RequestBody chunked(long maxLength) {
+        return chunked(maxLength, DEFAULT_MEMORY_THRESHOLD, TEMP_DIRECTORY);
+    }
+
+    public static RequestBody chunked(long maxLength, int memoryThreshold, Path tempDirectory) {
+        RequestBody requestBody = new RequestBody(-1, new ChunkedDecoder(maxLength), memoryThreshold, tempDirectory);
+        requestBody.memory = ByteBuffer.allocate(Math.min(memoryThreshold, INITIAL_CHUNKED_CAPACITY));
+        return requestBody;
+    }
+
+    // parser가 해석한 head(Content-Length 또는 Transfer-Encoding)에 맞는 body를 생성 합니다.
+    public static RequestBody from(HttpRequestParser parser) throws IOException {
+        if(Objects.isNull(parser)){
+            throw new IllegalArgumentException("parser is null");
+        }
+        if(!parser.hasStreamedBody()){
+            throw new IllegalArgumentException("request has no streamed body");
+        }
+        if(parser.isChunked()){
+            return chunked(parser.getMaxStreamedBodySize());
+        }
+        return new RequestBody(parser.getStreamedBodyLength());
+    }
+
+    /**
+     * src에서 body의 남은 크기 만큼 읽어서 추가 합니다. src에 다음 요청이 이어져 있다면 그 부분은 읽지 않습니다.
+     * chunked body는 chunk-size line과 trailer도 읽지만 data만 추가 합니다.
+     * @return src에서 읽은 byte 수
+     * @throws com.nhnacademy.exceptions.HttpParseException chunk 형식이 잘못되었거나 크기 제한을 초과한 경우
+     */
+    public int append(ByteBuffer src) throws IOException {
+        if(Objects.nonNull(decoder)){
+            int start = src.position();
+            ByteBuffer data;
+            while((data = decoder.next(src)) != null){
+                write(data);
+            }
+            if(decoder.isComplete()){
+                length = received;
+            }
+            return src.position() - start;
+        }
+        long remaining = length - received;
+        int count = (int) Math.min(src.remaining(), remaining);
+        if(count == 0){
+            return 0;
+        }
+        write(src.slice(src.position(), count));
+        src.position(src.position() + count);
+        return count;
+    }
+
+    private void write(ByteBuffer part) throws IOException {
+        int count = part.remaining();
+        if(Objects.nonNull(memory) && memory.remaining() < count){
+            // chunked body 입니다. memoryThreshold 까지 늘리고, 넘치면 임시 파일로 옮깁니다.
+            long required = received + count;
+            if(required > memoryThreshold){
+                spill();
+            }else{
+                ByteBuffer larger = ByteBuffer.allocate((int) Math.min(memoryThreshold, Math.max(required, (long) memory.capacity() * 2)));
+                memory = larger.put(memory.flip());
+            }
+        }
+        if(Objects.nonNull(memory)){
+            memory.put(part);
+        }else{
+            while(part.hasRemaining()){
+                file.write(part, received + (count - part.remaining()));
+            }
+        }
+        received += count;
+    }
+
+    // 임시 파일을 생성하고, heap buffer에 보관하던 byte를 옮깁니다.
+    private void spill() throws IOException {
+        Path path = Files.createTempFile(tempDirectory, "http-body-", ".tmp");
+        file = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+        HttpMetrics.get().requestBodySpilled();
+        if(Objects.nonNull(memory)){
+            ByteBuffer stored = memory.flip();
+            while(stored.hasRemaining()){
+                file.write(stored, stored.position());
+            }
+            memory = null;
+        }
+    }
+
+    // chunked body는 모두 읽을 때 까지 -1 입니다.
+    public long getLength() {
+        return length;
+    }
+
+    public long getReceived() {
+        return received;
+    }
+
+    /**
+     * 아직 읽어야 할 byte 수 입니다.
+     * chunked body는 전체 크기를 알 수 없으므로 body에 속한 것이 확실한 최소 byte 수 입니다. (ChunkedDecoder.getMinimumRemaining())
+     */
+    public long getRemaining() {
+        return Objects.nonNull(decoder) ? decoder.getMinimumRemaining() : length - received;
+    }
+
+    public boolean isComplete(){
+        return Objects.nonNull(decoder) ? decoder.isComplete() : received == length;
+    }
+
+    public boolean isChunked(){
+        return Objects.nonNull(decoder);
+    }
+
+    // 임시 파일에 기록 했다면 true 입니다.
+    public boolean isSpilled(){
+        return Objects.nonNull(file);
+    }
+
+    /**
+     * body 전체의 read-only buffer 입니다. 임시 파일은 memory-mapped buffer로 heap을 사용하지 않습니다.
+     */
+    public ByteBuffer getBuffer() throws IOException {
+        checkComplete();
+        if(Objects.nonNull(memory)){
+            return memory.duplicate().flip().asReadOnlyBuffer();
+        }
+        return file.map(FileChannel.MapMode.READ_ONLY, 0, length);
+    }
+
+    // 호출할 때 마다 body의 처음부터 읽는 InputStream을 생성 합니다.
+    public InputStream getInputStream() throws IOException {
+        checkComplete();
+        if(Objects.nonNull(memory)){
+            return new BufferInputStream(memory.duplicate().flip());
+        }
+        return new FileInputStream(file, length);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if(Objects.nonNull(file)){
+            file.close();
+        }
+    }
+
+    private void checkComplete(){
+        if(!isComplete()){
+            throw new IllegalStateException(String.format("body is not complete : %d/%d", received, length));
+        }
+    }
+
+    // HttpRequest의 작은 body(요청 buffer의 view)를 InputStream으로 읽을 때도 사용합니다.
+    static final class BufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        BufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            Objects.checkFromIndexSize(offset, length, bytes.length);
+            if(length == 0){
+                return 0;
+            }
+            if(!buffer.hasRemaining()){
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+
+    // 위치를 지정해서 읽으므로(positional read) 여러 InputStream이 같은 FileChannel을 공유할 수 있습니다.
+    private static final class FileInputStream extends InputStream {
+        private final FileChannel file;
+        private final long length;
+        private long position;
+
+        private FileInputStream(FileChannel file, long length) {
+            this.file = file;
+            this.length = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int count) throws IOException {
+            Objects.checkFromIndexSize(offset, count, bytes.length);
+            if(count == 0){
+                return 0;
+            }
+            if(position >= length){
+                return -1;
+            }
+            ByteBuffer target = ByteBuffer.wrap(bytes, offset, (int) Math.min(count, length - position));
+            int read = file.read(target, position);
+            if(read < 0){
+                return -1;
+            }
+            position += read;
+            return read;
+        }
+
+        @Override
+        public int available() {
+            return (int) Math.min(Integer.MAX_VALUE, length - position);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.response;
+
+import com.nhnacademy.http.metrics.HttpMetrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/* StreamingBody가 기록한 byte를 chunkSize 만큼 모아서 전송 합니다. 연결마다 chunkSize 만큼의 memory만 사용합니다.
+ *  - chunked : "Transfer-Encoding: chunked" 형식(크기\r\n data \r\n)으로 전송하고, close() 시 마지막 chunk(0\r\n\r\n)를 전송 합니다.
+ *  - 그렇지 않다면 : 받은 byte를 그대로 전송 합니다. (Content-Length를 지정했거나, 연결 종료로 body의 끝을 알리는 경우)
+ * chunk header 자리를 buffer 앞에 비워 두므로 chunk 하나를 한 번의 write로 전송 합니다.
+ * close()는 underlying stream을 닫지 않습니다. 같은 연결로 다음 응답을 전송할 수 있습니다.
+ */
+public class ChunkedOutputStream extends OutputStream {
+    public static final int DEFAULT_CHUNK_SIZE = 8 * 1024;
+
+    // 16진수 크기(최대 8자리) + CRLF
+    private static final int CHUNK_HEADER_SIZE = 10;
+    private static final byte[] LAST_CHUNK = "0\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private final OutputStream out;
+    private final boolean chunked;
+    private final int chunkSize;
+    // [CHUNK_HEADER_SIZE, CHUNK_HEADER_SIZE + count) 구간이 아직 전송하지 않은 data 입니다. 마지막 2 byte는 CRLF 자리 입니다.
+    private final byte[] buffer;
+    private int count;
+    private boolean closed;
+
+    public ChunkedOutputStream(OutputStream out, boolean chunked) {
+        this(out, chunked, DEFAULT_CHUNK_SIZE);
+    }
+
+    public ChunkedOutputStream(OutputStream out, boolean chunked, int chunkSize) {
+        if(Objects.isNull(out)){
+            throw new IllegalArgumentException("out is null");
+        }
+        if(chunkSize < 1){
+            throw new IllegalArgumentException("chunkSize must be greater than 0");
+        }
+        this.out = out;
+        this.chunked = chunked;
+        this.chunkSize = chunkSize;
+        this.buffer = new byte[CHUNK_HEADER_SIZE + chunkSize + 2];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        if(count == chunkSize){
+            emit();
+        }
+        buffer[CHUNK_HEADER_SIZE + count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+        ensureOpen();
+        while(length > 0){
+            if(count == chunkSize){
+                emit();
+            }
+            int n = Math.min(length, chunkSize - count);
+            System.arraycopy(bytes, offset, buffer, CHUNK_HEADER_SIZE + count, n);
+            count += n;
+            offset += n;
+            length -= n;
+        }
+    }
+
+    // 모아둔 byte를 chunk 하나로 즉시 전송 합니다.
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        emit();
+        out.flush();
+    }
+
+    // 남은 byte와 마지막 chunk를 전송 합니다.
+    @Override
+    public void close() throws IOException {
+        if(closed){
+            return;
+        }
+        emit();
+        if(chunked){
+            out.write(LAST_CHUNK);
+            HttpMetrics.get().bytesSent(LAST_CHUNK.length);
+        }
+        out.flush();
+        closed = true;
+    }
+
+    private void emit() throws IOException {
+        if(count == 0){
+            return;
+        }
+        if(!chunked){
+            out.write(buffer, CHUNK_HEADER_SIZE, count);
+            HttpMetrics.get().bytesSent(count);
+            count = 0;
+            return;
+        }
+        // chunk header는 data 바로 앞에, CRLF는 data 바로 뒤에 기록 합니다.
+        int start = CHUNK_HEADER_SIZE - 2;
+        buffer[start] = '\r';
+        buffer[start + 1] = '\n';
+        for(int size = count; size > 0; size >>>= 4){
+            buffer[--start] = HEX[size & 0xf];
+        }
+        int end = CHUNK_HEADER_SIZE + count;
+        buffer[end++] = '\r';
+        buffer[end++] = '\n';
+        out.write(buffer, start, end - start);
+        HttpMetrics.get().bytesSent(end - start);
+        count = 0;
+    }
+
+    private void ensureOpen() throws IOException {
+        if(closed){
+            throw new IOException("stream closed");
+        }
+    }
+}
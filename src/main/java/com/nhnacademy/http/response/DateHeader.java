@@ -0,0 +1,69 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http.response;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+/* "Date: Sun, 06 Nov 1994 08:49:37 GMT\r\n" header를 1초에 한 번만 생성 합니다.
+ * 같은 초에 처리되는 요청은 encode된 byte 배열을 공유 합니다.
+ */
+public final class DateHeader {
+    private static final DateTimeFormatter IMF_FIXDATE =
+            DateTimeFormatter.ofPattern("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.ENGLISH).withZone(ZoneOffset.UTC);
+
+    private record Entry(long epochSecond, byte[] header) { }
+
+    private static volatile Entry cached = new Entry(Long.MIN_VALUE, null);
+
+    private DateHeader() {
+    }
+
+    // 반환된 배열은 공유되므로 변경하면 안됩니다.
+    public static byte[] get(){
+        return get(System.currentTimeMillis());
+    }
+
+    // Last-Modified 처럼 HTTP-date 형식이 필요한 header 값을 생성 합니다.
+    public static String format(long epochMillis){
+        return IMF_FIXDATE.format(Instant.ofEpochMilli(epochMillis));
+    }
+
+    /**
+     * If-Modified-Since 처럼 HTTP-date 형식의 header 값을 해석 합니다.
+     * @return epoch millis, 형식이 잘못되었다면 -1
+     */
+    public static long parse(String httpDate){
+        try{
+            return Instant.from(IMF_FIXDATE.parse(httpDate)).toEpochMilli();
+        }catch (DateTimeParseException e){
+            return -1;
+        }
+    }
+
+    static byte[] get(long currentTimeMillis){
+        long epochSecond = Math.floorDiv(currentTimeMillis, 1000);
+        Entry entry = cached;
+        if(entry.epochSecond() != epochSecond){
+            // 여러 thread가 동시에 갱신하더라도 같은 값을 만들기 때문에 lock이 필요하지 않습니다.
+            String header = "Date: " + IMF_FIXDATE.format(Instant.ofEpochSecond(epochSecond)) + "\r\n";
+            entry = new Entry(epochSecond, header.getBytes(StandardCharsets.US_ASCII));
+            cached = entry;
+        }
+        return entry.header();
+    }
+}
@@ -0,0 +1,30 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http.response;
+
+import java.nio.file.Path;
+import java.util.Objects;
+
+/* 파일의 [position, position + count) 구간을 응답 body로 사용합니다.
+ * heap으로 복사하지 않고 FileChannel.transferTo(sendfile)로 socket에 전송 합니다.
+ */
+public record FileRegion(Path path, long position, long count) {
+    public FileRegion {
+        if(Objects.isNull(path)){
+            throw new IllegalArgumentException("path is null");
+        }
+        if(position < 0 || count < 0){
+            throw new IllegalArgumentException(String.format("invalid region : position=%d, count=%d", position, count));
+        }
+    }
+}
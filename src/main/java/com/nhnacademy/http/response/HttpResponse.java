@@ -0,0 +1,177 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http.response;
+
+import com.nhnacademy.http.websocket.WebSocketUpgrade;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/* handler가 작성하는 응답 입니다. status, Content-Type, body 외의 header는 setHeader()로 추가 합니다.
+ * body는 ByteBuffer, FileRegion(파일의 일부), StreamingBody(조금씩 생성하는 body) 중 하나를 사용합니다.
+ * byte로 encode하는 작업은 HttpResponseWriter가 담당 합니다.
+ */
+public class HttpResponse {
+    public static final String TEXT_HTML = "text/html; charset=UTF-8";
+    public static final String TEXT_PLAIN = "text/plain; charset=UTF-8";
+
+    private static final ByteBuffer EMPTY_BODY = ByteBuffer.allocate(0);
+
+    private HttpStatus status = HttpStatus.OK;
+    private String contentType;
+    private final Map<String, String> headers = new LinkedHashMap<>();
+    private ByteBuffer body = EMPTY_BODY;
+    private FileRegion fileRegion;
+    private StreamingBody streamingBody;
+    // HEAD 요청처럼 body 없이 Content-Length만 전송할 때 사용합니다. 음수라면 body 크기를 사용합니다.
+    private long contentLength = -1;
+    // handler가 응답 후 연결 종료를 요청했는지 여부 입니다.
+    private boolean close;
+    // 101 응답을 전송한 뒤 연결을 WebSocket으로 전환 합니다. (WebSocketUpgradeHandler)
+    private WebSocketUpgrade webSocketUpgrade;
+
+    public HttpResponse() {
+    }
+
+    public HttpResponse(HttpStatus status) {
+        setStatus(status);
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public HttpResponse setStatus(HttpStatus status) {
+        if(Objects.isNull(status)){
+            throw new IllegalArgumentException("status is null");
+        }
+        this.status = status;
+        return this;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public HttpResponse setContentType(String contentType) {
+        this.contentType = contentType;
+        return this;
+    }
+
+    public HttpResponse setHeader(String name, String value) {
+        if(Objects.isNull(name) || name.isBlank()){
+            throw new IllegalArgumentException("header name is empty");
+        }
+        if(Objects.isNull(value)){
+            headers.remove(name);
+        }else{
+            headers.put(name, value);
+        }
+        return this;
+    }
+
+    public String getHeader(String name) {
+        return headers.get(name);
+    }
+
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    public ByteBuffer getBody() {
+        return body;
+    }
+
+    public HttpResponse setBody(ByteBuffer body) {
+        this.body = Objects.isNull(body) ? EMPTY_BODY : body;
+        this.fileRegion = null;
+        this.streamingBody = null;
+        return this;
+    }
+
+    public FileRegion getFileRegion() {
+        return fileRegion;
+    }
+
+    // 파일의 일부를 body로 사용합니다. 전송할 때 FileChannel.transferTo()를 사용합니다.
+    public HttpResponse setBody(FileRegion fileRegion) {
+        this.fileRegion = fileRegion;
+        this.body = EMPTY_BODY;
+        this.streamingBody = null;
+        return this;
+    }
+
+    public StreamingBody getStreamingBody() {
+        return streamingBody;
+    }
+
+    public boolean isStreaming() {
+        return Objects.nonNull(streamingBody);
+    }
+
+    /**
+     * body를 조금씩 생성해서 전송 합니다. 크기를 미리 알 수 없으므로 setContentLength()를 호출하지 않았다면
+     * "Transfer-Encoding: chunked"로 전송 합니다. (HTTP/1.0 client에게는 연결을 종료해서 body의 끝을 알립니다.)
+     */
+    public HttpResponse setBody(StreamingBody streamingBody) {
+        this.streamingBody = streamingBody;
+        this.body = EMPTY_BODY;
+        this.fileRegion = null;
+        return this;
+    }
+
+    // StreamingBody의 크기를 지정하지 않았다면 -1 입니다.
+    public long getContentLength() {
+        if(contentLength >= 0){
+            return contentLength;
+        }
+        if(isStreaming()){
+            return -1;
+        }
+        return Objects.nonNull(fileRegion) ? fileRegion.count() : body.remaining();
+    }
+
+    public HttpResponse setContentLength(long contentLength) {
+        this.contentLength = contentLength;
+        return this;
+    }
+
+    public HttpResponse setBody(byte[] body) {
+        return setBody(Objects.isNull(body) ? null : ByteBuffer.wrap(body));
+    }
+
+    public HttpResponse setBody(String body) {
+        return setBody(Objects.isNull(body) ? null : body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean isClose() {
+        return close;
+    }
+
+    public HttpResponse setClose(boolean close) {
+        this.close = close;
+        return this;
+    }
+
+    public WebSocketUpgrade getWebSocketUpgrade() {
+        return webSocketUpgrade;
+    }
+
+    public HttpResponse setWebSocketUpgrade(WebSocketUpgrade webSocketUpgrade) {
+        this.webSocketUpgrade = webSocketUpgrade;
+        return this;
+    }
+}
@@ -0,0 +1,331 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http.response;
+
+import com.nhnacademy.http.buffer.BufferPool;
+import com.nhnacademy.http.channel.KeepAlivePolicy;
+import com.nhnacademy.http.metrics.HttpMetrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/* HttpResponse를 byte로 encode 합니다.
+ * status line, Server, Content-Type, Connection header는 미리 encode한 byte 배열을 복사하고,
+ * Date header는 DateHeader의 cache를 사용합니다. 요청마다 String.format이나 문자 encoding을 하지 않습니다.
+ * header buffer를 재사용하므로 연결 하나에 writer 하나를 사용하고, 이전 응답을 전송한 뒤에 다음 응답을 encode 합니다.
+ */
+public class HttpResponseWriter {
+    public static final int RETRY_AFTER_SECONDS = 1;
+    private static final int DEFAULT_HEADER_BUFFER_SIZE = 1024;
+
+    private static final byte[] SERVER = ascii("Server: HTTP server/0.1\r\n");
+    private static final byte[] CONNECTION_CLOSE = ascii("Connection: close\r\n");
+    private static final byte[] CONTENT_LENGTH = ascii("Content-Length: ");
+    private static final byte[] TRANSFER_ENCODING_CHUNKED = ascii("Transfer-Encoding: chunked\r\n");
+    private static final byte[] HEADER_SEPARATOR = ascii(": ");
+    private static final byte[] CRLF = ascii("\r\n");
+
+    // 과부하로 요청을 거절할 때 사용합니다. 상태와 관계 없이 같은 응답이므로 미리 encode 합니다.
+    private static final byte[] SERVICE_UNAVAILABLE = ascii("HTTP/1.1 503 Service Unavailable\r\n"
+            + "Server: HTTP server/0.1\r\n"
+            + "Retry-After: " + RETRY_AFTER_SECONDS + "\r\n"
+            + "Connection: close\r\n"
+            + "Content-Length: 0\r\n\r\n");
+
+    // client 별 요청 수 제한(RateLimiter)을 초과했을 때 사용합니다.
+    // 거절이 몰릴 때 요청마다 할당하지 않도록 읽기 전용 buffer 하나를 공유하고 duplicate()로 전송 합니다.
+    private static final ByteBuffer TOO_MANY_REQUESTS = ByteBuffer.wrap(ascii("HTTP/1.1 429 Too Many Requests\r\n"
+            + "Server: HTTP server/0.1\r\n"
+            + "Retry-After: " + RETRY_AFTER_SECONDS + "\r\n"
+            + "Connection: close\r\n"
+            + "Content-Length: 0\r\n\r\n")).asReadOnlyBuffer();
+
+    // Expect: 100-continue 요청에 body를 전송해도 된다고 알립니다. (interim response)
+    private static final byte[] CONTINUE = ascii("HTTP/1.1 100 Continue\r\n\r\n");
+
+    // "Content-Type: text/html; charset=UTF-8\r\n"
+    private static final Map<String, byte[]> CONTENT_TYPE_HEADERS = new ConcurrentHashMap<>();
+
+    private final byte[] keepAliveHeader;
+    // null이라면 header buffer를 pool에서 할당하지 않습니다.
+    private final BufferPool bufferPool;
+    private ByteBuffer headerBuffer;
+    private final ByteBuffer[] buffers = new ByteBuffer[2];
+
+    public HttpResponseWriter() {
+        this(KeepAlivePolicy.DEFAULT);
+    }
+
+    public HttpResponseWriter(KeepAlivePolicy keepAlivePolicy) {
+        this(keepAlivePolicy, null, false);
+    }
+
+    /**
+     * header buffer를 bufferPool에서 할당 합니다. 연결을 종료할 때 release()를 호출해야 합니다.
+     */
+    public HttpResponseWriter(KeepAlivePolicy keepAlivePolicy, BufferPool bufferPool) {
+        this(keepAlivePolicy, bufferPool, true);
+    }
+
+    private HttpResponseWriter(KeepAlivePolicy keepAlivePolicy, BufferPool bufferPool, boolean pooled) {
+        if(Objects.isNull(keepAlivePolicy)){
+            throw new IllegalArgumentException("keepAlivePolicy is null");
+        }
+        if(pooled && Objects.isNull(bufferPool)){
+            throw new IllegalArgumentException("bufferPool is null");
+        }
+        this.bufferPool = bufferPool;
+        this.headerBuffer = allocate(DEFAULT_HEADER_BUFFER_SIZE);
+        this.keepAliveHeader = ascii(String.format("Connection: keep-alive\r\nKeep-Alive: timeout=%d\r\n",
+                keepAlivePolicy.getIdleTimeoutMillis() / 1000));
+    }
+
+    /**
+     * 응답을 header와 body buffer로 encode 합니다. 두 buffer를 gathering write로 한 번에 전송할 수 있습니다.
+     * body가 FileRegion이라면 body buffer는 비어 있고, 파일은 header 다음에 따로 전송해야 합니다.
+     * body가 StreamingBody라면 header 다음에 writeStreamingBody()로 전송해야 합니다.
+     * 반환된 배열과 header buffer는 다음 encode() 호출 시 재사용 됩니다.
+     */
+    public ByteBuffer[] encode(HttpResponse response, boolean keepAlive){
+        return encode(response, keepAlive, false);
+    }
+
+    /**
+     * @param head HEAD 요청의 응답이라면 body buffer는 비어 있고, body와 파일은 전송한 byte 수에 포함하지 않습니다.
+     */
+    public ByteBuffer[] encode(HttpResponse response, boolean keepAlive, boolean head){
+        if(Objects.isNull(response)){
+            throw new IllegalArgumentException("response is null");
+        }
+        if(Objects.isNull(headerBuffer)){
+            throw new IllegalStateException("writer is released");
+        }
+        ByteBuffer body = response.getBody().duplicate();
+        if(head){
+            // Content-Length는 GET과 같은 값을 전송하고 body는 전송하지 않습니다.
+            body.limit(body.position());
+        }
+
+        headerBuffer.clear();
+        while(!tryEncodeHeader(response, keepAlive, response.getContentLength())){
+            // 추가 header가 많아 buffer가 부족합니다.
+            ByteBuffer previous = headerBuffer;
+            headerBuffer = allocate(headerBuffer.capacity() * 2);
+            if(Objects.nonNull(bufferPool)){
+                bufferPool.release(previous);
+            }
+        }
+        headerBuffer.flip();
+
+        // encode한 응답은 모두 전송 된다고 보고 기록 합니다.
+        FileRegion fileRegion = response.getFileRegion();
+        long fileBytes = !head && Objects.nonNull(fileRegion) && response.getContentLength() == fileRegion.count() ? fileRegion.count() : 0;
+        HttpMetrics.get().bytesSent(headerBuffer.remaining() + body.remaining() + fileBytes);
+        HttpMetrics.get().responseSent(response.getStatus());
+
+        buffers[0] = headerBuffer;
+        buffers[1] = body;
+        return buffers;
+    }
+
+    // header buffer를 pool에 반환 합니다. 이후에는 encode()를 호출할 수 없습니다.
+    public void release(){
+        if(Objects.nonNull(bufferPool) && Objects.nonNull(headerBuffer)){
+            bufferPool.release(headerBuffer);
+        }
+        headerBuffer = null;
+    }
+
+    private ByteBuffer allocate(int capacity){
+        return Objects.isNull(bufferPool) ? ByteBuffer.allocate(capacity) : bufferPool.acquire(capacity);
+    }
+
+    /**
+     * 101 Switching Protocols 응답을 encode 합니다. 1xx 응답은 body가 없으므로 Content-Length와 Connection: keep-alive를 사용하지 않습니다.
+     * handler가 지정한 header(Upgrade, Connection, Sec-WebSocket-Accept 등)를 그대로 전송 합니다.
+     */
+    public static ByteBuffer switchingProtocols(HttpResponse response){
+        StringBuilder builder = new StringBuilder();
+        for(Map.Entry<String, String> header : response.getHeaders().entrySet()){
+            builder.append(header.getKey()).append(": ").append(header.getValue()).append("\r\n");
+        }
+        byte[] headers = ascii(builder.append("\r\n").toString());
+        byte[] statusLine = HttpStatus.SWITCHING_PROTOCOLS.getStatusLine();
+        byte[] date = DateHeader.get();
+        ByteBuffer buffer = ByteBuffer.allocate(statusLine.length + SERVER.length + date.length + headers.length);
+        buffer.put(statusLine).put(SERVER).put(date).put(headers).flip();
+        HttpMetrics.get().bytesSent(buffer.remaining());
+        HttpMetrics.get().responseSent(HttpStatus.SWITCHING_PROTOCOLS);
+        return buffer;
+    }
+
+    /**
+     * 미리 encode한 "503 Service Unavailable" 응답 입니다. Retry-After를 포함하며 전송 후 연결을 종료해야 합니다.
+     */
+    public static ByteBuffer serviceUnavailable(){
+        HttpMetrics.get().bytesSent(SERVICE_UNAVAILABLE.length);
+        HttpMetrics.get().responseSent(HttpStatus.SERVICE_UNAVAILABLE);
+        return ByteBuffer.wrap(SERVICE_UNAVAILABLE).asReadOnlyBuffer();
+    }
+
+    // 미리 encode한 429 응답 입니다.
+    public static ByteBuffer tooManyRequests(){
+        HttpMetrics.get().bytesSent(TOO_MANY_REQUESTS.remaining());
+        HttpMetrics.get().responseSent(HttpStatus.TOO_MANY_REQUESTS);
+        return TOO_MANY_REQUESTS.duplicate();
+    }
+
+    // 미리 encode한 100 Continue 응답 입니다. 최종 응답 전에 전송 합니다.
+    public static ByteBuffer continueResponse(){
+        HttpMetrics.get().bytesSent(CONTINUE.length);
+        return ByteBuffer.wrap(CONTINUE).asReadOnlyBuffer();
+    }
+
+    /**
+     * StreamingBody를 전송 합니다. header를 전송한 뒤 호출 합니다.
+     * 크기를 지정하지 않은 body는 keepAlive라면 chunked로, 그렇지 않다면 연결을 종료할 때 까지 그대로 전송 합니다.
+     * body를 생성하는 도중 예외가 발생하면 마지막 chunk를 전송하지 않습니다. 호출한 쪽은 연결을 종료해야 합니다.
+     */
+    public static void writeStreamingBody(HttpResponse response, boolean keepAlive, OutputStream out) throws IOException {
+        if(Objects.isNull(response) || !response.isStreaming()){
+            throw new IllegalArgumentException("response is not streaming");
+        }
+        ChunkedOutputStream body = new ChunkedOutputStream(out, isChunked(response, keepAlive));
+        try{
+            response.getStreamingBody().writeTo(body);
+        }catch (RuntimeException e){
+            throw new IOException("streaming body error", e);
+        }
+        body.close();
+    }
+
+    private static boolean isChunked(HttpResponse response, boolean keepAlive){
+        return response.isStreaming() && response.getContentLength() < 0 && keepAlive;
+    }
+
+    public void write(HttpResponse response, boolean keepAlive, WritableByteChannel channel) throws IOException {
+        write(response, keepAlive, false, channel);
+    }
+
+    /**
+     * 응답을 전송 합니다(blocking channel). GatheringByteChannel이라면 header와 body를 한 번의 write로 전송 합니다.
+     * body가 FileRegion이라면 header를 전송한 뒤 FileChannel.transferTo()로 파일을 전송 합니다.
+     * StreamingBody는 전송하지 않습니다. writeStreamingBody()를 사용합니다.
+     * @param head HEAD 요청의 응답이라면 header만 전송 합니다.
+     */
+    public void write(HttpResponse response, boolean keepAlive, boolean head, WritableByteChannel channel) throws IOException {
+        ByteBuffer[] encoded = encode(response, keepAlive, head);
+        if(channel instanceof GatheringByteChannel gatheringByteChannel){
+            while(encoded[1].hasRemaining() || encoded[0].hasRemaining()){
+                gatheringByteChannel.write(encoded);
+            }
+        }else{
+            for(ByteBuffer buffer : encoded){
+                while(buffer.hasRemaining()){
+                    channel.write(buffer);
+                }
+            }
+        }
+
+        FileRegion fileRegion = response.getFileRegion();
+        if(!head && Objects.nonNull(fileRegion) && response.getContentLength() == fileRegion.count()){
+            try(FileChannel fileChannel = FileChannel.open(fileRegion.path(), StandardOpenOption.READ)){
+                transfer(fileChannel, fileRegion, channel);
+            }
+        }
+    }
+
+    // 파일이 전송 중에 줄어들었다면 Content-Length를 지킬 수 없으므로 예외를 발생시킵니다.
+    static void transfer(FileChannel fileChannel, FileRegion fileRegion, WritableByteChannel channel) throws IOException {
+        long position = fileRegion.position();
+        long end = fileRegion.position() + fileRegion.count();
+        while(position < end){
+            long transferred = fileChannel.transferTo(position, end - position, channel);
+            if(transferred <= 0 && position >= fileChannel.size()){
+                throw new IOException(String.format("file truncated : %s", fileRegion.path()));
+            }
+            position += transferred;
+        }
+    }
+
+    private boolean tryEncodeHeader(HttpResponse response, boolean keepAlive, long contentLength){
+        headerBuffer.clear();
+        if(!put(response.getStatus().getStatusLine())
+                || !put(SERVER)
+                || !put(DateHeader.get())){
+            return false;
+        }
+        if(Objects.nonNull(response.getContentType())
+                && !put(CONTENT_TYPE_HEADERS.computeIfAbsent(response.getContentType(), type -> ascii("Content-Type: " + type + "\r\n")))){
+            return false;
+        }
+        for(Map.Entry<String, String> header : response.getHeaders().entrySet()){
+            if(!put(ascii(header.getKey())) || !put(HEADER_SEPARATOR) || !put(ascii(header.getValue())) || !put(CRLF)){
+                return false;
+            }
+        }
+        if(!put(keepAlive ? keepAliveHeader : CONNECTION_CLOSE)){
+            return false;
+        }
+        // 204, 304 응답에는 body가 없으므로 Content-Length를 전송하지 않습니다.
+        boolean bodyAllowed = response.getStatus() != HttpStatus.NO_CONTENT && response.getStatus() != HttpStatus.NOT_MODIFIED;
+        if(bodyAllowed && isChunked(response, keepAlive) && !put(TRANSFER_ENCODING_CHUNKED)){
+            return false;
+        }
+        // 크기를 알 수 없는 StreamingBody는 Content-Length를 전송하지 않습니다.
+        if(bodyAllowed && contentLength >= 0
+                && (!put(CONTENT_LENGTH) || !putDecimal(contentLength) || !put(CRLF))){
+            return false;
+        }
+        return put(CRLF);
+    }
+
+    private boolean put(byte[] bytes){
+        if(headerBuffer.remaining() < bytes.length){
+            return false;
+        }
+        headerBuffer.put(bytes);
+        return true;
+    }
+
+    // String을 생성하지 않고 숫자를 ASCII로 기록 합니다.
+    private boolean putDecimal(long value){
+        int digits = 1;
+        for(long v = value; v >= 10; v /= 10){
+            digits++;
+        }
+        if(headerBuffer.remaining() < digits){
+            return false;
+        }
+        int end = headerBuffer.position() + digits;
+        for(int i = end - 1; i >= headerBuffer.position(); i--){
+            headerBuffer.put(i, (byte) ('0' + value % 10));
+            value /= 10;
+        }
+        headerBuffer.position(end);
+        return true;
+    }
+
+    private static byte[] ascii(String value){
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http.response;
+
+import java.nio.charset.StandardCharsets;
+
+/* 응답 status 입니다. status line("HTTP/1.1 200 OK\r\n")은 class loading 시점에 한 번만 encode 합니다.
+ */
+public enum HttpStatus {
+    SWITCHING_PROTOCOLS(101, "Switching Protocols"),
+    OK(200, "OK"),
+    NO_CONTENT(204, "No Content"),
+    PARTIAL_CONTENT(206, "Partial Content"),
+    NOT_MODIFIED(304, "Not Modified"),
+    BAD_REQUEST(400, "Bad Request"),
+    NOT_FOUND(404, "Not Found"),
+    METHOD_NOT_ALLOWED(405, "Method Not Allowed"),
+    CONTENT_TOO_LARGE(413, "Content Too Large"),
+    RANGE_NOT_SATISFIABLE(416, "Range Not Satisfiable"),
+    UPGRADE_REQUIRED(426, "Upgrade Required"),
+    TOO_MANY_REQUESTS(429, "Too Many Requests"),
+    REQUEST_HEADER_FIELDS_TOO_LARGE(431, "Request Header Fields Too Large"),
+    INTERNAL_SERVER_ERROR(500, "Internal Server Error"),
+    NOT_IMPLEMENTED(501, "Not Implemented"),
+    SERVICE_UNAVAILABLE(503, "Service Unavailable");
+
+    private final int code;
+    private final String reasonPhrase;
+    private final byte[] statusLine;
+
+    HttpStatus(int code, String reasonPhrase) {
+        this.code = code;
+        this.reasonPhrase = reasonPhrase;
+        this.statusLine = String.format("HTTP/1.1 %d %s\r\n", code, reasonPhrase).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public String getReasonPhrase() {
+        return reasonPhrase;
+    }
+
+    // 반환된 배열은 공유되므로 변경하면 안됩니다.
+    byte[] getStatusLine() {
+        return statusLine;
+    }
+
+    public static HttpStatus valueOf(int code){
+        for(HttpStatus status : values()){
+            if(status.code == code){
+                return status;
+            }
+        }
+        throw new IllegalArgumentException(String.format("unknown status code:%d", code));
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.response;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/* 응답 body를 조금씩 생성하는 handler가 사용합니다. body 전체를 memory에 만들지 않습니다.
+ * output에 기록한 byte는 chunk 크기 만큼 모이거나 flush()를 호출하면 전송 됩니다.
+ * client가 받는 속도보다 빠르게 기록하면 write()가 대기 합니다(backpressure).
+ *
+ * ex) response.setBody(output -> {
+ *         for(String line : lines){
+ *             output.write(line.getBytes(StandardCharsets.UTF_8));
+ *         }
+ *     });
+ */
+@FunctionalInterface
+public interface StreamingBody {
+    void writeTo(OutputStream output) throws IOException;
+}
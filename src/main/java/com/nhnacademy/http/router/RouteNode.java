@@ -0,0 +1,177 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http.router;
+
+import com.nhnacademy.http.handler.HttpHandler;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/* radix trie의 node 입니다.
+ * 고정된 문자열은 공통 prefix를 공유하도록 압축하고, path parameter({name})와 wildcard(*)는 별도의 child로 관리 합니다.
+ * 요청 path를 한 번 따라 내려가며 찾으므로 등록된 route 수와 관계 없이 path 길이에 비례하는 시간이 걸립니다.
+ */
+class RouteNode {
+    private String prefix;
+    // 첫 문자로 static child를 찾습니다. indices[i]는 children[i].prefix의 첫 문자 입니다.
+    private char[] indices = new char[0];
+    private RouteNode[] children = new RouteNode[0];
+    private RouteNode parameterChild;
+    private RouteNode wildcardChild;
+
+    // method -> route, 등록 순서를 유지 합니다(Allow header).
+    private Map<String, Route> routes;
+
+    record Route(HttpHandler handler, String[] parameterNames) { }
+
+    RouteNode(String prefix) {
+        this.prefix = prefix;
+    }
+
+    Route getRoute(String method){
+        return Objects.isNull(routes) ? null : routes.get(method);
+    }
+
+    Map<String, Route> getRoutes() {
+        return Objects.isNull(routes) ? Map.of() : routes;
+    }
+
+    boolean hasRoutes(){
+        return Objects.nonNull(routes);
+    }
+
+    void addRoute(String method, Route route){
+        if(Objects.isNull(routes)){
+            routes = new LinkedHashMap<>();
+        }
+        if(Objects.nonNull(routes.putIfAbsent(method, route))){
+            throw new IllegalArgumentException(String.format("duplicate route : %s", method));
+        }
+    }
+
+    // 고정된 문자열을 추가하고 마지막 node를 반환 합니다. 공통 prefix가 일부만 같다면 node를 분할 합니다.
+    RouteNode insertStatic(String path){
+        RouteNode node = this;
+        while(!path.isEmpty()){
+            int index = node.indexOf(path.charAt(0));
+            if(index < 0){
+                return node.addChild(new RouteNode(path));
+            }
+            RouteNode child = node.children[index];
+            int common = commonPrefixLength(child.prefix, path);
+            if(common < child.prefix.length()){
+                RouteNode split = new RouteNode(child.prefix.substring(0, common));
+                child.prefix = child.prefix.substring(common);
+                split.addChild(child);
+                node.children[index] = split;
+                child = split;
+            }
+            node = child;
+            path = path.substring(common);
+        }
+        return node;
+    }
+
+    RouteNode parameterChild(){
+        if(Objects.isNull(parameterChild)){
+            parameterChild = new RouteNode("");
+        }
+        return parameterChild;
+    }
+
+    RouteNode wildcardChild(){
+        if(Objects.isNull(wildcardChild)){
+            wildcardChild = new RouteNode("");
+        }
+        return wildcardChild;
+    }
+
+    /**
+     * path[position..]와 일치하는 node를 찾습니다. 고정된 문자열, path parameter, wildcard 순서로 우선 합니다.
+     * @param values 일치한 path parameter 값이 순서대로 추가 됩니다.
+     * @return route가 등록된 node, 없다면 null
+     */
+    RouteNode match(String path, int position, List<String> values){
+        if(position == path.length()){
+            if(hasRoutes()){
+                return this;
+            }
+            if(Objects.nonNull(wildcardChild)){
+                values.add("");
+                return wildcardChild;
+            }
+            return null;
+        }
+
+        int index = indexOf(path.charAt(position));
+        if(index >= 0){
+            RouteNode child = children[index];
+            if(path.startsWith(child.prefix, position)){
+                RouteNode matched = child.match(path, position + child.prefix.length(), values);
+                if(Objects.nonNull(matched)){
+                    return matched;
+                }
+            }
+        }
+
+        if(Objects.nonNull(parameterChild)){
+            int end = path.indexOf('/', position);
+            if(end < 0){
+                end = path.length();
+            }
+            if(end > position){
+                values.add(path.substring(position, end));
+                RouteNode matched = parameterChild.match(path, end, values);
+                if(Objects.nonNull(matched)){
+                    return matched;
+                }
+                values.remove(values.size() - 1);
+            }
+        }
+
+        if(Objects.nonNull(wildcardChild)){
+            values.add(path.substring(position));
+            return wildcardChild;
+        }
+        return null;
+    }
+
+    private int indexOf(char c){
+        for(int i=0; i<indices.length; i++){
+            if(indices[i] == c){
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private RouteNode addChild(RouteNode child){
+        indices = Arrays.copyOf(indices, indices.length + 1);
+        children = Arrays.copyOf(children, children.length + 1);
+        indices[indices.length - 1] = child.prefix.charAt(0);
+        children[children.length - 1] = child;
+        return child;
+    }
+
+    private static int commonPrefixLength(String a, String b){
+        int length = Math.min(a.length(), b.length());
+        int i = 0;
+        while(i < length && a.charAt(i) == b.charAt(i)){
+            i++;
+        }
+        return i;
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http.router;
+
+import com.nhnacademy.http.handler.HttpHandler;
+import com.nhnacademy.http.request.HttpRequest;
+import com.nhnacademy.http.response.HttpResponse;
+import com.nhnacademy.http.response.HttpStatus;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/* method와 path로 요청을 처리할 handler를 선택 합니다.
+ * pattern 형식
+ *  - /users          : 고정된 path
+ *  - /users/{id}     : path segment 하나와 일치하며 HttpRequest.getPathParameter("id")로 조회 합니다.
+ *  - /static/*       : 나머지 path 전체와 일치하며 getPathParameter("*")로 조회 합니다. pattern의 마지막에만 사용할 수 있습니다.
+ * 고정된 path가 parameter보다, parameter가 wildcard보다 우선 합니다.
+ * route는 server를 시작하기 전에 등록해야 합니다. 등록이 끝난 뒤에는 여러 worker thread가 동시에 조회할 수 있습니다.
+ */
+public class Router implements HttpHandler {
+    public static final String WILDCARD = "*";
+
+    private final RouteNode root = new RouteNode("");
+    private final HttpHandler notFoundHandler;
+
+    public Router() {
+        this(request -> new HttpResponse(HttpStatus.NOT_FOUND));
+    }
+
+    // 일치하는 route가 없는 요청은 notFoundHandler가 처리 합니다. (ex: StaticFileHandler)
+    public Router(HttpHandler notFoundHandler) {
+        if(Objects.isNull(notFoundHandler)){
+            throw new IllegalArgumentException("notFoundHandler is null");
+        }
+        this.notFoundHandler = notFoundHandler;
+    }
+
+    public Router get(String pattern, HttpHandler handler){
+        return add("GET", pattern, handler);
+    }
+
+    public Router post(String pattern, HttpHandler handler){
+        return add("POST", pattern, handler);
+    }
+
+    public Router put(String pattern, HttpHandler handler){
+        return add("PUT", pattern, handler);
+    }
+
+    public Router delete(String pattern, HttpHandler handler){
+        return add("DELETE", pattern, handler);
+    }
+
+    public synchronized Router add(String method, String pattern, HttpHandler handler){
+        if(Objects.isNull(method) || method.isBlank()){
+            throw new IllegalArgumentException("method is empty");
+        }
+        if(Objects.isNull(pattern) || !pattern.startsWith("/")){
+            throw new IllegalArgumentException(String.format("invalid pattern : %s", pattern));
+        }
+        if(Objects.isNull(handler)){
+            throw new IllegalArgumentException("handler is null");
+        }
+
+        List<String> parameterNames = new ArrayList<>();
+        RouteNode node = root;
+        int start = 0;
+        int position = 0;
+        while(position < pattern.length()){
+            char c = pattern.charAt(position);
+            if(c != '{' && c != '*'){
+                position++;
+                continue;
+            }
+            // parameter와 wildcard는 segment 전체를 차지해야 합니다.
+            if(pattern.charAt(position - 1) != '/'){
+                throw new IllegalArgumentException(String.format("invalid pattern : %s", pattern));
+            }
+            node = node.insertStatic(pattern.substring(start, position));
+            if(c == '*'){
+                if(position != pattern.length() - 1){
+                    throw new IllegalArgumentException(String.format("wildcard must be last : %s", pattern));
+                }
+                parameterNames.add(WILDCARD);
+                node = node.wildcardChild();
+                start = position = pattern.length();
+                break;
+            }
+            int end = pattern.indexOf('}', position);
+            if(end < 0 || end == position + 1 || (end + 1 < pattern.length() && pattern.charAt(end + 1) != '/')){
+                throw new IllegalArgumentException(String.format("invalid pattern : %s", pattern));
+            }
+            parameterNames.add(pattern.substring(position + 1, end));
+            node = node.parameterChild();
+            start = position = end + 1;
+        }
+        node = node.insertStatic(pattern.substring(start));
+        node.addRoute(method, new RouteNode.Route(handler, parameterNames.toArray(String[]::new)));
+        return this;
+    }
+
+    @Override
+    public HttpResponse handle(HttpRequest request) throws IOException {
+        List<String> values = new ArrayList<>(4);
+        RouteNode node = root.match(request.getPath(), 0, values);
+        if(Objects.isNull(node)){
+            return notFoundHandler.handle(request);
+        }
+
+        RouteNode.Route route = node.getRoute(request.getMethod());
+        if(Objects.isNull(route) && request.getMethod().equals("HEAD")){
+            route = node.getRoute("GET");
+        }
+        if(Objects.isNull(route)){
+            return new HttpResponse(HttpStatus.METHOD_NOT_ALLOWED)
+                    .setHeader("Allow", String.join(", ", node.getRoutes().keySet()));
+        }
+
+        if(!values.isEmpty()){
+            Map<String, String> parameters = new HashMap<>();
+            for(int i=0; i<values.size(); i++){
+                parameters.put(route.parameterNames()[i], values.get(i));
+            }
+            request.setPathParameters(parameters);
+        }
+        return route.handler().handle(request);
+    }
+}
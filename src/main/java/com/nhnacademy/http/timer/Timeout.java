@@ -0,0 +1,70 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.timer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/* TimingWheel.schedule()로 등록한 작업 입니다.
+ * bucket의 double linked list에 직접 연결되므로(intrusive) 취소할 때 bucket을 탐색하지 않습니다.
+ */
+public final class Timeout {
+    private static final int PENDING = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+
+    private final TimingWheel timingWheel;
+    private final Runnable task;
+    private final AtomicInteger state = new AtomicInteger(PENDING);
+
+    // 아래 field는 bucket의 lock을 획득한 뒤 변경 합니다.
+    final long deadlineTick;
+    TimingWheel.Bucket bucket;
+    Timeout prev;
+    Timeout next;
+
+    Timeout(TimingWheel timingWheel, Runnable task, long deadlineTick) {
+        this.timingWheel = timingWheel;
+        this.task = task;
+        this.deadlineTick = deadlineTick;
+    }
+
+    /**
+     * 실행되기 전이라면 취소 합니다. O(1)
+     * @return 취소 했다면 true, 이미 실행 되었거나 취소된 작업이라면 false
+     */
+    public boolean cancel(){
+        if(!state.compareAndSet(PENDING, CANCELLED)){
+            return false;
+        }
+        timingWheel.remove(this);
+        return true;
+    }
+
+    public boolean isCancelled(){
+        return state.get() == CANCELLED;
+    }
+
+    public boolean isExpired(){
+        return state.get() == EXPIRED;
+    }
+
+    // 실행할 차례가 되었습니다. 취소 되지 않았다면 true 입니다.
+    boolean expire(){
+        return state.compareAndSet(PENDING, EXPIRED);
+    }
+
+    Runnable getTask() {
+        return task;
+    }
+}
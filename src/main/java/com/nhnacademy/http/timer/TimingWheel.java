@@ -0,0 +1,243 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.timer;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/* hashed timing wheel 입니다. 연결마다 timer나 thread를 만들지 않고 많은 수의 timeout을 관리 합니다.
+ *  - wheel은 wheelSize개의 bucket으로 구성되고, tick마다 하나의 bucket을 확인 합니다.
+ *  - deadline이 tick t인 작업은 bucket[t & mask]에 등록 합니다. 한 바퀴(wheelSize tick) 이상 남은 작업은 다음 바퀴에 실행 합니다.
+ *  - schedule(), Timeout.cancel()은 O(1) 입니다. bucket 단위로 lock을 사용하므로 여러 thread에서 호출할 수 있습니다.
+ *  - 정확도는 tick 단위 입니다. 작업은 deadline 이후 최대 1 tick 늦게 실행 됩니다.
+ * advance()를 호출하는 thread(event loop 또는 start()로 시작한 thread)에서 만료된 작업을 실행하므로, 작업은 짧아야 합니다.
+ */
+@Slf4j
+public final class TimingWheel {
+    public static final long DEFAULT_TICK_MILLIS = 100;
+    public static final int DEFAULT_WHEEL_SIZE = 1024;
+
+    // HttpJob(blocking I/O)이 공유하는 기본 instance 입니다. 처음 사용할 때 thread를 시작 합니다.
+    private static final class DefaultHolder {
+        private static final TimingWheel DEFAULT = new TimingWheel(DEFAULT_TICK_MILLIS, TimeUnit.MILLISECONDS, DEFAULT_WHEEL_SIZE).start("timing-wheel");
+    }
+
+    private final long tickNanos;
+    private final Bucket[] buckets;
+    private final int mask;
+    private final long startNanos = System.nanoTime();
+    // 다음에 확인할 tick 입니다. bucket[currentTick & mask]의 lock을 획득한 상태에서 증가 합니다.
+    private volatile long currentTick;
+    private final AtomicInteger pending = new AtomicInteger();
+    // advance()에서 만료된 작업을 모아서 bucket lock 밖에서 실행 합니다. advance()를 호출하는 thread만 사용합니다.
+    private final List<Timeout> expired = new ArrayList<>();
+
+    private Thread thread;
+    private volatile boolean stopped;
+
+    static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        private void add(Timeout timeout){
+            timeout.bucket = this;
+            timeout.prev = tail;
+            if(Objects.isNull(tail)){
+                head = timeout;
+            }else{
+                tail.next = timeout;
+            }
+            tail = timeout;
+        }
+
+        private void remove(Timeout timeout){
+            if(Objects.isNull(timeout.prev)){
+                head = timeout.next;
+            }else{
+                timeout.prev.next = timeout.next;
+            }
+            if(Objects.isNull(timeout.next)){
+                tail = timeout.prev;
+            }else{
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.bucket = null;
+            timeout.prev = timeout.next = null;
+        }
+    }
+
+    /**
+     * @param wheelSize bucket 수, 2의 거듭제곱으로 올림 합니다. tick * wheelSize 보다 긴 timeout은 여러 바퀴 뒤에 실행 됩니다.
+     */
+    public TimingWheel(long tick, TimeUnit unit, int wheelSize) {
+        if(tick < 1){
+            throw new IllegalArgumentException("tick must be greater than 0");
+        }
+        if(Objects.isNull(unit)){
+            throw new IllegalArgumentException("unit is null");
+        }
+        if(wheelSize < 1 || wheelSize > 1 << 30){
+            throw new IllegalArgumentException(String.format("invalid wheelSize:%d", wheelSize));
+        }
+        this.tickNanos = unit.toNanos(tick);
+        int size = wheelSize == 1 ? 1 : Integer.highestOneBit(wheelSize - 1) << 1;
+        this.buckets = new Bucket[size];
+        for(int i=0; i<size; i++){
+            buckets[i] = new Bucket();
+        }
+        this.mask = size - 1;
+    }
+
+    public static TimingWheel get(){
+        return DefaultHolder.DEFAULT;
+    }
+
+    public int getWheelSize(){
+        return buckets.length;
+    }
+
+    public long getTickNanos() {
+        return tickNanos;
+    }
+
+    // 실행을 기다리는 작업 수 입니다.
+    public int size(){
+        return pending.get();
+    }
+
+    /**
+     * delay 이후에 task를 실행 합니다.
+     * @return 취소할 때 사용하는 Timeout
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit){
+        if(Objects.isNull(task)){
+            throw new IllegalArgumentException("task is null");
+        }
+        if(Objects.isNull(unit)){
+            throw new IllegalArgumentException("unit is null");
+        }
+        // deadline이 속한 tick을 올림 합니다. deadline 전에 실행되지 않습니다.
+        long deadlineNanos = System.nanoTime() - startNanos + unit.toNanos(Math.max(0, delay));
+        long deadlineTick = (deadlineNanos + tickNanos - 1) / tickNanos;
+        while(true){
+            long tick = Math.max(deadlineTick, currentTick);
+            Bucket bucket = buckets[(int) (tick & mask)];
+            synchronized (bucket){
+                // lock을 획득하는 동안 advance()가 tick을 지나갔다면 다음 tick에 등록 합니다.
+                if(tick >= currentTick){
+                    Timeout timeout = new Timeout(this, task, tick);
+                    bucket.add(timeout);
+                    pending.incrementAndGet();
+                    return timeout;
+                }
+            }
+        }
+    }
+
+    // Timeout.cancel()에서 호출 합니다.
+    void remove(Timeout timeout){
+        Bucket bucket = timeout.bucket;
+        if(Objects.isNull(bucket)){
+            return;
+        }
+        synchronized (bucket){
+            // advance()가 먼저 bucket에서 제거 했을 수 있습니다.
+            if(timeout.bucket == bucket){
+                bucket.remove(timeout);
+                pending.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * now 까지 지나간 tick의 bucket을 확인하고, deadline이 지난 작업을 호출한 thread에서 실행 합니다.
+     * 한 번에 하나의 thread만 호출해야 합니다.
+     * @return 실행한 작업 수
+     */
+    public int advance(long nowNanos){
+        long targetTick = (nowNanos - startNanos) / tickNanos;
+        int count = 0;
+        while(currentTick <= targetTick){
+            long tick = currentTick;
+            Bucket bucket = buckets[(int) (tick & mask)];
+            synchronized (bucket){
+                Timeout timeout = bucket.head;
+                while(Objects.nonNull(timeout)){
+                    Timeout next = timeout.next;
+                    // 다음 바퀴에 실행할 작업은 남겨 둡니다.
+                    if(timeout.deadlineTick <= tick){
+                        bucket.remove(timeout);
+                        pending.decrementAndGet();
+                        if(timeout.expire()){
+                            expired.add(timeout);
+                        }
+                    }
+                    timeout = next;
+                }
+                currentTick = tick + 1;
+            }
+            count += runExpired();
+        }
+        return count;
+    }
+
+    private int runExpired(){
+        int count = expired.size();
+        for(Timeout timeout : expired){
+            try{
+                timeout.getTask().run();
+            }catch(RuntimeException e){
+                log.error("timeout task error : {}", e.getMessage(), e);
+            }
+        }
+        expired.clear();
+        return count;
+    }
+
+    // 다음 tick 까지 남은 시간 입니다. event loop의 select timeout으로 사용합니다.
+    public long nanosUntilNextTick(long nowNanos){
+        return Math.max(0, startNanos + currentTick * tickNanos - nowNanos);
+    }
+
+    /**
+     * tick 마다 advance()를 호출하는 daemon thread를 시작 합니다. (event loop가 직접 advance()를 호출하지 않는 경우)
+     */
+    public synchronized TimingWheel start(String threadName){
+        if(Objects.nonNull(thread)){
+            throw new IllegalStateException("timing wheel is already started");
+        }
+        thread = Thread.ofPlatform().name(threadName).daemon(true).start(()->{
+            while(!stopped){
+                long now = System.nanoTime();
+                advance(now);
+                LockSupport.parkNanos(Math.max(1, nanosUntilNextTick(System.nanoTime())));
+            }
+        });
+        return this;
+    }
+
+    // start()로 시작한 thread를 종료 합니다. 등록된 작업은 실행하지 않습니다.
+    public synchronized void stop(){
+        stopped = true;
+        if(Objects.nonNull(thread)){
+            LockSupport.unpark(thread);
+        }
+    }
+}
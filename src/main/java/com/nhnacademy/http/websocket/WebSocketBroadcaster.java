@@ -0,0 +1,86 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.websocket;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/* 구독한 모든 session에 같은 message를 전송 합니다.
+ * message는 한 번만 encode 하고, session 마다 같은 byte를 공유하는 read-only view를 전송 대기열에 등록 합니다.
+ * 따라서 구독자 수와 관계 없이 message 복사는 한 번 입니다.
+ * 종료 되었거나 전송 대기중인 frame이 너무 많은 session은 구독에서 제거 합니다.
+ *  ex) broadcaster.subscribe(session) : WebSocketHandler.onOpen()
+ *      broadcaster.broadcastText("{\"event\":\"update\"}")
+ */
+@Slf4j
+public class WebSocketBroadcaster {
+    private final Set<WebSocketSession> sessions = ConcurrentHashMap.newKeySet();
+
+    public boolean subscribe(WebSocketSession session){
+        if(Objects.isNull(session)){
+            throw new IllegalArgumentException("session is null");
+        }
+        return sessions.add(session);
+    }
+
+    public boolean unsubscribe(WebSocketSession session){
+        return sessions.remove(session);
+    }
+
+    public int size(){
+        return sessions.size();
+    }
+
+    /**
+     * @return message를 전송 대기열에 등록한 session 수
+     */
+    public int broadcastText(String message){
+        return broadcast(WebSocketFrame.text(message));
+    }
+
+    public int broadcastBinary(ByteBuffer message){
+        return broadcast(WebSocketFrame.binary(message));
+    }
+
+    /**
+     * WebSocketFrame으로 encode한 frame을 전송 합니다.
+     */
+    public int broadcast(ByteBuffer frame){
+        if(Objects.isNull(frame)){
+            throw new IllegalArgumentException("frame is null");
+        }
+        ByteBuffer shared = frame.asReadOnlyBuffer();
+        int sent = 0;
+        for(WebSocketSession session : sessions){
+            if(!session.isOpen()){
+                sessions.remove(session);
+                continue;
+            }
+            try{
+                // position을 공유하지 않도록 session 마다 view를 사용합니다.
+                session.send(shared.duplicate());
+                sent++;
+            }catch(IOException e){
+                log.debug("broadcast error : session={}, {}", session.getId(), e.getMessage());
+                sessions.remove(session);
+            }
+        }
+        return sent;
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.websocket;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/* WebSocket frame encoder 입니다. (RFC 6455 5.2)
+ *   0               1               2               3
+ *  +-+-+-+-+-------+-+-------------+-------------------------------+
+ *  |F|R|R|R| opcode|M| Payload len |    Extended payload length    |
+ *  |I|S|S|S|  (4)  |A|     (7)     |             (16/64)           |
+ *  +-+-+-+-+-------+-+-------------+-------------------------------+
+ *  |                    Masking-key (client -> server)             |
+ *  +---------------------------------------------------------------+
+ * server가 전송하는 frame은 mask를 사용하지 않으므로, 한 번 encode한 frame을 여러 연결에 그대로 전송할 수 있습니다.
+ */
+public final class WebSocketFrame {
+    public static final int CONTINUATION = 0x0;
+    public static final int TEXT = 0x1;
+    public static final int BINARY = 0x2;
+    public static final int CLOSE = 0x8;
+    public static final int PING = 0x9;
+    public static final int PONG = 0xA;
+
+    // control frame(CLOSE, PING, PONG)의 최대 payload 크기 입니다.
+    public static final int MAX_CONTROL_PAYLOAD = 125;
+
+    // Close status code (RFC 6455 7.4.1)
+    public static final int NORMAL_CLOSURE = 1000;
+    public static final int GOING_AWAY = 1001;
+    public static final int PROTOCOL_ERROR = 1002;
+    public static final int UNSUPPORTED_DATA = 1003;
+    // Close frame에 status code가 없었습니다. frame으로 전송하지 않습니다.
+    public static final int NO_STATUS = 1005;
+    // Close frame 없이 연결이 종료 되었습니다. frame으로 전송하지 않습니다.
+    public static final int ABNORMAL_CLOSURE = 1006;
+    public static final int INVALID_PAYLOAD = 1007;
+    public static final int POLICY_VIOLATION = 1008;
+    public static final int MESSAGE_TOO_BIG = 1009;
+    public static final int INTERNAL_ERROR = 1011;
+    public static final int TRY_AGAIN_LATER = 1013;
+
+    private WebSocketFrame() {
+    }
+
+    public static boolean isControl(int opcode){
+        return (opcode & 0x8) != 0;
+    }
+
+    public static ByteBuffer text(String message){
+        if(Objects.isNull(message)){
+            throw new IllegalArgumentException("message is null");
+        }
+        return encode(TEXT, ByteBuffer.wrap(message.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    public static ByteBuffer binary(ByteBuffer payload){
+        return encode(BINARY, payload);
+    }
+
+    public static ByteBuffer ping(ByteBuffer payload){
+        return encode(PING, payload);
+    }
+
+    public static ByteBuffer pong(ByteBuffer payload){
+        return encode(PONG, payload);
+    }
+
+    // reason은 status code와 함께 125 byte를 넘지 않도록 잘라냅니다.
+    public static ByteBuffer close(int statusCode, String reason){
+        byte[] bytes = Objects.isNull(reason) ? new byte[0] : reason.getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(bytes.length, MAX_CONTROL_PAYLOAD - 2);
+        ByteBuffer payload = ByteBuffer.allocate(2 + length);
+        payload.putShort((short) statusCode).put(bytes, 0, length).flip();
+        return encode(CLOSE, payload);
+    }
+
+    /**
+     * FIN이 설정된 mask 없는 frame을 encode 합니다. payload의 position은 변경하지 않습니다.
+     * @return header와 payload를 담은 buffer, 읽을 수 있도록 flip 되어 있습니다.
+     */
+    public static ByteBuffer encode(int opcode, ByteBuffer payload){
+        if(Objects.isNull(payload)){
+            throw new IllegalArgumentException("payload is null");
+        }
+        int length = payload.remaining();
+        if(isControl(opcode) && length > MAX_CONTROL_PAYLOAD){
+            throw new IllegalArgumentException(String.format("control frame payload is too large : %d", length));
+        }
+        int headerLength = length < 126 ? 2 : length <= 0xffff ? 4 : 10;
+        ByteBuffer frame = ByteBuffer.allocate(headerLength + length);
+        frame.put((byte) (0x80 | opcode));
+        if(length < 126){
+            frame.put((byte) length);
+        }else if(length <= 0xffff){
+            frame.put((byte) 126).putShort((short) length);
+        }else{
+            frame.put((byte) 127).putLong(length);
+        }
+        frame.put(payload.duplicate());
+        return frame.flip();
+    }
+
+    /**
+     * payload를 maskKey로 xor 합니다. mask와 unmask는 같은 연산 입니다. (RFC 6455 5.3)
+     * 8 byte 단위로 처리하며, buffer를 복사하지 않고 그 자리에서 변경 합니다.
+     * @param offset payload가 frame의 payload에서 시작하는 위치, frame을 나눠서 처리할 때 사용합니다.
+     */
+    public static void mask(ByteBuffer payload, int maskKey, long offset){
+        int key = Integer.rotateLeft(maskKey, (int) (offset & 3) * 8);
+        long longKey = (key & 0xffffffffL) << 32 | (key & 0xffffffffL);
+        int position = payload.position();
+        int limit = payload.limit();
+        ByteBuffer buffer = payload.order() == ByteOrder.BIG_ENDIAN ? payload : payload.duplicate().order(ByteOrder.BIG_ENDIAN);
+        int i = position;
+        for(; i + 8 <= limit; i += 8){
+            buffer.putLong(i, buffer.getLong(i) ^ longKey);
+        }
+        // 8의 배수 위치 이므로 key의 첫 byte부터 다시 사용합니다.
+        for(int shift = 24; i < limit; i++, shift -= 8){
+            buffer.put(i, (byte) (buffer.get(i) ^ (key >>> shift)));
+        }
+    }
+}
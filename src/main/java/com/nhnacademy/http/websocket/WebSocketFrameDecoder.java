@@ -0,0 +1,124 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.websocket;
+
+import com.nhnacademy.exceptions.WebSocketException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/* client가 전송한 frame을 해석 합니다. 연결마다 하나를 사용합니다.
+ * payload는 읽은 buffer(pool에서 할당한 direct buffer)에서 그 자리에서 unmask 하므로 복사하지 않습니다.
+ * buffer 보다 큰 data frame은 도착한 만큼 나눠서 listener에게 전달 합니다. control frame은 항상 한 번에 전달 합니다.
+ */
+public class WebSocketFrameDecoder {
+
+    @FunctionalInterface
+    public interface FrameListener {
+        /**
+         * @param payload unmask된 payload의 일부, listener가 반환한 뒤에는 재사용 되므로 보관하려면 복사해야 합니다.
+         * @param frameEnd frame의 마지막 payload 라면 true
+         */
+        void payload(int opcode, boolean fin, ByteBuffer payload, boolean frameEnd) throws IOException;
+    }
+
+    private final long maxPayloadLength;
+
+    // 처리중인 frame 입니다. header를 읽은 뒤 payload를 모두 전달할 때 까지 유지 합니다.
+    private boolean inFrame;
+    private int opcode;
+    private boolean fin;
+    private int maskKey;
+    private long payloadOffset;
+    private long remaining;
+
+    public WebSocketFrameDecoder(long maxPayloadLength) {
+        if(maxPayloadLength < WebSocketFrame.MAX_CONTROL_PAYLOAD){
+            throw new IllegalArgumentException(String.format("maxPayloadLength is too small : %d", maxPayloadLength));
+        }
+        this.maxPayloadLength = maxPayloadLength;
+    }
+
+    /**
+     * buffer의 [position, limit) 구간에서 frame을 해석 합니다. 처리한 만큼 position을 이동 합니다.
+     * 완성되지 않은 header나 control frame은 다음 호출 까지 buffer에 남겨둡니다.
+     * @throws WebSocketException frame 형식이 잘못된 경우, status code로 연결을 종료해야 합니다.
+     */
+    public void decode(ByteBuffer buffer, FrameListener listener) throws IOException {
+        while(true){
+            if(!inFrame && !readHeader(buffer)){
+                return;
+            }
+            int available = (int) Math.min(buffer.remaining(), remaining);
+            if(available < remaining && (WebSocketFrame.isControl(opcode) || available == 0)){
+                return;
+            }
+            ByteBuffer payload = buffer.slice(buffer.position(), available);
+            WebSocketFrame.mask(payload, maskKey, payloadOffset);
+            buffer.position(buffer.position() + available);
+            payloadOffset += available;
+            remaining -= available;
+            inFrame = remaining > 0;
+            listener.payload(opcode, fin, payload, !inFrame);
+        }
+    }
+
+    private boolean readHeader(ByteBuffer buffer) throws WebSocketException {
+        if(buffer.remaining() < 2){
+            return false;
+        }
+        int position = buffer.position();
+        int b0 = buffer.get(position) & 0xff;
+        int b1 = buffer.get(position + 1) & 0xff;
+        int length = b1 & 0x7f;
+        int headerLength = 2 + (length == 126 ? 2 : length == 127 ? 8 : 0) + 4;
+        if(buffer.remaining() < headerLength){
+            return false;
+        }
+        // extension을 사용하지 않으므로 RSV bit는 0 이어야 합니다.
+        if((b0 & 0x70) != 0){
+            throw new WebSocketException(WebSocketFrame.PROTOCOL_ERROR, "reserved bits are set");
+        }
+        int frameOpcode = b0 & 0x0f;
+        boolean frameFin = (b0 & 0x80) != 0;
+        switch (frameOpcode){
+            case WebSocketFrame.CONTINUATION, WebSocketFrame.TEXT, WebSocketFrame.BINARY,
+                 WebSocketFrame.CLOSE, WebSocketFrame.PING, WebSocketFrame.PONG -> { }
+            default -> throw new WebSocketException(WebSocketFrame.PROTOCOL_ERROR, String.format("unknown opcode : %d", frameOpcode));
+        }
+        // client가 전송하는 frame은 항상 mask를 사용합니다. (RFC 6455 5.1)
+        if((b1 & 0x80) == 0){
+            throw new WebSocketException(WebSocketFrame.PROTOCOL_ERROR, "frame is not masked");
+        }
+        long payloadLength = switch (length){
+            case 126 -> buffer.getShort(position + 2) & 0xffff;
+            case 127 -> buffer.getLong(position + 2);
+            default -> length;
+        };
+        if(WebSocketFrame.isControl(frameOpcode) && (!frameFin || payloadLength > WebSocketFrame.MAX_CONTROL_PAYLOAD)){
+            throw new WebSocketException(WebSocketFrame.PROTOCOL_ERROR, "invalid control frame");
+        }
+        if(payloadLength < 0 || payloadLength > maxPayloadLength){
+            throw new WebSocketException(WebSocketFrame.MESSAGE_TOO_BIG, String.format("frame is too large : %d", payloadLength));
+        }
+        buffer.position(position + headerLength);
+        opcode = frameOpcode;
+        fin = frameFin;
+        maskKey = buffer.getInt(position + headerLength - 4);
+        payloadOffset = 0;
+        remaining = payloadLength;
+        inFrame = true;
+        return true;
+    }
+}
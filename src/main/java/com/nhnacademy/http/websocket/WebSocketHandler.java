@@ -0,0 +1,42 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.websocket;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/* WebSocket 연결의 event를 처리 합니다.
+ * worker thread에서 호출되며, 하나의 연결(session)의 event는 도착한 순서대로 하나씩 호출 됩니다.
+ * 필요한 method만 구현하면 됩니다.
+ */
+public interface WebSocketHandler {
+
+    // 101 응답을 전송한 뒤 호출 됩니다.
+    default void onOpen(WebSocketSession session) throws IOException {
+    }
+
+    default void onText(WebSocketSession session, String message) throws IOException {
+    }
+
+    // message는 handler 전용으로 복사한 buffer 입니다.
+    default void onBinary(WebSocketSession session, ByteBuffer message) throws IOException {
+    }
+
+    /**
+     * 연결이 종료된 뒤 한 번 호출 됩니다.
+     * @param statusCode client의 Close frame이 없이 종료 되었다면 WebSocketFrame.ABNORMAL_CLOSURE(1006)
+     */
+    default void onClose(WebSocketSession session, int statusCode, String reason) {
+    }
+}
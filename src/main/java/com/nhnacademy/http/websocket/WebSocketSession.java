@@ -0,0 +1,53 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.websocket;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/* WebSocket 연결 입니다. 모든 method는 thread-safe 하며, 전송은 event loop thread가 수행 합니다.
+ */
+public interface WebSocketSession {
+
+    long getId();
+
+    // upgrade 요청의 path 입니다.
+    String getPath();
+
+    boolean isOpen();
+
+    // 전송 대기중인 frame 수 입니다.
+    int getPendingWrites();
+
+    /**
+     * WebSocketFrame으로 encode한 frame을 전송 합니다. buffer를 변경하지 않으므로 같은 frame을 여러 session에 전송할 수 있습니다.
+     * @throws IOException 연결이 종료 되었거나, 전송 대기중인 frame이 너무 많아(slow consumer) 연결을 종료한 경우
+     */
+    void send(ByteBuffer frame) throws IOException;
+
+    default void sendText(String message) throws IOException {
+        send(WebSocketFrame.text(message));
+    }
+
+    default void sendBinary(ByteBuffer message) throws IOException {
+        send(WebSocketFrame.binary(message));
+    }
+
+    // Close frame을 전송한 뒤 연결을 종료 합니다.
+    void close(int statusCode, String reason);
+
+    default void close(){
+        close(WebSocketFrame.NORMAL_CLOSURE, null);
+    }
+}
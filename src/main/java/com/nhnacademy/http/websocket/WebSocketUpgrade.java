@@ -0,0 +1,70 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.websocket;
+
+import java.util.Objects;
+
+/* 101 응답에 담아서 연결에 전달하는 WebSocket 설정 입니다. 응답을 전송한 뒤 연결은 WebSocket으로 전환 됩니다.
+ */
+public final class WebSocketUpgrade {
+    private final WebSocketHandler handler;
+    private final String path;
+    private final int maxMessageSize;
+    private final int pingIntervalMillis;
+    private final int maxPendingWrites;
+    private final int maxPendingMessages;
+    private final long maxPendingMessageBytes;
+
+    public WebSocketUpgrade(WebSocketHandler handler, String path, int maxMessageSize, int pingIntervalMillis, int maxPendingWrites,
+                            int maxPendingMessages, long maxPendingMessageBytes) {
+        if(Objects.isNull(handler)){
+            throw new IllegalArgumentException("handler is null");
+        }
+        this.handler = handler;
+        this.path = path;
+        this.maxMessageSize = maxMessageSize;
+        this.pingIntervalMillis = pingIntervalMillis;
+        this.maxPendingWrites = maxPendingWrites;
+        this.maxPendingMessages = maxPendingMessages;
+        this.maxPendingMessageBytes = maxPendingMessageBytes;
+    }
+
+    public WebSocketHandler getHandler() {
+        return handler;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public int getMaxMessageSize() {
+        return maxMessageSize;
+    }
+
+    public int getPingIntervalMillis() {
+        return pingIntervalMillis;
+    }
+
+    public int getMaxPendingWrites() {
+        return maxPendingWrites;
+    }
+
+    public int getMaxPendingMessages() {
+        return maxPendingMessages;
+    }
+
+    public long getMaxPendingMessageBytes() {
+        return maxPendingMessageBytes;
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.websocket;
+
+import com.nhnacademy.http.handler.HttpHandler;
+import com.nhnacademy.http.request.HttpRequest;
+import com.nhnacademy.http.response.HttpResponse;
+import com.nhnacademy.http.response.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Objects;
+
+/* WebSocket opening handshake를 처리하는 handler 입니다. (RFC 6455 4.2)
+ * Router에 등록해서 사용합니다.
+ *  ex) router.get("/events", new WebSocketUpgradeHandler(handler))
+ * 올바른 upgrade 요청이라면 101 응답에 WebSocketUpgrade를 담아서 반환 합니다.
+ * NioHttpServer는 101 응답을 전송한 뒤 연결을 WebSocket으로 전환 합니다.
+ */
+public class WebSocketUpgradeHandler implements HttpHandler {
+    private static final String GUID = "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
+    private static final String VERSION = "13";
+
+    public static final int DEFAULT_MAX_MESSAGE_SIZE = 1024 * 1024;
+    public static final int DEFAULT_PING_INTERVAL_MILLIS = 30_000;
+    public static final int DEFAULT_MAX_PENDING_WRITES = 1024;
+    public static final int DEFAULT_MAX_PENDING_MESSAGES = 1024;
+    public static final long DEFAULT_MAX_PENDING_MESSAGE_BYTES = 16L * 1024 * 1024;
+
+    private final WebSocketHandler handler;
+    private int maxMessageSize = DEFAULT_MAX_MESSAGE_SIZE;
+    private int pingIntervalMillis = DEFAULT_PING_INTERVAL_MILLIS;
+    private int maxPendingWrites = DEFAULT_MAX_PENDING_WRITES;
+    private int maxPendingMessages = DEFAULT_MAX_PENDING_MESSAGES;
+    private long maxPendingMessageBytes = DEFAULT_MAX_PENDING_MESSAGE_BYTES;
+
+    public WebSocketUpgradeHandler(WebSocketHandler handler) {
+        if(Objects.isNull(handler)){
+            throw new IllegalArgumentException("handler is null");
+        }
+        this.handler = handler;
+    }
+
+    // 받을 수 있는 message(fragment를 합친 크기)의 최대 크기 입니다. 초과하면 1009로 연결을 종료 합니다.
+    public WebSocketUpgradeHandler setMaxMessageSize(int maxMessageSize) {
+        if(maxMessageSize < WebSocketFrame.MAX_CONTROL_PAYLOAD){
+            throw new IllegalArgumentException(String.format("maxMessageSize is too small : %d", maxMessageSize));
+        }
+        this.maxMessageSize = maxMessageSize;
+        return this;
+    }
+
+    /**
+     * Ping을 전송하는 간격 입니다. 다음 Ping을 전송할 때 까지 client가 아무 frame도 보내지 않았다면 연결을 종료 합니다.
+     */
+    public WebSocketUpgradeHandler setPingIntervalMillis(int pingIntervalMillis) {
+        if(pingIntervalMillis < 1){
+            throw new IllegalArgumentException("pingIntervalMillis must be greater than 0");
+        }
+        this.pingIntervalMillis = pingIntervalMillis;
+        return this;
+    }
+
+    // 전송 대기중인 frame이 이 값을 초과하면 느린 client로 보고 연결을 종료 합니다.
+    public WebSocketUpgradeHandler setMaxPendingWrites(int maxPendingWrites) {
+        if(maxPendingWrites < 1){
+            throw new IllegalArgumentException("maxPendingWrites must be greater than 0");
+        }
+        this.maxPendingWrites = maxPendingWrites;
+        return this;
+    }
+
+    /**
+     * handler가 처리하지 못하고 대기중인 message가 maxPendingMessages 개 또는 maxPendingMessageBytes byte를 초과하면
+     * client가 handler 보다 빠르게 보내는 것으로 보고 1008(Policy Violation)로 연결을 종료 합니다.
+     * 대기중인 message가 없다면 maxPendingMessageBytes 보다 큰 message 하나는 받습니다. (maxMessageSize로 제한 합니다)
+     */
+    public WebSocketUpgradeHandler setMaxPendingMessages(int maxPendingMessages, long maxPendingMessageBytes) {
+        if(maxPendingMessages < 1){
+            throw new IllegalArgumentException("maxPendingMessages must be greater than 0");
+        }
+        if(maxPendingMessageBytes < 1){
+            throw new IllegalArgumentException("maxPendingMessageBytes must be greater than 0");
+        }
+        this.maxPendingMessages = maxPendingMessages;
+        this.maxPendingMessageBytes = maxPendingMessageBytes;
+        return this;
+    }
+
+    @Override
+    public HttpResponse handle(HttpRequest request) {
+        if(!"GET".equals(request.getMethod()) || !"HTTP/1.1".equals(request.getHttpVersion())){
+            return new HttpResponse(HttpStatus.BAD_REQUEST);
+        }
+        if(!hasToken(request.getHeader("Upgrade"), "websocket") || !hasToken(request.getHeader("Connection"), "upgrade")){
+            return new HttpResponse(HttpStatus.UPGRADE_REQUIRED)
+                    .setHeader("Upgrade", "websocket")
+                    .setHeader("Connection", "Upgrade");
+        }
+        if(!VERSION.equals(request.getHeader("Sec-WebSocket-Version"))){
+            return new HttpResponse(HttpStatus.UPGRADE_REQUIRED)
+                    .setHeader("Sec-WebSocket-Version", VERSION);
+        }
+        String key = request.getHeader("Sec-WebSocket-Key");
+        if(!isValidKey(key)){
+            return new HttpResponse(HttpStatus.BAD_REQUEST);
+        }
+        return new HttpResponse(HttpStatus.SWITCHING_PROTOCOLS)
+                .setHeader("Upgrade", "websocket")
+                .setHeader("Connection", "Upgrade")
+                .setHeader("Sec-WebSocket-Accept", accept(key.trim()))
+                .setWebSocketUpgrade(new WebSocketUpgrade(handler, request.getPath(), maxMessageSize, pingIntervalMillis, maxPendingWrites,
+                        maxPendingMessages, maxPendingMessageBytes));
+    }
+
+    // Sec-WebSocket-Key는 임의의 16 byte를 base64로 encode한 값 입니다.
+    private static boolean isValidKey(String key){
+        if(Objects.isNull(key)){
+            return false;
+        }
+        try{
+            return Base64.getDecoder().decode(key.trim()).length == 16;
+        }catch (IllegalArgumentException e){
+            return false;
+        }
+    }
+
+    // base64(SHA-1(key + GUID))
+    static String accept(String key){
+        try{
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            return Base64.getEncoder().encodeToString(digest.digest((key + GUID).getBytes(StandardCharsets.US_ASCII)));
+        }catch (NoSuchAlgorithmException e){
+            throw new IllegalStateException("SHA-1 is not supported", e);
+        }
+    }
+
+    private static boolean hasToken(String header, String token){
+        if(Objects.isNull(header)){
+            return false;
+        }
+        for(String value : header.split(",")){
+            if(value.trim().equalsIgnoreCase(token)){
+                return true;
+            }
+        }
+        return false;
+    }
+}
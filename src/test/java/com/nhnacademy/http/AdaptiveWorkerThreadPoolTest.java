@@ -0,0 +1,96 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http;
+
+import com.nhnacademy.http.channel.RequestChannel;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+class AdaptiveWorkerThreadPoolTest {
+
+    @Test
+    @DisplayName("invalid pool size")
+    void constructorTest(){
+        RequestChannel requestChannel = new RequestChannel();
+        Assertions.assertThrows(IllegalArgumentException.class, ()->WorkerThreadPool.ofAdaptive(0, 10, requestChannel));
+        Assertions.assertThrows(IllegalArgumentException.class, ()->WorkerThreadPool.ofAdaptive(5, 4, requestChannel));
+        Assertions.assertThrows(IllegalArgumentException.class, ()->WorkerThreadPool.ofAdaptive(1, 4, 0, requestChannel));
+        Assertions.assertThrows(IllegalArgumentException.class, ()->WorkerThreadPool.ofAdaptive(1, 4, null));
+    }
+
+    @Test
+    @DisplayName("burst : grows up to maxPoolSize and shrinks back to corePoolSize")
+    void growAndShrink() throws InterruptedException {
+        RequestChannel requestChannel = new RequestChannel(100);
+        WorkerThreadPool threadPool = WorkerThreadPool.ofAdaptive(2, 8, 200, requestChannel);
+        threadPool.start();
+        Thread.sleep(100);
+        Assertions.assertEquals(WorkerThreadPool.ThreadMode.ADAPTIVE, threadPool.getThreadMode());
+        Assertions.assertEquals(2, threadPool.getPoolSize());
+
+        int jobCount = 40;
+        CountDownLatch latch = new CountDownLatch(jobCount);
+        long startTime = System.nanoTime();
+        for(int i=0; i<jobCount; i++){
+            requestChannel.addHttpJob(()->{
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                latch.countDown();
+            });
+        }
+        Thread.sleep(150);
+        log.debug("poolSize:{}, active:{}", threadPool.getPoolSize(), threadPool.getActiveCount());
+        Assertions.assertEquals(8, threadPool.getPoolSize());
+        Assertions.assertTrue(threadPool.getActiveCount() > 2);
+
+        Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        log.debug("elapsed:{}ms, average wait:{}ns", elapsed, requestChannel.getAverageWaitNanos());
+        // thread 2개로 처리하면 2초가 걸리는 작업 입니다.
+        Assertions.assertTrue(elapsed < 1500);
+        Assertions.assertTrue(requestChannel.getAverageWaitNanos() > 0);
+
+        // keepAlive(200ms)가 지나면 corePoolSize로 줄어듭니다.
+        Thread.sleep(1000);
+        Assertions.assertEquals(2, threadPool.getPoolSize());
+        Assertions.assertEquals(0, threadPool.getActiveCount());
+
+        threadPool.stop();
+        Assertions.assertEquals(0, threadPool.getPoolSize());
+    }
+
+    @Test
+    @DisplayName("light load : does not grow")
+    void lightLoad() throws InterruptedException {
+        RequestChannel requestChannel = new RequestChannel();
+        WorkerThreadPool threadPool = WorkerThreadPool.ofAdaptive(2, 8, 200, requestChannel);
+        threadPool.start();
+        for(int i=0; i<20; i++){
+            CountDownLatch latch = new CountDownLatch(1);
+            requestChannel.addHttpJob(latch::countDown);
+            Assertions.assertTrue(latch.await(1, TimeUnit.SECONDS));
+            Thread.sleep(10);
+        }
+        Assertions.assertEquals(2, threadPool.getPoolSize());
+        threadPool.stop();
+    }
+}
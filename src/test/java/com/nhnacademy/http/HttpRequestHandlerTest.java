@@ -36,6 +36,18 @@ class HttpRequestHandlerTest {
         });
     }
 
+    @Test
+    @DisplayName("interrupt : 작업을 기다리는 worker thread가 종료 됩니다.")
+    void interrupt() throws InterruptedException {
+        Thread consumer = new Thread(new HttpRequestHandler(new RequestChannel()));
+        consumer.start();
+        Thread.sleep(100);
+
+        consumer.interrupt();
+        consumer.join(1000);
+        Assertions.assertFalse(consumer.isAlive());
+    }
+
     @Test
     @DisplayName("producer & consumer")
     void run(){
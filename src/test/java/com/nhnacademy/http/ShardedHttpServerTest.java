@@ -0,0 +1,100 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http;
+
+import com.nhnacademy.exceptions.ServerInitializationException;
+import com.nhnacademy.http.channel.RequestChannel;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+class ShardedHttpServerTest {
+    static final int TEST_PORT = 9996;
+
+    @Test
+    @DisplayName("port:-8080, shardCount:0, factory is null")
+    void constructorTest(){
+        Assertions.assertAll(
+                ()->Assertions.assertThrows(IllegalArgumentException.class, ()->new ShardedHttpServer(-8080)),
+                ()->Assertions.assertThrows(IllegalArgumentException.class, ()->new ShardedHttpServer(TEST_PORT, 0)),
+                ()->Assertions.assertThrows(IllegalArgumentException.class, ()->new ShardedHttpServer(TEST_PORT, 2, null, WorkerThreadPool::new)),
+                ()->Assertions.assertThrows(IllegalArgumentException.class, ()->new ShardedHttpServer(TEST_PORT, 2, RequestChannel::new, null))
+        );
+    }
+
+    @Test
+    @DisplayName("4 shards on one port : 200 ok")
+    void request() throws Exception {
+        Assumptions.assumeTrue(ShardedHttpServer.isReusePortSupported());
+
+        // shard마다 RequestChannel이 따로 생성되는지 확인 합니다.
+        List<RequestChannel> requestChannels = new ArrayList<>();
+        ShardedHttpServer server = new ShardedHttpServer(TEST_PORT, 4, ()->{
+            RequestChannel requestChannel = new RequestChannel();
+            synchronized (requestChannels){
+                requestChannels.add(requestChannel);
+            }
+            return requestChannel;
+        }, WorkerThreadPool::new);
+        Thread thread = new Thread(()->{
+            try{
+                server.start();
+            }catch (ServerInitializationException e){
+                log.error("server error:{}", e);
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+        Thread.sleep(500);
+
+        try{
+            for(int i=0; i<20; i++){
+                // 매 요청마다 새 connection을 사용해서 kernel이 shard를 선택하도록 합니다.
+                try(Socket socket = new Socket("localhost", TEST_PORT)){
+                    socket.getOutputStream().write("GET / HTTP/1.0\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+                    String response = new String(socket.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+                    Assertions.assertTrue(response.startsWith("HTTP/1.1 200 OK"));
+                    Assertions.assertTrue(response.contains("hello java"));
+                }
+            }
+            Assertions.assertEquals(4, requestChannels.size());
+        }finally {
+            server.stop();
+        }
+        thread.join(10_000);
+        Assertions.assertFalse(thread.isAlive());
+    }
+
+    @Test
+    @DisplayName("bind 실패 : ServerInitializationException, bind한 shard는 닫습니다.")
+    void bindFailure() throws Exception {
+        Assumptions.assumeTrue(ShardedHttpServer.isReusePortSupported());
+
+        // SO_REUSEPORT 없이 사용중인 port는 shard가 bind 할 수 없습니다.
+        try(ServerSocket serverSocket = new ServerSocket(0)){
+            int port = serverSocket.getLocalPort();
+            ShardedHttpServer server = new ShardedHttpServer(port, 2);
+            Assertions.assertThrows(ServerInitializationException.class, server::start);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http;
+
+import com.nhnacademy.http.channel.RateLimiter;
+import com.nhnacademy.http.response.HttpResponse;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+class SimpleHttpServerRateLimitTest {
+    static final int TEST_PORT = 9989;
+    static final int PIPELINING_PORT = 9987;
+    static final int NIO_PORT = 9986;
+    static final int BUSY_PORT = 9982;
+    static final int LINGER_PORT = 9981;
+
+    @Test
+    @DisplayName("burst:2 -> 200, 200, 429")
+    void tooManyRequests() throws Exception {
+        SimpleHttpServer server = new SimpleHttpServer(TEST_PORT);
+        Assertions.assertThrows(IllegalArgumentException.class, ()->server.setRateLimiter(null));
+        server.setRateLimiter(new RateLimiter(0.1, 2));
+        Thread thread = new Thread(server::start);
+        thread.start();
+        Thread.sleep(300);
+
+        try{
+            Assertions.assertTrue(request().startsWith("HTTP/1.1 200 OK"));
+            Assertions.assertTrue(request().startsWith("HTTP/1.1 200 OK"));
+            String response = request();
+            Assertions.assertTrue(response.startsWith("HTTP/1.1 429 Too Many Requests"));
+            Assertions.assertTrue(response.contains("Retry-After: 1"));
+        }finally {
+            server.stop(2, TimeUnit.SECONDS);
+        }
+        thread.join(2000);
+    }
+
+    @Test
+    @DisplayName("keep-alive 연결의 pipelining 요청도 요청 하나가 token 하나를 사용합니다.")
+    void tooManyRequests_pipelining() throws Exception {
+        SimpleHttpServer server = new SimpleHttpServer(PIPELINING_PORT);
+        server.setRateLimiter(new RateLimiter(0.1, 2));
+        Thread thread = new Thread(server::start);
+        thread.start();
+        Thread.sleep(300);
+
+        try{
+            assertPipelining(PIPELINING_PORT);
+        }finally {
+            server.stop(2, TimeUnit.SECONDS);
+        }
+        thread.join(2000);
+    }
+
+    @Test
+    @DisplayName("NioHttpServer : keep-alive 연결의 pipelining 요청도 요청 하나가 token 하나를 사용합니다.")
+    void tooManyRequests_nio() throws Exception {
+        NioHttpServer server = new NioHttpServer(NIO_PORT);
+        Assertions.assertThrows(IllegalArgumentException.class, ()->server.setRateLimiter(null));
+        server.setRateLimiter(new RateLimiter(0.1, 2));
+        Thread thread = new Thread(server::start);
+        thread.setDaemon(true);
+        thread.start();
+        Thread.sleep(500);
+
+        try{
+            assertPipelining(NIO_PORT);
+        }finally {
+            server.stop();
+        }
+        thread.join(2000);
+        Assertions.assertFalse(thread.isAlive());
+    }
+
+    @Test
+    @DisplayName("제한을 초과한 연결은 RequestChannel에 배치하지 않습니다. 모든 worker가 사용중이어도 바로 429로 응답 합니다.")
+    void tooManyRequests_busyWorkers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        SimpleHttpServer server = new SimpleHttpServer(BUSY_PORT);
+        server.setHttpHandler(request -> {
+            try{
+                release.await(5, TimeUnit.SECONDS);
+            }catch (InterruptedException e){
+                Thread.currentThread().interrupt();
+            }
+            return new HttpResponse().setBody("slow");
+        });
+        // worker(5) 만큼의 연결만 허용 합니다.
+        server.setRateLimiter(new RateLimiter(0.1, 5));
+        Thread thread = new Thread(server::start);
+        thread.start();
+        Thread.sleep(300);
+
+        List<Socket> busy = new ArrayList<>();
+        try{
+            for(int i=0; i<5; i++){
+                Socket socket = new Socket("localhost", BUSY_PORT);
+                busy.add(socket);
+                socket.getOutputStream().write("GET / HTTP/1.0\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+            }
+            Thread.sleep(200);
+
+            try(Socket limited = new Socket("localhost", BUSY_PORT)){
+                limited.setSoTimeout(1000);
+                String response = new String(limited.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+                Assertions.assertTrue(response.startsWith("HTTP/1.1 429 Too Many Requests"));
+            }
+        }finally {
+            release.countDown();
+            for(Socket socket : busy){
+                socket.close();
+            }
+            server.stop(2, TimeUnit.SECONDS);
+        }
+        thread.join(2000);
+    }
+
+    @Test
+    @DisplayName("429 응답 후 도착한 요청은 읽어서 버리고 연결을 종료 합니다. (RST로 응답을 잃지 않습니다.)")
+    void tooManyRequests_linger() throws Exception {
+        SimpleHttpServer server = new SimpleHttpServer(LINGER_PORT);
+        server.setRateLimiter(new RateLimiter(0.1, 2));
+        Thread thread = new Thread(server::start);
+        thread.start();
+        Thread.sleep(300);
+
+        try(Socket socket = new Socket("localhost", LINGER_PORT)){
+            socket.setSoTimeout(5000);
+            String request = "GET / HTTP/1.1\r\nHost: localhost\r\n\r\n";
+            // 3번째 요청이 429로 거절될 때 server가 아직 읽지 않은 요청이 socket에 남아 있도록 한 번에 전송 합니다.
+            socket.getOutputStream().write(request.repeat(1000).getBytes(StandardCharsets.US_ASCII));
+            socket.shutdownOutput();
+            // 읽지 않은 요청이 남은 채로 닫히면 RST로 응답이 유실 되므로, 응답 전체를 정상적으로 읽을 수 있어야 합니다.
+            String response = new String(socket.getInputStream().readAllBytes(), StandardCharsets.US_ASCII);
+            Assertions.assertTrue(response.contains("HTTP/1.1 429 Too Many Requests"));
+            Assertions.assertEquals(2, response.split("HTTP/1.1 200 OK", -1).length - 1);
+        }finally {
+            server.stop(2, TimeUnit.SECONDS);
+        }
+        thread.join(2000);
+    }
+
+    // 하나의 연결로 요청 3개를 한 번에 전송 합니다. burst:2 -> 200, 200, 429 후 연결이 종료 됩니다.
+    private void assertPipelining(int port) throws Exception {
+        try(Socket socket = new Socket("localhost", port)){
+            String request = "GET / HTTP/1.1\r\nHost: localhost\r\n\r\n";
+            socket.getOutputStream().write(request.repeat(3).getBytes(StandardCharsets.US_ASCII));
+            String response = new String(socket.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            Assertions.assertEquals(2, response.split("HTTP/1.1 200 OK", -1).length - 1);
+            Assertions.assertTrue(response.contains("HTTP/1.1 429 Too Many Requests"));
+            Assertions.assertTrue(response.indexOf("429") > response.lastIndexOf("200 OK"));
+        }
+    }
+
+    private String request() throws Exception {
+        try(Socket socket = new Socket("localhost", TEST_PORT)){
+            socket.getOutputStream().write("GET / HTTP/1.0\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+            return new String(socket.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http;
+
+import com.nhnacademy.http.handler.HelloHandler;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+class SimpleHttpServerStopTest {
+    static final int TEST_PORT = 9990;
+
+    @Test
+    @DisplayName("stop : 처리중인 요청은 완료하고, keep-alive 연결은 종료 합니다.")
+    void stop() throws Exception {
+        CountDownLatch handling = new CountDownLatch(1);
+        SimpleHttpServer server = new SimpleHttpServer(TEST_PORT);
+        server.setHttpHandler(request -> {
+            if(request.getPath().equals("/slow")){
+                handling.countDown();
+                try{
+                    Thread.sleep(500);
+                }catch (InterruptedException e){
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return new HelloHandler().handle(request);
+        });
+        Thread thread = new Thread(server::start);
+        thread.start();
+        Thread.sleep(300);
+
+        try(Socket idle = new Socket("localhost", TEST_PORT);
+            Socket slow = new Socket("localhost", TEST_PORT)){
+            // 응답을 받은 뒤 다음 요청을 기다리는 keep-alive 연결 입니다.
+            idle.getOutputStream().write("GET / HTTP/1.1\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+            Assertions.assertTrue(readUntil(idle, "hello java"));
+
+            slow.getOutputStream().write("GET /slow HTTP/1.1\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+            Assertions.assertTrue(handling.await(2, TimeUnit.SECONDS));
+
+            long start = System.nanoTime();
+            Assertions.assertTrue(server.stop(5, TimeUnit.SECONDS));
+            // idleTimeout(5초)를 기다리지 않고 종료 됩니다.
+            Assertions.assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(3));
+
+            String response = new String(slow.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            Assertions.assertTrue(response.startsWith("HTTP/1.1 200 OK"));
+            Assertions.assertTrue(response.contains("Connection: close"));
+            Assertions.assertEquals(-1, idle.getInputStream().read());
+        }
+
+        thread.join(2000);
+        Assertions.assertFalse(thread.isAlive());
+        Assertions.assertThrows(ConnectException.class, ()->new Socket("localhost", TEST_PORT).close());
+    }
+
+    @Test
+    @DisplayName("stop : timeout이 지나면 연결을 강제로 종료 합니다.")
+    void stopTimeout() throws Exception {
+        CountDownLatch handling = new CountDownLatch(1);
+        SimpleHttpServer server = new SimpleHttpServer(TEST_PORT);
+        server.setHttpHandler(request -> {
+            handling.countDown();
+            try{
+                Thread.sleep(3000);
+            }catch (InterruptedException e){
+                Thread.currentThread().interrupt();
+            }
+            return new HelloHandler().handle(request);
+        });
+        Thread thread = new Thread(server::start);
+        thread.start();
+        Thread.sleep(300);
+
+        try(Socket slow = new Socket("localhost", TEST_PORT)){
+            slow.getOutputStream().write("GET / HTTP/1.1\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+            Assertions.assertTrue(handling.await(2, TimeUnit.SECONDS));
+            Assertions.assertFalse(server.stop(200, TimeUnit.MILLISECONDS));
+        }
+        thread.join(2000);
+        Assertions.assertFalse(thread.isAlive());
+    }
+
+    // 응답에 text가 포함될 때 까지 읽습니다.
+    private boolean readUntil(Socket socket, String text) throws IOException {
+        StringBuilder response = new StringBuilder();
+        byte[] buffer = new byte[1024];
+        int read;
+        while((read = socket.getInputStream().read(buffer)) > 0){
+            response.append(new String(buffer, 0, read, StandardCharsets.UTF_8));
+            if(response.indexOf(text) >= 0){
+                return true;
+            }
+        }
+        return false;
+    }
+}
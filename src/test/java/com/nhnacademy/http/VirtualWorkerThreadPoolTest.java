@@ -0,0 +1,119 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http;
+
+import com.nhnacademy.http.channel.RequestChannel;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.commons.function.Try;
+import org.junit.platform.commons.util.ReflectionUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+class VirtualWorkerThreadPoolTest {
+
+    @Test
+    @DisplayName("maxConcurrentRequests < 1")
+    void constructorTest(){
+        Assertions.assertThrows(IllegalArgumentException.class, ()->{
+            WorkerThreadPool.ofVirtual(0, new RequestChannel());
+        });
+    }
+
+    @Test
+    @DisplayName("blocking jobs run concurrently on virtual threads")
+    void concurrentBlockingJobs() throws InterruptedException {
+        RequestChannel requestChannel = new RequestChannel();
+        WorkerThreadPool threadPool = WorkerThreadPool.ofVirtual(1000, requestChannel);
+        threadPool.start();
+
+        int jobCount = 1000;
+        CountDownLatch latch = new CountDownLatch(jobCount);
+        AtomicInteger virtualCount = new AtomicInteger();
+
+        long startTime = System.nanoTime();
+        for(int i=0; i<jobCount; i++){
+            requestChannel.addHttpJob(()->{
+                if(Thread.currentThread().isVirtual()){
+                    virtualCount.incrementAndGet();
+                }
+                try {
+                    Thread.sleep(200);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                latch.countDown();
+            });
+        }
+
+        Assertions.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        log.debug("elapsed:{}ms", elapsed);
+        threadPool.stop();
+
+        Assertions.assertEquals(jobCount, virtualCount.get());
+        // platform thread 5개로 처리하면 40초가 걸리는 작업 입니다.
+        Assertions.assertTrue(elapsed < 5000);
+    }
+
+    @Test
+    @DisplayName("concurrent requests never exceed maxConcurrentRequests")
+    void maxConcurrentRequests() throws InterruptedException {
+        RequestChannel requestChannel = new RequestChannel();
+        WorkerThreadPool threadPool = WorkerThreadPool.ofVirtual(3, requestChannel);
+        threadPool.start();
+
+        int jobCount = 30;
+        CountDownLatch latch = new CountDownLatch(jobCount);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        for(int i=0; i<jobCount; i++){
+            requestChannel.addHttpJob(()->{
+                int current = running.incrementAndGet();
+                maxRunning.accumulateAndGet(current, Math::max);
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                latch.countDown();
+            });
+        }
+
+        Assertions.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        threadPool.stop();
+        log.debug("maxRunning:{}", maxRunning.get());
+        Assertions.assertTrue(maxRunning.get() <= 3);
+    }
+
+    @Test
+    @DisplayName("stop : dispatcher thread TERMINATED")
+    void stop() throws Exception {
+        WorkerThreadPool threadPool = WorkerThreadPool.ofVirtual(new RequestChannel());
+        threadPool.start();
+        threadPool.stop();
+
+        Try<Object> readFieldValue = ReflectionUtils.tryToReadFieldValue(WorkerThreadPool.class, "workerThreads", threadPool);
+        Thread[] workerThreads = (Thread[]) readFieldValue.get();
+        for(Thread thread : workerThreads){
+            Assertions.assertEquals(Thread.State.TERMINATED, thread.getState());
+        }
+    }
+}
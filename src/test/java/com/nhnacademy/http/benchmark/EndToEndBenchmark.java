@@ -0,0 +1,154 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http.benchmark;
+
+import com.nhnacademy.http.NioHttpServer;
+import com.nhnacademy.http.SimpleHttpServer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/* loopback으로 server를 실행하고 초당 처리한 요청 수를 측정 합니다.
+ * benchmark thread마다 keep-alive 연결 하나를 사용하며, 요청을 보내고 응답을 모두 읽을 때 까지를 한 번으로 측정 합니다.
+ * server는 종료 method가 없으므로 daemon thread로 실행하고, JMH가 fork한 JVM과 함께 종료 됩니다.
+ * 실행 : mvn -P benchmark verify -Djmh.includes=EndToEndBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class EndToEndBenchmark {
+    private static final byte[] REQUEST = "GET / HTTP/1.1\r\nHost: localhost\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+    private static final int CONNECT_TIMEOUT_MILLIS = 5000;
+
+    @State(Scope.Benchmark)
+    public static class Server {
+        @Param({"simple", "nio"})
+        public String server;
+
+        int port;
+
+        @Setup(Level.Trial)
+        public void start() throws IOException, InterruptedException {
+            try(ServerSocket serverSocket = new ServerSocket(0)){
+                port = serverSocket.getLocalPort();
+            }
+            Thread thread = new Thread(server.equals("nio")
+                    ? () -> new NioHttpServer(port).start()
+                    : () -> new SimpleHttpServer(port).start());
+            thread.setName("server");
+            thread.setDaemon(true);
+            thread.start();
+
+            // server가 연결을 받을 수 있을 때 까지 대기 합니다.
+            long deadline = System.currentTimeMillis() + CONNECT_TIMEOUT_MILLIS;
+            while(true){
+                try(Socket ignored = new Socket("localhost", port)){
+                    return;
+                }catch(IOException e){
+                    if(System.currentTimeMillis() > deadline){
+                        throw e;
+                    }
+                    Thread.sleep(10);
+                }
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+        private Socket socket;
+        private InputStream inputStream;
+        private OutputStream outputStream;
+        private final byte[] buffer = new byte[8192];
+
+        @Setup(Level.Iteration)
+        public void connect(Server server) throws IOException {
+            socket = new Socket("localhost", server.port);
+            socket.setTcpNoDelay(true);
+            inputStream = new BufferedInputStream(socket.getInputStream());
+            outputStream = socket.getOutputStream();
+        }
+
+        @TearDown(Level.Iteration)
+        public void close() throws IOException {
+            socket.close();
+        }
+
+        // 요청을 보내고 header의 Content-Length 만큼 body를 읽습니다.
+        int request() throws IOException {
+            outputStream.write(REQUEST);
+            int contentLength = readHead();
+            int remaining = contentLength;
+            while(remaining > 0){
+                int read = inputStream.read(buffer, 0, Math.min(buffer.length, remaining));
+                if(read < 0){
+                    throw new IOException("connection closed");
+                }
+                remaining -= read;
+            }
+            return contentLength;
+        }
+
+        private int readHead() throws IOException {
+            int length = 0;
+            while(length < 4 || buffer[length - 4] != '\r' || buffer[length - 3] != '\n'
+                    || buffer[length - 2] != '\r' || buffer[length - 1] != '\n'){
+                int b = inputStream.read();
+                if(b < 0 || length == buffer.length){
+                    throw new IOException("invalid response");
+                }
+                buffer[length++] = (byte) b;
+            }
+            String head = new String(buffer, 0, length, StandardCharsets.US_ASCII);
+            int index = head.indexOf("Content-Length: ");
+            if(index < 0){
+                return 0;
+            }
+            int end = head.indexOf("\r\n", index);
+            return Integer.parseInt(head.substring(index + "Content-Length: ".length(), end));
+        }
+    }
+
+    // keep-alive 요청 수 제한(maxRequests)에 도달해서 연결이 종료되면 다시 연결 합니다.
+    @Benchmark
+    public int request(Server server, Client client) throws IOException {
+        try{
+            return client.request();
+        }catch(IOException e){
+            client.close();
+            client.connect(server);
+            return client.request();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(EndToEndBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http.benchmark;
+
+import com.nhnacademy.http.handler.HelloHandler;
+import com.nhnacademy.http.parser.HttpRequestParser;
+import com.nhnacademy.http.request.HttpRequest;
+import com.nhnacademy.http.response.HttpResponse;
+import com.nhnacademy.http.response.HttpResponseWriter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/* HttpJob이 요청 하나를 처리할 때 socket I/O를 제외한 비용을 측정 합니다.
+ *  - parse : HttpRequestParser로 요청 head를 해석
+ *  - encode : HttpResponseWriter로 응답 header를 encode
+ *  - roundTrip : parse -> HttpRequest -> handler -> encode
+ * 실행 : mvn -P benchmark verify -Djmh.includes=HttpCodecBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HttpCodecBenchmark {
+
+    private static final String REQUEST = "GET /index.html?page=1 HTTP/1.1\r\n" +
+            "Host: localhost:8080\r\n" +
+            "Connection: keep-alive\r\n" +
+            "User-Agent: Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/126.0.0.0 Safari/537.36\r\n" +
+            "Accept: text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8\r\n" +
+            "Accept-Encoding: gzip, deflate, br\r\n" +
+            "Accept-Language: ko-KR,ko;q=0.9,en-US;q=0.8,en;q=0.7\r\n" +
+            "\r\n";
+
+    private ByteBuffer requestBuffer;
+    private int requestLength;
+    private HttpRequestParser parser;
+    private HttpResponseWriter responseWriter;
+    private HelloHandler handler;
+    private HttpResponse response;
+
+    @Setup
+    public void setUp() throws IOException {
+        byte[] requestBytes = REQUEST.getBytes(StandardCharsets.US_ASCII);
+        requestBuffer = ByteBuffer.wrap(requestBytes);
+        requestLength = requestBytes.length;
+        parser = new HttpRequestParser();
+        responseWriter = new HttpResponseWriter();
+        handler = new HelloHandler();
+
+        parser.parse(requestBuffer, 0, requestLength);
+        response = handler.handle(new HttpRequest(parser));
+    }
+
+    @Benchmark
+    public int parse() throws IOException {
+        parser.reset();
+        parser.parse(requestBuffer, 0, requestLength);
+        return parser.getHeaderCount();
+    }
+
+    @Benchmark
+    public int encode() {
+        ByteBuffer[] encoded = responseWriter.encode(response, true);
+        return encoded[0].remaining() + encoded[1].remaining();
+    }
+
+    @Benchmark
+    public int roundTrip() throws IOException {
+        parser.reset();
+        parser.parse(requestBuffer, 0, requestLength);
+        HttpResponse handled = handler.handle(new HttpRequest(parser));
+        ByteBuffer[] encoded = responseWriter.encode(handled, true);
+        return encoded[0].remaining() + encoded[1].remaining();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(HttpCodecBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
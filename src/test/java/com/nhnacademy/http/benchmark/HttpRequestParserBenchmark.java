@@ -0,0 +1,96 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http.benchmark;
+
+import com.nhnacademy.exceptions.HttpParseException;
+import com.nhnacademy.http.parser.HttpRequestParser;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/* 기존 HttpJob의 BufferedReader.readLine() 방식과 HttpRequestParser를 비교 합니다.
+ * 실행 : mvn -P benchmark verify -Djmh.includes=HttpRequestParserBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HttpRequestParserBenchmark {
+
+    // browser가 보내는 일반적인 GET 요청 입니다.
+    private static final String REQUEST = "GET /index.html?page=1 HTTP/1.1\r\n" +
+            "Host: localhost:8080\r\n" +
+            "Connection: keep-alive\r\n" +
+            "Cache-Control: max-age=0\r\n" +
+            "User-Agent: Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/126.0.0.0 Safari/537.36\r\n" +
+            "Accept: text/html,application/xhtml+xml,application/xml;q=0.9,image/avif,image/webp,*/*;q=0.8\r\n" +
+            "Accept-Encoding: gzip, deflate, br\r\n" +
+            "Accept-Language: ko-KR,ko;q=0.9,en-US;q=0.8,en;q=0.7\r\n" +
+            "Cookie: JSESSIONID=4F2A1C0D9B8E7F6A5B4C3D2E1F0A9B8C\r\n" +
+            "\r\n";
+
+    private byte[] requestBytes;
+    private ByteBuffer requestBuffer;
+    private HttpRequestParser parser;
+
+    @Setup
+    public void setUp() {
+        requestBytes = REQUEST.getBytes(StandardCharsets.US_ASCII);
+        requestBuffer = ByteBuffer.wrap(requestBytes);
+        parser = new HttpRequestParser();
+    }
+
+    // 기존 HttpJob 방식 : InputStreamReader로 decode 하고 line 마다 String을 생성 합니다.
+    @Benchmark
+    public int readLine() throws IOException {
+        StringBuilder requestBuilder = new StringBuilder();
+        try(BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(requestBytes)))){
+            while(true){
+                String line = bufferedReader.readLine();
+                if(Objects.isNull(line) || line.isEmpty()){
+                    break;
+                }
+                requestBuilder.append(line);
+            }
+        }
+        return requestBuilder.length();
+    }
+
+    // HttpRequestParser : byte를 직접 해석하고 offset/length만 기록 합니다.
+    @Benchmark
+    public int byteParser() throws HttpParseException {
+        parser.reset();
+        parser.parse(requestBuffer, 0, requestBytes.length);
+        return parser.getHeaderCount();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(HttpRequestParserBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
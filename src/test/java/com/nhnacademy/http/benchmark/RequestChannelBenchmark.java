@@ -0,0 +1,111 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http.benchmark;
+
+import com.nhnacademy.http.channel.Executable;
+import com.nhnacademy.http.channel.MonitorJobQueue;
+import com.nhnacademy.http.channel.ParkingWaitStrategy;
+import com.nhnacademy.http.channel.RequestChannel;
+import com.nhnacademy.http.channel.RingBufferJobQueue;
+import com.nhnacademy.http.channel.WorkStealingJobQueue;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/* RequestChannel의 addHttpJob() -> getHttpJob() 전달 처리량을 측정 합니다.
+ * consumer thread는 setup에서 시작해서 계속 작업을 꺼내 실행하고, benchmark thread(producer)는 작업을 등록 합니다.
+ * producer 수는 method(@Threads), consumer 수와 queue 구현은 @Param으로 지정 합니다.
+ * 실행 : mvn -P benchmark verify -Djmh.includes=RequestChannelBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestChannelBenchmark {
+    private static final int CAPACITY = 1024;
+
+    @Param({"monitor", "ringBuffer", "workStealing"})
+    public String queue;
+
+    @Param({"1", "4"})
+    public int consumers;
+
+    private RequestChannel requestChannel;
+    private final List<Thread> consumerThreads = new ArrayList<>();
+    private final LongAdder executed = new LongAdder();
+    private Executable job;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        requestChannel = switch (queue) {
+            case "ringBuffer" -> new RequestChannel(new RingBufferJobQueue(CAPACITY, ParkingWaitStrategy::new));
+            case "workStealing" -> new RequestChannel(new WorkStealingJobQueue(consumers, CAPACITY));
+            default -> new RequestChannel(new MonitorJobQueue(CAPACITY));
+        };
+        job = executed::increment;
+        for(int i=0; i<consumers; i++){
+            Thread thread = new Thread(()->{
+                while(!Thread.currentThread().isInterrupted()){
+                    try{
+                        requestChannel.getHttpJob().execute();
+                    }catch(Exception e){
+                        // getHttpJob()은 interrupt 되면 RuntimeException을 발생시킵니다.
+                        return;
+                    }
+                }
+            });
+            thread.setName("consumer-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            consumerThreads.add(thread);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        for(Thread thread : consumerThreads){
+            thread.interrupt();
+        }
+        for(Thread thread : consumerThreads){
+            thread.join(1000);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void producers1() {
+        requestChannel.addHttpJob(job);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void producers4() {
+        requestChannel.addHttpJob(job);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(RequestChannelBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.buffer;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicReference;
+
+class BufferPoolTest {
+
+    static BufferPool pool(int threadCacheSize, boolean leakDetection){
+        return new BufferPool(true, 1024, 16 * 1024, 2, threadCacheSize, leakDetection);
+    }
+
+    @Test
+    @DisplayName("invalid size")
+    void constructorTest(){
+        Assertions.assertThrows(IllegalArgumentException.class, ()->new BufferPool(true, 0, 1024, 1, 1, false));
+        Assertions.assertThrows(IllegalArgumentException.class, ()->new BufferPool(true, 2048, 1024, 1, 1, false));
+        Assertions.assertThrows(IllegalArgumentException.class, ()->new BufferPool(true, 1024, 2048, -1, 1, false));
+    }
+
+    @Test
+    @DisplayName("size class : 2의 거듭제곱으로 올림, limit는 요청한 크기")
+    void sizeClass(){
+        BufferPool pool = pool(0, false);
+        ByteBuffer buffer = pool.acquire(3000);
+        Assertions.assertAll(
+                ()->Assertions.assertTrue(buffer.isDirect()),
+                ()->Assertions.assertEquals(4096, buffer.capacity()),
+                ()->Assertions.assertEquals(0, buffer.position()),
+                ()->Assertions.assertEquals(3000, buffer.limit()),
+                ()->Assertions.assertEquals(1024, pool.acquire(10).capacity()),
+                ()->Assertions.assertEquals(16 * 1024, pool.acquire(16 * 1024).capacity()),
+                ()->Assertions.assertFalse(new BufferPool(false, 1024, 2048, 1, 1, false).acquire(1).isDirect())
+        );
+    }
+
+    @Test
+    @DisplayName("반환한 buffer를 재사용 합니다.")
+    void reuse(){
+        BufferPool pool = pool(0, false);
+        ByteBuffer first = pool.acquire(2000);
+        first.put((byte) 1);
+        pool.release(first);
+
+        ByteBuffer second = pool.acquire(1500);
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(0, second.position());
+        Assertions.assertEquals(1500, second.limit());
+        Assertions.assertEquals(1, pool.getAllocatedCount());
+        Assertions.assertEquals(1, pool.getLeasedCount());
+    }
+
+    @Test
+    @DisplayName("maxSize 보다 큰 buffer, 다른 크기의 buffer는 보관하지 않습니다.")
+    void notPooled(){
+        BufferPool pool = pool(0, false);
+        ByteBuffer large = pool.acquire(100_000);
+        Assertions.assertEquals(100_000, large.capacity());
+        pool.release(large);
+        Assertions.assertNotSame(large, pool.acquire(100_000));
+
+        pool.release(ByteBuffer.allocateDirect(1000));
+        Assertions.assertEquals(1024, pool.acquire(1000).capacity());
+    }
+
+    @Test
+    @DisplayName("maxPooled : size class 마다 보관하는 최대 buffer 수")
+    void maxPooled(){
+        BufferPool pool = pool(0, false);
+        ByteBuffer[] buffers = new ByteBuffer[3];
+        for(int i=0; i<buffers.length; i++){
+            buffers[i] = pool.acquire(1024);
+        }
+        for(ByteBuffer buffer : buffers){
+            pool.release(buffer);
+        }
+        for(int i=0; i<buffers.length; i++){
+            pool.acquire(1024);
+        }
+        // 2개는 재사용, 1개는 새로 할당 합니다.
+        Assertions.assertEquals(4, pool.getAllocatedCount());
+    }
+
+    @Test
+    @DisplayName("thread cache : 다른 thread는 공유 pool에 반환된 buffer만 사용합니다.")
+    void threadCache() throws InterruptedException {
+        BufferPool pool = pool(1, false);
+        ByteBuffer cached = pool.acquire(1024);
+        ByteBuffer shared = pool.acquire(1024);
+        // 첫 번째는 thread cache, 두 번째는 공유 pool에 보관 됩니다.
+        pool.release(cached);
+        pool.release(shared);
+
+        AtomicReference<ByteBuffer> other = new AtomicReference<>();
+        Thread thread = new Thread(()->other.set(pool.acquire(1024)));
+        thread.start();
+        thread.join();
+        Assertions.assertSame(shared, other.get());
+        Assertions.assertSame(cached, pool.acquire(1024));
+
+        // virtual thread는 thread cache를 사용하지 않습니다.
+        Thread virtual = Thread.ofVirtual().start(()->{
+            ByteBuffer buffer = pool.acquire(2048);
+            pool.release(buffer);
+            other.set(buffer);
+        });
+        virtual.join();
+        Assertions.assertSame(other.get(), pool.acquire(2048));
+    }
+
+    @Test
+    @DisplayName("leak detection : 반환하지 않은 buffer, 두 번 반환")
+    void leakDetection(){
+        BufferPool pool = pool(1, true);
+        ByteBuffer leaked = pool.acquire(1024);
+        ByteBuffer released = pool.acquire(1024);
+        pool.release(released);
+
+        Assertions.assertEquals(1, pool.reportLeaks());
+        Assertions.assertThrows(IllegalStateException.class, ()->pool.release(released));
+        Assertions.assertThrows(IllegalStateException.class, ()->pool.release(ByteBuffer.allocateDirect(1024)));
+
+        pool.release(leaked);
+        Assertions.assertEquals(0, pool.reportLeaks());
+        Assertions.assertEquals(0, pool.getLeasedCount());
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.cache;
+
+import com.nhnacademy.http.handler.HttpHandler;
+import com.nhnacademy.http.parser.HttpRequestParser;
+import com.nhnacademy.http.request.HttpRequest;
+import com.nhnacademy.http.response.HttpResponse;
+import com.nhnacademy.http.response.HttpStatus;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class ResponseCacheHandlerTest {
+
+    static HttpRequest request(String head){
+        ByteBuffer buffer = ByteBuffer.wrap((head + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        HttpRequestParser parser = new HttpRequestParser();
+        try{
+            Assertions.assertTrue(parser.parse(buffer, 0, buffer.limit()));
+        }catch(IOException e){
+            throw new IllegalStateException(e);
+        }
+        return new HttpRequest(parser);
+    }
+
+    // 호출 횟수를 body로 응답 합니다.
+    static HttpHandler counting(AtomicInteger calls, String... headers){
+        return request -> {
+            HttpResponse response = new HttpResponse().setContentType(HttpResponse.TEXT_PLAIN).setBody(String.valueOf(calls.incrementAndGet()));
+            for(int i=0; i<headers.length; i+=2){
+                response.setHeader(headers[i], headers[i+1]);
+            }
+            return response;
+        };
+    }
+
+    static String body(HttpResponse response){
+        return StandardCharsets.UTF_8.decode(response.getBody().duplicate()).toString();
+    }
+
+    @Test
+    @DisplayName("httpHandler, responseCache is null, ttl:0")
+    void constructorTest(){
+        Assertions.assertAll(
+                ()->Assertions.assertThrows(IllegalArgumentException.class, ()->new ResponseCacheHandler(null)),
+                ()->Assertions.assertThrows(IllegalArgumentException.class, ()->new ResponseCacheHandler(request -> null, null, 1000)),
+                ()->Assertions.assertThrows(IllegalArgumentException.class, ()->new ResponseCacheHandler(request -> null, new ResponseCache(), 0))
+        );
+    }
+
+    @Test
+    @DisplayName("같은 GET 요청은 handler를 다시 실행하지 않습니다.")
+    void hit() throws IOException {
+        AtomicInteger calls = new AtomicInteger();
+        ResponseCacheHandler handler = new ResponseCacheHandler(counting(calls, "ETag", "\"1\""));
+
+        Assertions.assertEquals("1", body(handler.handle(request("GET /a?x=1 HTTP/1.1\r\n"))));
+        HttpResponse cached = handler.handle(request("GET /a?x=1 HTTP/1.1\r\n"));
+        Assertions.assertEquals("1", body(cached));
+        Assertions.assertEquals("\"1\"", cached.getHeader("ETag"));
+        Assertions.assertEquals(HttpResponse.TEXT_PLAIN, cached.getContentType());
+
+        // query, method가 다르면 다른 응답 입니다.
+        Assertions.assertEquals("2", body(handler.handle(request("GET /a?x=2 HTTP/1.1\r\n"))));
+        Assertions.assertEquals("3", body(handler.handle(request("HEAD /a?x=1 HTTP/1.1\r\n"))));
+        Assertions.assertEquals("4", body(handler.handle(request("POST /a?x=1 HTTP/1.1\r\nContent-Length: 0\r\n"))));
+        Assertions.assertEquals("5", body(handler.handle(request("GET /a?x=1 HTTP/1.1\r\nAuthorization: Basic YTpi\r\n"))));
+        Assertions.assertEquals(3, handler.getResponseCache().size());
+    }
+
+    @Test
+    @DisplayName("varyHeaders : 요청 header 값 별로 보관 합니다.")
+    void vary() throws IOException {
+        AtomicInteger calls = new AtomicInteger();
+        ResponseCacheHandler handler = new ResponseCacheHandler(counting(calls, "Vary", "Accept-Encoding"), new ResponseCache(), 10_000, "Accept-Encoding");
+
+        Assertions.assertEquals("1", body(handler.handle(request("GET / HTTP/1.1\r\nAccept-Encoding: gzip\r\n"))));
+        Assertions.assertEquals("2", body(handler.handle(request("GET / HTTP/1.1\r\n"))));
+        Assertions.assertEquals("1", body(handler.handle(request("GET / HTTP/1.1\r\naccept-encoding: gzip\r\n"))));
+        Assertions.assertEquals("2", body(handler.handle(request("GET / HTTP/1.1\r\n"))));
+
+        // varyHeaders에 없는 header로 Vary를 지정한 응답은 보관하지 않습니다.
+        AtomicInteger uncovered = new AtomicInteger();
+        ResponseCacheHandler languageHandler = new ResponseCacheHandler(counting(uncovered, "Vary", "Accept-Language"));
+        languageHandler.handle(request("GET / HTTP/1.1\r\n"));
+        languageHandler.handle(request("GET / HTTP/1.1\r\n"));
+        Assertions.assertEquals(2, uncovered.get());
+    }
+
+    @Test
+    @DisplayName("보관하지 않는 응답 : no-store, private, Set-Cookie, 200이 아닌 응답")
+    void notCacheable() throws IOException {
+        String[][] headers = {
+                {"Cache-Control", "no-store"},
+                {"Cache-Control", "public, private"},
+                {"Cache-Control", "max-age=0"},
+                {"Set-Cookie", "id=1"},
+        };
+        for(String[] header : headers){
+            AtomicInteger calls = new AtomicInteger();
+            ResponseCacheHandler handler = new ResponseCacheHandler(counting(calls, header));
+            handler.handle(request("GET / HTTP/1.1\r\n"));
+            handler.handle(request("GET / HTTP/1.1\r\n"));
+            Assertions.assertEquals(2, calls.get(), header[0] + ": " + header[1]);
+        }
+
+        AtomicInteger calls = new AtomicInteger();
+        ResponseCacheHandler handler = new ResponseCacheHandler(request -> {
+            calls.incrementAndGet();
+            return new HttpResponse(HttpStatus.NOT_FOUND);
+        });
+        handler.handle(request("GET / HTTP/1.1\r\n"));
+        handler.handle(request("GET / HTTP/1.1\r\n"));
+        Assertions.assertEquals(2, calls.get());
+    }
+
+    @Test
+    @DisplayName("Cache-Control: max-age 가 ttl 대신 사용됩니다.")
+    void maxAge() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        ResponseCacheHandler handler = new ResponseCacheHandler(counting(calls), new ResponseCache(), 50);
+        handler.handle(request("GET / HTTP/1.1\r\n"));
+        Thread.sleep(100);
+        Assertions.assertEquals("2", body(handler.handle(request("GET / HTTP/1.1\r\n"))));
+
+        ResponseCacheHandler maxAgeHandler = new ResponseCacheHandler(counting(new AtomicInteger(), "Cache-Control", "max-age=60"), new ResponseCache(), 50);
+        maxAgeHandler.handle(request("GET / HTTP/1.1\r\n"));
+        Thread.sleep(100);
+        Assertions.assertEquals("1", body(maxAgeHandler.handle(request("GET / HTTP/1.1\r\n"))));
+    }
+
+    @Test
+    @DisplayName("single-flight : 동시에 miss 된 요청은 handler를 한 번만 실행합니다.")
+    void singleFlight() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ResponseCacheHandler handler = new ResponseCacheHandler(request -> {
+            started.countDown();
+            try{
+                release.await();
+            }catch (InterruptedException e){
+                Thread.currentThread().interrupt();
+            }
+            return new HttpResponse().setBody(String.valueOf(calls.incrementAndGet()));
+        });
+
+        List<String> bodies = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for(int i=0; i<5; i++){
+            Thread thread = new Thread(()->{
+                try{
+                    String body = body(handler.handle(request("GET / HTTP/1.1\r\n")));
+                    synchronized (bodies){
+                        bodies.add(body);
+                    }
+                }catch(IOException e){
+                    throw new IllegalStateException(e);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        Assertions.assertTrue(started.await(2, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        release.countDown();
+        for(Thread thread : threads){
+            thread.join(2000);
+        }
+
+        Assertions.assertEquals(1, calls.get());
+        Assertions.assertEquals(List.of("1", "1", "1", "1", "1"), bodies);
+    }
+
+    @Test
+    @DisplayName("single-flight : 실행한 요청이 실패하면 기다리던 요청이 직접 실행 합니다.")
+    void singleFlightError() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ResponseCacheHandler handler = new ResponseCacheHandler(request -> {
+            if(calls.incrementAndGet() == 1){
+                started.countDown();
+                try{
+                    release.await();
+                }catch (InterruptedException e){
+                    Thread.currentThread().interrupt();
+                }
+                throw new IOException("handler error");
+            }
+            return new HttpResponse().setBody("ok");
+        });
+
+        Thread leader = new Thread(()->Assertions.assertThrows(IOException.class, ()->handler.handle(request("GET / HTTP/1.1\r\n"))));
+        leader.start();
+        Assertions.assertTrue(started.await(2, TimeUnit.SECONDS));
+
+        List<String> bodies = new ArrayList<>();
+        Thread waiter = new Thread(()->{
+            try{
+                bodies.add(body(handler.handle(request("GET / HTTP/1.1\r\n"))));
+            }catch(IOException e){
+                throw new IllegalStateException(e);
+            }
+        });
+        waiter.start();
+        Thread.sleep(100);
+        release.countDown();
+        leader.join(2000);
+        waiter.join(2000);
+
+        Assertions.assertEquals(List.of("ok"), bodies);
+        Assertions.assertEquals(2, calls.get());
+    }
+
+    @Test
+    @DisplayName("single-flight : 실행한 요청이 maxWaitMillis 안에 완료되지 않으면 기다리던 요청이 직접 실행 합니다.")
+    void singleFlightTimeout() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ResponseCacheHandler handler = new ResponseCacheHandler(request -> {
+            if(calls.incrementAndGet() == 1){
+                started.countDown();
+                try{
+                    release.await();
+                }catch (InterruptedException e){
+                    Thread.currentThread().interrupt();
+                }
+                return new HttpResponse().setBody("leader");
+            }
+            return new HttpResponse().setBody("direct");
+        }).setMaxWaitMillis(100);
+        Assertions.assertThrows(IllegalArgumentException.class, ()->handler.setMaxWaitMillis(0));
+
+        Thread leader = new Thread(()->{
+            try{
+                handler.handle(request("GET / HTTP/1.1\r\n"));
+            }catch(IOException e){
+                throw new IllegalStateException(e);
+            }
+        });
+        leader.start();
+        try{
+            Assertions.assertTrue(started.await(2, TimeUnit.SECONDS));
+            long start = System.nanoTime();
+            Assertions.assertEquals("direct", body(handler.handle(request("GET / HTTP/1.1\r\n"))));
+            Assertions.assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+            Assertions.assertEquals(2, calls.get());
+        }finally {
+            release.countDown();
+            leader.join(2000);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.cache;
+
+import com.nhnacademy.http.response.HttpResponse;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+class ResponseCacheTest {
+    static final long TTL = TimeUnit.SECONDS.toNanos(10);
+
+    static CachedResponse cachedResponse(int bodySize, long expiresNanos){
+        return new CachedResponse(new HttpResponse().setContentType(HttpResponse.TEXT_PLAIN).setBody(new byte[bodySize]), expiresNanos);
+    }
+
+    @Test
+    @DisplayName("maxCacheSize:-1, key is null")
+    void constructorTest(){
+        Assertions.assertThrows(IllegalArgumentException.class, ()->new ResponseCache(-1));
+        Assertions.assertThrows(IllegalArgumentException.class, ()->new ResponseCache().get(null, 0));
+        Assertions.assertThrows(IllegalArgumentException.class, ()->new ResponseCache().put("/", null));
+    }
+
+    @Test
+    @DisplayName("응답은 handler의 HttpResponse와 독립된 사본 입니다.")
+    void snapshot(){
+        HttpResponse response = new HttpResponse().setContentType(HttpResponse.TEXT_HTML).setHeader("ETag", "\"1\"").setBody("hello");
+        CachedResponse cachedResponse = new CachedResponse(response, TTL);
+        response.setHeader("ETag", "\"2\"").getBody().get();
+
+        HttpResponse first = cachedResponse.toResponse();
+        first.getBody().get();
+        HttpResponse second = cachedResponse.toResponse();
+        Assertions.assertAll(
+                ()->Assertions.assertEquals("\"1\"", second.getHeader("ETag")),
+                ()->Assertions.assertEquals(HttpResponse.TEXT_HTML, second.getContentType()),
+                ()->Assertions.assertTrue(second.getBody().isDirect()),
+                ()->Assertions.assertEquals("hello", StandardCharsets.UTF_8.decode(second.getBody()).toString())
+        );
+    }
+
+    @Test
+    @DisplayName("만료된 응답은 조회할 때 제거 됩니다.")
+    void expired(){
+        ResponseCache responseCache = new ResponseCache();
+        responseCache.put("/", cachedResponse(10, 100));
+        Assertions.assertNotNull(responseCache.get("/", 99));
+        Assertions.assertNull(responseCache.get("/", 100));
+        Assertions.assertEquals(0, responseCache.size());
+        Assertions.assertEquals(0, responseCache.getCachedBytes());
+    }
+
+    @Test
+    @DisplayName("LRU : 전체 크기를 넘으면 가장 오래 사용하지 않은 응답을 제거 합니다.")
+    void lru(){
+        long entrySize = cachedResponse(1000, TTL).size();
+        ResponseCache responseCache = new ResponseCache(entrySize * 2);
+        responseCache.put("/a", cachedResponse(1000, TTL));
+        responseCache.put("/b", cachedResponse(1000, TTL));
+        Assertions.assertNotNull(responseCache.get("/a", 0));
+        responseCache.put("/c", cachedResponse(1000, TTL));
+
+        Assertions.assertAll(
+                ()->Assertions.assertNotNull(responseCache.get("/a", 0)),
+                ()->Assertions.assertNull(responseCache.get("/b", 0)),
+                ()->Assertions.assertNotNull(responseCache.get("/c", 0)),
+                ()->Assertions.assertEquals(entrySize * 2, responseCache.getCachedBytes())
+        );
+
+        // maxCacheSize 보다 큰 응답은 보관하지 않습니다.
+        responseCache.put("/large", cachedResponse(5000, TTL));
+        Assertions.assertNull(responseCache.get("/large", 0));
+        Assertions.assertEquals(2, responseCache.size());
+
+        responseCache.invalidate("/a");
+        Assertions.assertNull(responseCache.get("/a", 0));
+        responseCache.clear();
+        Assertions.assertEquals(0, responseCache.getCachedBytes());
+    }
+}
@@ -0,0 +1,517 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http.channel;
+
+import com.nhnacademy.http.handler.HelloHandler;
+import com.nhnacademy.http.handler.HttpHandler;
+import com.nhnacademy.http.parser.HttpRequestParser;
+import com.nhnacademy.http.response.HttpResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+class HttpJobTest {
+    ServerSocket serverSocket;
+    Socket client;
+    Thread worker;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        serverSocket = new ServerSocket(0);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException, InterruptedException {
+        if(client != null){
+            client.close();
+        }
+        serverSocket.close();
+        if(worker != null){
+            worker.join(2000);
+        }
+    }
+
+    @Test
+    @DisplayName("client Socket = null")
+    void constructorTest(){
+        Assertions.assertThrows(IllegalArgumentException.class, ()->new HttpJob(null));
+    }
+
+    @Test
+    @DisplayName("pipelining : 3 requests on one connection, answered in order")
+    void pipelining() throws Exception {
+        connect(new KeepAlivePolicy(2000, 100));
+
+        String request = "GET /%d HTTP/1.1\r\nHost: localhost\r\n\r\n";
+        OutputStream outputStream = client.getOutputStream();
+        outputStream.write((String.format(request,1) + String.format(request,2) + String.format(request,3)).getBytes(StandardCharsets.US_ASCII));
+        outputStream.flush();
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+        for(int i=0; i<3; i++){
+            Assertions.assertEquals("HTTP/1.1 200 OK", reader.readLine());
+            Assertions.assertEquals("keep-alive", readResponse(reader));
+        }
+        Assertions.assertTrue(worker.isAlive());
+    }
+
+    @Test
+    @DisplayName("HTTP/1.0 : connection closed after response")
+    void http10() throws Exception {
+        connect(new KeepAlivePolicy(2000, 100));
+
+        client.getOutputStream().write("GET / HTTP/1.0\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+        BufferedReader reader = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+        Assertions.assertEquals("HTTP/1.1 200 OK", reader.readLine());
+        Assertions.assertEquals("close", readResponse(reader));
+        Assertions.assertNull(reader.readLine());
+    }
+
+    @Test
+    @DisplayName("maxRequests : 2")
+    void maxRequests() throws Exception {
+        connect(new KeepAlivePolicy(2000, 2));
+
+        OutputStream outputStream = client.getOutputStream();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+
+        outputStream.write("GET / HTTP/1.1\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+        reader.readLine();
+        Assertions.assertEquals("keep-alive", readResponse(reader));
+
+        outputStream.write("GET / HTTP/1.1\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+        reader.readLine();
+        Assertions.assertEquals("close", readResponse(reader));
+        Assertions.assertNull(reader.readLine());
+    }
+
+    @Test
+    @DisplayName("malformed request : 400 Bad Request")
+    void badRequest() throws Exception {
+        connect(new KeepAlivePolicy(2000, 100));
+
+        client.getOutputStream().write("GET\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+        BufferedReader reader = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+        Assertions.assertEquals("HTTP/1.1 400 Bad Request", reader.readLine());
+        Assertions.assertEquals("close", readResponse(reader));
+        Assertions.assertNull(reader.readLine());
+    }
+
+    @Test
+    @DisplayName("socket accepted by ServerSocketChannel : gathering write")
+    void socketChannel() throws Exception {
+        try(ServerSocketChannel serverSocketChannel = ServerSocketChannel.open()){
+            serverSocketChannel.bind(new InetSocketAddress("localhost", 0));
+            client = new Socket("localhost", serverSocketChannel.socket().getLocalPort());
+            Socket accepted = serverSocketChannel.accept().socket();
+            worker = new Thread(()->new HttpJob(accepted, new KeepAlivePolicy(2000, 100)).execute());
+            worker.start();
+
+            client.getOutputStream().write("GET / HTTP/1.1\r\nConnection: close\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+            BufferedReader reader = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+            Assertions.assertEquals("HTTP/1.1 200 OK", reader.readLine());
+            Assertions.assertEquals("close", readResponse(reader));
+            Assertions.assertNull(reader.readLine());
+        }
+    }
+
+    @Test
+    @DisplayName("idle timeout")
+    void idleTimeout() throws Exception {
+        connect(new KeepAlivePolicy(300, 100));
+        worker.join(2000);
+        Assertions.assertFalse(worker.isAlive());
+    }
+
+    @Test
+    @DisplayName("reject : 503 Service Unavailable, Retry-After")
+    void reject() throws Exception {
+        client = new Socket("localhost", serverSocket.getLocalPort());
+        Socket accepted = serverSocket.accept();
+        client.getOutputStream().write("GET / HTTP/1.1\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+        new HttpJob(accepted).reject();
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+        Assertions.assertEquals("HTTP/1.1 503 Service Unavailable", reader.readLine());
+        boolean retryAfter = false;
+        String line;
+        while(!(line = reader.readLine()).isEmpty()){
+            retryAfter |= line.equalsIgnoreCase("Retry-After: 1");
+        }
+        Assertions.assertTrue(retryAfter);
+        Assertions.assertNull(reader.readLine());
+
+        // client가 연결을 종료하면 server socket도 종료 됩니다.
+        client.close();
+        for(int i=0; i<100 && !accepted.isClosed(); i++){
+            Thread.sleep(10);
+        }
+        Assertions.assertTrue(accepted.isClosed());
+    }
+
+    @Test
+    @DisplayName("reject : linger 중인 socket이 MAX_LINGERING 개 라면 FIN을 전송한 뒤 바로 종료 합니다.")
+    void reject_maxLingering() throws Exception {
+        List<Socket> clients = new ArrayList<>();
+        try{
+            for(int i=0; i<HttpJob.MAX_LINGERING; i++){
+                clients.add(new Socket("localhost", serverSocket.getLocalPort()));
+                new HttpJob(serverSocket.accept()).reject();
+            }
+            Assertions.assertEquals(HttpJob.MAX_LINGERING, HttpJob.lingering());
+
+            client = new Socket("localhost", serverSocket.getLocalPort());
+            Socket accepted = serverSocket.accept();
+            new HttpJob(accepted).reject();
+            Assertions.assertTrue(accepted.isClosed());
+            Assertions.assertEquals(HttpJob.MAX_LINGERING, HttpJob.lingering());
+
+            BufferedReader reader = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+            Assertions.assertEquals("HTTP/1.1 503 Service Unavailable", reader.readLine());
+        }finally {
+            for(Socket socket : clients){
+                socket.close();
+            }
+        }
+        for(int i=0; i<200 && HttpJob.lingering() > 0; i++){
+            Thread.sleep(10);
+        }
+        Assertions.assertEquals(0, HttpJob.lingering());
+    }
+
+    @Test
+    @DisplayName("StreamingBody : chunked, 다음 요청을 같은 연결로 처리 합니다.")
+    void streaming() throws Exception {
+        client = new Socket("localhost", serverSocket.getLocalPort());
+        Socket accepted = serverSocket.accept();
+        HttpHandler handler = request -> new HttpResponse().setContentType(HttpResponse.TEXT_PLAIN).setBody(output -> {
+            for(int i=0; i<3; i++){
+                output.write(("line-" + i + "\n").getBytes(StandardCharsets.US_ASCII));
+                output.flush();
+            }
+        });
+        worker = new Thread(()->new HttpJob(accepted, new KeepAlivePolicy(2000, 100), handler).execute());
+        worker.start();
+
+        OutputStream outputStream = client.getOutputStream();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+        for(int n=0; n<2; n++){
+            outputStream.write("GET / HTTP/1.1\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+            Assertions.assertEquals("HTTP/1.1 200 OK", reader.readLine());
+            boolean chunked = false;
+            String line;
+            while(!(line = reader.readLine()).isEmpty()){
+                chunked |= line.equals("Transfer-Encoding: chunked");
+            }
+            Assertions.assertTrue(chunked);
+            for(int i=0; i<3; i++){
+                Assertions.assertEquals("7", reader.readLine());
+                Assertions.assertEquals("line-" + i, reader.readLine());
+                Assertions.assertEquals("", reader.readLine());
+            }
+            Assertions.assertEquals("0", reader.readLine());
+            Assertions.assertEquals("", reader.readLine());
+        }
+
+        // HTTP/1.0 : chunked 대신 연결을 종료해서 body의 끝을 알립니다.
+        outputStream.write("GET / HTTP/1.0\r\nConnection: keep-alive\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+        Assertions.assertEquals("HTTP/1.1 200 OK", reader.readLine());
+        Assertions.assertEquals("close", readHeaders(reader));
+        Assertions.assertEquals("line-0", reader.readLine());
+        Assertions.assertEquals("line-1", reader.readLine());
+        Assertions.assertEquals("line-2", reader.readLine());
+        Assertions.assertNull(reader.readLine());
+    }
+
+    @Test
+    @DisplayName("drain : 다음 요청을 기다리는 keep-alive 연결을 종료 합니다.")
+    void drainIdle() throws Exception {
+        ConnectionTracker connectionTracker = new ConnectionTracker();
+        client = new Socket("localhost", serverSocket.getLocalPort());
+        Socket accepted = serverSocket.accept();
+        worker = new Thread(()->new HttpJob(accepted, new KeepAlivePolicy(10_000, 100), new HelloHandler(), connectionTracker).execute());
+        worker.start();
+
+        client.getOutputStream().write("GET / HTTP/1.1\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+        BufferedReader reader = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+        Assertions.assertEquals("HTTP/1.1 200 OK", reader.readLine());
+        Assertions.assertEquals("keep-alive", readResponse(reader));
+        Assertions.assertEquals(1, connectionTracker.getOpenCount());
+
+        // worker가 다음 요청을 기다릴 때 까지 대기 합니다.
+        Thread.sleep(200);
+        connectionTracker.drain();
+        Assertions.assertTrue(connectionTracker.awaitClosed(2, TimeUnit.SECONDS));
+        Assertions.assertNull(reader.readLine());
+    }
+
+    @Test
+    @DisplayName("drain : 처리중인 요청은 Connection: close로 응답 합니다.")
+    void drainInFlight() throws Exception {
+        ConnectionTracker connectionTracker = new ConnectionTracker();
+        CountDownLatch handling = new CountDownLatch(1);
+        CountDownLatch drained = new CountDownLatch(1);
+        HttpHandler handler = request -> {
+            handling.countDown();
+            try{
+                drained.await();
+            }catch (InterruptedException e){
+                Thread.currentThread().interrupt();
+            }
+            return new HelloHandler().handle(request);
+        };
+        client = new Socket("localhost", serverSocket.getLocalPort());
+        Socket accepted = serverSocket.accept();
+        worker = new Thread(()->new HttpJob(accepted, new KeepAlivePolicy(10_000, 100), handler, connectionTracker).execute());
+        worker.start();
+
+        client.getOutputStream().write("GET / HTTP/1.1\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+        Assertions.assertTrue(handling.await(2, TimeUnit.SECONDS));
+        connectionTracker.drain();
+        Assertions.assertFalse(connectionTracker.awaitClosed(100, TimeUnit.MILLISECONDS));
+        drained.countDown();
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+        Assertions.assertEquals("HTTP/1.1 200 OK", reader.readLine());
+        Assertions.assertEquals("close", readResponse(reader));
+        Assertions.assertNull(reader.readLine());
+        Assertions.assertTrue(connectionTracker.awaitClosed(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("request body : buffer보다 큰 body를 RequestBody로 읽고, 이어진 요청을 처리 합니다.")
+    void requestBody() throws Exception {
+        HttpHandler handler = request -> {
+            try(InputStream body = request.getBodyStream()){
+                return new HttpResponse().setBody(request.getContentLength() + ":" + body.readAllBytes().length);
+            }catch (IOException e){
+                throw new UncheckedIOException(e);
+            }
+        };
+        client = new Socket("localhost", serverSocket.getLocalPort());
+        Socket accepted = serverSocket.accept();
+        worker = new Thread(()->new HttpJob(accepted, new KeepAlivePolicy(2000, 100), handler).execute());
+        worker.start();
+
+        int length = 100_000;
+        OutputStream outputStream = client.getOutputStream();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+        outputStream.write(("POST /upload HTTP/1.1\r\nContent-Length: " + length + "\r\nExpect: 100-continue\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        outputStream.flush();
+        Assertions.assertEquals("HTTP/1.1 100 Continue", reader.readLine());
+        Assertions.assertEquals("", reader.readLine());
+
+        // body의 끝과 다음 요청을 함께 전송 합니다.
+        outputStream.write(new byte[length - 10]);
+        outputStream.write(new byte[10]);
+        outputStream.write("POST / HTTP/1.1\r\nContent-Length: 3\r\n\r\nabc".getBytes(StandardCharsets.US_ASCII));
+        outputStream.flush();
+
+        Assertions.assertEquals("HTTP/1.1 200 OK", reader.readLine());
+        readHeaders(reader);
+        char[] body = new char[(length + ":" + length).length()];
+        Assertions.assertEquals(body.length, reader.read(body));
+        Assertions.assertEquals(length + ":" + length, new String(body));
+
+        Assertions.assertEquals("HTTP/1.1 200 OK", reader.readLine());
+        readHeaders(reader);
+        body = new char[3];
+        Assertions.assertEquals(3, reader.read(body));
+        Assertions.assertEquals("3:3", new String(body));
+    }
+
+    @Test
+    @DisplayName("request body : head가 buffer의 끝에서 끝나도 body를 별도의 buffer로 읽습니다.")
+    void requestBody_headEndsAtBufferBoundary() throws Exception {
+        HttpHandler handler = request -> {
+            try(InputStream body = request.getBodyStream()){
+                return new HttpResponse().setBody(request.getContentLength() + ":" + body.readAllBytes().length);
+            }catch (IOException e){
+                throw new UncheckedIOException(e);
+            }
+        };
+        client = new Socket("localhost", serverSocket.getLocalPort());
+        client.setSoTimeout(5000);
+        Socket accepted = serverSocket.accept();
+        worker = new Thread(()->new HttpJob(accepted, new KeepAlivePolicy(2000, 100), handler).execute());
+        worker.start();
+
+        // 첫 번째 요청과 두 번째 요청의 head가 HttpJob의 buffer(head + body 최대 크기)를 정확히 채웁니다.
+        int bufferSize = HttpRequestParser.DEFAULT_MAX_HEADER_SIZE + HttpRequestParser.DEFAULT_MAX_BODY_SIZE;
+        int length = 100_000;
+        int firstLength = HttpRequestParser.DEFAULT_MAX_BODY_SIZE;
+        byte[] first = ("POST /a HTTP/1.1\r\nContent-Length: " + firstLength + "\r\n\r\n" + "a".repeat(firstLength)).getBytes(StandardCharsets.US_ASCII);
+        String upload = "POST /upload HTTP/1.1\r\nContent-Length: " + length + "\r\nX-Padding: ";
+        String padding = "p".repeat(bufferSize - first.length - upload.length() - "\r\n\r\n".length());
+        byte[] second = (upload + padding + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+        Assertions.assertEquals(bufferSize, first.length + second.length);
+
+        OutputStream outputStream = client.getOutputStream();
+        // 첫 번째 요청만 먼저 읽혀서 buffer가 처음부터 다시 사용되지 않도록 한 번에 전송 합니다.
+        byte[] head = new byte[bufferSize];
+        System.arraycopy(first, 0, head, 0, first.length);
+        System.arraycopy(second, 0, head, first.length, second.length);
+        outputStream.write(head);
+        outputStream.write(new byte[length]);
+        outputStream.flush();
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+        Assertions.assertEquals("HTTP/1.1 200 OK", reader.readLine());
+        readHeaders(reader);
+        char[] body = new char[(firstLength + ":" + firstLength).length()];
+        Assertions.assertEquals(body.length, reader.read(body));
+        Assertions.assertEquals(firstLength + ":" + firstLength, new String(body));
+
+        Assertions.assertEquals("HTTP/1.1 200 OK", reader.readLine());
+        readHeaders(reader);
+        body = new char[(length + ":" + length).length()];
+        Assertions.assertEquals(body.length, reader.read(body));
+        Assertions.assertEquals(length + ":" + length, new String(body));
+    }
+
+    @Test
+    @DisplayName("request body : chunked body를 RequestBody로 읽고, 잘못된 chunk는 400으로 응답한 뒤 연결을 종료 합니다.")
+    void chunkedRequestBody() throws Exception {
+        HttpHandler handler = request -> {
+            try(InputStream body = request.getBodyStream()){
+                return new HttpResponse().setBody(request.getContentLength() + ":" + body.readAllBytes().length);
+            }catch (IOException e){
+                throw new UncheckedIOException(e);
+            }
+        };
+        client = new Socket("localhost", serverSocket.getLocalPort());
+        Socket accepted = serverSocket.accept();
+        worker = new Thread(()->new HttpJob(accepted, new KeepAlivePolicy(2000, 100), handler).execute());
+        worker.start();
+
+        int chunk = 30_000;
+        OutputStream outputStream = client.getOutputStream();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+        outputStream.write("POST /upload HTTP/1.1\r\nTransfer-Encoding: chunked\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+        for(int i=0; i<3; i++){
+            outputStream.write((Integer.toHexString(chunk) + "\r\n").getBytes(StandardCharsets.US_ASCII));
+            outputStream.write(new byte[chunk]);
+            outputStream.write("\r\n".getBytes(StandardCharsets.US_ASCII));
+        }
+        // body의 끝과 다음 요청을 함께 전송 합니다.
+        outputStream.write(("0\r\n\r\n"
+                + "POST / HTTP/1.1\r\nTransfer-Encoding: chunked\r\n\r\n3\r\nabc\r\n0\r\n\r\n"
+                + "POST / HTTP/1.1\r\nTransfer-Encoding: chunked\r\n\r\n3\r\nabcX").getBytes(StandardCharsets.US_ASCII));
+        outputStream.flush();
+
+        String expected = (chunk * 3) + ":" + (chunk * 3);
+        Assertions.assertEquals("HTTP/1.1 200 OK", reader.readLine());
+        readHeaders(reader);
+        char[] body = new char[expected.length()];
+        Assertions.assertEquals(body.length, reader.read(body));
+        Assertions.assertEquals(expected, new String(body));
+
+        Assertions.assertEquals("HTTP/1.1 200 OK", reader.readLine());
+        readHeaders(reader);
+        body = new char[3];
+        Assertions.assertEquals(3, reader.read(body));
+        Assertions.assertEquals("3:3", new String(body));
+
+        Assertions.assertEquals("HTTP/1.1 400 Bad Request", reader.readLine());
+        Assertions.assertEquals("close", readResponse(reader));
+        worker.join(2000);
+        Assertions.assertFalse(worker.isAlive());
+    }
+
+    @Test
+    @DisplayName("header timeout : head를 조금씩 전송하는 client(slowloris)의 연결을 종료 합니다.")
+    void headerTimeout() throws Exception {
+        client = new Socket("localhost", serverSocket.getLocalPort());
+        Socket accepted = serverSocket.accept();
+        TimeoutPolicy timeoutPolicy = new TimeoutPolicy(500, 10_000, 10_000);
+        worker = new Thread(()->new HttpJob(accepted, new KeepAlivePolicy(10_000, 100), new HelloHandler(), new ConnectionTracker(), timeoutPolicy).execute());
+        worker.start();
+
+        // 매번 idleTimeout 보다 짧은 간격으로 전송하지만 headerTimeout 안에 head를 완성하지 못합니다.
+        OutputStream outputStream = client.getOutputStream();
+        outputStream.write("GET / HTTP/1.1\r\n".getBytes(StandardCharsets.US_ASCII));
+        try{
+            for(int i=0; i<20 && worker.isAlive(); i++){
+                Thread.sleep(100);
+                outputStream.write("X-a: b\r\n".getBytes(StandardCharsets.US_ASCII));
+            }
+        }catch(IOException e){
+            // server가 연결을 종료 했습니다.
+        }
+        worker.join(2000);
+        Assertions.assertFalse(worker.isAlive());
+        Assertions.assertEquals(-1, client.getInputStream().read());
+    }
+
+    // header를 읽고 Connection header 값을 반환 합니다.
+    private String readHeaders(BufferedReader reader) throws IOException {
+        String connection = null;
+        String line;
+        while(!(line = reader.readLine()).isEmpty()){
+            String[] header = line.split(":", 2);
+            if(header[0].equalsIgnoreCase("Connection")){
+                connection = header[1].trim();
+            }
+        }
+        return connection;
+    }
+
+    private void connect(KeepAlivePolicy keepAlivePolicy) throws IOException {
+        client = new Socket("localhost", serverSocket.getLocalPort());
+        Socket accepted = serverSocket.accept();
+        worker = new Thread(()->new HttpJob(accepted, keepAlivePolicy).execute());
+        worker.start();
+    }
+
+    // header와 body를 읽고 Connection header 값을 반환 합니다.
+    private String readResponse(BufferedReader reader) throws IOException {
+        String connection = null;
+        int contentLength = 0;
+        String line;
+        while(!(line = reader.readLine()).isEmpty()){
+            log.debug("line:{}", line);
+            String[] header = line.split(":", 2);
+            if(header[0].equalsIgnoreCase("Connection")){
+                connection = header[1].trim();
+            }else if(header[0].equalsIgnoreCase("Content-Length")){
+                contentLength = Integer.parseInt(header[1].trim());
+            }
+        }
+        char[] body = new char[contentLength];
+        int read = 0;
+        while(read < contentLength){
+            read += reader.read(body, read, contentLength - read);
+        }
+        return connection;
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http.channel;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class KeepAlivePolicyTest {
+
+    @Test
+    @DisplayName("idleTimeoutMillis < 1, maxRequests < 1")
+    void constructorTest(){
+        Assertions.assertThrows(IllegalArgumentException.class, ()->new KeepAlivePolicy(0, 10));
+        Assertions.assertThrows(IllegalArgumentException.class, ()->new KeepAlivePolicy(1000, 0));
+    }
+
+    @Test
+    @DisplayName("HTTP/1.1 : keep-alive by default")
+    void http11(){
+        KeepAlivePolicy policy = new KeepAlivePolicy(1000, 10);
+        Assertions.assertTrue(policy.isKeepAlive("HTTP/1.1", null, 1));
+        Assertions.assertFalse(policy.isKeepAlive("HTTP/1.1", "close", 1));
+        Assertions.assertFalse(policy.isKeepAlive("HTTP/1.1", "Upgrade, Close", 1));
+    }
+
+    @Test
+    @DisplayName("HTTP/1.0 : close by default")
+    void http10(){
+        KeepAlivePolicy policy = new KeepAlivePolicy(1000, 10);
+        Assertions.assertFalse(policy.isKeepAlive("HTTP/1.0", null, 1));
+        Assertions.assertTrue(policy.isKeepAlive("HTTP/1.0", "Keep-Alive", 1));
+    }
+
+    @Test
+    @DisplayName("maxRequests")
+    void maxRequests(){
+        KeepAlivePolicy policy = new KeepAlivePolicy(1000, 3);
+        Assertions.assertTrue(policy.isKeepAlive("HTTP/1.1", null, 2));
+        Assertions.assertFalse(policy.isKeepAlive("HTTP/1.1", null, 3));
+    }
+}
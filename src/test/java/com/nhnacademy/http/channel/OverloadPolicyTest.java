@@ -0,0 +1,205 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.channel;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+class OverloadPolicyTest {
+
+    // reject()가 호출된 횟수를 기록하는 작업 입니다.
+    private static class CountingJob implements Executable {
+        private final AtomicInteger rejected = new AtomicInteger();
+
+        @Override
+        public void execute() {
+        }
+
+        @Override
+        public void reject() {
+            rejected.incrementAndGet();
+        }
+    }
+
+    @Test
+    @DisplayName("codel : target < 1, interval < target")
+    void codelArguments(){
+        Assertions.assertThrows(IllegalArgumentException.class, ()->OverloadPolicy.codel(0, 100));
+        Assertions.assertThrows(IllegalArgumentException.class, ()->OverloadPolicy.codel(10, 5));
+    }
+
+    @Test
+    @DisplayName("RequestChannel, overloadPolicy is null")
+    void nullPolicy(){
+        Assertions.assertThrows(IllegalArgumentException.class, ()->new RequestChannel(new MonitorJobQueue(1), null));
+    }
+
+    @Test
+    @DisplayName("RequestChannel, MonitorJobQueue : capacity 0")
+    void zeroCapacity(){
+        Assertions.assertAll(
+                ()->Assertions.assertThrows(IllegalArgumentException.class, ()->new RequestChannel(0)),
+                ()->Assertions.assertThrows(IllegalArgumentException.class, ()->new MonitorJobQueue(0))
+        );
+    }
+
+    @Test
+    @DisplayName("default : BLOCK")
+    void defaultPolicy(){
+        Assertions.assertSame(OverloadPolicy.BLOCK, new RequestChannel().getOverloadPolicy());
+        Assertions.assertSame(OverloadPolicy.BLOCK, new RequestChannel(new MonitorJobQueue(1)).getOverloadPolicy());
+    }
+
+    @Test
+    @DisplayName("REJECT : queue가 가득 차면 새 작업을 거절 합니다.")
+    void reject(){
+        RequestChannel requestChannel = new RequestChannel(new MonitorJobQueue(2), OverloadPolicy.REJECT);
+        List<CountingJob> jobs = new ArrayList<>();
+        for(int i=0; i<3; i++){
+            jobs.add(new CountingJob());
+        }
+
+        Assertions.assertTrue(requestChannel.addHttpJob(jobs.get(0)));
+        Assertions.assertTrue(requestChannel.addHttpJob(jobs.get(1)));
+        Assertions.assertFalse(requestChannel.addHttpJob(jobs.get(2)));
+
+        Assertions.assertAll(
+                ()->Assertions.assertEquals(2, requestChannel.size()),
+                ()->Assertions.assertEquals(0, jobs.get(0).rejected.get()),
+                ()->Assertions.assertEquals(0, jobs.get(1).rejected.get()),
+                ()->Assertions.assertEquals(1, jobs.get(2).rejected.get())
+        );
+    }
+
+    @Test
+    @DisplayName("DROP_OLDEST : 가장 오래된 작업을 거절하고 새 작업을 등록 합니다.")
+    void dropOldest(){
+        RequestChannel requestChannel = new RequestChannel(new RingBufferJobQueue(2), OverloadPolicy.DROP_OLDEST);
+        CountingJob first = new CountingJob();
+        CountingJob second = new CountingJob();
+        CountingJob third = new CountingJob();
+
+        Assertions.assertTrue(requestChannel.addHttpJob(first));
+        Assertions.assertTrue(requestChannel.addHttpJob(second));
+        Assertions.assertTrue(requestChannel.addHttpJob(third));
+
+        Assertions.assertAll(
+                ()->Assertions.assertEquals(1, first.rejected.get()),
+                ()->Assertions.assertSame(second, requestChannel.getHttpJob()),
+                ()->Assertions.assertSame(third, requestChannel.getHttpJob())
+        );
+    }
+
+    @Test
+    @DisplayName("DROP_OLDEST : 버릴 작업이 없다면 반복하지 않고 새 작업을 거절 합니다.")
+    void dropOldest_nothingToEvict(){
+        // 가득 찼지만 evict()가 null을 반환하는 queue 입니다. (ex: 다른 class의 작업만 대기 중)
+        MonitorJobQueue queue = new MonitorJobQueue(1){
+            @Override
+            public Executable evict(Executable executable) {
+                return null;
+            }
+        };
+        RequestChannel requestChannel = new RequestChannel(queue, OverloadPolicy.DROP_OLDEST);
+        CountingJob first = new CountingJob();
+        CountingJob second = new CountingJob();
+
+        Assertions.assertTrue(requestChannel.addHttpJob(first));
+        Assertions.assertTimeoutPreemptively(Duration.ofSeconds(1), ()->Assertions.assertFalse(requestChannel.addHttpJob(second)));
+        Assertions.assertAll(
+                ()->Assertions.assertEquals(0, first.rejected.get()),
+                ()->Assertions.assertEquals(1, second.rejected.get()),
+                ()->Assertions.assertSame(first, requestChannel.getHttpJob())
+        );
+    }
+
+    @Test
+    @DisplayName("DROP_OLDEST : 작업을 버려도 등록하지 못한다면 정해진 횟수 만큼만 다시 시도 합니다.")
+    void dropOldest_boundedRetries(){
+        // 빈 공간을 항상 다른 thread가 먼저 차지하는 경우 입니다.
+        AtomicInteger evicted = new AtomicInteger();
+        MonitorJobQueue queue = new MonitorJobQueue(1){
+            @Override
+            public boolean offer(Executable executable) {
+                return false;
+            }
+
+            @Override
+            public Executable evict(Executable executable) {
+                evicted.incrementAndGet();
+                return new CountingJob();
+            }
+        };
+        RequestChannel requestChannel = new RequestChannel(queue, OverloadPolicy.DROP_OLDEST);
+        CountingJob job = new CountingJob();
+
+        Assertions.assertTimeoutPreemptively(Duration.ofSeconds(1), ()->Assertions.assertFalse(requestChannel.addHttpJob(job)));
+        Assertions.assertEquals(1, job.rejected.get());
+        Assertions.assertTrue(evicted.get() > 0);
+    }
+
+    @Test
+    @DisplayName("offerHttpJob : BLOCK이라도 대기하지 않고 거절 합니다.")
+    void offerDoesNotBlock(){
+        RequestChannel requestChannel = new RequestChannel(new MonitorJobQueue(1), OverloadPolicy.BLOCK);
+        CountingJob first = new CountingJob();
+        CountingJob second = new CountingJob();
+
+        Assertions.assertTrue(requestChannel.offerHttpJob(first));
+        Assertions.assertTimeoutPreemptively(Duration.ofSeconds(1), ()->Assertions.assertFalse(requestChannel.offerHttpJob(second)));
+        Assertions.assertAll(
+                ()->Assertions.assertEquals(0, first.rejected.get()),
+                ()->Assertions.assertEquals(1, second.rejected.get()),
+                ()->Assertions.assertSame(first, requestChannel.getHttpJob())
+        );
+    }
+
+    @Test
+    @DisplayName("isExpired : queue가 interval 보다 오래 비지 않았다면 target을 deadline으로 사용합니다.")
+    void isExpired(){
+        OverloadPolicy codel = OverloadPolicy.codel(5, 100);
+        long millis = TimeUnit.MILLISECONDS.toNanos(1);
+        Assertions.assertAll(
+                ()->Assertions.assertFalse(codel.isExpired(50 * millis, 50 * millis)),
+                ()->Assertions.assertTrue(codel.isExpired(150 * millis, 50 * millis)),
+                ()->Assertions.assertTrue(codel.isExpired(10 * millis, 200 * millis)),
+                ()->Assertions.assertFalse(codel.isExpired(3 * millis, 200 * millis)),
+                ()->Assertions.assertFalse(OverloadPolicy.REJECT.isExpired(Long.MAX_VALUE, Long.MAX_VALUE))
+        );
+    }
+
+    @Test
+    @DisplayName("CODEL : deadline이 지난 작업은 실행하지 않고 거절 합니다.")
+    void codel() throws InterruptedException {
+        RequestChannel requestChannel = new RequestChannel(new MonitorJobQueue(10), OverloadPolicy.codel(10, 200));
+        CountingJob stale = new CountingJob();
+        requestChannel.addHttpJob(stale);
+        Thread.sleep(300);
+        CountingJob fresh = new CountingJob();
+        requestChannel.addHttpJob(fresh);
+
+        Assertions.assertSame(fresh, requestChannel.pollHttpJob(1, TimeUnit.SECONDS));
+        Assertions.assertEquals(1, stale.rejected.get());
+        Assertions.assertNull(requestChannel.pollHttpJob(10, TimeUnit.MILLISECONDS));
+    }
+}
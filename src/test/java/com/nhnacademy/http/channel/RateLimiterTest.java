@@ -0,0 +1,99 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.channel;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.util.concurrent.TimeUnit;
+
+class RateLimiterTest {
+    static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("permitsPerSecond:0, burst:0, maxClients:1, idleTimeout:0")
+    void constructorTest(){
+        Assertions.assertAll(
+                ()->Assertions.assertThrows(IllegalArgumentException.class, ()->new RateLimiter(0, 1)),
+                ()->Assertions.assertThrows(IllegalArgumentException.class, ()->new RateLimiter(1, 0)),
+                ()->Assertions.assertThrows(IllegalArgumentException.class, ()->new RateLimiter(1, 1, 1, 1000)),
+                ()->Assertions.assertThrows(IllegalArgumentException.class, ()->new RateLimiter(1, 1, 1024, 0)),
+                ()->Assertions.assertThrows(IllegalArgumentException.class, ()->new RateLimiter(1, 1).tryAcquire(null))
+        );
+    }
+
+    @Test
+    @DisplayName("burst 만큼 허용한 뒤 초당 permitsPerSecond 개씩 채워 집니다.")
+    void tokenBucket() throws Exception {
+        RateLimiter rateLimiter = new RateLimiter(2, 3);
+        InetAddress address = InetAddress.getByName("10.0.0.1");
+
+        long now = 0;
+        for(int i=0; i<3; i++){
+            Assertions.assertTrue(rateLimiter.tryAcquire(address, now));
+        }
+        Assertions.assertFalse(rateLimiter.tryAcquire(address, now));
+
+        // 0.5초 후 token 하나가 채워 집니다.
+        now += SECOND / 2;
+        Assertions.assertTrue(rateLimiter.tryAcquire(address, now));
+        Assertions.assertFalse(rateLimiter.tryAcquire(address, now));
+
+        // 오래 기다려도 burst 까지만 채워 집니다.
+        now += SECOND * 10;
+        for(int i=0; i<3; i++){
+            Assertions.assertTrue(rateLimiter.tryAcquire(address, now));
+        }
+        Assertions.assertFalse(rateLimiter.tryAcquire(address, now));
+    }
+
+    @Test
+    @DisplayName("client 마다 bucket을 따로 사용합니다.")
+    void perClient() throws Exception {
+        RateLimiter rateLimiter = new RateLimiter(1, 1);
+        InetAddress noisy = InetAddress.getByName("10.0.0.1");
+        InetAddress quiet = InetAddress.getByName("10.0.0.2");
+
+        Assertions.assertTrue(rateLimiter.tryAcquire(noisy, 0));
+        Assertions.assertFalse(rateLimiter.tryAcquire(noisy, 0));
+        Assertions.assertTrue(rateLimiter.tryAcquire(quiet, 0));
+        Assertions.assertEquals(2, rateLimiter.size());
+    }
+
+    @Test
+    @DisplayName("idleTimeout 동안 사용하지 않은 bucket은 제거 됩니다.")
+    void idleEviction() throws Exception {
+        RateLimiter rateLimiter = new RateLimiter(1, 1, 1024, 1000);
+        InetAddress address = InetAddress.getByName("10.0.0.1");
+        Assertions.assertTrue(rateLimiter.tryAcquire(address, 0));
+        Assertions.assertFalse(rateLimiter.tryAcquire(address, SECOND / 2));
+        Assertions.assertEquals(1, rateLimiter.size());
+
+        // 같은 stripe에 접근할 때 제거 됩니다.
+        Assertions.assertTrue(rateLimiter.tryAcquire(address, SECOND * 2));
+        Assertions.assertEquals(1, rateLimiter.size());
+    }
+
+    @Test
+    @DisplayName("maxClients : 보관하는 bucket 수를 제한 합니다.")
+    void maxClients() throws Exception {
+        RateLimiter rateLimiter = new RateLimiter(1, 1, 32, 60_000);
+        for(int i=0; i<1000; i++){
+            rateLimiter.tryAcquire(InetAddress.getByAddress(new byte[]{10, 0, (byte) (i >> 8), (byte) i}), 0);
+        }
+        Assertions.assertTrue(rateLimiter.size() <= 32);
+    }
+}
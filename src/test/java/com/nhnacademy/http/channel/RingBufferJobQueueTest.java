@@ -0,0 +1,209 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http.channel;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Slf4j
+class RingBufferJobQueueTest {
+
+    @Test
+    @DisplayName("capacity < 2")
+    void constructorTest(){
+        Assertions.assertThrows(IllegalArgumentException.class, ()->{
+            new RingBufferJobQueue(1);
+        });
+    }
+
+    @Test
+    @DisplayName("capacity : 10, 11번째 offer는 실패 합니다.")
+    void capacity(){
+        RingBufferJobQueue queue = new RingBufferJobQueue(10);
+        for(int i=0; i<10; i++){
+            Assertions.assertTrue(queue.offer(()->{}));
+        }
+        Assertions.assertFalse(queue.offer(()->{}));
+        Assertions.assertEquals(10, queue.size());
+    }
+
+    @Test
+    @DisplayName("FIFO, wrap around")
+    void fifo(){
+        RingBufferJobQueue queue = new RingBufferJobQueue(3);
+        List<Executable> executables = new ArrayList<>();
+        for(int i=0; i<10; i++){
+            executables.add(()->{});
+        }
+        for(Executable executable : executables){
+            Assertions.assertTrue(queue.offer(executable));
+            Assertions.assertSame(executable, queue.peek());
+            Assertions.assertSame(executable, queue.poll());
+        }
+        Assertions.assertNull(queue.poll());
+        Assertions.assertEquals(0, queue.size());
+    }
+
+    @Test
+    @DisplayName("put : queue가 가득 찼다면 consumer가 소비할 때 까지 대기 합니다.")
+    void putWaiting() throws Exception {
+        RingBufferJobQueue queue = new RingBufferJobQueue(2);
+        queue.put(()->{});
+        queue.put(()->{});
+
+        Thread producer = new Thread(()->{
+            try {
+                queue.put(()->{});
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        Thread.sleep(200);
+        Assertions.assertTrue(producer.isAlive());
+
+        queue.take();
+        producer.join(2000);
+        Assertions.assertFalse(producer.isAlive());
+        Assertions.assertEquals(2, queue.size());
+    }
+
+    @Test
+    @DisplayName("take : interrupt")
+    void takeInterrupted() throws Exception {
+        RingBufferJobQueue queue = new RingBufferJobQueue(4);
+        Thread consumer = new Thread(()->{
+            Assertions.assertThrows(InterruptedException.class, queue::take);
+        });
+        consumer.start();
+        Thread.sleep(200);
+        consumer.interrupt();
+        consumer.join(2000);
+        Assertions.assertFalse(consumer.isAlive());
+    }
+
+    @Test
+    @DisplayName("poll(timeout) : 시간이 지나면 null, 작업이 추가되면 반환")
+    void pollTimeout() throws Exception {
+        for(Supplier<WaitStrategy> factory : List.<Supplier<WaitStrategy>>of(BlockingWaitStrategy::new, SpinningWaitStrategy::new, ParkingWaitStrategy::new)){
+            RingBufferJobQueue queue = new RingBufferJobQueue(4, factory);
+            long start = System.nanoTime();
+            Assertions.assertNull(queue.poll(50, TimeUnit.MILLISECONDS));
+            Assertions.assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+
+            Executable job = ()->{};
+            Thread producer = new Thread(()->{
+                try {
+                    Thread.sleep(50);
+                    queue.put(job);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            producer.start();
+            Assertions.assertSame(job, queue.poll(5, TimeUnit.SECONDS));
+            producer.join();
+        }
+    }
+
+    @Test
+    @DisplayName("multi producer, multi consumer : blocking")
+    void mpmcBlocking() throws Exception {
+        mpmc(BlockingWaitStrategy::new, 50_000);
+    }
+
+    @Test
+    @DisplayName("multi producer, multi consumer : spinning")
+    void mpmcSpinning() throws Exception {
+        // spin은 core 수가 적은 환경에서 느리므로 작업 수를 줄입니다.
+        mpmc(SpinningWaitStrategy::new, 2_000);
+    }
+
+    @Test
+    @DisplayName("multi producer, multi consumer : parking")
+    void mpmcParking() throws Exception {
+        mpmc(ParkingWaitStrategy::new, 50_000);
+    }
+
+    @Test
+    @DisplayName("RequestChannel with RingBufferJobQueue")
+    void requestChannel() throws Exception {
+        RequestChannel requestChannel = new RequestChannel(new RingBufferJobQueue(10, ParkingWaitStrategy::new));
+        AtomicLong counter = new AtomicLong();
+        for(int i=0; i<5; i++){
+            requestChannel.addHttpJob(counter::incrementAndGet);
+        }
+        Assertions.assertEquals(5, requestChannel.size());
+        requestChannel.getHttpJob().execute();
+        Assertions.assertEquals(1, counter.get());
+        Assertions.assertEquals(4, requestChannel.size());
+        Assertions.assertEquals(1, requestChannel.getDequeuedCount());
+        Assertions.assertTrue(requestChannel.getOldestWaitNanos() > 0);
+        Assertions.assertNotNull(requestChannel.pollHttpJob(10, TimeUnit.MILLISECONDS));
+    }
+
+    private void mpmc(Supplier<WaitStrategy> waitStrategyFactory, int jobsPerProducer) throws Exception {
+        int producerCount = 2;
+        int consumerCount = 2;
+        RingBufferJobQueue queue = new RingBufferJobQueue(64, waitStrategyFactory);
+        AtomicLong executed = new AtomicLong();
+
+        List<Thread> consumers = new ArrayList<>();
+        for(int i=0; i<consumerCount; i++){
+            Thread consumer = new Thread(()->{
+                try {
+                    for(int j=0; j<producerCount * jobsPerProducer / consumerCount; j++){
+                        queue.take().execute();
+                    }
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            consumers.add(consumer);
+            consumer.start();
+        }
+
+        List<Thread> producers = new ArrayList<>();
+        for(int i=0; i<producerCount; i++){
+            Thread producer = new Thread(()->{
+                try {
+                    for(int j=0; j<jobsPerProducer; j++){
+                        queue.put(executed::incrementAndGet);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            producers.add(producer);
+            producer.start();
+        }
+
+        for(Thread thread : producers){
+            thread.join(10_000);
+        }
+        for(Thread thread : consumers){
+            thread.join(10_000);
+        }
+        log.debug("executed:{}", executed.get());
+        Assertions.assertEquals((long) producerCount * jobsPerProducer, executed.get());
+        Assertions.assertEquals(0, queue.size());
+    }
+}
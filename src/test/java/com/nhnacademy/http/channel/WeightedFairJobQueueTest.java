@@ -0,0 +1,193 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+
+package com.nhnacademy.http.channel;
+
+import com.nhnacademy.exceptions.HttpParseException;
+import com.nhnacademy.http.parser.HttpRequestParser;
+import com.nhnacademy.http.request.HttpRequest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class WeightedFairJobQueueTest {
+
+    TrafficClass defaultClass;
+    TrafficClass health;
+    WeightedFairJobQueue queue;
+
+    // 분류에 사용할 요청을 가진 작업 입니다.
+    private static class RequestJob implements Executable {
+        private final HttpRequest request;
+        private final AtomicInteger rejected = new AtomicInteger();
+
+        RequestJob(HttpRequest request) {
+            this.request = request;
+        }
+
+        @Override
+        public void execute() {
+        }
+
+        @Override
+        public void reject() {
+            rejected.incrementAndGet();
+        }
+
+        @Override
+        public HttpRequest getRequest() {
+            return request;
+        }
+    }
+
+    private static HttpRequest request(String path, String... headers) throws HttpParseException {
+        StringBuilder sb = new StringBuilder(String.format("GET %s HTTP/1.1\r\nHost: localhost\r\n", path));
+        for(String header : headers){
+            sb.append(header).append("\r\n");
+        }
+        sb.append("\r\n");
+        ByteBuffer buffer = ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.UTF_8));
+        HttpRequestParser parser = new HttpRequestParser();
+        Assertions.assertTrue(parser.parse(buffer, 0, buffer.limit()));
+        return new HttpRequest(parser);
+    }
+
+    private static RequestJob job(String path, String... headers) throws HttpParseException {
+        return new RequestJob(request(path, headers));
+    }
+
+    @BeforeEach
+    void setUp(){
+        defaultClass = new TrafficClass("default", 1, 4);
+        health = new TrafficClass("health", 3, 4).pathPrefix("/health");
+        queue = new WeightedFairJobQueue(defaultClass, health);
+    }
+
+    @Test
+    @DisplayName("TrafficClass : name is empty, weight < 1, capacity < 1")
+    void trafficClassArguments(){
+        Assertions.assertAll(
+                ()->Assertions.assertThrows(IllegalArgumentException.class, ()->new TrafficClass(" ", 1, 1)),
+                ()->Assertions.assertThrows(IllegalArgumentException.class, ()->new TrafficClass("a", 0, 1)),
+                ()->Assertions.assertThrows(IllegalArgumentException.class, ()->new TrafficClass("a", 1, 0)),
+                ()->Assertions.assertThrows(IllegalArgumentException.class, ()->new WeightedFairJobQueue(null))
+        );
+    }
+
+    @Test
+    @DisplayName("classify : path prefix, header, 일치하지 않거나 요청이 없다면 default")
+    void classify() throws HttpParseException {
+        TrafficClass priority = new TrafficClass("priority", 2, 4).header("X-Priority", "high");
+        WeightedFairJobQueue classified = new WeightedFairJobQueue(defaultClass, health, priority);
+
+        Assertions.assertAll(
+                ()->Assertions.assertSame(health, classified.classify(job("/health/live"))),
+                ()->Assertions.assertSame(priority, classified.classify(job("/orders", "X-Priority: HIGH"))),
+                // 먼저 등록한 class가 우선 합니다.
+                ()->Assertions.assertSame(health, classified.classify(job("/health", "X-Priority: high"))),
+                ()->Assertions.assertSame(defaultClass, classified.classify(job("/orders"))),
+                ()->Assertions.assertSame(defaultClass, classified.classify(()->{}))
+        );
+    }
+
+    @Test
+    @DisplayName("deficit round robin : weight 3:1 비율로 꺼냅니다.")
+    void weightedOrder() throws HttpParseException, InterruptedException {
+        for(int i=0; i<4; i++){
+            queue.put(job("/orders"));
+            queue.put(job("/health"));
+        }
+        Assertions.assertEquals(8, queue.size());
+
+        List<String> order = new ArrayList<>();
+        Executable executable;
+        while((executable = queue.poll()) != null){
+            order.add(queue.classify(executable).getName());
+        }
+        Assertions.assertEquals(List.of("health", "health", "health", "default", "health", "default", "default", "default"), order);
+        Assertions.assertEquals(0, queue.size());
+    }
+
+    @Test
+    @DisplayName("capacity : class 마다 따로 제한 합니다.")
+    void capacityIsolation() throws HttpParseException {
+        Assertions.assertEquals(8, queue.capacity());
+        for(int i=0; i<4; i++){
+            Assertions.assertTrue(queue.offer(job("/orders")));
+        }
+        // default class가 가득 차도 health class는 등록할 수 있습니다.
+        Assertions.assertFalse(queue.offer(job("/orders")));
+        Assertions.assertTrue(queue.offer(job("/health")));
+        Assertions.assertAll(
+                ()->Assertions.assertEquals(4, queue.size(defaultClass)),
+                ()->Assertions.assertEquals(1, queue.size(health)),
+                ()->Assertions.assertSame(health, queue.classify(queue.peek()))
+        );
+    }
+
+    @Test
+    @DisplayName("take : 작업이 등록될 때 까지 대기 합니다.")
+    void take() throws InterruptedException, HttpParseException {
+        Executable executable = job("/health");
+        Thread producer = new Thread(()->{
+            try {
+                Thread.sleep(100);
+                queue.put(executable);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        Assertions.assertSame(executable, queue.take());
+        producer.join();
+    }
+
+    @Test
+    @DisplayName("poll(timeout) : timeout 이후 null")
+    void pollTimeout() throws InterruptedException {
+        long start = System.nanoTime();
+        Assertions.assertNull(queue.poll(50, TimeUnit.MILLISECONDS));
+        Assertions.assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+    }
+
+    @Test
+    @DisplayName("DROP_OLDEST : 같은 class의 가장 오래된 작업만 버립니다.")
+    void dropOldest() throws HttpParseException {
+        RequestChannel requestChannel = new RequestChannel(queue, OverloadPolicy.DROP_OLDEST);
+        RequestJob healthJob = job("/health");
+        Assertions.assertTrue(requestChannel.addHttpJob(healthJob));
+
+        List<RequestJob> jobs = new ArrayList<>();
+        for(int i=0; i<5; i++){
+            RequestJob requestJob = job("/orders");
+            jobs.add(requestJob);
+            Assertions.assertTrue(requestChannel.addHttpJob(requestJob));
+        }
+
+        Assertions.assertAll(
+                ()->Assertions.assertEquals(0, healthJob.rejected.get()),
+                ()->Assertions.assertEquals(1, jobs.get(0).rejected.get()),
+                ()->Assertions.assertSame(healthJob, requestChannel.getHttpJob()),
+                ()->Assertions.assertSame(jobs.get(1), requestChannel.getHttpJob())
+        );
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.channel;
+
+import com.nhnacademy.http.WorkerThreadPool;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+class WorkStealingJobQueueTest {
+
+    @Test
+    @DisplayName("parallelism < 1, capacity < 1")
+    void constructorTest(){
+        Assertions.assertThrows(IllegalArgumentException.class, ()->new WorkStealingJobQueue(0, 10));
+        Assertions.assertThrows(IllegalArgumentException.class, ()->new WorkStealingJobQueue(2, 0));
+        Assertions.assertThrows(IllegalArgumentException.class, ()->new WorkStealingJobQueue(2, 10).offer(null));
+    }
+
+    @Test
+    @DisplayName("capacity : 10, 11번째 offer는 실패 합니다.")
+    void capacity(){
+        WorkStealingJobQueue queue = new WorkStealingJobQueue(4, 10);
+        for(int i=0; i<10; i++){
+            Assertions.assertTrue(queue.offer(()->{}));
+        }
+        Assertions.assertFalse(queue.offer(()->{}));
+        Assertions.assertEquals(10, queue.size());
+        Assertions.assertEquals(10, queue.stream().count());
+        Assertions.assertNotNull(queue.peek());
+    }
+
+    @Test
+    @DisplayName("steal : 다른 worker의 deque에 있는 작업도 가져 옵니다.")
+    void steal() throws Exception {
+        WorkStealingJobQueue queue = new WorkStealingJobQueue(4, 100);
+        // 다른 worker가 deque 하나를 할당 받습니다.
+        Thread other = new Thread(()->{
+            try{
+                Assertions.assertNull(queue.poll(1, TimeUnit.MILLISECONDS));
+            }catch(InterruptedException e){
+                Thread.currentThread().interrupt();
+            }
+        });
+        other.start();
+        other.join();
+
+        List<Executable> executables = new ArrayList<>();
+        for(int i=0; i<20; i++){
+            Executable executable = ()->{};
+            executables.add(executable);
+            Assertions.assertTrue(queue.offer(executable));
+        }
+        List<Executable> taken = new ArrayList<>();
+        for(int i=0; i<20; i++){
+            taken.add(queue.take());
+        }
+        Assertions.assertTrue(taken.containsAll(executables));
+        Assertions.assertNull(queue.poll());
+        Assertions.assertEquals(0, queue.size());
+    }
+
+    @Test
+    @DisplayName("take : 작업이 추가되면 park 중인 worker를 깨웁니다.")
+    void takeWaiting() throws Exception {
+        WorkStealingJobQueue queue = new WorkStealingJobQueue(2, 10);
+        CountDownLatch done = new CountDownLatch(2);
+        for(int i=0; i<2; i++){
+            new Thread(()->{
+                try{
+                    queue.take().execute();
+                }catch(Exception e){
+                    throw new IllegalStateException(e);
+                }
+            }).start();
+        }
+        Thread.sleep(200);
+        queue.put(done::countDown);
+        queue.put(done::countDown);
+        Assertions.assertTrue(done.await(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("put : queue가 가득 찼다면 consumer가 소비할 때 까지 대기 합니다.")
+    void putWaiting() throws Exception {
+        WorkStealingJobQueue queue = new WorkStealingJobQueue(2, 2);
+        queue.put(()->{});
+        queue.put(()->{});
+
+        Thread producer = new Thread(()->{
+            try {
+                queue.put(()->{});
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        Thread.sleep(200);
+        Assertions.assertTrue(producer.isAlive());
+
+        queue.take();
+        producer.join(2000);
+        Assertions.assertFalse(producer.isAlive());
+        Assertions.assertEquals(2, queue.size());
+    }
+
+    @Test
+    @DisplayName("take : interrupt")
+    void takeInterrupted() throws Exception {
+        WorkStealingJobQueue queue = new WorkStealingJobQueue(2, 4);
+        Thread consumer = new Thread(()->{
+            Assertions.assertThrows(InterruptedException.class, queue::take);
+        });
+        consumer.start();
+        Thread.sleep(200);
+        consumer.interrupt();
+        consumer.join(2000);
+        Assertions.assertFalse(consumer.isAlive());
+    }
+
+    @Test
+    @DisplayName("poll(timeout) : 시간이 지나면 null, 작업이 추가되면 반환")
+    void pollTimeout() throws Exception {
+        WorkStealingJobQueue queue = new WorkStealingJobQueue(2, 4);
+        long start = System.nanoTime();
+        Assertions.assertNull(queue.poll(50, TimeUnit.MILLISECONDS));
+        Assertions.assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+
+        Executable job = ()->{};
+        Thread producer = new Thread(()->{
+            try {
+                Thread.sleep(50);
+                queue.put(job);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        Assertions.assertSame(job, queue.poll(5, TimeUnit.SECONDS));
+        producer.join();
+    }
+
+    @Test
+    @DisplayName("multi producer, multi consumer")
+    void mpmc() throws Exception {
+        int producerCount = 2;
+        int consumerCount = 4;
+        int jobsPerProducer = 50_000;
+        WorkStealingJobQueue queue = new WorkStealingJobQueue(consumerCount, 64);
+        AtomicLong executed = new AtomicLong();
+
+        List<Thread> consumers = new ArrayList<>();
+        for(int i=0; i<consumerCount; i++){
+            Thread consumer = new Thread(()->{
+                try {
+                    for(int j=0; j<producerCount * jobsPerProducer / consumerCount; j++){
+                        queue.take().execute();
+                    }
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            consumers.add(consumer);
+            consumer.start();
+        }
+
+        List<Thread> producers = new ArrayList<>();
+        for(int i=0; i<producerCount; i++){
+            Thread producer = new Thread(()->{
+                try {
+                    for(int j=0; j<jobsPerProducer; j++){
+                        queue.put(executed::incrementAndGet);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            producers.add(producer);
+            producer.start();
+        }
+
+        for(Thread thread : producers){
+            thread.join(10_000);
+        }
+        for(Thread thread : consumers){
+            thread.join(10_000);
+        }
+        Assertions.assertEquals((long) producerCount * jobsPerProducer, executed.get());
+        Assertions.assertEquals(0, queue.size());
+    }
+
+    @Test
+    @DisplayName("RequestChannel, WorkerThreadPool with WorkStealingJobQueue")
+    void workerThreadPool() throws Exception {
+        RequestChannel requestChannel = new RequestChannel(new WorkStealingJobQueue(4, 100));
+        WorkerThreadPool workerThreadPool = new WorkerThreadPool(4, requestChannel);
+        workerThreadPool.start();
+
+        CountDownLatch done = new CountDownLatch(1000);
+        for(int i=0; i<1000; i++){
+            requestChannel.addHttpJob(done::countDown);
+        }
+        Assertions.assertTrue(done.await(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(1000, requestChannel.getDequeuedCount());
+        workerThreadPool.stop();
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.compress;
+
+import com.nhnacademy.http.parser.HttpRequestParser;
+import com.nhnacademy.http.request.HttpRequest;
+import com.nhnacademy.http.response.HttpResponse;
+import com.nhnacademy.http.response.HttpStatus;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+class CompressionHandlerTest {
+    static final byte[] BODY = CompressorTest.text(4096);
+
+    static HttpRequest request(String head){
+        ByteBuffer buffer = ByteBuffer.wrap((head + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        HttpRequestParser parser = new HttpRequestParser();
+        try{
+            Assertions.assertTrue(parser.parse(buffer, 0, buffer.limit()));
+        }catch(IOException e){
+            throw new IllegalStateException(e);
+        }
+        return new HttpRequest(parser);
+    }
+
+    static CompressionHandler handler(String contentType, byte[] body){
+        return new CompressionHandler(request -> new HttpResponse()
+                .setContentType(contentType)
+                .setHeader("ETag", "\"1\"")
+                .setBody(body));
+    }
+
+    @Test
+    @DisplayName("httpHandler is null")
+    void constructorTest(){
+        Assertions.assertThrows(IllegalArgumentException.class, ()->new CompressionHandler(null));
+    }
+
+    @Test
+    @DisplayName("Accept-Encoding: gzip")
+    void gzip() throws IOException {
+        HttpResponse response = handler(HttpResponse.TEXT_HTML, BODY)
+                .handle(request("GET / HTTP/1.1\r\nAccept-Encoding: gzip, deflate\r\n"));
+
+        Assertions.assertAll(
+                ()->Assertions.assertEquals("gzip", response.getHeader("Content-Encoding")),
+                ()->Assertions.assertEquals("Accept-Encoding", response.getHeader("Vary")),
+                ()->Assertions.assertEquals("\"1-gzip\"", response.getHeader("ETag")),
+                ()->Assertions.assertEquals(response.getBody().remaining(), response.getContentLength()),
+                ()->Assertions.assertArrayEquals(BODY, CompressorTest.decompress(response.getBody(), ContentEncoding.GZIP))
+        );
+    }
+
+    @Test
+    @DisplayName("StreamingBody : Content-Length를 제거하고 생성하는 대로 압축 합니다.")
+    void streaming() throws IOException {
+        HttpResponse response = new CompressionHandler(request -> new HttpResponse()
+                .setContentType(HttpResponse.TEXT_HTML)
+                .setBody(output -> {
+                    output.write(BODY, 0, 100);
+                    output.flush();
+                    output.write(BODY, 100, BODY.length - 100);
+                })
+                .setContentLength(BODY.length))
+                .handle(request("GET / HTTP/1.1\r\nAccept-Encoding: deflate\r\n"));
+
+        Assertions.assertEquals("deflate", response.getHeader("Content-Encoding"));
+        Assertions.assertEquals(-1, response.getContentLength());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        response.getStreamingBody().writeTo(output);
+        Assertions.assertArrayEquals(BODY, CompressorTest.decompress(ByteBuffer.wrap(output.toByteArray()), ContentEncoding.DEFLATE));
+
+        // 크기를 지정하지 않은 StreamingBody도 압축 합니다.
+        HttpResponse chunked = new CompressionHandler(request -> new HttpResponse()
+                .setContentType(HttpResponse.TEXT_HTML)
+                .setBody(stream -> stream.write(BODY)))
+                .handle(request("GET / HTTP/1.1\r\nAccept-Encoding: gzip\r\n"));
+        Assertions.assertEquals("gzip", chunked.getHeader("Content-Encoding"));
+        output.reset();
+        chunked.getStreamingBody().writeTo(output);
+        Assertions.assertArrayEquals(BODY, CompressorTest.decompress(ByteBuffer.wrap(output.toByteArray()), ContentEncoding.GZIP));
+    }
+
+    @Test
+    @DisplayName("Accept-Encoding 없음 : 압축하지 않고 Vary만 추가 합니다.")
+    void identity() throws IOException {
+        HttpResponse response = handler(HttpResponse.TEXT_HTML, BODY).handle(request("GET / HTTP/1.1\r\n"));
+        Assertions.assertNull(response.getHeader("Content-Encoding"));
+        Assertions.assertEquals("Accept-Encoding", response.getHeader("Vary"));
+        Assertions.assertEquals(BODY.length, response.getBody().remaining());
+    }
+
+    @Test
+    @DisplayName("Vary : handler가 지정한 Vary에 Accept-Encoding을 추가 합니다.")
+    void vary() throws IOException {
+        String head = "GET / HTTP/1.1\r\nAccept-Encoding: gzip\r\n";
+        Assertions.assertAll(
+                ()->Assertions.assertEquals("Origin, Accept-Encoding", vary("Origin").handle(request(head)).getHeader("Vary")),
+                ()->Assertions.assertEquals("Origin, accept-encoding", vary("Origin, accept-encoding").handle(request(head)).getHeader("Vary")),
+                ()->Assertions.assertEquals("*", vary("*").handle(request(head)).getHeader("Vary"))
+        );
+    }
+
+    private static CompressionHandler vary(String vary){
+        return new CompressionHandler(request -> new HttpResponse()
+                .setContentType(HttpResponse.TEXT_HTML)
+                .setHeader("Vary", vary)
+                .setBody(BODY));
+    }
+
+    @Test
+    @DisplayName("압축하지 않는 응답 : 작은 body, image, HEAD, 200이 아닌 응답")
+    void skip() throws IOException {
+        String head = "GET / HTTP/1.1\r\nAccept-Encoding: gzip\r\n";
+        Assertions.assertAll(
+                ()->Assertions.assertNull(handler(HttpResponse.TEXT_HTML, CompressorTest.text(100)).handle(request(head)).getHeader("Content-Encoding")),
+                ()->Assertions.assertNull(handler("image/png", BODY).handle(request(head)).getHeader("Content-Encoding")),
+                ()->Assertions.assertNull(handler(HttpResponse.TEXT_HTML, BODY).handle(request("HEAD / HTTP/1.1\r\nAccept-Encoding: gzip\r\n")).getHeader("Content-Encoding")),
+                ()->Assertions.assertNull(new CompressionHandler(request -> new HttpResponse(HttpStatus.NOT_FOUND).setContentType(HttpResponse.TEXT_HTML).setBody(BODY))
+                        .handle(request(head)).getHeader("Content-Encoding"))
+        );
+    }
+}
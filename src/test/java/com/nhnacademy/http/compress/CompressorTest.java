@@ -0,0 +1,148 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.compress;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+class CompressorTest {
+
+    static byte[] text(int length){
+        StringBuilder builder = new StringBuilder();
+        while(builder.length() < length){
+            builder.append("hello java ").append(builder.length()).append('\n');
+        }
+        return builder.substring(0, length).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    static byte[] decompress(ByteBuffer compressed, ContentEncoding encoding) throws IOException {
+        byte[] bytes = new byte[compressed.remaining()];
+        compressed.duplicate().get(bytes);
+        InputStream inputStream = encoding == ContentEncoding.GZIP
+                ? new GZIPInputStream(new ByteArrayInputStream(bytes))
+                : new InflaterInputStream(new ByteArrayInputStream(bytes));
+        try(inputStream){
+            return inputStream.readAllBytes();
+        }
+    }
+
+    @Test
+    @DisplayName("level, maxPooled")
+    void constructorTest(){
+        Assertions.assertThrows(IllegalArgumentException.class, ()->new Compressor(10, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, ()->new Compressor(6, 0));
+    }
+
+    @Test
+    @DisplayName("gzip, deflate : 압축 후 원본으로 복원 됩니다.")
+    void roundTrip() throws IOException {
+        Compressor compressor = new Compressor(6, 2);
+        // CHUNK_SIZE 보다 큰 body와 빈 body
+        for(byte[] source : new byte[][]{text(100_000), text(10), new byte[0]}){
+            for(ContentEncoding encoding : new ContentEncoding[]{ContentEncoding.GZIP, ContentEncoding.DEFLATE}){
+                ByteBuffer buffer = ByteBuffer.wrap(source);
+                ByteBuffer compressed = compressor.compress(buffer, encoding);
+                Assertions.assertArrayEquals(source, decompress(compressed, encoding));
+                // source의 position은 변경되지 않습니다.
+                Assertions.assertEquals(source.length, buffer.remaining());
+            }
+        }
+        Assertions.assertTrue(compressor.compress(ByteBuffer.wrap(text(100_000)), ContentEncoding.GZIP).remaining() < 100_000 / 4);
+    }
+
+    @Test
+    @DisplayName("OutputStream : 기록하는 대로 압축하고, close() 하면 Deflater를 pool에 반납 합니다.")
+    void outputStream() throws IOException {
+        Compressor compressor = new Compressor(6, 2);
+        byte[] source = text(100_000);
+        for(ContentEncoding encoding : new ContentEncoding[]{ContentEncoding.GZIP, ContentEncoding.DEFLATE}){
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            OutputStream compressed = compressor.compress(output, encoding);
+            compressed.write(source, 0, 10);
+            // flush()는 지금까지 기록한 byte를 전송 합니다.
+            compressed.flush();
+            int flushed = output.size();
+            Assertions.assertTrue(flushed > 0);
+            compressed.write(source, 10, source.length - 10);
+            compressed.close();
+            compressed.close();
+
+            Assertions.assertArrayEquals(source, decompress(ByteBuffer.wrap(output.toByteArray()), encoding));
+            Assertions.assertTrue(output.size() < source.length / 4);
+            Assertions.assertEquals(1, compressor.getPooledCount(encoding));
+        }
+    }
+
+    @Test
+    @DisplayName("direct buffer")
+    void directBuffer() throws IOException {
+        byte[] source = text(5000);
+        ByteBuffer direct = ByteBuffer.allocateDirect(source.length).put(source).flip();
+        ByteBuffer compressed = Compressor.get().compress(direct, ContentEncoding.GZIP);
+        Assertions.assertArrayEquals(source, decompress(compressed, ContentEncoding.GZIP));
+    }
+
+    @Test
+    @DisplayName("identity는 압축이 아닙니다.")
+    void identity(){
+        Assertions.assertThrows(IllegalArgumentException.class, ()->Compressor.get().compress(ByteBuffer.allocate(1), ContentEncoding.IDENTITY));
+    }
+
+    @Test
+    @DisplayName("pool : Deflater를 재사용하고 maxPooled 까지 보관 합니다.")
+    void pool() throws Exception {
+        Compressor compressor = new Compressor(6, 2);
+        Assertions.assertEquals(0, compressor.getPooledCount(ContentEncoding.GZIP));
+        compressor.compress(ByteBuffer.wrap(text(100)), ContentEncoding.GZIP);
+        Assertions.assertEquals(1, compressor.getPooledCount(ContentEncoding.GZIP));
+        Assertions.assertEquals(0, compressor.getPooledCount(ContentEncoding.DEFLATE));
+
+        Thread[] threads = new Thread[8];
+        for(int i=0; i<threads.length; i++){
+            threads[i] = new Thread(()->{
+                for(int j=0; j<100; j++){
+                    compressor.compress(ByteBuffer.wrap(text(1000)), ContentEncoding.GZIP);
+                }
+            });
+            threads[i].start();
+        }
+        for(Thread thread : threads){
+            thread.join();
+        }
+        Assertions.assertTrue(compressor.getPooledCount(ContentEncoding.GZIP) <= 2);
+    }
+
+    @Test
+    @DisplayName("isCompressible")
+    void isCompressible(){
+        Assertions.assertAll(
+                ()->Assertions.assertTrue(Compressor.isCompressible("text/html; charset=UTF-8")),
+                ()->Assertions.assertTrue(Compressor.isCompressible("application/json")),
+                ()->Assertions.assertTrue(Compressor.isCompressible("image/svg+xml")),
+                ()->Assertions.assertFalse(Compressor.isCompressible("image/png")),
+                ()->Assertions.assertFalse(Compressor.isCompressible(null))
+        );
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.compress;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ContentEncodingTest {
+
+    @Test
+    @DisplayName("negotiate : q 값이 가장 큰 encoding, 같다면 gzip")
+    void negotiate(){
+        Assertions.assertAll(
+                ()->Assertions.assertEquals(ContentEncoding.IDENTITY, ContentEncoding.negotiate(null)),
+                ()->Assertions.assertEquals(ContentEncoding.IDENTITY, ContentEncoding.negotiate("")),
+                ()->Assertions.assertEquals(ContentEncoding.IDENTITY, ContentEncoding.negotiate("br")),
+                ()->Assertions.assertEquals(ContentEncoding.GZIP, ContentEncoding.negotiate("gzip, deflate, br")),
+                ()->Assertions.assertEquals(ContentEncoding.GZIP, ContentEncoding.negotiate("deflate, gzip")),
+                ()->Assertions.assertEquals(ContentEncoding.DEFLATE, ContentEncoding.negotiate("gzip;q=0.5, deflate")),
+                ()->Assertions.assertEquals(ContentEncoding.DEFLATE, ContentEncoding.negotiate("gzip;q=0, deflate")),
+                ()->Assertions.assertEquals(ContentEncoding.IDENTITY, ContentEncoding.negotiate("gzip;q=0")),
+                ()->Assertions.assertEquals(ContentEncoding.GZIP, ContentEncoding.negotiate("*")),
+                ()->Assertions.assertEquals(ContentEncoding.DEFLATE, ContentEncoding.negotiate("gzip;q=0, *")),
+                ()->Assertions.assertEquals(ContentEncoding.GZIP, ContentEncoding.negotiate("GZIP ; q=0.8"))
+        );
+    }
+
+    @Test
+    @DisplayName("etag : \"a-1\" -> \"a-1-gzip\"")
+    void etag(){
+        Assertions.assertAll(
+                ()->Assertions.assertEquals("\"a-1-gzip\"", ContentEncoding.GZIP.etag("\"a-1\"")),
+                ()->Assertions.assertEquals("\"a-1-deflate\"", ContentEncoding.DEFLATE.etag("\"a-1\"")),
+                ()->Assertions.assertEquals("\"a-1\"", ContentEncoding.IDENTITY.etag("\"a-1\"")),
+                ()->Assertions.assertNull(ContentEncoding.GZIP.etag(null))
+        );
+    }
+}
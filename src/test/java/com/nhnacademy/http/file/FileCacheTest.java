@@ -0,0 +1,126 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http.file;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+class FileCacheTest {
+    Path directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("cache");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try(Stream<Path> paths = Files.walk(directory)){
+            for(Path path : paths.sorted(Comparator.reverseOrder()).toList()){
+                Files.delete(path);
+            }
+        }
+    }
+
+    Path write(String name, String content) throws IOException {
+        return Files.writeString(directory.resolve(name), content);
+    }
+
+    static BasicFileAttributes attributes(Path path) throws IOException {
+        return Files.readAttributes(path, BasicFileAttributes.class);
+    }
+
+    static String toString(ByteBuffer buffer){
+        return StandardCharsets.UTF_8.decode(buffer).toString();
+    }
+
+    @Test
+    @DisplayName("cached content is read-only and shared")
+    void get() throws IOException {
+        FileCache fileCache = new FileCache(1024, 100, 50);
+        Path path = write("a.txt", "hello");
+
+        ByteBuffer first = fileCache.get(path, attributes(path));
+        Assertions.assertEquals("hello", toString(first));
+        Assertions.assertTrue(first.isReadOnly());
+        Assertions.assertTrue(first.isDirect());
+        // 반환된 buffer를 읽어도 cache된 내용의 position은 변하지 않습니다.
+        Assertions.assertEquals("hello", toString(fileCache.get(path, attributes(path))));
+        Assertions.assertEquals(1, fileCache.size());
+        Assertions.assertEquals(5, fileCache.getCachedBytes());
+    }
+
+    @Test
+    @DisplayName("mapThreshold 이상 : memory-mapped, maxFileSize 초과 : null")
+    void fileSize() throws IOException {
+        FileCache fileCache = new FileCache(1024, 10, 5);
+        Path mapped = write("mapped.txt", "0123456789");
+        Path large = write("large.txt", "0123456789A");
+
+        ByteBuffer buffer = fileCache.get(mapped, attributes(mapped));
+        Assertions.assertEquals("0123456789", toString(buffer.duplicate()));
+        Assertions.assertNull(fileCache.get(large, attributes(large)));
+        Assertions.assertEquals(1, fileCache.size());
+    }
+
+    @Test
+    @DisplayName("modified file is reloaded")
+    void reload() throws IOException {
+        FileCache fileCache = new FileCache(1024, 100, 50);
+        Path path = write("a.txt", "hello");
+        Assertions.assertEquals("hello", toString(fileCache.get(path, attributes(path))));
+
+        write("a.txt", "hi");
+        Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+        Assertions.assertEquals("hi", toString(fileCache.get(path, attributes(path))));
+        Assertions.assertEquals(2, fileCache.getCachedBytes());
+    }
+
+    @Test
+    @DisplayName("LRU eviction")
+    void evict() throws IOException {
+        FileCache fileCache = new FileCache(10, 10, 10);
+        Path a = write("a.txt", "aaaa");
+        Path b = write("b.txt", "bbbb");
+        Path c = write("c.txt", "cccc");
+
+        fileCache.get(a, attributes(a));
+        fileCache.get(b, attributes(b));
+        // a를 최근에 사용했으므로 b가 제거 됩니다.
+        fileCache.get(a, attributes(a));
+        fileCache.get(c, attributes(c));
+
+        Assertions.assertEquals(2, fileCache.size());
+        Assertions.assertEquals(8, fileCache.getCachedBytes());
+    }
+
+    @Test
+    @DisplayName("invalid arguments")
+    void invalid(){
+        Assertions.assertThrows(IllegalArgumentException.class, ()->new FileCache(-1, 10, 10));
+        Assertions.assertThrows(IllegalArgumentException.class, ()->new FileCache().get(null, null));
+    }
+}
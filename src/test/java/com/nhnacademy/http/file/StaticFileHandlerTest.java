@@ -0,0 +1,314 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http.file;
+
+import com.nhnacademy.http.parser.HttpRequestParser;
+import com.nhnacademy.http.request.HttpRequest;
+import com.nhnacademy.http.response.DateHeader;
+import com.nhnacademy.http.response.HttpResponse;
+import com.nhnacademy.http.response.HttpStatus;
+import com.nhnacademy.http.compress.Compressor;
+import com.nhnacademy.http.compress.ContentEncoding;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+class StaticFileHandlerTest {
+    Path documentRoot;
+    StaticFileHandler handler;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        documentRoot = Files.createTempDirectory("static");
+        Files.writeString(documentRoot.resolve("index.html"), "index");
+        Files.writeString(documentRoot.resolve("hello.txt"), "0123456789");
+        Files.createDirectory(documentRoot.resolve("docs"));
+        Files.writeString(documentRoot.resolve("docs").resolve("index.html"), "docs");
+        Files.writeString(documentRoot.resolve("docs").resolve("my file.css"), "body{}");
+        // cache 하지 않는 크기의 파일은 FileRegion으로 응답 합니다.
+        handler = new StaticFileHandler(documentRoot, new FileCache(1024, 8, 4));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try(Stream<Path> paths = Files.walk(documentRoot)){
+            for(Path path : paths.sorted(Comparator.reverseOrder()).toList()){
+                Files.delete(path);
+            }
+        }
+    }
+
+    static HttpRequest request(String head){
+        ByteBuffer buffer = ByteBuffer.wrap((head + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        HttpRequestParser parser = new HttpRequestParser();
+        try{
+            Assertions.assertTrue(parser.parse(buffer, 0, buffer.limit()));
+        }catch(IOException e){
+            throw new IllegalStateException(e);
+        }
+        return new HttpRequest(parser);
+    }
+
+    static String body(HttpResponse response) throws IOException {
+        if(response.getFileRegion() != null){
+            byte[] bytes = Files.readAllBytes(response.getFileRegion().path());
+            return new String(bytes, (int) response.getFileRegion().position(), (int) response.getFileRegion().count(), StandardCharsets.UTF_8);
+        }
+        return StandardCharsets.UTF_8.decode(response.getBody().duplicate()).toString();
+    }
+
+    static byte[] decompress(ByteBuffer compressed, ContentEncoding encoding) throws IOException {
+        byte[] bytes = new byte[compressed.remaining()];
+        compressed.duplicate().get(bytes);
+        InputStream inputStream = encoding == ContentEncoding.GZIP
+                ? new GZIPInputStream(new ByteArrayInputStream(bytes))
+                : new InflaterInputStream(new ByteArrayInputStream(bytes));
+        try(inputStream){
+            return inputStream.readAllBytes();
+        }
+    }
+
+    @Test
+    @DisplayName("document root is not a directory")
+    void constructor(){
+        Assertions.assertThrows(IllegalArgumentException.class, ()->new StaticFileHandler(documentRoot.resolve("hello.txt")));
+        Assertions.assertThrows(IllegalArgumentException.class, ()->new StaticFileHandler(null));
+    }
+
+    @Test
+    @DisplayName("small file : cached buffer")
+    void cachedFile() throws IOException {
+        HttpResponse response = handler.handle(request("GET /index.html?v=1 HTTP/1.1\r\n"));
+        Assertions.assertEquals(HttpStatus.OK, response.getStatus());
+        Assertions.assertEquals("text/html; charset=UTF-8", response.getContentType());
+        Assertions.assertEquals("bytes", response.getHeader("Accept-Ranges"));
+        Assertions.assertNotNull(response.getHeader("ETag"));
+        Assertions.assertNotNull(response.getHeader("Last-Modified"));
+        Assertions.assertNull(response.getFileRegion());
+        Assertions.assertEquals("index", body(response));
+    }
+
+    @Test
+    @DisplayName("large file : FileRegion (transferTo)")
+    void fileRegion() throws IOException {
+        HttpResponse response = handler.handle(request("GET /hello.txt HTTP/1.1\r\n"));
+        Assertions.assertEquals(HttpStatus.OK, response.getStatus());
+        Assertions.assertEquals("text/plain; charset=UTF-8", response.getContentType());
+        Assertions.assertNotNull(response.getFileRegion());
+        Assertions.assertEquals(10, response.getContentLength());
+        Assertions.assertEquals("0123456789", body(response));
+    }
+
+    @Test
+    @DisplayName("directory : index.html, percent-encoded path")
+    void directory() throws IOException {
+        Assertions.assertEquals("index", body(handler.handle(request("GET / HTTP/1.1\r\n"))));
+        Assertions.assertEquals("docs", body(handler.handle(request("GET /docs/ HTTP/1.1\r\n"))));
+
+        HttpResponse response = handler.handle(request("GET /docs/my%20file.css HTTP/1.1\r\n"));
+        Assertions.assertEquals(HttpStatus.OK, response.getStatus());
+        Assertions.assertEquals("text/css; charset=UTF-8", response.getContentType());
+    }
+
+    @Test
+    @DisplayName("404 : not found, path traversal")
+    void notFound() throws IOException {
+        Assertions.assertEquals(HttpStatus.NOT_FOUND, handler.handle(request("GET /none.html HTTP/1.1\r\n")).getStatus());
+        Assertions.assertEquals(HttpStatus.NOT_FOUND, handler.handle(request("GET /../etc/passwd HTTP/1.1\r\n")).getStatus());
+        Assertions.assertEquals(HttpStatus.NOT_FOUND, handler.handle(request("GET /%2e%2e/%2e%2e/etc/passwd HTTP/1.1\r\n")).getStatus());
+        Assertions.assertEquals(HttpStatus.NOT_FOUND, handler.handle(request("GET /hello.txt%00.html HTTP/1.1\r\n")).getStatus());
+        Assertions.assertNull(handler.resolve("/docs/../../x"));
+        Assertions.assertEquals(documentRoot.toAbsolutePath().normalize().resolve("hello.txt"), handler.resolve("/docs/../hello.txt"));
+    }
+
+    @Test
+    @DisplayName("405 : method not allowed")
+    void methodNotAllowed() throws IOException {
+        HttpResponse response = handler.handle(request("POST /hello.txt HTTP/1.1\r\n"));
+        Assertions.assertEquals(HttpStatus.METHOD_NOT_ALLOWED, response.getStatus());
+        Assertions.assertEquals("GET, HEAD", response.getHeader("Allow"));
+    }
+
+    @Test
+    @DisplayName("HEAD : Content-Length without body")
+    void head() throws IOException {
+        HttpResponse response = handler.handle(request("HEAD /hello.txt HTTP/1.1\r\n"));
+        Assertions.assertEquals(HttpStatus.OK, response.getStatus());
+        Assertions.assertEquals(10, response.getContentLength());
+        Assertions.assertNull(response.getFileRegion());
+        Assertions.assertFalse(response.getBody().hasRemaining());
+    }
+
+    @Test
+    @DisplayName("304 : If-None-Match, If-Modified-Since")
+    void notModified() throws IOException {
+        HttpResponse response = handler.handle(request("GET /hello.txt HTTP/1.1\r\n"));
+        String etag = response.getHeader("ETag");
+        String lastModified = response.getHeader("Last-Modified");
+
+        HttpResponse cached = handler.handle(request("GET /hello.txt HTTP/1.1\r\nIf-None-Match: \"other\", " + etag + "\r\n"));
+        Assertions.assertEquals(HttpStatus.NOT_MODIFIED, cached.getStatus());
+        Assertions.assertEquals(etag, cached.getHeader("ETag"));
+        Assertions.assertEquals(0, cached.getContentLength());
+
+        Assertions.assertEquals(HttpStatus.NOT_MODIFIED,
+                handler.handle(request("GET /hello.txt HTTP/1.1\r\nIf-Modified-Since: " + lastModified + "\r\n")).getStatus());
+        Assertions.assertEquals(HttpStatus.OK,
+                handler.handle(request("GET /hello.txt HTTP/1.1\r\nIf-None-Match: \"other\"\r\n")).getStatus());
+        Assertions.assertEquals(HttpStatus.OK,
+                handler.handle(request("GET /hello.txt HTTP/1.1\r\nIf-Modified-Since: " + DateHeader.format(0) + "\r\n")).getStatus());
+    }
+
+    @Test
+    @DisplayName("206 : byte range")
+    void range() throws IOException {
+        HttpResponse response = handler.handle(request("GET /hello.txt HTTP/1.1\r\nRange: bytes=2-5\r\n"));
+        Assertions.assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatus());
+        Assertions.assertEquals("bytes 2-5/10", response.getHeader("Content-Range"));
+        Assertions.assertEquals("2345", body(response));
+
+        response = handler.handle(request("GET /hello.txt HTTP/1.1\r\nRange: bytes=7-\r\n"));
+        Assertions.assertEquals("bytes 7-9/10", response.getHeader("Content-Range"));
+        Assertions.assertEquals("789", body(response));
+
+        response = handler.handle(request("GET /hello.txt HTTP/1.1\r\nRange: bytes=-3\r\n"));
+        Assertions.assertEquals("789", body(response));
+
+        response = handler.handle(request("GET /hello.txt HTTP/1.1\r\nRange: bytes=5-100\r\n"));
+        Assertions.assertEquals("bytes 5-9/10", response.getHeader("Content-Range"));
+
+        // cache된 파일도 같은 방법으로 잘라서 응답 합니다.
+        response = handler.handle(request("GET /index.html HTTP/1.1\r\nRange: bytes=0-3\r\n"));
+        Assertions.assertEquals("inde", body(response));
+    }
+
+    @Test
+    @DisplayName("416 : range not satisfiable, invalid range is ignored")
+    void rangeNotSatisfiable() throws IOException {
+        HttpResponse response = handler.handle(request("GET /hello.txt HTTP/1.1\r\nRange: bytes=10-\r\n"));
+        Assertions.assertEquals(HttpStatus.RANGE_NOT_SATISFIABLE, response.getStatus());
+        Assertions.assertEquals("bytes */10", response.getHeader("Content-Range"));
+
+        Assertions.assertEquals(HttpStatus.OK,
+                handler.handle(request("GET /hello.txt HTTP/1.1\r\nRange: bytes=5-2\r\n")).getStatus());
+        Assertions.assertEquals(HttpStatus.OK,
+                handler.handle(request("GET /hello.txt HTTP/1.1\r\nRange: bytes=0-1,4-5\r\n")).getStatus());
+        Assertions.assertEquals(HttpStatus.OK,
+                handler.handle(request("GET /hello.txt HTTP/1.1\r\nRange: lines=1-2\r\n")).getStatus());
+        Assertions.assertEquals(HttpStatus.OK,
+                handler.handle(request("GET /hello.txt HTTP/1.1\r\nRange: bytes=0-1\r\nIf-Range: \"old\"\r\n")).getStatus());
+    }
+
+    @Test
+    @DisplayName("gzip : 압축한 내용을 cache 하고 ETag를 구분 합니다.")
+    void gzip() throws IOException {
+        String text = "hello java\n".repeat(200);
+        Files.writeString(documentRoot.resolve("large.txt"), text);
+        CompressedFileCache compressedFileCache = new CompressedFileCache(1024 * 1024, 1024 * 1024, 1024, Compressor.get());
+        StaticFileHandler handler = new StaticFileHandler(documentRoot, new FileCache(), compressedFileCache);
+
+        HttpResponse response = handler.handle(request("GET /large.txt HTTP/1.1\r\nAccept-Encoding: gzip\r\n"));
+        String etag = response.getHeader("ETag");
+        Assertions.assertAll(
+                ()->Assertions.assertEquals(HttpStatus.OK, response.getStatus()),
+                ()->Assertions.assertEquals("gzip", response.getHeader("Content-Encoding")),
+                ()->Assertions.assertEquals("Accept-Encoding", response.getHeader("Vary")),
+                ()->Assertions.assertTrue(etag.endsWith("-gzip\"")),
+                ()->Assertions.assertEquals(text, new String(decompress(response.getBody(), ContentEncoding.GZIP), StandardCharsets.UTF_8)),
+                ()->Assertions.assertEquals(1, compressedFileCache.size())
+        );
+
+        // 같은 파일은 다시 압축하지 않습니다.
+        HttpResponse head = handler.handle(request("HEAD /large.txt HTTP/1.1\r\nAccept-Encoding: gzip\r\n"));
+        Assertions.assertEquals(response.getContentLength(), head.getContentLength());
+        Assertions.assertEquals(1, compressedFileCache.size());
+
+        Assertions.assertEquals(HttpStatus.NOT_MODIFIED,
+                handler.handle(request("GET /large.txt HTTP/1.1\r\nAccept-Encoding: gzip\r\nIf-None-Match: " + etag + "\r\n")).getStatus());
+        // 압축하지 않은 응답의 ETag와는 다릅니다.
+        Assertions.assertEquals(HttpStatus.OK,
+                handler.handle(request("GET /large.txt HTTP/1.1\r\nIf-None-Match: " + etag + "\r\n")).getStatus());
+
+        // Range 요청은 원본 파일의 구간으로 응답 합니다.
+        HttpResponse range = handler.handle(request("GET /large.txt HTTP/1.1\r\nAccept-Encoding: gzip\r\nRange: bytes=0-4\r\n"));
+        Assertions.assertNull(range.getHeader("Content-Encoding"));
+        Assertions.assertEquals("hello", body(range));
+    }
+
+    @Test
+    @DisplayName("gzip : 원본보다 최신인 .gz 파일을 사용합니다.")
+    void precompressed() throws IOException {
+        String text = "hello java\n".repeat(200);
+        Path file = documentRoot.resolve("app.js");
+        Files.writeString(file, text);
+        byte[] precompressed;
+        try(ByteArrayOutputStream bytes = new ByteArrayOutputStream(); GZIPOutputStream gzip = new GZIPOutputStream(bytes)){
+            gzip.write("precompressed".getBytes(StandardCharsets.UTF_8));
+            gzip.finish();
+            precompressed = bytes.toByteArray();
+        }
+        Files.write(documentRoot.resolve("app.js.gz"), precompressed);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() - 10_000));
+
+        StaticFileHandler handler = new StaticFileHandler(documentRoot, new FileCache(),
+                new CompressedFileCache(1024 * 1024, 1024 * 1024, 1024, Compressor.get()));
+        HttpResponse response = handler.handle(request("GET /app.js HTTP/1.1\r\nAccept-Encoding: gzip\r\n"));
+        Assertions.assertEquals("text/javascript; charset=UTF-8", response.getContentType());
+        Assertions.assertEquals("precompressed", new String(decompress(response.getBody(), ContentEncoding.GZIP), StandardCharsets.UTF_8));
+
+        // deflate는 직접 압축 합니다.
+        response = handler.handle(request("GET /app.js HTTP/1.1\r\nAccept-Encoding: deflate\r\n"));
+        Assertions.assertEquals("deflate", response.getHeader("Content-Encoding"));
+        Assertions.assertEquals(text, new String(decompress(response.getBody(), ContentEncoding.DEFLATE), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("minSize 보다 작은 파일, 압축 효과가 없는 파일은 압축하지 않습니다.")
+    void notCompressed() throws IOException {
+        byte[] random = new byte[4096];
+        new Random(1).nextBytes(random);
+        Files.write(documentRoot.resolve("random.txt"), random);
+        CompressedFileCache compressedFileCache = new CompressedFileCache(1024 * 1024, 1024 * 1024, 1024, Compressor.get());
+        StaticFileHandler handler = new StaticFileHandler(documentRoot, new FileCache(), compressedFileCache);
+
+        HttpResponse small = handler.handle(request("GET /hello.txt HTTP/1.1\r\nAccept-Encoding: gzip\r\n"));
+        Assertions.assertNull(small.getHeader("Content-Encoding"));
+        Assertions.assertNull(small.getHeader("Vary"));
+
+        for(int i=0; i<2; i++){
+            HttpResponse response = handler.handle(request("GET /random.txt HTTP/1.1\r\nAccept-Encoding: gzip\r\n"));
+            Assertions.assertNull(response.getHeader("Content-Encoding"));
+            Assertions.assertEquals(4096, response.getContentLength());
+        }
+        // 압축 효과가 없다는 결과도 cache 합니다.
+        Assertions.assertEquals(1, compressedFileCache.size());
+    }
+}
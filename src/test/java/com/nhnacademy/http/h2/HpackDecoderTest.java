@@ -0,0 +1,107 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.h2;
+
+import com.nhnacademy.exceptions.Http2Exception;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+// RFC 7541 Appendix C 의 예제를 사용합니다.
+class HpackDecoderTest {
+
+    private static List<String> decode(HpackDecoder decoder, String hex) throws Http2Exception {
+        List<String> headers = new ArrayList<>();
+        decoder.decode(ByteBuffer.wrap(HexFormat.of().parseHex(hex)), (name, value) -> headers.add(name + ": " + value));
+        return headers;
+    }
+
+    @Test
+    @DisplayName("integer : 5 bit prefix로 1337을 decode 합니다. (C.1.2)")
+    void decodeInteger() throws Http2Exception {
+        ByteBuffer block = ByteBuffer.wrap(new byte[]{0x1f, (byte) 0x9a, 0x0a});
+        Assertions.assertEquals(1337, HpackDecoder.decodeInteger(block, 5));
+        Assertions.assertFalse(block.hasRemaining());
+    }
+
+    @Test
+    @DisplayName("dynamic table : 연속된 요청의 header block을 decode 합니다. (C.3)")
+    void requests() throws Http2Exception {
+        HpackDecoder decoder = new HpackDecoder();
+        Assertions.assertEquals(
+                List.of(":method: GET", ":scheme: http", ":path: /", ":authority: www.example.com"),
+                decode(decoder, "828684410f7777772e6578616d706c652e636f6d"));
+        Assertions.assertEquals(57, decoder.getTableSize());
+
+        Assertions.assertEquals(
+                List.of(":method: GET", ":scheme: http", ":path: /", ":authority: www.example.com", "cache-control: no-cache"),
+                decode(decoder, "828684be58086e6f2d6361636865"));
+        Assertions.assertEquals(110, decoder.getTableSize());
+
+        Assertions.assertEquals(
+                List.of(":method: GET", ":scheme: https", ":path: /index.html", ":authority: www.example.com", "custom-key: custom-value"),
+                decode(decoder, "828785bf400a637573746f6d2d6b65790c637573746f6d2d76616c7565"));
+        Assertions.assertEquals(164, decoder.getTableSize());
+    }
+
+    @Test
+    @DisplayName("huffman : huffman으로 encode된 문자열을 decode 합니다. (C.4.1)")
+    void huffman() throws Http2Exception {
+        HpackDecoder decoder = new HpackDecoder();
+        Assertions.assertEquals(
+                List.of(":method: GET", ":scheme: http", ":path: /", ":authority: www.example.com"),
+                decode(decoder, "828684418cf1e3c2e5f23a6ba0ab90f4ff"));
+        Assertions.assertEquals(57, decoder.getTableSize());
+    }
+
+    @Test
+    @DisplayName("eviction : table 크기를 초과하면 오래된 entry를 제거 합니다.")
+    void eviction() throws Http2Exception {
+        // custom-key: custom-value (54 byte) 두 개는 크기가 100인 table에 들어가지 않습니다.
+        HpackDecoder decoder = new HpackDecoder(100);
+        decode(decoder, "400a637573746f6d2d6b65790c637573746f6d2d76616c7565");
+        decode(decoder, "400a637573746f6d2d6b65790c637573746f6d2d76616c7565");
+        Assertions.assertEquals(54, decoder.getTableSize());
+        // dynamic table의 두 번째 entry(index 63)는 없습니다.
+        Http2Exception exception = Assertions.assertThrows(Http2Exception.class, () -> decode(decoder, "bf"));
+        Assertions.assertEquals(Http2Exception.COMPRESSION_ERROR, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("encoder : HpackEncoder가 만든 header block을 decode 합니다.")
+    void encoder() throws Http2Exception {
+        HpackEncoder encoder = new HpackEncoder()
+                .header(":status", "200")
+                .header(":status", "201")
+                .header("content-type", "text/html")
+                .header("x-custom", "a".repeat(300));
+        List<String> headers = new ArrayList<>();
+        new HpackDecoder().decode(encoder.toByteBuffer(), (name, value) -> headers.add(name + ": " + value));
+        Assertions.assertEquals(List.of(":status: 200", ":status: 201", "content-type: text/html", "x-custom: " + "a".repeat(300)), headers);
+    }
+
+    @Test
+    @DisplayName("invalid : 잘린 header block은 COMPRESSION_ERROR 입니다.")
+    void truncated() {
+        Http2Exception exception = Assertions.assertThrows(Http2Exception.class,
+                () -> decode(new HpackDecoder(), "410f7777772e6578616d706c65"));
+        Assertions.assertEquals(Http2Exception.COMPRESSION_ERROR, exception.getErrorCode());
+        Assertions.assertTrue(exception.isConnectionError());
+    }
+}
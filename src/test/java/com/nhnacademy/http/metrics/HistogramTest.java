@@ -0,0 +1,120 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http.metrics;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+
+class HistogramTest {
+
+    @Test
+    @DisplayName("bucket index : exact below 32, monotonic, relative error <= 1/16")
+    void buckets(){
+        for(long value=0; value<32; value++){
+            Assertions.assertEquals(value, Histogram.indexOf(value));
+            Assertions.assertEquals(value, Histogram.upperBoundOf((int) value));
+        }
+        int previous = -1;
+        for(long value=1; value>0 && value<Long.MAX_VALUE/3; value = value * 3 + 1){
+            int index = Histogram.indexOf(value);
+            Assertions.assertTrue(index >= previous);
+            long upper = Histogram.upperBoundOf(index);
+            Assertions.assertTrue(upper >= value);
+            Assertions.assertTrue(upper - value <= value / 16 + 1);
+            previous = index;
+        }
+        Assertions.assertEquals(Long.MAX_VALUE, Histogram.upperBoundOf(Histogram.indexOf(Long.MAX_VALUE)));
+    }
+
+    @Test
+    @DisplayName("quantiles")
+    void quantiles(){
+        Histogram histogram = new Histogram();
+        for(long value=1; value<=10_000; value++){
+            histogram.record(value);
+        }
+        Assertions.assertEquals(10_000, histogram.getCount());
+        Assertions.assertEquals(50_005_000, histogram.getSum());
+        Assertions.assertEquals(10_000, histogram.getMax());
+
+        assertNear(5_000, histogram.getValueAtQuantile(0.5));
+        assertNear(9_900, histogram.getValueAtQuantile(0.99));
+        Assertions.assertEquals(10_000, histogram.getValueAtQuantile(1));
+        Assertions.assertEquals(1, histogram.getValueAtQuantile(0));
+        Assertions.assertEquals(0, new Histogram().getValueAtQuantile(0.99));
+    }
+
+    @Test
+    @DisplayName("concurrent record")
+    void concurrent() throws InterruptedException {
+        Histogram histogram = new Histogram();
+        int threadCount = 4;
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        for(int i=0; i<threadCount; i++){
+            new Thread(()->{
+                for(int j=0; j<100_000; j++){
+                    histogram.record(j % 1000);
+                }
+                latch.countDown();
+            }).start();
+        }
+        latch.await();
+        Assertions.assertEquals(400_000, histogram.getCount());
+        Assertions.assertEquals(999, histogram.getMax());
+    }
+
+    @Test
+    @DisplayName("histogram format : 누적 bucket, +Inf, sum, count, scale")
+    void export(){
+        Histogram histogram = new Histogram(1e-3);
+        histogram.record(1000);
+        histogram.record(1001);
+        histogram.record(1);
+        StringBuilder out = new StringBuilder();
+        histogram.writeTo("latency_seconds", out);
+
+        Assertions.assertEquals("histogram", histogram.getType());
+        Assertions.assertTrue(out.toString().contains("latency_seconds_bucket{le=\"0.0001\"} 0\n"));
+        Assertions.assertTrue(out.toString().contains("latency_seconds_bucket{le=\"0.001\"} 1\n"));
+        Assertions.assertTrue(out.toString().contains("latency_seconds_bucket{le=\"0.5\"} 1\n"));
+        Assertions.assertTrue(out.toString().contains("latency_seconds_bucket{le=\"1.0\"} 2\n"));
+        Assertions.assertTrue(out.toString().contains("latency_seconds_bucket{le=\"2.5\"} 3\n"));
+        Assertions.assertTrue(out.toString().contains("latency_seconds_bucket{le=\"+Inf\"} 3\n"));
+        Assertions.assertTrue(out.toString().contains("latency_seconds_sum " + 2002 * 1e-3 + "\n"));
+        Assertions.assertTrue(out.toString().endsWith("latency_seconds_count 3\n"));
+    }
+
+    @Test
+    @DisplayName("bucket 경계 : 오름차순이 아니거나 null이면 IllegalArgumentException")
+    void bucketBounds(){
+        Assertions.assertThrows(IllegalArgumentException.class, ()->new Histogram(1, 1, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, ()->new Histogram(1, -1));
+        Assertions.assertThrows(IllegalArgumentException.class, ()->new Histogram(1, Double.POSITIVE_INFINITY));
+        Assertions.assertThrows(IllegalArgumentException.class, ()->new Histogram(1, (double[]) null));
+
+        Histogram histogram = new Histogram(1, 10, 100);
+        histogram.record(100);
+        histogram.record(101);
+        StringBuilder out = new StringBuilder();
+        histogram.writeTo("size", out);
+        Assertions.assertEquals("size_bucket{le=\"10.0\"} 0\nsize_bucket{le=\"100.0\"} 1\nsize_bucket{le=\"+Inf\"} 2\n"
+                + "size_sum 201.0\nsize_count 2\n", out.toString());
+    }
+
+    private static void assertNear(long expected, long actual){
+        Assertions.assertTrue(Math.abs(expected - actual) <= expected / 16, String.format("expected %d but %d", expected, actual));
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http.metrics;
+
+import com.nhnacademy.http.parser.HttpRequestParser;
+import com.nhnacademy.http.request.HttpRequest;
+import com.nhnacademy.http.response.HttpResponse;
+import com.nhnacademy.http.response.HttpStatus;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+class MetricsRegistryTest {
+
+    @Test
+    @DisplayName("same name returns the registered metric, type mismatch throws")
+    void register(){
+        MetricsRegistry registry = new MetricsRegistry();
+        Counter counter = registry.counter("requests_total", "Requests.");
+        Assertions.assertSame(counter, registry.counter("requests_total", "Requests."));
+        Assertions.assertThrows(IllegalArgumentException.class, ()->registry.histogram("requests_total", "", 1));
+        Assertions.assertThrows(IllegalArgumentException.class, ()->registry.gauge("requests_total", "", ()->1));
+        Assertions.assertThrows(IllegalArgumentException.class, ()->registry.counter("invalid-name", ""));
+        Assertions.assertThrows(IllegalArgumentException.class, ()->counter.add(-1));
+    }
+
+    @Test
+    @DisplayName("prometheus text format")
+    void export(){
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("requests_total", "Requests.").add(3);
+        registry.gauge("queue_depth", "Queue depth.", ()->7);
+        CounterFamily responses = registry.counterFamily("responses_total", "Responses.", "code");
+        responses.labels("200").increment();
+        responses.labels("404").add(2);
+
+        String exported = registry.export();
+        Assertions.assertEquals("""
+                # HELP requests_total Requests.
+                # TYPE requests_total counter
+                requests_total 3
+                # HELP queue_depth Queue depth.
+                # TYPE queue_depth gauge
+                queue_depth 7
+                # HELP responses_total Responses.
+                # TYPE responses_total counter
+                responses_total{code="200"} 1
+                responses_total{code="404"} 2
+                """, exported);
+    }
+
+    @Test
+    @DisplayName("MetricsHandler : text/plain; version=0.0.4")
+    void handler() throws IOException {
+        MetricsRegistry registry = new MetricsRegistry();
+        HttpMetrics metrics = new HttpMetrics(registry);
+        metrics.responseSent(HttpStatus.NOT_FOUND);
+        metrics.recordServiceTime(2_000_000);
+
+        ByteBuffer buffer = ByteBuffer.wrap("GET /metrics HTTP/1.1\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+        HttpRequestParser parser = new HttpRequestParser();
+        Assertions.assertTrue(parser.parse(buffer, 0, buffer.limit()));
+
+        HttpResponse response = new MetricsHandler(registry).handle(new HttpRequest(parser));
+        Assertions.assertEquals(MetricsHandler.CONTENT_TYPE, response.getContentType());
+        String body = StandardCharsets.UTF_8.decode(response.getBody()).toString();
+        Assertions.assertTrue(body.contains("http_responses_total{code=\"404\"} 1\n"));
+        Assertions.assertTrue(body.contains("http_responses_total{code=\"200\"} 0\n"));
+        Assertions.assertTrue(body.contains("# TYPE http_request_service_seconds histogram\n"));
+        Assertions.assertTrue(body.contains("http_request_service_seconds_count 1\n"));
+    }
+}
@@ -0,0 +1,320 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+
+package com.nhnacademy.http.nio;
+
+import com.nhnacademy.exceptions.Http2Exception;
+import com.nhnacademy.http.NioHttpServer;
+import com.nhnacademy.http.h2.HpackDecoder;
+import com.nhnacademy.http.h2.HpackEncoder;
+import com.nhnacademy.http.h2.Http2Frame;
+import com.nhnacademy.http.response.HttpResponse;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+// HTTP/2 frame을 직접 주고 받으며 flow control과 stream 상태를 확인 합니다.
+class Http2ConnectionTest {
+
+    static final int TEST_PORT = 9988;
+    static final byte[] LARGE = new byte[100_000];
+    // "/slow" 요청은 gate가 열릴 때 까지 응답하지 않습니다.
+    static volatile CountDownLatch gate = new CountDownLatch(0);
+    static NioHttpServer nioHttpServer;
+
+    record Frame(int type, int flags, int streamId, byte[] payload) {
+        boolean isEndStream(){
+            return (type == Http2Frame.DATA || type == Http2Frame.HEADERS) && (flags & Http2Frame.FLAG_END_STREAM) != 0;
+        }
+
+        int errorCode(){
+            return ByteBuffer.wrap(payload).getInt(type == Http2Frame.GOAWAY ? 4 : 0);
+        }
+    }
+
+    // connection preface와 SETTINGS를 전송한 연결 입니다.
+    static class Client implements Closeable {
+        final Socket socket;
+        final DataInputStream input;
+        final DataOutputStream output;
+        final HpackDecoder decoder = new HpackDecoder();
+
+        Client(int... settings) throws IOException {
+            socket = new Socket("localhost", TEST_PORT);
+            socket.setSoTimeout(5000);
+            input = new DataInputStream(socket.getInputStream());
+            output = new DataOutputStream(socket.getOutputStream());
+            output.write(Http2Frame.PREFACE);
+            send(Http2Frame.settings(settings));
+        }
+
+        void send(ByteBuffer frame) throws IOException {
+            byte[] bytes = new byte[frame.remaining()];
+            frame.get(bytes);
+            output.write(bytes);
+            output.flush();
+        }
+
+        void request(int streamId, String method, String path, boolean endStream) throws IOException {
+            send(headers(streamId, block(method, path), Http2Frame.FLAG_END_HEADERS | (endStream ? Http2Frame.FLAG_END_STREAM : 0)));
+        }
+
+        Frame read() throws IOException {
+            int length = input.readUnsignedShort() << 8 | input.readUnsignedByte();
+            int type = input.readUnsignedByte();
+            int flags = input.readUnsignedByte();
+            int streamId = input.readInt() & Integer.MAX_VALUE;
+            byte[] payload = new byte[length];
+            input.readFully(payload);
+            return new Frame(type, flags, streamId, payload);
+        }
+
+        // 다른 frame은 건너 뛰고 streamId의 type frame을 읽습니다.
+        Frame expect(int streamId, int type) throws IOException {
+            while(true){
+                Frame frame = read();
+                if(frame.streamId() == streamId && frame.type() == type){
+                    return frame;
+                }
+            }
+        }
+
+        Map<String, String> decode(Frame frame) throws Http2Exception {
+            Map<String, String> fields = new HashMap<>();
+            decoder.decode(ByteBuffer.wrap(frame.payload()), fields::put);
+            return fields;
+        }
+
+        // streamId의 DATA를 END_STREAM 또는 limit 까지 읽습니다.
+        int readData(int streamId, int limit) throws IOException {
+            int received = 0;
+            while(received < limit){
+                Frame frame = read();
+                if(frame.streamId() != streamId){
+                    continue;
+                }
+                if(frame.type() == Http2Frame.DATA){
+                    received += frame.payload().length;
+                }
+                if(frame.isEndStream()){
+                    break;
+                }
+            }
+            return received;
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+
+    static int windowIncrement(Frame frame){
+        return ByteBuffer.wrap(frame.payload()).getInt() & Integer.MAX_VALUE;
+    }
+
+    static ByteBuffer block(String method, String path){
+        return new HpackEncoder()
+                .header(":method", method)
+                .header(":scheme", "http")
+                .header(":path", path)
+                .header(":authority", "localhost")
+                .toByteBuffer();
+    }
+
+    static ByteBuffer headers(int streamId, ByteBuffer block, int flags){
+        return Http2Frame.allocate(block.remaining(), Http2Frame.HEADERS, flags, streamId).put(block).flip();
+    }
+
+    static ByteBuffer data(int streamId, int length, int flags){
+        return Http2Frame.allocate(length, Http2Frame.DATA, flags, streamId).position(Http2Frame.HEADER_LENGTH + length).flip();
+    }
+
+    @BeforeAll
+    static void beforeAllSetUp() throws InterruptedException {
+        Arrays.fill(LARGE, (byte) 'a');
+        nioHttpServer = new NioHttpServer(TEST_PORT);
+        nioHttpServer.setHttpHandler(request -> {
+            switch (request.getPath()){
+                case "/large" -> {
+                    return new HttpResponse().setBody(ByteBuffer.wrap(LARGE));
+                }
+                case "/slow" -> {
+                    try{
+                        gate.await(5, TimeUnit.SECONDS);
+                    }catch (InterruptedException e){
+                        Thread.currentThread().interrupt();
+                    }
+                    return new HttpResponse().setBody("slow");
+                }
+                default -> {
+                    return new HttpResponse().setBody(request.getMethod() + ":" + request.getPath() + ":" + request.getBody().remaining());
+                }
+            }
+        });
+        Thread thread = new Thread(nioHttpServer::start);
+        thread.setDaemon(true);
+        thread.start();
+        Thread.sleep(500);
+    }
+
+    @AfterEach
+    void tearDown(){
+        gate.countDown();
+    }
+
+    @AfterAll
+    static void afterAllTearDown(){
+        nioHttpServer.stop();
+    }
+
+    @Test
+    @DisplayName("flow control : stream window를 모두 사용하면 WINDOW_UPDATE를 받을 때 까지 DATA를 전송하지 않습니다.")
+    void windowExhaustion() throws IOException {
+        try(Client client = new Client(Http2Frame.SETTINGS_INITIAL_WINDOW_SIZE, 16384)){
+            client.request(1, "GET", "/large", true);
+            Assertions.assertEquals("200", client.decode(client.expect(1, Http2Frame.HEADERS)).get(":status"));
+            Assertions.assertEquals(16384, client.readData(1, 16384));
+
+            client.socket.setSoTimeout(300);
+            Assertions.assertThrows(SocketTimeoutException.class, ()->client.expect(1, Http2Frame.DATA));
+
+            // 연결의 window(65535)도 부족하므로 함께 늘립니다.
+            client.socket.setSoTimeout(5000);
+            client.send(Http2Frame.windowUpdate(0, LARGE.length));
+            client.send(Http2Frame.windowUpdate(1, LARGE.length));
+            Assertions.assertEquals(LARGE.length - 16384, client.readData(1, Integer.MAX_VALUE));
+        }
+    }
+
+    @Test
+    @DisplayName("flow control : SETTINGS_INITIAL_WINDOW_SIZE 변경은 처리중인 stream의 window에도 적용 됩니다.")
+    void initialWindowSizeChange() throws IOException {
+        try(Client client = new Client(Http2Frame.SETTINGS_INITIAL_WINDOW_SIZE, 0)){
+            client.request(1, "GET", "/large", true);
+            Assertions.assertEquals("200", client.decode(client.expect(1, Http2Frame.HEADERS)).get(":status"));
+
+            client.socket.setSoTimeout(300);
+            Assertions.assertThrows(SocketTimeoutException.class, ()->client.expect(1, Http2Frame.DATA));
+
+            client.socket.setSoTimeout(5000);
+            client.send(Http2Frame.windowUpdate(0, LARGE.length));
+            client.send(Http2Frame.settings(Http2Frame.SETTINGS_INITIAL_WINDOW_SIZE, LARGE.length));
+            Assertions.assertEquals(LARGE.length, client.readData(1, Integer.MAX_VALUE));
+        }
+    }
+
+    @Test
+    @DisplayName("flow control : 요청 body의 연결 window는 응답을 마친 뒤에 돌려줍니다.")
+    void receiveWindow() throws IOException {
+        gate = new CountDownLatch(1);
+        try(Client client = new Client()){
+            // server는 연결의 window를 MAX_BUFFERED_BODY_SIZE 까지 늘립니다.
+            Frame initial = client.expect(0, Http2Frame.WINDOW_UPDATE);
+            Assertions.assertEquals(Http2Connection.MAX_BUFFERED_BODY_SIZE - Http2Frame.DEFAULT_WINDOW_SIZE, windowIncrement(initial));
+
+            client.request(1, "POST", "/slow", false);
+            client.send(data(1, 16384, Http2Frame.FLAG_END_STREAM));
+
+            // handler가 body를 처리하는 동안에는 window를 돌려주지 않습니다.
+            client.socket.setSoTimeout(300);
+            Assertions.assertThrows(SocketTimeoutException.class, ()->client.expect(0, Http2Frame.WINDOW_UPDATE));
+
+            client.socket.setSoTimeout(5000);
+            gate.countDown();
+            Frame update = client.expect(0, Http2Frame.WINDOW_UPDATE);
+            Assertions.assertEquals(16384, windowIncrement(update));
+        }
+    }
+
+    @Test
+    @DisplayName("CONTINUATION : 나눠서 전송한 header block을 하나의 요청으로 처리 합니다.")
+    void continuation() throws IOException {
+        try(Client client = new Client()){
+            ByteBuffer block = block("GET", "/continued");
+            int half = block.remaining() / 2;
+            client.send(headers(1, block.slice(0, half), Http2Frame.FLAG_END_STREAM));
+            ByteBuffer rest = block.slice(half, block.remaining() - half);
+            client.send(Http2Frame.allocate(rest.remaining(), Http2Frame.CONTINUATION, Http2Frame.FLAG_END_HEADERS, 1).put(rest).flip());
+
+            Assertions.assertEquals("200", client.decode(client.expect(1, Http2Frame.HEADERS)).get(":status"));
+            Assertions.assertEquals("GET:/continued:0", new String(client.expect(1, Http2Frame.DATA).payload(), StandardCharsets.UTF_8));
+        }
+
+        // header block이 끝나기 전에 다른 frame이 도착하면 연결 오류 입니다.
+        try(Client client = new Client()){
+            ByteBuffer block = block("GET", "/");
+            client.send(headers(1, block.slice(0, block.remaining() / 2), Http2Frame.FLAG_END_STREAM));
+            client.send(Http2Frame.windowUpdate(0, 1));
+            Assertions.assertEquals(Http2Exception.PROTOCOL_ERROR, client.expect(0, Http2Frame.GOAWAY).errorCode());
+        }
+    }
+
+    @Test
+    @DisplayName("RST_STREAM : client가 취소한 stream에는 응답하지 않고, 다른 stream은 계속 처리 합니다.")
+    void rstStream() throws IOException, InterruptedException {
+        gate = new CountDownLatch(1);
+        try(Client client = new Client()){
+            client.request(1, "GET", "/slow", true);
+            client.send(Http2Frame.rstStream(1, Http2Exception.CANCEL));
+            Thread.sleep(100);
+            gate.countDown();
+            Thread.sleep(200);
+
+            client.request(3, "GET", "/next", true);
+            while(true){
+                Frame frame = client.read();
+                Assertions.assertTrue(frame.streamId() != 1, "response on reset stream");
+                if(frame.streamId() == 3 && frame.isEndStream()){
+                    break;
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("REFUSED_STREAM : MAX_CONCURRENT_STREAMS를 초과한 stream은 거절 합니다.")
+    void refusedStream() throws IOException {
+        try(Client client = new Client()){
+            // body를 기다리는 stream은 처리중인 stream 입니다.
+            for(int i=0; i<Http2Connection.MAX_CONCURRENT_STREAMS; i++){
+                client.request(i * 2 + 1, "POST", "/upload", false);
+            }
+            int refused = Http2Connection.MAX_CONCURRENT_STREAMS * 2 + 1;
+            client.request(refused, "POST", "/upload", false);
+            Assertions.assertEquals(Http2Exception.REFUSED_STREAM, client.expect(refused, Http2Frame.RST_STREAM).errorCode());
+
+            // 처리중인 stream은 그대로 응답 합니다.
+            client.send(data(1, 3, Http2Frame.FLAG_END_STREAM));
+            Assertions.assertEquals("POST:/upload:3", new String(client.expect(1, Http2Frame.DATA).payload(), StandardCharsets.UTF_8));
+        }
+    }
+}
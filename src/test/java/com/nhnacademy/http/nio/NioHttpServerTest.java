@@ -0,0 +1,614 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http.nio;
+
+import com.nhnacademy.http.NioHttpServer;
+import com.nhnacademy.http.file.StaticFileHandler;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@Slf4j
+class NioHttpServerTest {
+
+    static final int TEST_PORT = 9998;
+    // 다른 test class가 사용하는 port(ex: ShardedHttpServerTest 9996)와 겹치지 않도록 test 마다 port를 지정 합니다.
+    static final int STATIC_FILE_PORT = 9997;
+    static final int STREAMING_PORT = 9984;
+    static final int REQUEST_BODY_PORT = 9995;
+    static final int TIMEOUT_PORT = 9994;
+    static final int HTTP2_PORT = 9993;
+    static final int HTTP2_PRIOR_KNOWLEDGE_PORT = 9992;
+    static final int WEBSOCKET_PORT = 9991;
+    static final int WEBSOCKET_PENDING_PORT = 9985;
+    static final int STOP_PORT = 9983;
+
+    // 시작한 server는 모든 test를 마친 뒤 종료 합니다. event loop와 worker thread가 다른 test class에 남지 않습니다.
+    static final List<NioHttpServer> servers = new ArrayList<>();
+
+    @BeforeAll
+    static void beforeAllSetUp() throws InterruptedException {
+        start(new NioHttpServer(TEST_PORT));
+    }
+
+    @AfterAll
+    static void tearDown(){
+        for(NioHttpServer server : servers){
+            server.stop();
+        }
+        servers.clear();
+    }
+
+    private static void start(NioHttpServer nioHttpServer) throws InterruptedException {
+        servers.add(nioHttpServer);
+        Thread thread = new Thread(nioHttpServer::start);
+        thread.setDaemon(true);
+        thread.start();
+        Thread.sleep(500);
+    }
+
+    @Test
+    @DisplayName("status code : 200 ok")
+    void request() throws URISyntaxException, IOException, InterruptedException {
+        HttpClient httpClient = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(new URI(String.format("http://localhost:%d", TEST_PORT)))
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        log.debug("response:{}", response.body());
+        Assertions.assertEquals(200, response.statusCode());
+        Assertions.assertTrue(response.body().contains("hello java"));
+    }
+
+    @Test
+    @DisplayName("slow client : request head sent in pieces")
+    void slowClient() throws IOException, InterruptedException {
+        try(Socket socket = new Socket("localhost", TEST_PORT)){
+            OutputStream outputStream = socket.getOutputStream();
+            outputStream.write("GET / HTTP/1.0\r\n".getBytes(StandardCharsets.US_ASCII));
+            outputStream.flush();
+            Thread.sleep(200);
+            outputStream.write("Host: localhost\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+            outputStream.flush();
+
+            InputStream inputStream = socket.getInputStream();
+            String response = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+            log.debug("response:{}", response);
+            Assertions.assertTrue(response.startsWith("HTTP/1.1 200 OK"));
+            Assertions.assertTrue(response.contains("Connection: close"));
+        }
+    }
+
+    @Test
+    @DisplayName("keep-alive, pipelining : 3 requests on one connection")
+    void pipelining() throws IOException {
+        try(Socket socket = new Socket("localhost", TEST_PORT)){
+            String request = "GET / HTTP/1.1\r\nHost: localhost\r\n\r\n";
+            OutputStream outputStream = socket.getOutputStream();
+            outputStream.write((request + request + request).getBytes(StandardCharsets.US_ASCII));
+            outputStream.flush();
+
+            BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            for(int i=0; i<3; i++){
+                Assertions.assertEquals("HTTP/1.1 200 OK", reader.readLine());
+                int contentLength = 0;
+                String line;
+                while(!(line = reader.readLine()).isEmpty()){
+                    if(line.startsWith("Content-Length:")){
+                        contentLength = Integer.parseInt(line.substring(15).trim());
+                    }
+                    if(line.startsWith("Connection:")){
+                        Assertions.assertEquals("Connection: keep-alive", line);
+                    }
+                }
+                Assertions.assertEquals(contentLength, reader.skip(contentLength));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("idle connections do not occupy worker threads")
+    void idleConnections() throws Exception {
+        Socket[] idleSockets = new Socket[20];
+        try{
+            for(int i=0; i<idleSockets.length; i++){
+                idleSockets[i] = new Socket("localhost", TEST_PORT);
+            }
+            // worker thread(5)보다 많은 idle 연결이 있어도 요청은 처리 되어야 합니다.
+            request();
+        }finally {
+            for(Socket socket : idleSockets){
+                if(socket != null){
+                    socket.close();
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("stop : event loop가 연결과 listen socket을 닫고 start()가 반환 됩니다. 같은 port를 다시 사용할 수 있습니다.")
+    void stop() throws Exception {
+        for(int i=0; i<2; i++){
+            NioHttpServer nioHttpServer = new NioHttpServer(STOP_PORT);
+            Thread thread = new Thread(nioHttpServer::start);
+            thread.setDaemon(true);
+            thread.start();
+            Thread.sleep(500);
+
+            try(Socket socket = new Socket("localhost", STOP_PORT)){
+                socket.setSoTimeout(5000);
+                socket.getOutputStream().write("GET / HTTP/1.1\r\nHost: localhost\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+                Assertions.assertTrue(readHead(socket.getInputStream()).startsWith("HTTP/1.1 200 OK"));
+
+                nioHttpServer.stop();
+                thread.join(5000);
+                Assertions.assertFalse(thread.isAlive());
+                // keep-alive 연결도 종료 됩니다.
+                socket.getInputStream().readAllBytes();
+            }
+            Assertions.assertThrows(java.net.ConnectException.class, ()->new Socket("localhost", STOP_PORT).close());
+        }
+    }
+
+    @Test
+    @DisplayName("static file : large file is sent with transferTo")
+    void staticFile() throws Exception {
+        Path documentRoot = Files.createTempDirectory("nio");
+        // FileCache의 최대 크기(1MB)보다 큰 파일은 FileOutbound로 전송 됩니다.
+        byte[] content = new byte[3 * 1024 * 1024];
+        for(int i=0; i<content.length; i++){
+            content[i] = (byte) ('a' + i % 26);
+        }
+        Path file = Files.write(documentRoot.resolve("large.bin"), content);
+        try{
+            NioHttpServer nioHttpServer = new NioHttpServer(STATIC_FILE_PORT);
+            nioHttpServer.setHttpHandler(new StaticFileHandler(documentRoot));
+            start(nioHttpServer);
+
+            HttpClient httpClient = HttpClient.newHttpClient();
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(new URI(String.format("http://localhost:%d/large.bin", STATIC_FILE_PORT)))
+                    .build();
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            Assertions.assertEquals(200, response.statusCode());
+            Assertions.assertTrue(Arrays.equals(content, response.body()));
+
+            HttpRequest range = HttpRequest.newBuilder()
+                    .uri(new URI(String.format("http://localhost:%d/large.bin", STATIC_FILE_PORT)))
+                    .header("Range", "bytes=2000000-2000009")
+                    .build();
+            HttpResponse<byte[]> partial = httpClient.send(range, HttpResponse.BodyHandlers.ofByteArray());
+            Assertions.assertEquals(206, partial.statusCode());
+            Assertions.assertTrue(Arrays.equals(Arrays.copyOfRange(content, 2000000, 2000010), partial.body()));
+        }finally {
+            Files.delete(file);
+            Files.delete(documentRoot);
+        }
+    }
+
+    @Test
+    @DisplayName("StreamingBody : socket send buffer 보다 큰 body를 chunked로 전송 합니다.")
+    void streaming() throws Exception {
+        byte[] line = new byte[1000];
+        Arrays.fill(line, (byte) 'a');
+        int lines = 4096;
+        NioHttpServer nioHttpServer = new NioHttpServer(STREAMING_PORT);
+        nioHttpServer.setHttpHandler(request -> new com.nhnacademy.http.response.HttpResponse().setBody(output -> {
+            for(int i=0; i<lines; i++){
+                output.write(line);
+            }
+        }));
+        start(nioHttpServer);
+
+        // chunked는 HTTP/1.1의 전송 방식 입니다. 기본 client는 h2c upgrade를 요청하므로 HTTP/1.1을 지정 합니다.
+        HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(new URI(String.format("http://localhost:%d/", STREAMING_PORT)))
+                .build();
+        for(int i=0; i<2; i++){
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            Assertions.assertEquals(200, response.statusCode());
+            Assertions.assertEquals("chunked", response.headers().firstValue("Transfer-Encoding").orElse(null));
+            Assertions.assertEquals(lines * line.length, response.body().length);
+        }
+    }
+
+    @Test
+    @DisplayName("request body : 천천히 도착하는 큰 body를 event loop에서 읽은 뒤 처리 합니다.")
+    void requestBody() throws Exception {
+        NioHttpServer nioHttpServer = new NioHttpServer(REQUEST_BODY_PORT);
+        nioHttpServer.setHttpHandler(request -> {
+            byte[] body = new byte[request.getBody().remaining()];
+            request.getBody().get(body);
+            int sum = 0;
+            for(byte b : body){
+                sum += b;
+            }
+            return new com.nhnacademy.http.response.HttpResponse().setBody(request.isBodyStreamed() + ":" + body.length + ":" + sum);
+        });
+        start(nioHttpServer);
+
+        // RequestBody.DEFAULT_MEMORY_THRESHOLD 보다 큰 body는 임시 파일에 기록 됩니다.
+        int length = 200_000;
+        try(Socket socket = new Socket("localhost", REQUEST_BODY_PORT)){
+            OutputStream outputStream = socket.getOutputStream();
+            outputStream.write(("POST /upload HTTP/1.1\r\nContent-Length: " + length + "\r\nExpect: 100-continue\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            outputStream.flush();
+            BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            Assertions.assertEquals("HTTP/1.1 100 Continue", reader.readLine());
+            Assertions.assertEquals("", reader.readLine());
+
+            byte[] part = new byte[length / 4];
+            Arrays.fill(part, (byte) 1);
+            for(int i=0; i<4; i++){
+                outputStream.write(part);
+                outputStream.flush();
+                Thread.sleep(50);
+            }
+            // 작은 body는 buffer에서 읽습니다.
+            outputStream.write("POST / HTTP/1.1\r\nContent-Length: 2\r\n\r\n\u0001\u0001".getBytes(StandardCharsets.US_ASCII));
+            outputStream.flush();
+
+            String expected = "true:" + length + ":" + length;
+            Assertions.assertEquals("HTTP/1.1 200 OK", reader.readLine());
+            while(!reader.readLine().isEmpty()){
+                // header
+            }
+            char[] body = new char[expected.length()];
+            Assertions.assertEquals(body.length, reader.read(body));
+            Assertions.assertEquals(expected, new String(body));
+
+            Assertions.assertEquals("HTTP/1.1 200 OK", reader.readLine());
+            while(!reader.readLine().isEmpty()){
+                // header
+            }
+            body = new char["false:2:2".length()];
+            Assertions.assertEquals(body.length, reader.read(body));
+            Assertions.assertEquals("false:2:2", new String(body));
+
+            // chunked body는 길이를 알 수 없으므로 memoryThreshold를 넘으면 임시 파일로 옮깁니다. 뒤에 이어진 요청도 처리 합니다.
+            byte[] chunk = new byte[40_000];
+            Arrays.fill(chunk, (byte) 1);
+            outputStream.write("POST /upload HTTP/1.1\r\nTransfer-Encoding: chunked\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+            for(int i=0; i<3; i++){
+                outputStream.write((Integer.toHexString(chunk.length) + ";ext=1\r\n").getBytes(StandardCharsets.US_ASCII));
+                outputStream.write(chunk);
+                outputStream.write("\r\n".getBytes(StandardCharsets.US_ASCII));
+                outputStream.flush();
+                Thread.sleep(50);
+            }
+            outputStream.write("0\r\nTrailer: 1\r\n\r\nPOST / HTTP/1.1\r\nContent-Length: 2\r\n\r\n\u0001\u0001".getBytes(StandardCharsets.US_ASCII));
+            outputStream.flush();
+
+            expected = "true:120000:120000";
+            Assertions.assertEquals("HTTP/1.1 200 OK", reader.readLine());
+            while(!reader.readLine().isEmpty()){
+                // header
+            }
+            body = new char[expected.length()];
+            Assertions.assertEquals(body.length, reader.read(body));
+            Assertions.assertEquals(expected, new String(body));
+
+            Assertions.assertEquals("HTTP/1.1 200 OK", reader.readLine());
+            while(!reader.readLine().isEmpty()){
+                // header
+            }
+            body = new char["false:2:2".length()];
+            Assertions.assertEquals(body.length, reader.read(body));
+            Assertions.assertEquals("false:2:2", new String(body));
+        }
+    }
+
+    @Test
+    @DisplayName("timeout : 요청을 보내지 않는 연결과 head를 완성하지 않는 연결을 종료 합니다.")
+    void timeout() throws Exception {
+        NioHttpServer nioHttpServer = new NioHttpServer(TIMEOUT_PORT);
+        nioHttpServer.setTimeoutPolicy(new com.nhnacademy.http.channel.TimeoutPolicy(500, 10_000, 10_000));
+        start(nioHttpServer);
+
+        try(Socket slow = new Socket("localhost", TIMEOUT_PORT)){
+            slow.setSoTimeout(5000);
+            long start = System.nanoTime();
+            OutputStream outputStream = slow.getOutputStream();
+            outputStream.write("GET / HTTP/1.1\r\n".getBytes(StandardCharsets.US_ASCII));
+            outputStream.flush();
+            Assertions.assertEquals(-1, slow.getInputStream().read());
+            long elapsed = System.nanoTime() - start;
+            Assertions.assertTrue(elapsed >= java.util.concurrent.TimeUnit.MILLISECONDS.toNanos(400), String.valueOf(elapsed));
+        }
+    }
+
+    @Test
+    @DisplayName("h2c : upgrade 이후 하나의 연결에서 여러 요청을 동시에 처리 합니다.")
+    void http2() throws Exception {
+        byte[] large = new byte[300_000];
+        Arrays.fill(large, (byte) 'b');
+        NioHttpServer nioHttpServer = new NioHttpServer(HTTP2_PORT);
+        nioHttpServer.setHttpHandler(request -> {
+            if(request.getPath().equals("/large")){
+                // client의 기본 window(65535) 보다 큰 응답 입니다.
+                return new com.nhnacademy.http.response.HttpResponse().setBody(java.nio.ByteBuffer.wrap(large));
+            }
+            return new com.nhnacademy.http.response.HttpResponse()
+                    .setBody(request.getMethod() + ":" + request.getPath() + ":" + request.getBody().remaining());
+        });
+        start(nioHttpServer);
+
+        HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build();
+        String uri = String.format("http://localhost:%d", HTTP2_PORT);
+        // 첫 요청 : Upgrade: h2c
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder().uri(new URI(uri + "/upgrade")).build(), HttpResponse.BodyHandlers.ofString());
+        Assertions.assertEquals(HttpClient.Version.HTTP_2, response.version());
+        Assertions.assertEquals(200, response.statusCode());
+        Assertions.assertEquals("GET:/upgrade:0", response.body());
+
+        // 같은 연결의 stream으로 동시에 요청 합니다.
+        java.util.List<java.util.concurrent.CompletableFuture<HttpResponse<String>>> futures = new java.util.ArrayList<>();
+        for(int i=0; i<20; i++){
+            futures.add(httpClient.sendAsync(HttpRequest.newBuilder().uri(new URI(uri + "/stream" + i)).build(), HttpResponse.BodyHandlers.ofString()));
+        }
+        for(int i=0; i<20; i++){
+            HttpResponse<String> streamResponse = futures.get(i).get(5, java.util.concurrent.TimeUnit.SECONDS);
+            Assertions.assertEquals(HttpClient.Version.HTTP_2, streamResponse.version());
+            Assertions.assertEquals("GET:/stream" + i + ":0", streamResponse.body());
+        }
+
+        // request body : window 보다 큰 body는 WINDOW_UPDATE를 받은 뒤 이어서 전송 됩니다.
+        byte[] body = new byte[100_000];
+        response = httpClient.send(HttpRequest.newBuilder().uri(new URI(uri + "/upload"))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body)).build(), HttpResponse.BodyHandlers.ofString());
+        Assertions.assertEquals(HttpClient.Version.HTTP_2, response.version());
+        Assertions.assertEquals("POST:/upload:" + body.length, response.body());
+
+        // response body : client의 WINDOW_UPDATE에 맞춰 전송 합니다.
+        HttpResponse<byte[]> largeResponse = httpClient.send(HttpRequest.newBuilder().uri(new URI(uri + "/large")).build(), HttpResponse.BodyHandlers.ofByteArray());
+        Assertions.assertEquals(HttpClient.Version.HTTP_2, largeResponse.version());
+        Assertions.assertArrayEquals(large, largeResponse.body());
+    }
+
+    @Test
+    @DisplayName("h2c : connection preface로 시작하는 연결(prior knowledge)")
+    void http2PriorKnowledge() throws Exception {
+        NioHttpServer nioHttpServer = new NioHttpServer(HTTP2_PRIOR_KNOWLEDGE_PORT);
+        start(nioHttpServer);
+
+        try(Socket socket = new Socket("localhost", HTTP2_PRIOR_KNOWLEDGE_PORT)){
+            socket.setSoTimeout(5000);
+            java.io.DataOutputStream output = new java.io.DataOutputStream(socket.getOutputStream());
+            output.write(com.nhnacademy.http.h2.Http2Frame.PREFACE);
+            output.write(toBytes(com.nhnacademy.http.h2.Http2Frame.settings()));
+            java.nio.ByteBuffer block = new com.nhnacademy.http.h2.HpackEncoder()
+                    .header(":method", "GET")
+                    .header(":scheme", "http")
+                    .header(":path", "/")
+                    .header(":authority", "localhost")
+                    .toByteBuffer();
+            java.nio.ByteBuffer headers = com.nhnacademy.http.h2.Http2Frame.allocate(block.remaining(), com.nhnacademy.http.h2.Http2Frame.HEADERS,
+                    com.nhnacademy.http.h2.Http2Frame.FLAG_END_HEADERS | com.nhnacademy.http.h2.Http2Frame.FLAG_END_STREAM, 1);
+            output.write(toBytes(headers.put(block).flip()));
+            output.flush();
+
+            java.io.DataInputStream input = new java.io.DataInputStream(socket.getInputStream());
+            String status = null;
+            StringBuilder body = new StringBuilder();
+            while(true){
+                int length = input.readUnsignedShort() << 8 | input.readUnsignedByte();
+                int type = input.readUnsignedByte();
+                int flags = input.readUnsignedByte();
+                int streamId = input.readInt();
+                byte[] payload = new byte[length];
+                input.readFully(payload);
+                if(type == com.nhnacademy.http.h2.Http2Frame.HEADERS){
+                    Assertions.assertEquals(1, streamId);
+                    java.util.Map<String, String> fields = new java.util.HashMap<>();
+                    new com.nhnacademy.http.h2.HpackDecoder().decode(java.nio.ByteBuffer.wrap(payload), fields::put);
+                    status = fields.get(":status");
+                }else if(type == com.nhnacademy.http.h2.Http2Frame.DATA){
+                    body.append(new String(payload, StandardCharsets.UTF_8));
+                }
+                if((type == com.nhnacademy.http.h2.Http2Frame.DATA || type == com.nhnacademy.http.h2.Http2Frame.HEADERS)
+                        && (flags & com.nhnacademy.http.h2.Http2Frame.FLAG_END_STREAM) != 0){
+                    break;
+                }
+            }
+            Assertions.assertEquals("200", status);
+            Assertions.assertTrue(body.toString().contains("hello java"));
+        }
+    }
+
+    @Test
+    @DisplayName("websocket : echo, broadcast, ping/pong keepalive, close")
+    void webSocket() throws Exception {
+        com.nhnacademy.http.websocket.WebSocketBroadcaster broadcaster = new com.nhnacademy.http.websocket.WebSocketBroadcaster();
+        java.util.concurrent.BlockingQueue<Integer> closed = new java.util.concurrent.LinkedBlockingQueue<>();
+        com.nhnacademy.http.websocket.WebSocketHandler handler = new com.nhnacademy.http.websocket.WebSocketHandler() {
+            @Override
+            public void onOpen(com.nhnacademy.http.websocket.WebSocketSession session) {
+                broadcaster.subscribe(session);
+            }
+
+            @Override
+            public void onText(com.nhnacademy.http.websocket.WebSocketSession session, String message) throws IOException {
+                if(message.startsWith("broadcast:")){
+                    broadcaster.broadcastText(message.substring("broadcast:".length()));
+                }else{
+                    session.sendText("echo:" + message);
+                }
+            }
+
+            @Override
+            public void onClose(com.nhnacademy.http.websocket.WebSocketSession session, int statusCode, String reason) {
+                broadcaster.unsubscribe(session);
+                closed.add(statusCode);
+            }
+        };
+        NioHttpServer nioHttpServer = new NioHttpServer(WEBSOCKET_PORT);
+        nioHttpServer.setHttpHandler(new com.nhnacademy.http.websocket.WebSocketUpgradeHandler(handler).setPingIntervalMillis(300));
+        start(nioHttpServer);
+
+        HttpClient httpClient = HttpClient.newHttpClient();
+        java.util.List<java.net.http.WebSocket> clients = new java.util.ArrayList<>();
+        java.util.List<java.util.concurrent.BlockingQueue<String>> messages = new java.util.ArrayList<>();
+        for(int i=0; i<3; i++){
+            java.util.concurrent.BlockingQueue<String> queue = new java.util.concurrent.LinkedBlockingQueue<>();
+            messages.add(queue);
+            clients.add(httpClient.newWebSocketBuilder()
+                    .buildAsync(new URI(String.format("ws://localhost:%d/events", WEBSOCKET_PORT)), new java.net.http.WebSocket.Listener() {
+                        final StringBuilder text = new StringBuilder();
+
+                        @Override
+                        public java.util.concurrent.CompletionStage<?> onText(java.net.http.WebSocket webSocket, CharSequence data, boolean last) {
+                            text.append(data);
+                            if(last){
+                                queue.add(text.toString());
+                                text.setLength(0);
+                            }
+                            webSocket.request(1);
+                            return null;
+                        }
+                    }).get(5, java.util.concurrent.TimeUnit.SECONDS));
+        }
+        // 모든 client가 구독할 때 까지 기다립니다.
+        for(int i=0; i<50 && broadcaster.size() < 3; i++){
+            Thread.sleep(20);
+        }
+
+        clients.get(0).sendText("hello", true).get(5, java.util.concurrent.TimeUnit.SECONDS);
+        Assertions.assertEquals("echo:hello", messages.get(0).poll(5, java.util.concurrent.TimeUnit.SECONDS));
+
+        // readBuffer 보다 큰 message는 나눠서 읽은 뒤 전달 합니다.
+        String large = "x".repeat(100_000);
+        clients.get(1).sendText(large, true).get(5, java.util.concurrent.TimeUnit.SECONDS);
+        Assertions.assertEquals("echo:" + large, messages.get(1).poll(5, java.util.concurrent.TimeUnit.SECONDS));
+
+        clients.get(0).sendText("broadcast:news", true).get(5, java.util.concurrent.TimeUnit.SECONDS);
+        for(java.util.concurrent.BlockingQueue<String> queue : messages){
+            Assertions.assertEquals("news", queue.poll(5, java.util.concurrent.TimeUnit.SECONDS));
+        }
+
+        // client가 Ping에 응답하므로 pingInterval이 여러 번 지나도 연결을 유지 합니다.
+        Thread.sleep(1000);
+        clients.get(2).sendText("alive", true).get(5, java.util.concurrent.TimeUnit.SECONDS);
+        Assertions.assertEquals("echo:alive", messages.get(2).poll(5, java.util.concurrent.TimeUnit.SECONDS));
+
+        clients.get(2).sendClose(java.net.http.WebSocket.NORMAL_CLOSURE, "bye").get(5, java.util.concurrent.TimeUnit.SECONDS);
+        Assertions.assertEquals((Integer) java.net.http.WebSocket.NORMAL_CLOSURE, closed.poll(5, java.util.concurrent.TimeUnit.SECONDS));
+
+        // Ping에 응답하지 않는 client는 연결을 종료 합니다.
+        try(Socket socket = new Socket("localhost", WEBSOCKET_PORT)){
+            socket.setSoTimeout(5000);
+            OutputStream outputStream = socket.getOutputStream();
+            outputStream.write(("GET /events HTTP/1.1\r\nHost: localhost\r\nUpgrade: websocket\r\nConnection: Upgrade\r\n"
+                    + "Sec-WebSocket-Key: dGhlIHNhbXBsZSBub25jZQ==\r\nSec-WebSocket-Version: 13\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            outputStream.flush();
+            InputStream inputStream = socket.getInputStream();
+            String head = readHead(inputStream);
+            Assertions.assertTrue(head.startsWith("HTTP/1.1 101 Switching Protocols"), head);
+            Assertions.assertTrue(head.contains("Sec-WebSocket-Accept: s3pPLMBiTxaQ9kYGzzhZRbK+xOo="), head);
+
+            long start = System.nanoTime();
+            byte[] remaining = inputStream.readAllBytes();
+            long elapsed = System.nanoTime() - start;
+            // 첫 번째 Ping(0x89 0x00)을 받은 뒤 다음 Ping 시점에 연결이 종료 됩니다.
+            Assertions.assertEquals("8900", java.util.HexFormat.of().formatHex(remaining));
+            Assertions.assertTrue(elapsed >= java.util.concurrent.TimeUnit.MILLISECONDS.toNanos(500), String.valueOf(elapsed));
+        }
+        Assertions.assertEquals((Integer) com.nhnacademy.http.websocket.WebSocketFrame.ABNORMAL_CLOSURE, closed.poll(5, java.util.concurrent.TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("websocket : handler가 처리하지 못한 message가 maxPendingMessages를 초과하면 1008로 연결을 종료 합니다.")
+    void webSocketPendingMessages() throws Exception {
+        java.util.concurrent.CountDownLatch release = new java.util.concurrent.CountDownLatch(1);
+        java.util.concurrent.BlockingQueue<Integer> closed = new java.util.concurrent.LinkedBlockingQueue<>();
+        com.nhnacademy.http.websocket.WebSocketHandler handler = new com.nhnacademy.http.websocket.WebSocketHandler() {
+            @Override
+            public void onText(com.nhnacademy.http.websocket.WebSocketSession session, String message) throws IOException {
+                try{
+                    release.await(5, java.util.concurrent.TimeUnit.SECONDS);
+                }catch (InterruptedException e){
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            @Override
+            public void onClose(com.nhnacademy.http.websocket.WebSocketSession session, int statusCode, String reason) {
+                closed.add(statusCode);
+            }
+        };
+        NioHttpServer nioHttpServer = new NioHttpServer(WEBSOCKET_PENDING_PORT);
+        nioHttpServer.setHttpHandler(new com.nhnacademy.http.websocket.WebSocketUpgradeHandler(handler).setMaxPendingMessages(2, 1024));
+        start(nioHttpServer);
+
+        try(Socket socket = new Socket("localhost", WEBSOCKET_PENDING_PORT)){
+            socket.setSoTimeout(5000);
+            OutputStream outputStream = socket.getOutputStream();
+            outputStream.write(("GET /events HTTP/1.1\r\nHost: localhost\r\nUpgrade: websocket\r\nConnection: Upgrade\r\n"
+                    + "Sec-WebSocket-Key: dGhlIHNhbXBsZSBub25jZQ==\r\nSec-WebSocket-Version: 13\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            outputStream.flush();
+            InputStream inputStream = socket.getInputStream();
+            Assertions.assertTrue(readHead(inputStream).startsWith("HTTP/1.1 101 Switching Protocols"));
+
+            // FIN, TEXT, mask key 0 : payload를 그대로 전송 합니다. handler는 첫 번째 message에서 대기 합니다.
+            byte[] frame = {(byte) 0x81, (byte) 0x82, 0, 0, 0, 0, 'h', 'i'};
+            for(int i=0; i<5; i++){
+                outputStream.write(frame);
+            }
+            outputStream.flush();
+
+            // Close frame : status 1008
+            Assertions.assertEquals("881b", java.util.HexFormat.of().formatHex(inputStream.readNBytes(2)));
+            Assertions.assertEquals("03f0", java.util.HexFormat.of().formatHex(inputStream.readNBytes(2)));
+            inputStream.readAllBytes();
+        }finally {
+            release.countDown();
+        }
+        Assertions.assertEquals((Integer) com.nhnacademy.http.websocket.WebSocketFrame.POLICY_VIOLATION, closed.poll(5, java.util.concurrent.TimeUnit.SECONDS));
+    }
+
+    private static String readHead(InputStream inputStream) throws IOException {
+        StringBuilder head = new StringBuilder();
+        while(!head.toString().endsWith("\r\n\r\n")){
+            int read = inputStream.read();
+            if(read < 0){
+                break;
+            }
+            head.append((char) read);
+        }
+        return head.toString();
+    }
+
+    private static byte[] toBytes(java.nio.ByteBuffer buffer){
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+}
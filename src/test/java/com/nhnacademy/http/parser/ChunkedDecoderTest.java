@@ -0,0 +1,105 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.parser;
+
+import com.nhnacademy.exceptions.HttpParseException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+class ChunkedDecoderTest {
+    private static final String BODY = "4\r\nWiki\r\n7;name=value\r\npedia i\r\nB\r\nn \r\nchunks.\r\n0\r\nExpires: 0\r\n\r\n";
+
+    private static ByteBuffer buffer(String body){
+        return ByteBuffer.wrap(body.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    // decoder가 반환한 data 구간을 모두 모읍니다.
+    private static String decode(ChunkedDecoder decoder, ByteBuffer src, ByteArrayOutputStream output) throws HttpParseException {
+        ByteBuffer data;
+        while((data = decoder.next(src)) != null){
+            byte[] bytes = new byte[data.remaining()];
+            data.get(bytes);
+            output.writeBytes(bytes);
+        }
+        return output.toString(StandardCharsets.US_ASCII);
+    }
+
+    @Test
+    @DisplayName("chunk data만 반환하고, chunk extension과 trailer는 버립니다.")
+    void decode() throws HttpParseException {
+        ChunkedDecoder decoder = new ChunkedDecoder(1024);
+        ByteBuffer src = buffer(BODY + "GET / HTTP/1.1\r\n\r\n");
+        Assertions.assertEquals("Wikipedia in \r\nchunks.", decode(decoder, src, new ByteArrayOutputStream()));
+        Assertions.assertTrue(decoder.isComplete());
+        Assertions.assertEquals(22, decoder.getDecoded());
+        Assertions.assertEquals(0, decoder.getMinimumRemaining());
+        // 다음 요청은 읽지 않습니다.
+        Assertions.assertEquals(BODY.length(), src.position());
+    }
+
+    @Test
+    @DisplayName("한 byte씩 도착해도 이어서 해석하고, getMinimumRemaining()은 실제 남은 byte 수를 넘지 않습니다.")
+    void decode_byteByByte() throws HttpParseException {
+        ChunkedDecoder decoder = new ChunkedDecoder(1024);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        byte[] bytes = BODY.getBytes(StandardCharsets.US_ASCII);
+        for(int i=0; i<bytes.length; i++){
+            long remaining = bytes.length - i;
+            Assertions.assertTrue(decoder.getMinimumRemaining() > 0);
+            Assertions.assertTrue(decoder.getMinimumRemaining() <= remaining);
+            decode(decoder, ByteBuffer.wrap(bytes, i, 1), output);
+        }
+        Assertions.assertTrue(decoder.isComplete());
+        Assertions.assertEquals("Wikipedia in \r\nchunks.", output.toString(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    @DisplayName("잘못된 chunk : 400")
+    void badRequest(){
+        String[] bodies = {
+                "\r\n",
+                "x\r\n",
+                "5\nhello\r\n0\r\n\r\n",
+                "5\r\nhello\n0\r\n\r\n",
+                "5\r\nhelloX\r\n",
+                "5;ext\n",
+                "f".repeat(5000)
+        };
+        for(String body : bodies){
+            HttpParseException exception = Assertions.assertThrows(HttpParseException.class,
+                    ()->decode(new ChunkedDecoder(Long.MAX_VALUE), buffer(body), new ByteArrayOutputStream()));
+            Assertions.assertEquals(body.length() == 5000 ? 413 : 400, exception.getStatusCode());
+        }
+    }
+
+    @Test
+    @DisplayName("maxBodySize 초과 413, trailer 크기 초과 431")
+    void limits(){
+        HttpParseException tooLarge = Assertions.assertThrows(HttpParseException.class,
+                ()->decode(new ChunkedDecoder(10), buffer("6\r\nhello!\r\n6\r\n"), new ByteArrayOutputStream()));
+        Assertions.assertEquals(413, tooLarge.getStatusCode());
+
+        HttpParseException trailer = Assertions.assertThrows(HttpParseException.class,
+                ()->decode(new ChunkedDecoder(10, 16), buffer("0\r\nTrailer: " + "x".repeat(16) + "\r\n\r\n"), new ByteArrayOutputStream()));
+        Assertions.assertEquals(431, trailer.getStatusCode());
+
+        Assertions.assertThrows(IllegalArgumentException.class, ()->new ChunkedDecoder(-1));
+        Assertions.assertThrows(IllegalArgumentException.class, ()->new ChunkedDecoder(10, -1));
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http.parser;
+
+import com.nhnacademy.exceptions.HttpParseException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+class HttpRequestParserTest {
+
+    private static ByteBuffer buffer(String request){
+        return ByteBuffer.wrap(request.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    @DisplayName("request line, headers")
+    void parse() throws HttpParseException {
+        String request = "GET /index.html?q=1 HTTP/1.1\r\nHost: localhost:8080\r\nAccept:  text/html  \r\nX-Empty:\r\n\r\n";
+        ByteBuffer buffer = buffer(request);
+        HttpRequestParser parser = new HttpRequestParser();
+
+        Assertions.assertTrue(parser.parse(buffer, 0, buffer.limit()));
+        Assertions.assertEquals("GET", parser.getMethod());
+        Assertions.assertEquals("/index.html?q=1", parser.getPath());
+        Assertions.assertEquals("HTTP/1.1", parser.getHttpVersion());
+        Assertions.assertEquals(3, parser.getHeaderCount());
+        Assertions.assertEquals("Host", parser.getHeaderName(0));
+        Assertions.assertEquals("localhost:8080", parser.getHeaderValue(0));
+        Assertions.assertEquals("text/html", parser.getHeader("accept"));
+        Assertions.assertEquals("", parser.getHeader("X-Empty"));
+        Assertions.assertNull(parser.getHeader("Connection"));
+        Assertions.assertEquals(request.length(), parser.getRequestLength());
+        Assertions.assertTrue(parser.isMethod("GET".getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    @Test
+    @DisplayName("offset/length view")
+    void view() throws HttpParseException {
+        ByteBuffer buffer = buffer("POST /upload HTTP/1.1\r\n\r\n");
+        HttpRequestParser parser = new HttpRequestParser();
+        parser.parse(buffer, 0, buffer.limit());
+
+        Assertions.assertEquals(0, parser.getMethodOffset());
+        Assertions.assertEquals(4, parser.getMethodLength());
+        Assertions.assertEquals(5, parser.getPathOffset());
+        Assertions.assertEquals(7, parser.getPathLength());
+    }
+
+    @Test
+    @DisplayName("resumable : one byte at a time")
+    void parseIncrementally() throws HttpParseException {
+        String request = "GET / HTTP/1.1\r\nHost: localhost\r\nContent-Length: 5\r\n\r\nhello";
+        ByteBuffer buffer = buffer(request);
+        HttpRequestParser parser = new HttpRequestParser();
+
+        for(int limit=1; limit<request.length(); limit++){
+            Assertions.assertFalse(parser.parse(buffer, 0, limit));
+        }
+        Assertions.assertTrue(parser.parse(buffer, 0, request.length()));
+        Assertions.assertEquals(5, parser.getContentLength());
+        Assertions.assertEquals(request.indexOf("hello"), parser.getBodyOffset());
+        Assertions.assertEquals("localhost", parser.getHeader("host"));
+    }
+
+    @Test
+    @DisplayName("pipelined requests, reset")
+    void pipelining() throws HttpParseException {
+        String first = "GET /1 HTTP/1.1\r\n\r\n";
+        String second = "\r\nGET /2 HTTP/1.1\n\n";
+        ByteBuffer buffer = buffer(first + second);
+        HttpRequestParser parser = new HttpRequestParser();
+
+        Assertions.assertTrue(parser.parse(buffer, 0, buffer.limit()));
+        Assertions.assertEquals("/1", parser.getPath());
+        int next = parser.getRequestOffset() + parser.getRequestLength();
+        Assertions.assertEquals(first.length(), next);
+
+        parser.reset();
+        Assertions.assertTrue(parser.parse(buffer, next, buffer.limit()));
+        Assertions.assertEquals("/2", parser.getPath());
+        Assertions.assertEquals(buffer.limit(), parser.getRequestOffset() + parser.getRequestLength());
+    }
+
+    @Test
+    @DisplayName("malformed request : 400")
+    void badRequest(){
+        String[] requests = {
+                "GET\r\n\r\n",
+                "GET  HTTP/1.1\r\n\r\n",
+                "GET / FTP/1.1\r\n\r\n",
+                "GET / HTTP/1.1\r\nHost localhost\r\n\r\n",
+                "GET / HTTP/1.1\r\n folded\r\n\r\n",
+                "GET / HTTP/1.1\rX\r\n\r\n",
+                "GET / HTTP/1.1\r\nContent-Length: abc\r\n\r\n"
+        };
+        for(String request : requests){
+            ByteBuffer buffer = buffer(request);
+            HttpParseException exception = Assertions.assertThrows(HttpParseException.class, ()->{
+                new HttpRequestParser().parse(buffer, 0, buffer.limit());
+            });
+            Assertions.assertEquals(400, exception.getStatusCode());
+        }
+    }
+
+    @Test
+    @DisplayName("Content-Length : 값이 다른 header가 여러 개라면 400, 같은 값이라면 하나로 처리 합니다.")
+    void duplicateContentLength() throws HttpParseException {
+        ByteBuffer conflicting = buffer("POST / HTTP/1.1\r\nContent-Length: 5\r\ncontent-length: 10\r\n\r\nhello");
+        HttpParseException exception = Assertions.assertThrows(HttpParseException.class, ()->{
+            new HttpRequestParser().parse(conflicting, 0, conflicting.limit());
+        });
+        Assertions.assertEquals(400, exception.getStatusCode());
+
+        ByteBuffer same = buffer("POST / HTTP/1.1\r\nContent-Length: 5\r\nContent-Length: 5\r\n\r\nhello");
+        HttpRequestParser parser = new HttpRequestParser();
+        Assertions.assertTrue(parser.parse(same, 0, same.limit()));
+        Assertions.assertEquals(same.limit(), parser.getRequestOffset() + parser.getRequestLength());
+    }
+
+    @Test
+    @DisplayName("maxHeaderCount : 431")
+    void maxHeaderCount(){
+        ByteBuffer buffer = buffer("GET / HTTP/1.1\r\nA: 1\r\nB: 2\r\nC: 3\r\n\r\n");
+        HttpRequestParser parser = new HttpRequestParser(8192, 2, 0);
+        HttpParseException exception = Assertions.assertThrows(HttpParseException.class, ()->{
+            parser.parse(buffer, 0, buffer.limit());
+        });
+        Assertions.assertEquals(431, exception.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("maxHeaderSize : 431")
+    void maxHeaderSize(){
+        ByteBuffer buffer = buffer("GET / HTTP/1.1\r\nCookie: " + "x".repeat(100) + "\r\n\r\n");
+        HttpRequestParser parser = new HttpRequestParser(64, 10, 0);
+        HttpParseException exception = Assertions.assertThrows(HttpParseException.class, ()->{
+            parser.parse(buffer, 0, buffer.limit());
+        });
+        Assertions.assertEquals(431, exception.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("maxBodySize : 413")
+    void maxBodySize(){
+        ByteBuffer buffer = buffer("POST / HTTP/1.1\r\nContent-Length: 100\r\n\r\n");
+        HttpRequestParser parser = new HttpRequestParser(8192, 10, 10);
+        HttpParseException exception = Assertions.assertThrows(HttpParseException.class, ()->{
+            parser.parse(buffer, 0, buffer.limit());
+        });
+        Assertions.assertEquals(413, exception.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("maxStreamedBodySize : buffer보다 큰 body는 head만 해석 합니다.")
+    void streamedBody() throws HttpParseException {
+        String head = "POST /upload HTTP/1.1\r\nContent-Length: 100\r\nExpect: 100-Continue\r\n\r\n";
+        ByteBuffer buffer = buffer(head + "body...");
+        HttpRequestParser parser = new HttpRequestParser(8192, 10, 10, 1000);
+
+        Assertions.assertTrue(parser.parse(buffer, 0, buffer.limit()));
+        Assertions.assertTrue(parser.hasStreamedBody());
+        Assertions.assertEquals(100, parser.getStreamedBodyLength());
+        Assertions.assertEquals(0, parser.getContentLength());
+        Assertions.assertEquals(head.length(), parser.getBodyOffset());
+        Assertions.assertEquals(head.length(), parser.getRequestLength());
+        Assertions.assertTrue(parser.isExpectContinue());
+
+        parser.reset();
+        Assertions.assertFalse(parser.hasStreamedBody());
+        Assertions.assertFalse(parser.isExpectContinue());
+    }
+
+    @Test
+    @DisplayName("maxStreamedBodySize : 413")
+    void maxStreamedBodySize(){
+        ByteBuffer buffer = buffer("POST / HTTP/1.1\r\nContent-Length: 1001\r\n\r\n");
+        HttpRequestParser parser = new HttpRequestParser(8192, 10, 10, 1000);
+        HttpParseException exception = Assertions.assertThrows(HttpParseException.class, ()->{
+            parser.parse(buffer, 0, buffer.limit());
+        });
+        Assertions.assertEquals(413, exception.getStatusCode());
+        Assertions.assertThrows(IllegalArgumentException.class, ()->new HttpRequestParser(8192, 10, 10, 9));
+    }
+
+    @Test
+    @DisplayName("Transfer-Encoding: chunked : head만 해석하고 body는 RequestBody로 읽습니다.")
+    void chunked() throws HttpParseException {
+        ByteBuffer buffer = buffer("POST / HTTP/1.1\r\nTransfer-Encoding: Chunked\r\n\r\n5\r\nhello\r\n0\r\n\r\n");
+        HttpRequestParser parser = new HttpRequestParser();
+        Assertions.assertTrue(parser.parse(buffer, 0, buffer.limit()));
+        Assertions.assertTrue(parser.isChunked());
+        Assertions.assertTrue(parser.hasStreamedBody());
+        Assertions.assertEquals(-1, parser.getStreamedBodyLength());
+        Assertions.assertEquals(parser.getBodyOffset(), parser.getRequestLength());
+    }
+
+    @Test
+    @DisplayName("Transfer-Encoding : Content-Length와 함께 사용하면 400, chunked 이외의 coding은 501")
+    void transferEncoding(){
+        String[] badRequests = {
+                "POST / HTTP/1.1\r\nTransfer-Encoding: chunked\r\nContent-Length: 5\r\n\r\n",
+                "POST / HTTP/1.1\r\nContent-Length: 5\r\nTransfer-Encoding: chunked\r\n\r\n"
+        };
+        for(String request : badRequests){
+            ByteBuffer buffer = buffer(request);
+            HttpParseException exception = Assertions.assertThrows(HttpParseException.class, ()->{
+                new HttpRequestParser().parse(buffer, 0, buffer.limit());
+            });
+            Assertions.assertEquals(400, exception.getStatusCode());
+        }
+        String[] notImplemented = {
+                "POST / HTTP/1.1\r\nTransfer-Encoding: gzip\r\n\r\n",
+                "POST / HTTP/1.1\r\nTransfer-Encoding: gzip, chunked\r\n\r\n",
+                "POST / HTTP/1.1\r\nTransfer-Encoding: chunked\r\nTransfer-Encoding: chunked\r\n\r\n"
+        };
+        for(String request : notImplemented){
+            ByteBuffer buffer = buffer(request);
+            HttpParseException exception = Assertions.assertThrows(HttpParseException.class, ()->{
+                new HttpRequestParser().parse(buffer, 0, buffer.limit());
+            });
+            Assertions.assertEquals(501, exception.getStatusCode());
+        }
+    }
+}
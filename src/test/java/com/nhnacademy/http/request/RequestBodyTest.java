@@ -0,0 +1,188 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.request;
+
+import com.nhnacademy.exceptions.HttpParseException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+class RequestBodyTest {
+    Path tempDirectory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        tempDirectory = Files.createTempDirectory("request-body");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try(Stream<Path> files = Files.list(tempDirectory)){
+            for(Path file : files.toList()){
+                Files.delete(file);
+            }
+        }
+        Files.delete(tempDirectory);
+    }
+
+    private static byte[] content(int length){
+        byte[] content = new byte[length];
+        for(int i=0; i<length; i++){
+            content[i] = (byte) ('a' + i % 26);
+        }
+        return content;
+    }
+
+    @Test
+    @DisplayName("memoryThreshold 이하 : heap buffer")
+    void memory() throws IOException {
+        byte[] content = content(100);
+        try(RequestBody requestBody = new RequestBody(content.length, 1024, tempDirectory)){
+            Assertions.assertEquals(100, requestBody.append(ByteBuffer.wrap(content)));
+            Assertions.assertTrue(requestBody.isComplete());
+            Assertions.assertFalse(requestBody.isSpilled());
+            Assertions.assertArrayEquals(content, requestBody.getInputStream().readAllBytes());
+            Assertions.assertEquals(ByteBuffer.wrap(content), requestBody.getBuffer());
+            Assertions.assertTrue(requestBody.getBuffer().isReadOnly());
+        }
+    }
+
+    @Test
+    @DisplayName("memoryThreshold 초과 : 임시 파일에 기록하고 close() 시 삭제 합니다.")
+    void spill() throws IOException {
+        byte[] content = content(10_000);
+        RequestBody requestBody = new RequestBody(content.length, 1024, tempDirectory);
+        try{
+            Assertions.assertTrue(requestBody.isSpilled());
+            // 조금씩 도착하는 body
+            for(int offset=0; offset<content.length; offset+=333){
+                Assertions.assertFalse(requestBody.isComplete());
+                requestBody.append(ByteBuffer.wrap(content, offset, Math.min(333, content.length - offset)));
+            }
+            Assertions.assertTrue(requestBody.isComplete());
+            Assertions.assertEquals(content.length, requestBody.getReceived());
+
+            // InputStream은 호출할 때 마다 처음부터 읽습니다.
+            for(int i=0; i<2; i++){
+                try(InputStream inputStream = requestBody.getInputStream()){
+                    Assertions.assertArrayEquals(content, inputStream.readAllBytes());
+                }
+            }
+            Assertions.assertEquals(ByteBuffer.wrap(content), requestBody.getBuffer());
+        }finally {
+            requestBody.close();
+        }
+        // DELETE_ON_CLOSE : 임시 파일이 남지 않습니다.
+        try(Stream<Path> files = Files.list(tempDirectory)){
+            Assertions.assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("append : 남은 크기 만큼만 읽고 다음 요청은 src에 남겨 둡니다.")
+    void appendLimit() throws IOException {
+        ByteBuffer src = ByteBuffer.wrap("helloGET /".getBytes());
+        try(RequestBody requestBody = new RequestBody(5, 1024, tempDirectory)){
+            Assertions.assertEquals(5, requestBody.append(src));
+            Assertions.assertEquals(0, requestBody.append(src));
+            Assertions.assertEquals("GET /", new String(src.array(), src.position(), src.remaining()));
+            Assertions.assertEquals("hello", new String(requestBody.getInputStream().readAllBytes()));
+        }
+    }
+
+    @Test
+    @DisplayName("body를 모두 읽기 전에는 사용할 수 없습니다.")
+    void notComplete() throws IOException {
+        try(RequestBody requestBody = new RequestBody(10, 1024, tempDirectory)){
+            requestBody.append(ByteBuffer.wrap(new byte[3]));
+            Assertions.assertEquals(7, requestBody.getRemaining());
+            Assertions.assertThrows(IllegalStateException.class, requestBody::getInputStream);
+            Assertions.assertThrows(IllegalStateException.class, requestBody::getBuffer);
+        }
+    }
+
+    @Test
+    @DisplayName("constructor")
+    void constructor(){
+        Assertions.assertThrows(IllegalArgumentException.class, ()->new RequestBody(-1, 1024, tempDirectory));
+        Assertions.assertThrows(IllegalArgumentException.class, ()->new RequestBody(10, -1, tempDirectory));
+        Assertions.assertThrows(IllegalArgumentException.class, ()->new RequestBody(10, 1024, null));
+    }
+
+    @Test
+    @DisplayName("chunked : data만 추가하고, 뒤에 이어진 다음 요청은 src에 남겨 둡니다.")
+    void chunked() throws IOException {
+        ByteBuffer src = ByteBuffer.wrap("5\r\nhello\r\n6;ext=1\r\n world\r\n0\r\nTrailer: 1\r\n\r\nGET /".getBytes());
+        try(RequestBody requestBody = RequestBody.chunked(1024, 1024, tempDirectory)){
+            Assertions.assertTrue(requestBody.isChunked());
+            Assertions.assertEquals(-1, requestBody.getLength());
+            Assertions.assertEquals(src.limit() - 5, requestBody.append(src));
+            Assertions.assertTrue(requestBody.isComplete());
+            Assertions.assertFalse(requestBody.isSpilled());
+            Assertions.assertEquals(11, requestBody.getLength());
+            Assertions.assertEquals(0, requestBody.getRemaining());
+            Assertions.assertEquals("GET /", new String(src.array(), src.position(), src.remaining()));
+            Assertions.assertEquals("hello world", new String(requestBody.getInputStream().readAllBytes()));
+        }
+    }
+
+    @Test
+    @DisplayName("chunked : memoryThreshold를 넘으면 heap buffer의 byte를 임시 파일로 옮깁니다.")
+    void chunked_spill() throws IOException {
+        byte[] content = content(3000);
+        try(RequestBody requestBody = RequestBody.chunked(10_000, 1024, tempDirectory)){
+            for(int offset=0; offset<content.length; offset+=500){
+                requestBody.append(ByteBuffer.wrap((Integer.toHexString(500) + "\r\n").getBytes()));
+                // chunk data가 여러 번에 나뉘어 도착 합니다.
+                requestBody.append(ByteBuffer.wrap(content, offset, 200));
+                requestBody.append(ByteBuffer.wrap(content, offset + 200, 300));
+                requestBody.append(ByteBuffer.wrap("\r\n".getBytes()));
+            }
+            Assertions.assertFalse(requestBody.isComplete());
+            Assertions.assertTrue(requestBody.getRemaining() > 0);
+            requestBody.append(ByteBuffer.wrap("0\r\n\r\n".getBytes()));
+
+            Assertions.assertTrue(requestBody.isComplete());
+            Assertions.assertTrue(requestBody.isSpilled());
+            Assertions.assertEquals(content.length, requestBody.getLength());
+            Assertions.assertArrayEquals(content, requestBody.getInputStream().readAllBytes());
+            ByteBuffer buffer = requestBody.getBuffer();
+            Assertions.assertEquals(content.length, buffer.remaining());
+        }
+    }
+
+    @Test
+    @DisplayName("chunked : 잘못된 chunk 400, maxLength 초과 413")
+    void chunked_invalid() throws IOException {
+        try(RequestBody requestBody = RequestBody.chunked(1024, 1024, tempDirectory)){
+            HttpParseException exception = Assertions.assertThrows(HttpParseException.class,
+                    ()->requestBody.append(ByteBuffer.wrap("5\r\nhelloX".getBytes())));
+            Assertions.assertEquals(400, exception.getStatusCode());
+        }
+        try(RequestBody requestBody = RequestBody.chunked(10, 1024, tempDirectory)){
+            HttpParseException exception = Assertions.assertThrows(HttpParseException.class,
+                    ()->requestBody.append(ByteBuffer.wrap("b\r\n".getBytes())));
+            Assertions.assertEquals(413, exception.getStatusCode());
+        }
+    }
+}
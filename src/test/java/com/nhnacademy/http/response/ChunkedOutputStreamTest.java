@@ -0,0 +1,77 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.response;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+class ChunkedOutputStreamTest {
+
+    @Test
+    @DisplayName("out is null, chunkSize < 1")
+    void constructorTest(){
+        Assertions.assertThrows(IllegalArgumentException.class, ()->new ChunkedOutputStream(null, true));
+        Assertions.assertThrows(IllegalArgumentException.class, ()->new ChunkedOutputStream(new ByteArrayOutputStream(), true, 0));
+    }
+
+    @Test
+    @DisplayName("chunkSize 만큼 모이면 chunk 하나를 전송 합니다.")
+    void chunkSize() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ChunkedOutputStream chunked = new ChunkedOutputStream(outputStream, true, 16);
+        chunked.write("0123456789abcdefXYZ".getBytes(StandardCharsets.US_ASCII));
+        // 아직 chunkSize 만큼 모이지 않은 3 byte는 전송하지 않습니다.
+        Assertions.assertEquals("10\r\n0123456789abcdef\r\n", outputStream.toString(StandardCharsets.US_ASCII));
+
+        chunked.close();
+        Assertions.assertEquals("10\r\n0123456789abcdef\r\n3\r\nXYZ\r\n0\r\n\r\n", outputStream.toString(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    @DisplayName("flush : 모아둔 byte를 즉시 전송, 빈 chunk는 전송하지 않습니다.")
+    void flush() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ChunkedOutputStream chunked = new ChunkedOutputStream(outputStream, true);
+        chunked.write('a');
+        chunked.flush();
+        chunked.flush();
+        Assertions.assertEquals("1\r\na\r\n", outputStream.toString(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    @DisplayName("close : 두 번 호출해도 마지막 chunk는 한 번만 전송, 이후 write는 실패 합니다.")
+    void close() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ChunkedOutputStream chunked = new ChunkedOutputStream(outputStream, true);
+        chunked.close();
+        chunked.close();
+        Assertions.assertEquals("0\r\n\r\n", outputStream.toString(StandardCharsets.US_ASCII));
+        Assertions.assertThrows(IOException.class, ()->chunked.write('a'));
+    }
+
+    @Test
+    @DisplayName("chunked=false : 그대로 전송 합니다.")
+    void identity() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try(ChunkedOutputStream stream = new ChunkedOutputStream(outputStream, false, 4)){
+            stream.write("hello java".getBytes(StandardCharsets.US_ASCII));
+        }
+        Assertions.assertEquals("hello java", outputStream.toString(StandardCharsets.US_ASCII));
+    }
+}
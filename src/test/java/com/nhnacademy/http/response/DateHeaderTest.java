@@ -0,0 +1,42 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http.response;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+class DateHeaderTest {
+
+    @Test
+    @DisplayName("IMF-fixdate format")
+    void format(){
+        // 1994-11-06T08:49:37Z
+        byte[] header = DateHeader.get(784111777000L);
+        Assertions.assertEquals("Date: Sun, 06 Nov 1994 08:49:37 GMT\r\n", new String(header, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    @DisplayName("same second : cached, next second : refreshed")
+    void cache(){
+        byte[] first = DateHeader.get(784111777000L);
+        byte[] second = DateHeader.get(784111777999L);
+        byte[] third = DateHeader.get(784111778000L);
+
+        Assertions.assertSame(first, second);
+        Assertions.assertNotSame(first, third);
+        Assertions.assertEquals("Date: Sun, 06 Nov 1994 08:49:38 GMT\r\n", new String(third, StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http.response;
+
+import com.nhnacademy.http.channel.KeepAlivePolicy;
+import com.nhnacademy.http.metrics.Counter;
+import com.nhnacademy.http.metrics.HttpMetrics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+class HttpResponseWriterTest {
+
+    private static String toString(ByteBuffer[] buffers){
+        StringBuilder builder = new StringBuilder();
+        for(ByteBuffer buffer : buffers){
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.duplicate().get(bytes);
+            builder.append(new String(bytes, StandardCharsets.UTF_8));
+        }
+        return builder.toString();
+    }
+
+    @Test
+    @DisplayName("status line, headers, body")
+    void encode(){
+        HttpResponseWriter writer = new HttpResponseWriter(new KeepAlivePolicy(5000, 100));
+        HttpResponse response = new HttpResponse()
+                .setContentType(HttpResponse.TEXT_HTML)
+                .setHeader("ETag", "\"abc\"")
+                .setBody("<h1>안녕 hello</h1>");
+
+        ByteBuffer[] buffers = writer.encode(response, true);
+        Assertions.assertEquals(2, buffers.length);
+
+        String encoded = toString(buffers);
+        Assertions.assertTrue(encoded.startsWith("HTTP/1.1 200 OK\r\nServer: HTTP server/0.1\r\nDate: "));
+        Assertions.assertTrue(encoded.contains("\r\nContent-Type: text/html; charset=UTF-8\r\n"));
+        Assertions.assertTrue(encoded.contains("\r\nETag: \"abc\"\r\n"));
+        Assertions.assertTrue(encoded.contains("\r\nConnection: keep-alive\r\nKeep-Alive: timeout=5\r\n"));
+        int bodyLength = "<h1>안녕 hello</h1>".getBytes(StandardCharsets.UTF_8).length;
+        Assertions.assertTrue(encoded.endsWith("\r\nContent-Length: " + bodyLength + "\r\n\r\n<h1>안녕 hello</h1>"));
+    }
+
+    @Test
+    @DisplayName("connection close, empty body")
+    void close(){
+        HttpResponseWriter writer = new HttpResponseWriter();
+        String encoded = toString(writer.encode(new HttpResponse(HttpStatus.NOT_FOUND), false));
+
+        Assertions.assertTrue(encoded.startsWith("HTTP/1.1 404 Not Found\r\n"));
+        Assertions.assertTrue(encoded.endsWith("Connection: close\r\nContent-Length: 0\r\n\r\n"));
+        Assertions.assertFalse(encoded.contains("Content-Type"));
+    }
+
+    @Test
+    @DisplayName("many headers : header buffer grows")
+    void largeHeaders(){
+        HttpResponseWriter writer = new HttpResponseWriter();
+        HttpResponse response = new HttpResponse();
+        for(int i=0; i<100; i++){
+            response.setHeader("X-Header-" + i, "value-" + i);
+        }
+        String encoded = toString(writer.encode(response, false));
+        Assertions.assertTrue(encoded.contains("X-Header-99: value-99\r\n"));
+        Assertions.assertTrue(encoded.endsWith("Content-Length: 0\r\n\r\n"));
+    }
+
+    @Test
+    @DisplayName("body buffer is not consumed by encode")
+    void reusableBody() throws IOException {
+        HttpResponseWriter writer = new HttpResponseWriter();
+        HttpResponse response = new HttpResponse().setBody("hello");
+
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        writer.write(response, false, Channels.newChannel(first));
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+        writer.write(response, false, Channels.newChannel(second));
+
+        Assertions.assertTrue(first.toString(StandardCharsets.UTF_8).endsWith("\r\n\r\nhello"));
+        Assertions.assertTrue(second.toString(StandardCharsets.UTF_8).endsWith("\r\n\r\nhello"));
+    }
+
+    @Test
+    @DisplayName("304 : no Content-Length")
+    void notModified(){
+        HttpResponseWriter writer = new HttpResponseWriter();
+        String encoded = toString(writer.encode(new HttpResponse(HttpStatus.NOT_MODIFIED).setHeader("ETag", "\"abc\""), true));
+
+        Assertions.assertTrue(encoded.startsWith("HTTP/1.1 304 Not Modified\r\n"));
+        Assertions.assertFalse(encoded.contains("Content-Length"));
+        Assertions.assertTrue(encoded.endsWith("\r\n\r\n"));
+    }
+
+    @Test
+    @DisplayName("FileRegion : header then file region")
+    void fileRegion() throws IOException {
+        Path file = Files.createTempFile("region", ".txt");
+        try{
+            Files.writeString(file, "0123456789");
+            HttpResponseWriter writer = new HttpResponseWriter();
+            HttpResponse response = new HttpResponse().setBody(new FileRegion(file, 3, 4));
+
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            writer.write(response, false, Channels.newChannel(outputStream));
+            Assertions.assertTrue(outputStream.toString(StandardCharsets.UTF_8).endsWith("Content-Length: 4\r\n\r\n3456"));
+
+            // HEAD 응답 : Content-Length만 전송 합니다.
+            outputStream.reset();
+            writer.write(new HttpResponse().setContentLength(10), false, Channels.newChannel(outputStream));
+            Assertions.assertTrue(outputStream.toString(StandardCharsets.UTF_8).endsWith("Content-Length: 10\r\n\r\n"));
+        }finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    @DisplayName("StreamingBody : keep-alive라면 Transfer-Encoding: chunked")
+    void streaming() throws IOException {
+        HttpResponseWriter writer = new HttpResponseWriter();
+        HttpResponse response = new HttpResponse().setBody(output -> {
+            output.write("hello ".getBytes(StandardCharsets.US_ASCII));
+            output.flush();
+            output.write("java".getBytes(StandardCharsets.US_ASCII));
+        });
+
+        String encoded = toString(writer.encode(response, true));
+        Assertions.assertTrue(encoded.endsWith("Transfer-Encoding: chunked\r\n\r\n"));
+        Assertions.assertFalse(encoded.contains("Content-Length"));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        HttpResponseWriter.writeStreamingBody(response, true, outputStream);
+        Assertions.assertEquals("6\r\nhello \r\n4\r\njava\r\n0\r\n\r\n", outputStream.toString(StandardCharsets.US_ASCII));
+
+        // 연결을 종료한다면 body를 그대로 전송 합니다.
+        encoded = toString(writer.encode(response, false));
+        Assertions.assertFalse(encoded.contains("Transfer-Encoding"));
+        Assertions.assertFalse(encoded.contains("Content-Length"));
+        outputStream.reset();
+        HttpResponseWriter.writeStreamingBody(response, false, outputStream);
+        Assertions.assertEquals("hello java", outputStream.toString(StandardCharsets.US_ASCII));
+
+        // 크기를 지정했다면 Content-Length를 사용합니다.
+        response.setContentLength(10);
+        encoded = toString(writer.encode(response, true));
+        Assertions.assertTrue(encoded.endsWith("Content-Length: 10\r\n\r\n"));
+        Assertions.assertFalse(encoded.contains("Transfer-Encoding"));
+    }
+
+    @Test
+    @DisplayName("StreamingBody : 예외가 발생하면 마지막 chunk를 전송하지 않습니다.")
+    void streamingError() {
+        HttpResponse response = new HttpResponse().setBody(output -> {
+            output.write('a');
+            throw new IllegalStateException("error");
+        });
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        Assertions.assertThrows(IOException.class, ()->HttpResponseWriter.writeStreamingBody(response, true, outputStream));
+        Assertions.assertFalse(outputStream.toString(StandardCharsets.US_ASCII).endsWith("0\r\n\r\n"));
+    }
+
+    @Test
+    @DisplayName("HEAD : header만 전송 합니다.")
+    void head() throws IOException {
+        HttpResponseWriter writer = new HttpResponseWriter();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        Counter bytesSent = (Counter) HttpMetrics.get().getRegistry().get("http_sent_bytes_total");
+        long before = bytesSent.get();
+        writer.write(new HttpResponse().setBody("hello"), false, true, Channels.newChannel(outputStream));
+        Assertions.assertTrue(outputStream.toString(StandardCharsets.UTF_8).endsWith("Content-Length: 5\r\n\r\n"));
+        // 전송하지 않은 body는 전송한 byte 수에 포함하지 않습니다.
+        Assertions.assertEquals(outputStream.size(), bytesSent.get() - before);
+    }
+}
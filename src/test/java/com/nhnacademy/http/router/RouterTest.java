@@ -0,0 +1,155 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+package com.nhnacademy.http.router;
+
+import com.nhnacademy.http.handler.HttpHandler;
+import com.nhnacademy.http.parser.HttpRequestParser;
+import com.nhnacademy.http.request.HttpRequest;
+import com.nhnacademy.http.response.HttpResponse;
+import com.nhnacademy.http.response.HttpStatus;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+class RouterTest {
+
+    static HttpRequest request(String method, String path){
+        ByteBuffer buffer = ByteBuffer.wrap(String.format("%s %s HTTP/1.1\r\n\r\n", method, path).getBytes(StandardCharsets.US_ASCII));
+        HttpRequestParser parser = new HttpRequestParser();
+        try{
+            Assertions.assertTrue(parser.parse(buffer, 0, buffer.limit()));
+        }catch(IOException e){
+            throw new IllegalStateException(e);
+        }
+        return new HttpRequest(parser);
+    }
+
+    // 응답 body에 handler 이름과 path parameter를 기록 합니다.
+    static HttpHandler handler(String name){
+        return request -> new HttpResponse().setBody(name + request.getPathParameters().entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> ":" + entry.getKey() + "=" + entry.getValue())
+                .reduce("", String::concat));
+    }
+
+    static String route(Router router, String method, String path) throws IOException {
+        HttpResponse response = router.handle(request(method, path));
+        if(response.getStatus() != HttpStatus.OK){
+            return String.valueOf(response.getStatus().getCode());
+        }
+        return StandardCharsets.UTF_8.decode(response.getBody().duplicate()).toString();
+    }
+
+    @Test
+    @DisplayName("static routes share prefixes")
+    void staticRoutes() throws IOException {
+        Router router = new Router()
+                .get("/", handler("root"))
+                .get("/user", handler("user"))
+                .get("/users", handler("users"))
+                .get("/users/new", handler("new"))
+                .get("/uber", handler("uber"));
+
+        Assertions.assertEquals("root", route(router, "GET", "/"));
+        Assertions.assertEquals("user", route(router, "GET", "/user"));
+        Assertions.assertEquals("users", route(router, "GET", "/users"));
+        Assertions.assertEquals("new", route(router, "GET", "/users/new?x=1"));
+        Assertions.assertEquals("uber", route(router, "GET", "/uber"));
+        Assertions.assertEquals("404", route(router, "GET", "/u"));
+        Assertions.assertEquals("404", route(router, "GET", "/users/"));
+    }
+
+    @Test
+    @DisplayName("path parameters")
+    void parameters() throws IOException {
+        Router router = new Router()
+                .get("/users/{id}", handler("user"))
+                .get("/users/{id}/posts/{postId}", handler("post"))
+                .get("/users/me", handler("me"));
+
+        Assertions.assertEquals("user:id=42", route(router, "GET", "/users/42"));
+        Assertions.assertEquals("post:id=42:postId=7", route(router, "GET", "/users/42/posts/7"));
+        // 고정된 path가 parameter보다 우선 합니다.
+        Assertions.assertEquals("me", route(router, "GET", "/users/me"));
+        Assertions.assertEquals("user:id=mee", route(router, "GET", "/users/mee"));
+        Assertions.assertEquals("404", route(router, "GET", "/users/42/posts"));
+    }
+
+    @Test
+    @DisplayName("wildcard")
+    void wildcard() throws IOException {
+        Router router = new Router()
+                .get("/static/*", handler("static"))
+                .get("/static/{name}/info", handler("info"));
+
+        Assertions.assertEquals("static:*=css/app.css", route(router, "GET", "/static/css/app.css"));
+        Assertions.assertEquals("static:*=", route(router, "GET", "/static/"));
+        Assertions.assertEquals("info:name=a", route(router, "GET", "/static/a/info"));
+        // parameter로 끝까지 일치하지 않는다면 wildcard로 돌아갑니다.
+        Assertions.assertEquals("static:*=a/other", route(router, "GET", "/static/a/other"));
+    }
+
+    @Test
+    @DisplayName("method : 405 with Allow, HEAD uses GET")
+    void methods() throws IOException {
+        Router router = new Router()
+                .get("/items", handler("list"))
+                .post("/items", handler("create"));
+
+        Assertions.assertEquals("list", route(router, "GET", "/items"));
+        Assertions.assertEquals("create", route(router, "POST", "/items"));
+        Assertions.assertEquals("list", route(router, "HEAD", "/items"));
+
+        HttpResponse response = router.handle(request("DELETE", "/items"));
+        Assertions.assertEquals(HttpStatus.METHOD_NOT_ALLOWED, response.getStatus());
+        Assertions.assertEquals("GET, POST", response.getHeader("Allow"));
+    }
+
+    @Test
+    @DisplayName("not found handler")
+    void notFound() throws IOException {
+        Router router = new Router(handler("fallback")).get("/a", handler("a"));
+        Assertions.assertEquals("fallback", route(router, "GET", "/b"));
+    }
+
+    @Test
+    @DisplayName("invalid patterns")
+    void invalid(){
+        Router router = new Router().get("/a/{id}", handler("a"));
+        Assertions.assertThrows(IllegalArgumentException.class, ()->router.get("a", handler("x")));
+        Assertions.assertThrows(IllegalArgumentException.class, ()->router.get("/a/x{id}", handler("x")));
+        Assertions.assertThrows(IllegalArgumentException.class, ()->router.get("/a/{id}x", handler("x")));
+        Assertions.assertThrows(IllegalArgumentException.class, ()->router.get("/a/{}", handler("x")));
+        Assertions.assertThrows(IllegalArgumentException.class, ()->router.get("/a/*/b", handler("x")));
+        Assertions.assertThrows(IllegalArgumentException.class, ()->router.get("/a/{name}", handler("x")));
+        Assertions.assertThrows(IllegalArgumentException.class, ()->router.get("/b", null));
+    }
+
+    @Test
+    @DisplayName("thousands of routes")
+    void manyRoutes() throws IOException {
+        Router router = new Router();
+        for(int i=0; i<5000; i++){
+            router.get(String.format("/api/v1/resource%d/{id}", i), handler("r" + i));
+        }
+        Assertions.assertEquals("r0:id=1", route(router, "GET", "/api/v1/resource0/1"));
+        Assertions.assertEquals("r4999:id=abc", route(router, "GET", "/api/v1/resource4999/abc"));
+        Assertions.assertEquals("r123:id=x", route(router, "GET", "/api/v1/resource123/x"));
+        Assertions.assertEquals("404", route(router, "GET", "/api/v1/resource5000/x"));
+    }
+}
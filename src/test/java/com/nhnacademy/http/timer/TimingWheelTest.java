@@ -0,0 +1,130 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.timer;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class TimingWheelTest {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("constructor")
+    void constructor(){
+        Assertions.assertThrows(IllegalArgumentException.class, ()->new TimingWheel(0, TimeUnit.MILLISECONDS, 16));
+        Assertions.assertThrows(IllegalArgumentException.class, ()->new TimingWheel(10, null, 16));
+        Assertions.assertThrows(IllegalArgumentException.class, ()->new TimingWheel(10, TimeUnit.MILLISECONDS, 0));
+        // 2의 거듭제곱으로 올림 합니다.
+        Assertions.assertEquals(1, new TimingWheel(10, TimeUnit.MILLISECONDS, 1).getWheelSize());
+        Assertions.assertEquals(16, new TimingWheel(10, TimeUnit.MILLISECONDS, 16).getWheelSize());
+        Assertions.assertEquals(1024, new TimingWheel(10, TimeUnit.MILLISECONDS, 1000).getWheelSize());
+    }
+
+    @Test
+    @DisplayName("deadline 이전에는 실행하지 않습니다.")
+    void expire(){
+        TimingWheel timingWheel = new TimingWheel(10, TimeUnit.MILLISECONDS, 16);
+        long start = System.nanoTime();
+        AtomicInteger executed = new AtomicInteger();
+        Timeout timeout = timingWheel.schedule(executed::incrementAndGet, 50, TimeUnit.MILLISECONDS);
+        Assertions.assertEquals(1, timingWheel.size());
+
+        Assertions.assertEquals(0, timingWheel.advance(start + 30 * MILLIS));
+        Assertions.assertEquals(0, executed.get());
+        Assertions.assertEquals(1, timingWheel.advance(System.nanoTime() + 70 * MILLIS));
+        Assertions.assertEquals(1, executed.get());
+        Assertions.assertTrue(timeout.isExpired());
+        Assertions.assertFalse(timeout.cancel());
+        Assertions.assertEquals(0, timingWheel.size());
+    }
+
+    @Test
+    @DisplayName("cancel : 실행하지 않고 bucket에서 제거 합니다.")
+    void cancel(){
+        TimingWheel timingWheel = new TimingWheel(10, TimeUnit.MILLISECONDS, 16);
+        AtomicInteger executed = new AtomicInteger();
+        Timeout first = timingWheel.schedule(executed::incrementAndGet, 20, TimeUnit.MILLISECONDS);
+        Timeout second = timingWheel.schedule(executed::incrementAndGet, 20, TimeUnit.MILLISECONDS);
+        Timeout third = timingWheel.schedule(executed::incrementAndGet, 20, TimeUnit.MILLISECONDS);
+
+        Assertions.assertTrue(second.cancel());
+        Assertions.assertFalse(second.cancel());
+        Assertions.assertTrue(second.isCancelled());
+        Assertions.assertEquals(2, timingWheel.size());
+
+        Assertions.assertEquals(2, timingWheel.advance(System.nanoTime() + 100 * MILLIS));
+        Assertions.assertEquals(2, executed.get());
+        Assertions.assertTrue(first.isExpired());
+        Assertions.assertTrue(third.isExpired());
+    }
+
+    @Test
+    @DisplayName("wheel 한 바퀴보다 긴 timeout은 다음 바퀴에 실행 합니다.")
+    void rounds(){
+        // 한 바퀴 : 10ms * 4
+        TimingWheel timingWheel = new TimingWheel(10, TimeUnit.MILLISECONDS, 4);
+        long start = System.nanoTime();
+        AtomicInteger executed = new AtomicInteger();
+        timingWheel.schedule(executed::incrementAndGet, 100, TimeUnit.MILLISECONDS);
+
+        timingWheel.advance(start + 50 * MILLIS);
+        timingWheel.advance(start + 90 * MILLIS);
+        Assertions.assertEquals(0, executed.get());
+        timingWheel.advance(System.nanoTime() + 120 * MILLIS);
+        Assertions.assertEquals(1, executed.get());
+    }
+
+    @Test
+    @DisplayName("100,000 timeout : 등록, 취소")
+    void manyTimeouts(){
+        TimingWheel timingWheel = new TimingWheel(100, TimeUnit.MILLISECONDS, 512);
+        AtomicInteger executed = new AtomicInteger();
+        List<Timeout> timeouts = new ArrayList<>();
+        for(int i=0; i<100_000; i++){
+            timeouts.add(timingWheel.schedule(executed::incrementAndGet, 1000 + i % 5000, TimeUnit.MILLISECONDS));
+        }
+        Assertions.assertEquals(100_000, timingWheel.size());
+        for(int i=0; i<timeouts.size(); i+=2){
+            timeouts.get(i).cancel();
+        }
+        Assertions.assertEquals(50_000, timingWheel.size());
+        Assertions.assertEquals(50_000, timingWheel.advance(System.nanoTime() + TimeUnit.SECONDS.toNanos(7)));
+        Assertions.assertEquals(50_000, executed.get());
+        Assertions.assertEquals(0, timingWheel.size());
+    }
+
+    @Test
+    @DisplayName("start : thread가 tick 마다 advance() 합니다.")
+    void start() throws InterruptedException {
+        TimingWheel timingWheel = new TimingWheel(10, TimeUnit.MILLISECONDS, 16).start("timing-wheel-test");
+        try{
+            CountDownLatch latch = new CountDownLatch(1);
+            long start = System.nanoTime();
+            timingWheel.schedule(latch::countDown, 100, TimeUnit.MILLISECONDS);
+            Assertions.assertTrue(latch.await(2, TimeUnit.SECONDS));
+            Assertions.assertTrue(System.nanoTime() - start >= 100 * MILLIS);
+            Assertions.assertThrows(IllegalStateException.class, ()->timingWheel.start("timing-wheel-test"));
+        }finally {
+            timingWheel.stop();
+        }
+    }
+}
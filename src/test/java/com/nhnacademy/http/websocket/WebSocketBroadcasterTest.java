@@ -0,0 +1,110 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.websocket;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+class WebSocketBroadcasterTest {
+
+    static class TestSession implements WebSocketSession {
+        final List<ByteBuffer> frames = new ArrayList<>();
+        boolean open = true;
+        boolean failing;
+
+        @Override
+        public long getId() {
+            return hashCode();
+        }
+
+        @Override
+        public String getPath() {
+            return "/";
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public int getPendingWrites() {
+            return frames.size();
+        }
+
+        @Override
+        public void send(ByteBuffer frame) throws IOException {
+            if(failing){
+                throw new IOException("slow consumer");
+            }
+            frames.add(frame);
+        }
+
+        @Override
+        public void close(int statusCode, String reason) {
+            open = false;
+        }
+    }
+
+    @Test
+    @DisplayName("broadcast : 한 번 encode한 frame을 모든 session에 전송 합니다.")
+    void broadcast() {
+        WebSocketBroadcaster broadcaster = new WebSocketBroadcaster();
+        List<TestSession> sessions = new ArrayList<>();
+        for(int i=0; i<100; i++){
+            TestSession session = new TestSession();
+            sessions.add(session);
+            Assertions.assertTrue(broadcaster.subscribe(session));
+        }
+        Assertions.assertEquals(100, broadcaster.broadcastText("Hello"));
+
+        ByteBuffer first = sessions.get(0).frames.get(0);
+        Assertions.assertTrue(first.isReadOnly());
+        Assertions.assertEquals(WebSocketFrame.text("Hello"), first);
+        for(TestSession session : sessions.subList(1, sessions.size())){
+            ByteBuffer frame = session.frames.get(0);
+            // 같은 byte를 공유하는 view 입니다.
+            Assertions.assertNotSame(first, frame);
+            Assertions.assertEquals(first, frame);
+        }
+        // 한 session이 view를 읽어도 다른 session의 position은 변경되지 않습니다.
+        first.position(first.limit());
+        Assertions.assertEquals(7, sessions.get(1).frames.get(0).remaining());
+    }
+
+    @Test
+    @DisplayName("unsubscribe : 종료 되었거나 전송에 실패한 session은 제거 합니다.")
+    void remove() {
+        WebSocketBroadcaster broadcaster = new WebSocketBroadcaster();
+        TestSession open = new TestSession();
+        TestSession closed = new TestSession();
+        TestSession failing = new TestSession();
+        broadcaster.subscribe(open);
+        broadcaster.subscribe(closed);
+        broadcaster.subscribe(failing);
+        closed.open = false;
+        failing.failing = true;
+
+        Assertions.assertEquals(1, broadcaster.broadcastBinary(ByteBuffer.wrap(new byte[]{1, 2, 3})));
+        Assertions.assertEquals(1, broadcaster.size());
+        Assertions.assertTrue(broadcaster.unsubscribe(open));
+        Assertions.assertEquals(0, broadcaster.broadcastText("nobody"));
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.websocket;
+
+import com.nhnacademy.exceptions.WebSocketException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+class WebSocketFrameDecoderTest {
+
+    // client가 전송하는 masked frame 입니다.
+    static ByteBuffer masked(int firstByte, byte[] payload, int maskKey){
+        int length = payload.length;
+        ByteBuffer frame = ByteBuffer.allocate(14 + length);
+        frame.put((byte) firstByte);
+        if(length < 126){
+            frame.put((byte) (0x80 | length));
+        }else if(length <= 0xffff){
+            frame.put((byte) (0x80 | 126)).putShort((short) length);
+        }else{
+            frame.put((byte) (0x80 | 127)).putLong(length);
+        }
+        frame.putInt(maskKey);
+        ByteBuffer data = ByteBuffer.wrap(payload.clone());
+        WebSocketFrame.mask(data, maskKey, 0);
+        return frame.put(data).flip();
+    }
+
+    private static List<String> decode(WebSocketFrameDecoder decoder, ByteBuffer buffer) throws IOException {
+        List<String> frames = new ArrayList<>();
+        decoder.decode(buffer, (opcode, fin, payload, frameEnd) ->
+                frames.add(opcode + ":" + fin + ":" + StandardCharsets.UTF_8.decode(payload) + ":" + frameEnd));
+        return frames;
+    }
+
+    @Test
+    @DisplayName("masked text : \"Hello\" (RFC 6455 5.7)")
+    void maskedText() throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(HexFormat.of().parseHex("818537fa213d7f9f4d5158"));
+        Assertions.assertEquals(List.of("1:true:Hello:true"), decode(new WebSocketFrameDecoder(1024), buffer));
+        Assertions.assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    @DisplayName("fragment : 나뉘어 도착한 frame은 도착한 만큼 전달하고, header가 완성되지 않았다면 기다립니다.")
+    void partial() throws IOException {
+        WebSocketFrameDecoder decoder = new WebSocketFrameDecoder(1024);
+        ByteBuffer frame = masked(0x82, "abcdefghij".getBytes(StandardCharsets.US_ASCII), 0x01020304);
+
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        buffer.put(frame.slice(0, 4)).flip();
+        Assertions.assertEquals(List.of(), decode(decoder, buffer));
+        Assertions.assertEquals(0, buffer.position());
+        buffer.compact();
+
+        buffer.put(frame.slice(4, 6)).flip();
+        Assertions.assertEquals(List.of("2:true:abcd:false"), decode(decoder, buffer));
+        buffer.compact();
+
+        buffer.put(frame.slice(10, frame.limit() - 10)).put(masked(0x89, new byte[0], 7)).flip();
+        Assertions.assertEquals(List.of("2:true:efghij:true", "9:true::true"), decode(decoder, buffer));
+    }
+
+    @Test
+    @DisplayName("large : 16 bit, 64 bit payload length")
+    void extendedLength() throws IOException {
+        byte[] medium = "m".repeat(300).getBytes(StandardCharsets.US_ASCII);
+        byte[] large = "l".repeat(70_000).getBytes(StandardCharsets.US_ASCII);
+        WebSocketFrameDecoder decoder = new WebSocketFrameDecoder(100_000);
+        Assertions.assertEquals(List.of("2:true:" + "m".repeat(300) + ":true"), decode(decoder, masked(0x82, medium, 0x11223344)));
+        Assertions.assertEquals(List.of("2:true:" + "l".repeat(70_000) + ":true"), decode(decoder, masked(0x82, large, 0x55667788)));
+    }
+
+    @Test
+    @DisplayName("invalid : mask가 없거나, RSV bit, 크기 제한, control frame 규칙을 위반하면 WebSocketException")
+    void invalid() {
+        assertStatus(WebSocketFrame.PROTOCOL_ERROR, ByteBuffer.wrap(WebSocketFrame.text("Hello").array()));
+        assertStatus(WebSocketFrame.PROTOCOL_ERROR, masked(0xc1, new byte[1], 1));
+        assertStatus(WebSocketFrame.PROTOCOL_ERROR, masked(0x83, new byte[1], 1));
+        assertStatus(WebSocketFrame.PROTOCOL_ERROR, masked(0x09, new byte[1], 1));
+        assertStatus(WebSocketFrame.PROTOCOL_ERROR, masked(0x89, new byte[126], 1));
+        assertStatus(WebSocketFrame.MESSAGE_TOO_BIG, masked(0x82, new byte[1025], 1));
+    }
+
+    private static void assertStatus(int statusCode, ByteBuffer buffer){
+        WebSocketException exception = Assertions.assertThrows(WebSocketException.class,
+                () -> decode(new WebSocketFrameDecoder(1024), buffer));
+        Assertions.assertEquals(statusCode, exception.getStatusCode());
+    }
+}
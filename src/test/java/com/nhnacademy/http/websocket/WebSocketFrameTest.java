@@ -0,0 +1,84 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.websocket;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.HexFormat;
+
+class WebSocketFrameTest {
+
+    private static String hex(ByteBuffer buffer){
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return HexFormat.of().formatHex(bytes);
+    }
+
+    @Test
+    @DisplayName("text : mask 없는 \"Hello\" frame (RFC 6455 5.7)")
+    void text() {
+        Assertions.assertEquals("810548656c6c6f", hex(WebSocketFrame.text("Hello")));
+    }
+
+    @Test
+    @DisplayName("payload length : 125 byte 까지 7 bit, 65535 byte 까지 16 bit, 그 이상은 64 bit")
+    void payloadLength() {
+        Assertions.assertEquals(2 + 125, WebSocketFrame.binary(ByteBuffer.allocate(125)).remaining());
+
+        ByteBuffer medium = WebSocketFrame.binary(ByteBuffer.allocate(256));
+        Assertions.assertEquals("827e0100", hex(medium.slice(0, 4)));
+        Assertions.assertEquals(4 + 256, medium.remaining());
+
+        ByteBuffer large = WebSocketFrame.binary(ByteBuffer.allocate(65536));
+        Assertions.assertEquals("827f0000000000010000", hex(large.slice(0, 10)));
+        Assertions.assertEquals(10 + 65536, large.remaining());
+    }
+
+    @Test
+    @DisplayName("close : status code와 reason을 담은 Close frame")
+    void close() {
+        Assertions.assertEquals("880503e8627965", hex(WebSocketFrame.close(WebSocketFrame.NORMAL_CLOSURE, "bye")));
+        // control frame은 125 byte를 넘을 수 없습니다.
+        Assertions.assertEquals(2 + 125, WebSocketFrame.close(WebSocketFrame.NORMAL_CLOSURE, "a".repeat(200)).remaining());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> WebSocketFrame.ping(ByteBuffer.allocate(126)));
+    }
+
+    @Test
+    @DisplayName("mask : 8 byte 단위 xor와 byte 단위 xor의 결과가 같고, 나눠서 처리해도 같습니다.")
+    void mask() {
+        int maskKey = 0x37fa213d;
+        byte[] key = {0x37, (byte) 0xfa, 0x21, 0x3d};
+        for(int length=0; length<40; length++){
+            byte[] payload = new byte[length];
+            byte[] expected = new byte[length];
+            for(int i=0; i<length; i++){
+                payload[i] = (byte) (i * 7);
+                expected[i] = (byte) (payload[i] ^ key[i % 4]);
+            }
+            ByteBuffer whole = ByteBuffer.wrap(payload.clone());
+            WebSocketFrame.mask(whole, maskKey, 0);
+            Assertions.assertArrayEquals(expected, whole.array());
+
+            // frame의 payload를 두 번에 나눠서 unmask 합니다.
+            int split = length / 3;
+            ByteBuffer parts = ByteBuffer.wrap(payload.clone());
+            WebSocketFrame.mask(parts.slice(0, split), maskKey, 0);
+            WebSocketFrame.mask(parts.slice(split, length - split), maskKey, split);
+            Assertions.assertArrayEquals(expected, parts.array());
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ * + Copyright 2024. NHN Academy Corp. All rights reserved.
+ * + * While every precaution has been taken in the preparation of this resource,  assumes no
+ * + responsibility for errors or omissions, or for damages resulting from the use of the information
+ * + contained herein
+ * + No part of this resource may be reproduced, stored in a retrieval system, or transmitted, in any
+ * + form or by any means, electronic, mechanical, photocopying, recording, or otherwise, without the
+ * + prior written permission.
+ * +++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+ */
+
+
+package com.nhnacademy.http.websocket;
+
+import com.nhnacademy.exceptions.HttpParseException;
+import com.nhnacademy.http.parser.HttpRequestParser;
+import com.nhnacademy.http.request.HttpRequest;
+import com.nhnacademy.http.response.HttpResponse;
+import com.nhnacademy.http.response.HttpStatus;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+class WebSocketUpgradeHandlerTest {
+
+    private static final WebSocketHandler HANDLER = new WebSocketHandler() { };
+
+    private static HttpRequest request(String head) throws HttpParseException {
+        ByteBuffer buffer = ByteBuffer.wrap(head.getBytes(StandardCharsets.US_ASCII));
+        HttpRequestParser parser = new HttpRequestParser();
+        Assertions.assertTrue(parser.parse(buffer, 0, buffer.limit()));
+        return new HttpRequest(parser);
+    }
+
+    @Test
+    @DisplayName("accept : Sec-WebSocket-Key에 GUID를 붙여 SHA-1 hash 합니다. (RFC 6455 1.3)")
+    void accept() {
+        Assertions.assertEquals("s3pPLMBiTxaQ9kYGzzhZRbK+xOo=", WebSocketUpgradeHandler.accept("dGhlIHNhbXBsZSBub25jZQ=="));
+    }
+
+    @Test
+    @DisplayName("handshake : 101 응답에 WebSocketUpgrade를 담아서 반환 합니다.")
+    void handshake() throws HttpParseException {
+        HttpResponse response = new WebSocketUpgradeHandler(HANDLER).setMaxMessageSize(4096).handle(request("GET /chat HTTP/1.1\r\n"
+                + "Host: server.example.com\r\n"
+                + "Upgrade: websocket\r\n"
+                + "Connection: keep-alive, Upgrade\r\n"
+                + "Sec-WebSocket-Key: dGhlIHNhbXBsZSBub25jZQ==\r\n"
+                + "Sec-WebSocket-Version: 13\r\n\r\n"));
+        Assertions.assertEquals(HttpStatus.SWITCHING_PROTOCOLS, response.getStatus());
+        Assertions.assertEquals("s3pPLMBiTxaQ9kYGzzhZRbK+xOo=", response.getHeader("Sec-WebSocket-Accept"));
+        Assertions.assertEquals("websocket", response.getHeader("Upgrade"));
+        Assertions.assertNotNull(response.getWebSocketUpgrade());
+        Assertions.assertEquals("/chat", response.getWebSocketUpgrade().getPath());
+        Assertions.assertEquals(4096, response.getWebSocketUpgrade().getMaxMessageSize());
+        Assertions.assertEquals(WebSocketUpgradeHandler.DEFAULT_MAX_PENDING_MESSAGES, response.getWebSocketUpgrade().getMaxPendingMessages());
+        Assertions.assertEquals(WebSocketUpgradeHandler.DEFAULT_MAX_PENDING_MESSAGE_BYTES, response.getWebSocketUpgrade().getMaxPendingMessageBytes());
+        Assertions.assertThrows(IllegalArgumentException.class, ()->new WebSocketUpgradeHandler(HANDLER).setMaxPendingMessages(0, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, ()->new WebSocketUpgradeHandler(HANDLER).setMaxPendingMessages(1, 0));
+    }
+
+    @Test
+    @DisplayName("invalid : upgrade 요청이 아니면 426, key가 잘못되면 400")
+    void invalid() throws HttpParseException {
+        WebSocketUpgradeHandler handler = new WebSocketUpgradeHandler(HANDLER);
+        HttpResponse response = handler.handle(request("GET /chat HTTP/1.1\r\nHost: localhost\r\n\r\n"));
+        Assertions.assertEquals(HttpStatus.UPGRADE_REQUIRED, response.getStatus());
+        Assertions.assertNull(response.getWebSocketUpgrade());
+
+        response = handler.handle(request("GET /chat HTTP/1.1\r\nUpgrade: websocket\r\nConnection: Upgrade\r\n"
+                + "Sec-WebSocket-Key: dGhlIHNhbXBsZSBub25jZQ==\r\nSec-WebSocket-Version: 8\r\n\r\n"));
+        Assertions.assertEquals(HttpStatus.UPGRADE_REQUIRED, response.getStatus());
+        Assertions.assertEquals("13", response.getHeader("Sec-WebSocket-Version"));
+
+        response = handler.handle(request("GET /chat HTTP/1.1\r\nUpgrade: websocket\r\nConnection: Upgrade\r\n"
+                + "Sec-WebSocket-Key: short\r\nSec-WebSocket-Version: 13\r\n\r\n"));
+        Assertions.assertEquals(HttpStatus.BAD_REQUEST, response.getStatus());
+
+        response = handler.handle(request("POST /chat HTTP/1.1\r\nUpgrade: websocket\r\nConnection: Upgrade\r\n"
+                + "Sec-WebSocket-Key: dGhlIHNhbXBsZSBub25jZQ==\r\nSec-WebSocket-Version: 13\r\n\r\n"));
+        Assertions.assertEquals(HttpStatus.BAD_REQUEST, response.getStatus());
+    }
+}